@@ -0,0 +1,360 @@
+package me.chironex.studentsystem.cli;
+
+import me.chironex.studentsystem.data.DatabaseLock;
+import me.chironex.studentsystem.data.JdbcReconnectStrategy;
+import me.chironex.studentsystem.data.PersistenceException;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
+import me.chironex.studentsystem.data.SqliteProfile;
+import me.chironex.studentsystem.data.student.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Headless entry point running import, export, statistics and save/load commands against a {@link StudentRepository},
+ * for scheduled jobs on servers without a display. It uses neither Swing nor AWT.
+ * <p>
+ * Runs one command given on the command line, or with {@code --batch <file>} one command per line of the file
+ * ({@code -} for standard input), all against the same repository. Empty lines and lines starting with '#' are skipped.
+ * The exit code is 0 on success, 1 if a command failed and 2 for invalid options.
+ * The database is locked with a {@link DatabaseLock} while the commands run, so they fail to open it
+ * while the GUI or the server uses it.
+ *
+ * @author chmodxChironex
+ * @since 1.0
+ */
+public final class StudentCommandLine {
+    private static final String USAGE = """
+            Usage: studentsystem-cli [options] <command> [arguments]
+                   studentsystem-cli [options] --batch <file|->
+
+            Options:
+              --database <file>        SQLite database file (default students.db)
+              --repository <type>      memory, columnar, offheap or paged (default memory)
+              --changelog <directory>  persist to a change log instead of the database
+
+            Commands:
+              load                                       reload all students
+              import <file> [--delimiter <char>]         import a TXT or CSV file, saved in batches
+              export <file> [--format csv|jsonl|txt] [--type telekom|cybersecurity] [--gzip]
+              stats                                      print student counts and average grades per type
+              save [--compact] [--profile durable|balanced|bulk-load]
+            """;
+
+    private static final Map<String, Class<? extends Student>> TYPES = Map.of(
+            "all", Student.class,
+            "telekom", TelecommunicationsStudent.class,
+            "cybersecurity", CybersecurityStudent.class);
+
+    private final PrintStream out;
+    private final PersistenceExecutor persistenceExecutor;
+    private final DatabaseLock databaseLock;
+    private final StudentRepository repository;
+
+    private StudentCommandLine(PrintStream out, PersistenceExecutor persistenceExecutor, DatabaseLock databaseLock,
+                               StudentRepository repository) {
+        this.out = out;
+        this.persistenceExecutor = persistenceExecutor;
+        this.databaseLock = databaseLock;
+        this.repository = repository;
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out));
+    }
+
+    /**
+     * Parses the options, opens the repository, runs the commands and closes the repository.
+     *
+     * @param args the command line arguments
+     * @param out the stream receiving the command output
+     * @return the exit code
+     */
+    public static int run(String[] args, PrintStream out) {
+        Path database = Path.of("students.db");
+        String repositoryType = "memory";
+        Path changeLog = null;
+        String batchFile = null;
+
+        int index = 0;
+        try {
+            while (index < args.length && args[index].startsWith("--")) {
+                String option = args[index++];
+                String value = valueOf(args, index++, option);
+                switch (option) {
+                    case "--database" -> database = Path.of(value);
+                    case "--repository" -> repositoryType = value;
+                    case "--changelog" -> changeLog = Path.of(value);
+                    case "--batch" -> batchFile = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if ((batchFile == null) == (index == args.length)) {
+                throw new IllegalArgumentException(batchFile == null ? "No command given" : "Commands cannot follow --batch");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            return 2;
+        }
+
+        List<List<String>> commands;
+        try {
+            commands = batchFile == null ? List.of(Arrays.asList(args).subList(index, args.length)) : readBatch(batchFile);
+        } catch (IOException e) {
+            System.err.println("Cannot read batch file: " + e.getMessage());
+            return 1;
+        }
+
+        StudentCommandLine commandLine;
+        try {
+            commandLine = open(out, database, repositoryType, changeLog);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            return 2;
+        } catch (PersistenceException e) {
+            System.err.println("Cannot open the repository: " + e.getMessage());
+            return 1;
+        }
+
+        try {
+            for (List<String> command : commands) {
+                if (!commandLine.execute(command)) {
+                    return 1;
+                }
+            }
+            return 0;
+        } finally {
+            commandLine.close();
+        }
+    }
+
+    private static StudentCommandLine open(PrintStream out, Path database, String repositoryType, Path changeLog) {
+        if (changeLog != null) {
+            return new StudentCommandLine(out, null, null, new ChangeLogStudentRepository(changeLog, new StudentFactoryImpl()));
+        }
+
+        DatabaseLock databaseLock = DatabaseLock.acquire(database);
+        PersistenceExecutor persistenceExecutor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + database));
+        try {
+            persistenceExecutor.connect();
+            new SchemaMigrator(persistenceExecutor, StudentSchema.migrations()).migrate();
+
+            StudentRepository repository = switch (repositoryType) {
+                case "memory" -> {
+                    InMemoryStudentRepository inMemory = new InMemoryStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+                    inMemory.enableSnapshotFile(snapshotFileOf(database));
+                    yield inMemory;
+                }
+                case "columnar" -> new ColumnarStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+                case "offheap" -> new OffHeapStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+                case "paged" -> new PagedStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+                default -> throw new IllegalArgumentException("Unknown repository type " + repositoryType);
+            };
+            repository.loadFromDatabase();
+            return new StudentCommandLine(out, persistenceExecutor, databaseLock, repository);
+        } catch (RuntimeException e) {
+            persistenceExecutor.close();
+            databaseLock.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the snapshot file kept next to the database, students.snapshot for students.db like the GUI uses.
+     */
+    private static Path snapshotFileOf(Path database) {
+        String name = database.getFileName().toString();
+        String baseName = name.endsWith(".db") ? name.substring(0, name.length() - 3) : name;
+        return database.resolveSibling(baseName + ".snapshot");
+    }
+
+    private static List<List<String>> readBatch(String batchFile) throws IOException {
+        BufferedReader reader = batchFile.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(batchFile));
+
+        List<List<String>> commands = new ArrayList<>();
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    commands.add(List.of(line.split("\\s+")));
+                }
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Runs one command and prints its outcome.
+     *
+     * @return true if the command succeeded
+     */
+    private boolean execute(List<String> command) {
+        long start = System.nanoTime();
+        try {
+            String name = command.get(0);
+            List<String> arguments = command.subList(1, command.size());
+            switch (name) {
+                case "load" -> load(arguments);
+                case "import" -> importFile(arguments);
+                case "export" -> exportFile(arguments);
+                case "stats" -> printStatistics(arguments);
+                case "save" -> save(arguments);
+                default -> throw new IllegalArgumentException("Unknown command " + name);
+            }
+            System.err.printf("%s finished in %d ms%n", name, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+        } catch (PersistenceException e) {
+            System.err.println("Database error: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private void load(List<String> arguments) {
+        Options.parse(arguments, 0);
+        repository.loadFromDatabase();
+        out.println("Loaded " + repository.countStudentsByType(Student.class) + " students");
+    }
+
+    private void importFile(List<String> arguments) throws IOException {
+        Options options = Options.parse(arguments, 1, "--delimiter");
+        ImportSettings settings = ImportSettings.defaults();
+        String delimiter = options.value("--delimiter", arguments.get(0).toLowerCase().endsWith(".csv") ? "," : ";");
+        if (delimiter.length() != 1) {
+            throw new IllegalArgumentException("The delimiter must be a single character: " + delimiter);
+        }
+
+        ImportReport report = new StudentImporter(repository, settings.withDelimiter(delimiter.charAt(0)))
+                .importFile(Path.of(arguments.get(0)), (processed, total, imported) -> { });
+        for (ImportReport.Reject reject : report.rejects()) {
+            System.err.println(reject);
+        }
+        out.printf("Imported %d students, rejected %d lines%n", report.importedCount(), report.rejectedCount());
+    }
+
+    private void exportFile(List<String> arguments) throws IOException {
+        Options options = Options.parse(arguments, 1, "--format", "--type", "--gzip");
+        ExportFormat format = switch (options.value("--format", "csv")) {
+            case "csv" -> ExportFormat.CSV;
+            case "jsonl" -> ExportFormat.JSON_LINES;
+            case "txt" -> ExportFormat.TEXT;
+            default -> throw new IllegalArgumentException("Unknown export format " + options.value("--format", ""));
+        };
+        Class<? extends Student> type = typeOf(options.value("--type", "all"));
+        Predicate<Student> all = student -> true;
+
+        ExportResult result = new StudentExporter(format, options.has("--gzip"))
+                .export(repository.getStudentsByType(type), all, Path.of(arguments.get(0)), count -> { });
+        out.printf("Exported %d students, %d bytes, %.0f students/s%n",
+                result.exportedCount(), result.fileBytes(), result.studentsPerSecond());
+    }
+
+    private void printStatistics(List<String> arguments) {
+        Options.parse(arguments, 0);
+        out.println("Students: " + repository.countStudentsByType(Student.class));
+        printTypeStatistics("Telecommunications", TelecommunicationsStudent.class);
+        printTypeStatistics("Cybersecurity", CybersecurityStudent.class);
+    }
+
+    private void printTypeStatistics(String label, Class<? extends Student> type) {
+        out.printf("  %s: %d, average grade %.2f%n",
+                label, repository.countStudentsByType(type), repository.getAverageGradeByType(type));
+    }
+
+    private void save(List<String> arguments) {
+        Options options = Options.parse(arguments, 0, "--compact", "--profile");
+        SaveMode mode = options.has("--compact") ? SaveMode.COMPACT : SaveMode.INCREMENTAL;
+        SqliteProfile profile = SqliteProfile.byName(options.value("--profile", SqliteProfile.BALANCED.name()));
+
+        repository.saveToDatabase(mode, profile);
+        out.println("Saved (" + mode.name().toLowerCase() + ", " + profile.name() + ")");
+    }
+
+    private static Class<? extends Student> typeOf(String name) {
+        Class<? extends Student> type = TYPES.get(name.toLowerCase());
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown student type " + name);
+        }
+        return type;
+    }
+
+    private static String valueOf(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private void close() {
+        try {
+            repository.close();
+        } catch (PersistenceException e) {
+            System.err.println("Error closing the repository: " + e.getMessage());
+        }
+        if (persistenceExecutor != null) {
+            persistenceExecutor.close();
+        }
+        if (databaseLock != null) {
+            databaseLock.close();
+        }
+    }
+
+    /**
+     * Positional arguments followed by flags, {@code --gzip} style flags take no value, all others take one.
+     */
+    private record Options(Map<String, String> values) {
+        private static final List<String> FLAGS = List.of("--gzip", "--compact");
+
+        static Options parse(List<String> arguments, int positionalCount, String... allowed) {
+            if (arguments.size() < positionalCount) {
+                throw new IllegalArgumentException("Expected " + positionalCount + " argument(s), got " + arguments.size());
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (int i = positionalCount; i < arguments.size(); i++) {
+                String option = arguments.get(i);
+                if (!Arrays.asList(allowed).contains(option)) {
+                    throw new IllegalArgumentException("Unexpected argument " + option);
+                }
+                if (FLAGS.contains(option)) {
+                    values.put(option, "");
+                } else if (++i < arguments.size()) {
+                    values.put(option, arguments.get(i));
+                } else {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+            }
+            return new Options(values);
+        }
+
+        boolean has(String option) {
+            return values.containsKey(option);
+        }
+
+        String value(String option, String defaultValue) {
+            return values.getOrDefault(option, defaultValue);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package me.chironex.studentsystem.cli;
+
+import me.chironex.studentsystem.data.DatabaseLock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentCommandLineTest {
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Test
+    void invalidOptionsExitWithTwo() {
+        assertEquals(2, run());
+        assertEquals(2, run("--verbose", "stats"));
+        assertEquals(2, run("--database"));
+        assertEquals(2, run("--batch", "commands.txt", "stats"));
+        assertEquals(2, run("--database", database().toString(), "--repository", "cloud", "stats"));
+        assertEquals("", output());
+    }
+
+    @Test
+    void failingCommandsExitWithOne() {
+        assertEquals(1, run("--database", database().toString(), "dance"));
+        assertEquals(1, run("--database", database().toString(), "stats", "--all"));
+        assertEquals(1, run("--database", database().toString(), "import", directory.resolve("missing.txt").toString()));
+        assertEquals(1, run("--batch", directory.resolve("missing-batch.txt").toString()));
+    }
+
+    @Test
+    void lockedDatabaseExitsWithOne() {
+        try (DatabaseLock ignored = DatabaseLock.acquire(database())) {
+            assertEquals(1, run("--database", database().toString(), "stats"));
+        }
+        assertEquals(0, run("--database", database().toString(), "stats"));
+    }
+
+    @Test
+    void batchRunsAllCommandsAgainstOneRepository() throws IOException {
+        Path students = directory.resolve("students.txt");
+        Files.writeString(students, "Jan;Novak;2000;telekom\nEva;Dvorak;2001;cyber\nbroken line\nPetr;Cerny;1999;telecom\n");
+        Path export = directory.resolve("export.csv");
+        Path batch = directory.resolve("batch.txt");
+        Files.writeString(batch, String.join("\n",
+                "# import, save and read back",
+                "import " + students,
+                "",
+                "save --compact --profile durable",
+                "load",
+                "stats",
+                "export " + export + " --type telekom"));
+
+        assertEquals(0, run("--database", database().toString(), "--batch", batch.toString()));
+
+        assertEquals(List.of(
+                "Imported 3 students, rejected 1 lines",
+                "Saved (compact, durable)",
+                "Loaded 3 students",
+                "Students: 3",
+                String.format("  Telecommunications: 2, average grade %.2f", 0.0),
+                String.format("  Cybersecurity: 1, average grade %.2f", 0.0)), outputLines().subList(0, 6));
+        assertTrue(outputLines().get(6).startsWith("Exported 2 students, "));
+        assertEquals(3, Files.readAllLines(export).size());
+
+        output.reset();
+        assertEquals(0, run("--database", database().toString(), "stats"));
+        assertEquals("Students: 3", outputLines().get(0));
+    }
+
+    @Test
+    void batchStopsAtTheFirstFailingCommand() throws IOException {
+        Path batch = directory.resolve("batch.txt");
+        Files.writeString(batch, "stats\nsave --profile turbo\nload\n");
+
+        assertEquals(1, run("--database", database().toString(), "--batch", batch.toString()));
+
+        assertEquals("Students: 0", outputLines().get(0));
+        assertTrue(outputLines().stream().noneMatch(line -> line.startsWith("Loaded")));
+    }
+
+    @Test
+    void changeLogRepositoryKeepsItsStudentsWithoutADatabase() throws IOException {
+        Path students = directory.resolve("students.csv");
+        Files.writeString(students, "Jan,Novak,2000,telekom\n");
+        Path changeLog = directory.resolve("log");
+
+        assertEquals(0, run("--changelog", changeLog.toString(), "import", students.toString()));
+        output.reset();
+        assertEquals(0, run("--changelog", changeLog.toString(), "stats"));
+
+        assertEquals("Students: 1", outputLines().get(0));
+        assertFalse(Files.exists(database()));
+    }
+
+    private Path database() {
+        return directory.resolve("students.db");
+    }
+
+    private int run(String... args) {
+        return StudentCommandLine.run(args, new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    private String output() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<String> outputLines() {
+        return output().lines().toList();
+    }
+}
@@ -0,0 +1,44 @@
+package me.chironex.studentsystem.data.student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible student data for the benchmarks.
+ */
+final class BenchmarkData {
+    private static final String[] FIRST_NAMES = {"Jan", "Eva", "Petr", "Jana", "Tomas", "Lucie", "Martin", "Tereza"};
+    private static final String[] LAST_NAMES = {"Novak", "Svoboda", "Dvorak", "Cerny", "Prochazka", "Kucera", "Vesely"};
+    private static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns students with IDs 1 to count, alternating types and the given number of grades each.
+     */
+    static List<StudentRecord> records(int count, int gradesPerStudent) {
+        Random random = new Random(SEED);
+        List<StudentRecord> records = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            int[] grades = new int[gradesPerStudent];
+            for (int i = 0; i < grades.length; i++) {
+                grades[i] = 1 + random.nextInt(5);
+            }
+            StudentData data = new StudentData(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(1000), 1990 + random.nextInt(15));
+            records.add(new StudentRecord(id % 2 == 0 ? StudentType.TELEKOM : StudentType.CYBERSECURITY, data, grades));
+        }
+        return records;
+    }
+
+    static void deleteDatabase(Path database) throws IOException {
+        Files.deleteIfExists(database);
+        Files.deleteIfExists(Path.of(database + "-wal"));
+        Files.deleteIfExists(Path.of(database + "-shm"));
+    }
+}
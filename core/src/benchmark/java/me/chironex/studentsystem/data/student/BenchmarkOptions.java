@@ -0,0 +1,56 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Command line options of the benchmarks, given as {@code --name value} pairs, and the shared timing loop.
+ */
+final class BenchmarkOptions {
+    private final Map<String, String> values;
+
+    private BenchmarkOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static BenchmarkOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            values.put(args[i], args[i + 1]);
+        }
+        return new BenchmarkOptions(values);
+    }
+
+    int intValue(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    String value(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Runs the operation once to warm up, then the given number of times, and prints the median and best time.
+     * The operation returns a count, e.g. the number of loaded students, which is printed so it is not optimized away.
+     */
+    static void report(String name, int runs, IntSupplier operation) {
+        int result = operation.getAsInt();
+
+        long[] nanos = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            result = operation.getAsInt();
+            nanos[run] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("%-24s median %9.2f ms, best %9.2f ms (result %d)%n",
+                name, nanos[runs / 2] / 1e6, nanos[0] / 1e6, result);
+    }
+}
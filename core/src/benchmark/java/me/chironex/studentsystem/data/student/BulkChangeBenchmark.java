@@ -0,0 +1,72 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.JdbcReconnectStrategy;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares saving an import batch with {@link StudentDao#applyChanges(java.util.Collection)}, which suspends the
+ * data generation triggers for large change sets, against the same batch written with the row triggers active.
+ * The second variant splits the batch into change sets below {@link StudentDao#TRIGGER_SUSPENSION_THRESHOLD}
+ * inside one transaction, so both write the same rows in a single commit.
+ * Run with {@code gradle :core:bulkChangeBenchmark --args="--batch 100000 --grades 5"}.
+ */
+public final class BulkChangeBenchmark {
+
+    private BulkChangeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        int batch = options.intValue("--batch", 100_000);
+        int grades = options.intValue("--grades", 5);
+        int runs = options.intValue("--runs", 5);
+
+        Path database = Files.createTempFile("studentsystem-bulk-change-benchmark", ".db");
+        PersistenceExecutor executor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + database));
+        try {
+            executor.connect();
+            new SchemaMigrator(executor, StudentSchema.migrations()).migrate();
+            StudentDao dao = new StudentDao(executor, new StudentFactoryImpl());
+            System.out.printf("batches of %d added students with %d grades each%n", batch, grades);
+
+            // every batch adds new students, like consecutive import batches do
+            int[] nextId = {1};
+            BenchmarkOptions.report("triggers suspended", runs, () -> {
+                List<StudentMutation> mutations = additions(nextId, batch, grades);
+                SqliteProfile.BULK_LOAD.runWith(executor, () -> dao.applyChanges(mutations));
+                return mutations.size();
+            });
+            BenchmarkOptions.report("row triggers", runs, () -> {
+                List<StudentMutation> mutations = additions(nextId, batch, grades);
+                int chunkSize = StudentDao.TRIGGER_SUSPENSION_THRESHOLD - 1;
+                SqliteProfile.BULK_LOAD.runWith(executor, () -> executor.performTransaction(() -> {
+                    for (int from = 0; from < mutations.size(); from += chunkSize) {
+                        dao.applyChanges(mutations.subList(from, Math.min(mutations.size(), from + chunkSize)));
+                    }
+                }));
+                return mutations.size();
+            });
+        } finally {
+            executor.close();
+            BenchmarkData.deleteDatabase(database);
+        }
+    }
+
+    private static List<StudentMutation> additions(int[] nextId, int count, int grades) {
+        List<StudentMutation> mutations = new ArrayList<>(count);
+        for (StudentRecord record : BenchmarkData.records(count, grades)) {
+            StudentData data = record.data();
+            StudentData renumbered = new StudentData(nextId[0]++, data.firstName(), data.lastName(), data.birthYear());
+            mutations.add(StudentMutation.added(new StudentRecord(record.type(), renumbered, record.grades())));
+        }
+        return mutations;
+    }
+}
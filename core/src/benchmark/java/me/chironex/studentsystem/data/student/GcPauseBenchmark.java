@@ -0,0 +1,76 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares the full garbage collection pause and the heap used with students kept as objects on the heap
+ * and in an {@link OffHeapStudentStore}, for growing numbers of students with 10 grades each.
+ * The pause is the time of {@link System#gc()}, which the default collector runs as a full, stop-the-world collection.
+ * Run with {@code gradle :core:gcPauseBenchmark --args="--max-students 2000000"}; the heap must hold the largest size.
+ */
+public final class GcPauseBenchmark {
+    private static final int GRADES_PER_STUDENT = 10;
+
+    private GcPauseBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        int maxStudents = options.intValue("--max-students", 2_000_000);
+        int runs = options.intValue("--runs", 5);
+
+        System.out.printf("%-10s %12s %13s %14s %14s%n", "students", "object heap", "off-heap heap", "objects gc", "off-heap gc");
+        for (int size = maxStudents / 4; size <= maxStudents; size *= 2) {
+            List<Student> objects = new ArrayList<>(size);
+            for (int id = 1; id <= size; id++) {
+                objects.add(student(id));
+            }
+            long objectHeap = usedHeap();
+            double objectPause = medianGcMillis(runs);
+            int objectCount = objects.size();
+            objects = null;
+
+            OffHeapStudentStore store = new OffHeapStudentStore();
+            for (int id = 1; id <= size; id++) {
+                store.append(student(id));
+            }
+            long storeHeap = usedHeap();
+            double storePause = medianGcMillis(runs);
+
+            System.out.printf("%-10d %9d MB %10d MB %11.0f ms %11.0f ms%n", Math.max(objectCount, store.size()),
+                    objectHeap >> 20, storeHeap >> 20, objectPause, storePause);
+            store.clear();
+            usedHeap();
+        }
+    }
+
+    private static Student student(int id) {
+        Student student = id % 2 == 0
+                ? new TelecommunicationsStudent(id, "Jan", "Novak" + id, 2000)
+                : new CybersecurityStudent(id, "Eva", "Svobodova" + id, 2001);
+        for (int grade = 0; grade < GRADES_PER_STUDENT; grade++) {
+            student.addGrade(1 + (id + grade) % 5);
+        }
+        return student;
+    }
+
+    private static double medianGcMillis(int runs) {
+        long[] nanos = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            System.gc();
+            nanos[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2] / 1e6;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,64 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Measures the retained heap per student of {@link PackedGrades} against the former {@code ArrayList<Integer>},
+ * for several numbers of grades per student. The heap is measured after repeated full collections.
+ * Run with {@code gradle :core:gradeFootprintBenchmark --args="--students 200000"}.
+ */
+public final class GradeFootprintBenchmark {
+    private static final int[] GRADE_COUNTS = {0, 5, 20, 60};
+
+    private GradeFootprintBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        int students = options.intValue("--students", 200_000);
+
+        System.out.printf("Retained heap per student, %,d students%n", students);
+        System.out.printf("%-8s %16s %16s%n", "grades", "ArrayList", "PackedGrades");
+        for (int gradeCount : GRADE_COUNTS) {
+            double boxed = bytesPerObject(students, student -> {
+                List<Integer> grades = new ArrayList<>();
+                for (int i = 0; i < gradeCount; i++) {
+                    grades.add(1 + (student + i) % 5);
+                }
+                return grades;
+            });
+            double packed = bytesPerObject(students, student -> {
+                PackedGrades grades = new PackedGrades();
+                for (int i = 0; i < gradeCount; i++) {
+                    grades.add(1 + (student + i) % 5);
+                }
+                return grades;
+            });
+            System.out.printf("%-8d %14.0f B %14.0f B%n", gradeCount, boxed, packed);
+        }
+    }
+
+    private static double bytesPerObject(int count, IntFunction<Object> factory) {
+        Object[] objects = new Object[count];
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) {
+            objects[i] = factory.apply(i);
+        }
+        long after = usedHeap();
+
+        if (objects[count - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / count;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,66 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures random lookups in {@link StudentIdIndex} against a boxed {@code HashMap<Integer, Student>}
+ * and the persistent {@link StudentSnapshot} tree, for growing numbers of students.
+ * Run with {@code gradle :core:idIndexBenchmark --args="--max-students 1000000"}.
+ */
+public final class IdIndexBenchmark {
+    private static final int LOOKUPS = 2_000_000;
+
+    private IdIndexBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        int maxStudents = options.intValue("--max-students", 1_000_000);
+        int runs = options.intValue("--runs", 5);
+
+        System.out.printf("%,d random lookups per run, time per lookup%n", LOOKUPS);
+        for (int size = 1_000; size <= maxStudents; size *= 10) {
+            Student[] students = new Student[size];
+            StudentIdIndex index = new StudentIdIndex();
+            Map<Integer, Student> map = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                students[i] = new TelecommunicationsStudent(i + 1, "Jan", "Novak", 2000);
+                index.put(students[i]);
+                map.put(i + 1, students[i]);
+            }
+            StudentSnapshot snapshot = StudentSnapshot.of(Arrays.asList(students), 0);
+
+            int[] ids = new int[LOOKUPS];
+            Random random = new Random(size);
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = 1 + random.nextInt(size);
+            }
+
+            System.out.printf("%,d students%n", size);
+            BenchmarkOptions.report("  StudentIdIndex", runs, () -> {
+                int found = 0;
+                for (int id : ids) {
+                    found += index.get(id).getBirthYear() & 1;
+                }
+                return found;
+            });
+            BenchmarkOptions.report("  HashMap", runs, () -> {
+                int found = 0;
+                for (int id : ids) {
+                    found += map.get(id).getBirthYear() & 1;
+                }
+                return found;
+            });
+            BenchmarkOptions.report("  StudentSnapshot", runs, () -> {
+                int found = 0;
+                for (int id : ids) {
+                    found += snapshot.findById(id).getBirthYear() & 1;
+                }
+                return found;
+            });
+        }
+    }
+}
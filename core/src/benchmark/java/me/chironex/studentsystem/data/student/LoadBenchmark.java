@@ -0,0 +1,92 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.SneakyThrows;
+import me.chironex.studentsystem.data.JdbcReconnectStrategy;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares loading all students with their grades in two ordered scans ({@link StudentDao#loadAll()})
+ * against the former approach of one grade query per student.
+ * Run with {@code gradle :core:loadBenchmark --args="--students 100000 --grades 20"}.
+ */
+public final class LoadBenchmark {
+    private static final String SELECT_STUDENTS = "SELECT * FROM students ORDER BY id";
+    private static final String SELECT_GRADES_BY_STUDENT = "SELECT grade FROM grades WHERE student_id = ? ORDER BY id";
+
+    private LoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        int students = options.intValue("--students", 100_000);
+        int grades = options.intValue("--grades", 20);
+        int runs = options.intValue("--runs", 5);
+
+        Path database = Files.createTempFile("studentsystem-load-benchmark", ".db");
+        PersistenceExecutor executor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + database));
+        try {
+            executor.connect();
+            new SchemaMigrator(executor, StudentSchema.migrations()).migrate();
+            StudentDao dao = new StudentDao(executor, new StudentFactoryImpl());
+            SqliteProfile.BULK_LOAD.runWith(executor, () -> dao.replaceAll(BenchmarkData.records(students, grades)));
+            System.out.printf("%d students with %d grades each%n", students, grades);
+
+            BenchmarkOptions.report("two ordered scans", runs, () -> dao.loadAll().size());
+            BenchmarkOptions.report("streamed scans", runs, () -> {
+                int[] count = new int[1];
+                dao.forEachStudent(student -> count[0]++);
+                return count[0];
+            });
+            BenchmarkOptions.report("query per student", runs, () -> loadWithQueryPerStudent(executor));
+        } finally {
+            executor.close();
+            BenchmarkData.deleteDatabase(database);
+        }
+    }
+
+    /**
+     * Reads the students, then their grades with one prepared query per student, as loading did before.
+     */
+    private static int loadWithQueryPerStudent(PersistenceExecutor executor) {
+        List<Student> students = new ArrayList<>();
+        executor.performOperation(statement -> readStudents(statement, students));
+
+        for (Student student : students) {
+            executor.performPreparedOperation(SELECT_GRADES_BY_STUDENT,
+                    preparedStatement -> readGrades(student, preparedStatement));
+        }
+        return students.size();
+    }
+
+    @SneakyThrows
+    private static void readStudents(Statement statement, List<Student> students) {
+        StudentFactory factory = new StudentFactoryImpl();
+        try (ResultSet rs = statement.executeQuery(SELECT_STUDENTS)) {
+            while (rs.next()) {
+                students.add(factory.createStudent(StudentType.fromString(rs.getString("student_type")), new StudentData(
+                        rs.getInt("id"), rs.getString("first_name"), rs.getString("last_name"), rs.getInt("birth_year"))));
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void readGrades(Student student, PreparedStatement preparedStatement) {
+        preparedStatement.setInt(1, student.getId());
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                student.addGrade(rs.getInt("grade"));
+            }
+        }
+    }
+}
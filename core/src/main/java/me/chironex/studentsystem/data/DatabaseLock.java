@@ -0,0 +1,82 @@
+package me.chironex.studentsystem.data;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exclusive lock on a database file, held as an operating system lock on a lock file next to it,
+ * e.g. {@code students.db.lock} for {@code students.db}.
+ * The repositories assign new IDs from a counter loaded with the students, so two programs writing the same
+ * database would hand out the same IDs. The GUI, the CLI and the server therefore take this lock before opening
+ * a database and hold it until they close it. The operating system releases the lock when the process ends,
+ * also after a crash, so a lock file left behind does not block the next start.
+ */
+public final class DatabaseLock implements AutoCloseable {
+    private final Path lockFile;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private DatabaseLock(Path lockFile, FileChannel channel, FileLock lock) {
+        this.lockFile = lockFile;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Locks the given database file without waiting.
+     *
+     * @param database the database file, it does not need to exist yet
+     * @return the held lock
+     * @throws PersistenceException if another program or this one already holds the lock, or the lock file cannot be created
+     */
+    public static DatabaseLock acquire(Path database) {
+        Path lockFile = database.resolveSibling(database.getFileName() + ".lock");
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new PersistenceException("Cannot create lock file " + lockFile, e);
+        }
+
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return new DatabaseLock(lockFile, channel, lock);
+            }
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new PersistenceException("Cannot lock " + lockFile, e);
+        } catch (OverlappingFileLockException e) {
+            // held by this process already, e.g. by a second repository on the same database
+        }
+
+        closeQuietly(channel);
+        throw new PersistenceException("Database " + database + " is used by another program");
+    }
+
+    /**
+     * Releases the lock, the lock file is kept for the next program.
+     */
+    @Override
+    public void close() {
+        try {
+            lock.release();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Cannot release lock file " + lockFile + ": " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing lock file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package me.chironex.studentsystem.data;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JDBC implementation of the ReconnectStrategy interface.
+ * Opens a new database connection using the provided JDBC URL
+ * and applies the configured SQLite profile to it.
+ */
+public class JdbcReconnectStrategy implements ReconnectStrategy {
+    private final String jdbcUrl;
+    @Getter
+    private final SqliteProfile profile;
+
+    /**
+     * Creates a strategy opening connections with the {@link SqliteProfile#BALANCED} profile.
+     *
+     * @param jdbcUrl the JDBC URL of the database
+     */
+    public JdbcReconnectStrategy(String jdbcUrl) {
+        this(jdbcUrl, SqliteProfile.BALANCED);
+    }
+
+    /**
+     * Creates a strategy opening connections with the given profile.
+     *
+     * @param jdbcUrl the JDBC URL of the database
+     * @param profile the SQLite settings applied to every new connection
+     */
+    public JdbcReconnectStrategy(String jdbcUrl, SqliteProfile profile) {
+        this.jdbcUrl = jdbcUrl;
+        this.profile = profile;
+    }
+
+    /**
+     * Opens a new JDBC connection and applies the profile to it.
+     *
+     * @return a new Connection instance
+     * @throws Exception if a database access error occurs
+     */
+    @Override
+    public Connection openConnection() throws Exception {
+        Connection connection = DriverManager.getConnection(jdbcUrl);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : profile.openPragmas()) {
+                statement.execute(pragma);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        return connection;
+    }
+}
@@ -0,0 +1,20 @@
+package me.chironex.studentsystem.data;
+
+import java.io.Serial;
+
+/**
+ * Unchecked exception thrown when a persistence operation fails and cannot be recovered,
+ * e.g. when a transaction had to be rolled back.
+ */
+public class PersistenceException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public PersistenceException(String message) {
+        super(message);
+    }
+
+    public PersistenceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,77 @@
+package me.chironex.studentsystem.data;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * Interface for executing persistence operations on a database.
+ */
+public interface PersistenceExecutor extends AutoCloseable {
+
+    /**
+     * Establishes the database connection(s) used by this executor.
+     */
+    void connect();
+
+    /**
+     * Performs an operation using a SQL Statement.
+     *
+     * @param statementAction the action to perform with the Statement
+     */
+    void performOperation(Consumer<Statement> statementAction);
+
+    /**
+     * Performs an operation using a PreparedStatement.
+     *
+     * @param sql the SQL query to prepare
+     * @param statementAction the action to perform with the PreparedStatement
+     */
+    void performPreparedOperation(String sql, Consumer<PreparedStatement> statementAction);
+
+    /**
+     * Performs the given operations inside a single transaction.
+     * All operations executed through this executor by the given action take part in the transaction.
+     * The transaction is committed if the action completes and rolled back if any operation fails.
+     * Nested calls join the already running transaction.
+     *
+     * @param transactionAction the operations to perform within the transaction
+     * @throws PersistenceException if an operation fails and the transaction was rolled back
+     */
+    void performTransaction(Runnable transactionAction);
+
+    /**
+     * Performs the given operations on one and the same connection without starting a transaction.
+     * Needed for connection-level settings that must apply to a whole group of operations.
+     * Executors holding a single connection simply run the action.
+     *
+     * @param action the operations to perform on the same connection
+     */
+    default void performPinned(Runnable action) {
+        action.run();
+    }
+
+    /**
+     * Performs a chain of simple SQL operations.
+     *
+     * @param statements the SQL statements to execute in order
+     */
+    @SuppressWarnings("all")
+    default void performSimpleOperationsChain(String... statements) {
+        performOperation(statement -> {
+            for (String sql : statements) {
+                try {
+                    statement.execute(sql);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Closes the database connection(s) held by this executor.
+     */
+    @Override
+    void close();
+}
\ No newline at end of file
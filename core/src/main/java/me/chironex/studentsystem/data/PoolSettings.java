@@ -0,0 +1,37 @@
+package me.chironex.studentsystem.data;
+
+/**
+ * Record representing the configuration of a {@link PooledPersistenceExecutor}.
+ *
+ * @param maxConnections the maximum number of open connections
+ * @param statementCacheSize the maximum number of cached prepared statements per connection
+ * @param validationIntervalMillis idle time after which a connection is validated before reuse
+ * @param validationTimeoutSeconds the timeout passed to {@link java.sql.Connection#isValid(int)}
+ */
+public record PoolSettings(int maxConnections,
+                           int statementCacheSize,
+                           long validationIntervalMillis,
+                           int validationTimeoutSeconds) {
+
+    public PoolSettings {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Pool must allow at least one connection: " + maxConnections);
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size cannot be negative: " + statementCacheSize);
+        }
+        if (validationIntervalMillis < 0 || validationTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("Validation settings cannot be negative");
+        }
+    }
+
+    /**
+     * Returns the default settings: four connections, 32 cached statements per connection
+     * and validation of connections that were idle for more than 30 seconds.
+     *
+     * @return the default pool settings
+     */
+    public static PoolSettings defaults() {
+        return new PoolSettings(4, 32, 30_000, 2);
+    }
+}
@@ -0,0 +1,31 @@
+package me.chironex.studentsystem.data;
+
+/**
+ * Record representing a point-in-time snapshot of the counters of a {@link PooledPersistenceExecutor}.
+ *
+ * @param openConnections the number of currently open connections
+ * @param idleConnections the number of open connections not in use
+ * @param connectionsCreated the total number of connections opened
+ * @param connectionsDiscarded the total number of connections closed after failing validation or a statement
+ * @param statementCacheHits the number of prepared statements served from a cache
+ * @param statementCacheMisses the number of prepared statements that had to be prepared
+ * @param statementCacheEvictions the number of cached statements closed to make room for others
+ */
+public record PoolStatistics(int openConnections,
+                             int idleConnections,
+                             long connectionsCreated,
+                             long connectionsDiscarded,
+                             long statementCacheHits,
+                             long statementCacheMisses,
+                             long statementCacheEvictions) {
+
+    /**
+     * Calculates the ratio of statement cache hits to all statement requests.
+     *
+     * @return the hit ratio between 0.0 and 1.0, or 0.0 if no statement was requested yet
+     */
+    public double statementCacheHitRatio() {
+        long requests = statementCacheHits + statementCacheMisses;
+        return requests == 0 ? 0.0 : (double) statementCacheHits / requests;
+    }
+}
@@ -0,0 +1,443 @@
+package me.chironex.studentsystem.data;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pooled implementation of PersistenceExecutor.
+ * Keeps a bounded set of connections opened by the reconnect strategy and caches prepared statements
+ * per connection, keyed by their SQL. Idle connections are validated before reuse; a connection that
+ * was used recently is only checked for being open, older ones are checked with {@link Connection#isValid(int)}.
+ * A transaction or {@link #performPinned(Runnable)} pins one connection to the calling thread until it completes.
+ */
+public class PooledPersistenceExecutor implements PersistenceExecutor {
+    private static final int MAX_CONNECT_ATTEMPTS = 5;
+    private static final long CONNECT_DELAY_MS = 1000;
+
+    private final ReconnectStrategy reconnectStrategy;
+    @Getter
+    private final PoolSettings settings;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idleConnections;
+    private final ThreadLocal<PooledConnection> pinnedConnection;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsDiscarded = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    private volatile boolean closed;
+
+    public PooledPersistenceExecutor(ReconnectStrategy reconnectStrategy) {
+        this(reconnectStrategy, PoolSettings.defaults());
+    }
+
+    public PooledPersistenceExecutor(ReconnectStrategy reconnectStrategy, PoolSettings settings) {
+        this.reconnectStrategy = reconnectStrategy;
+        this.settings = settings;
+
+        this.permits = new Semaphore(settings.maxConnections(), true);
+        this.idleConnections = new LinkedBlockingDeque<>();
+        this.pinnedConnection = new ThreadLocal<>();
+    }
+
+    /**
+     * Opens the first pooled connection, so configuration errors surface at startup.
+     *
+     * @throws PersistenceException if no connection could be opened
+     */
+    @Override
+    public void connect() {
+        release(acquire());
+    }
+
+    /**
+     * Performs an operation using a SQL Statement on a pooled connection.
+     *
+     * @param statementAction the action to perform with the Statement
+     */
+    @Override
+    public void performOperation(Consumer<Statement> statementAction) {
+        PooledConnection pooled = acquire();
+
+        try (Statement statement = pooled.connection.createStatement()) {
+            statementAction.accept(statement);
+        } catch (SQLException e) {
+            handleStatementException(pooled, "Error executing statement", e);
+        } finally {
+            release(pooled);
+        }
+    }
+
+    /**
+     * Performs an operation using a cached PreparedStatement on a pooled connection.
+     *
+     * @param sql the SQL query to prepare
+     * @param statementAction the action to perform with the PreparedStatement
+     */
+    @Override
+    public void performPreparedOperation(String sql, Consumer<PreparedStatement> statementAction) {
+        PooledConnection pooled = acquire();
+
+        try {
+            PreparedStatement statement = pooled.prepare(sql);
+            boolean succeeded = false;
+            try {
+                statementAction.accept(statement);
+                succeeded = true;
+            } finally {
+                pooled.recycle(sql, statement, succeeded);
+            }
+        } catch (SQLException e) {
+            handleStatementException(pooled, "Error executing prepared statement", e);
+        } finally {
+            release(pooled);
+        }
+    }
+
+    /**
+     * Performs the given operations inside a single transaction.
+     * The connection running the transaction is pinned to the calling thread, so all operations
+     * the action performs through this executor use it.
+     *
+     * @param transactionAction the operations to perform within the transaction
+     * @throws PersistenceException if an operation fails and the transaction was rolled back
+     */
+    @Override
+    public void performTransaction(Runnable transactionAction) {
+        performPinned(() -> {
+            PooledConnection pooled = pinnedConnection.get();
+            if (pooled.inTransaction) {
+                transactionAction.run();
+                return;
+            }
+
+            try {
+                pooled.connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                pooled.broken = true;
+                throw new PersistenceException("Could not start transaction", e);
+            }
+
+            pooled.inTransaction = true;
+            try {
+                transactionAction.run();
+                pooled.connection.commit();
+            } catch (Exception e) {
+                rollback(pooled);
+                throw e instanceof PersistenceException persistenceException
+                        ? persistenceException
+                        : new PersistenceException("Transaction rolled back", e);
+            } finally {
+                pooled.inTransaction = false;
+                restoreAutoCommit(pooled);
+            }
+        });
+    }
+
+    /**
+     * Performs the given operations on one pooled connection pinned to the calling thread.
+     * Nested calls and transactions started by the action reuse the pinned connection.
+     *
+     * @param action the operations to perform on the same connection
+     */
+    @Override
+    public void performPinned(Runnable action) {
+        if (pinnedConnection.get() != null) {
+            action.run();
+            return;
+        }
+
+        PooledConnection pooled = acquire();
+        pinnedConnection.set(pooled);
+        try {
+            action.run();
+        } finally {
+            pinnedConnection.remove();
+            release(pooled);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool and statement cache counters.
+     *
+     * @return the current pool statistics
+     */
+    public PoolStatistics getStatistics() {
+        return new PoolStatistics(
+                openConnections.get(),
+                idleConnections.size(),
+                connectionsCreated.sum(),
+                connectionsDiscarded.sum(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum(),
+                statementCacheEvictions.sum());
+    }
+
+    /**
+     * Closes all idle connections. Connections in use are closed when they are released.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            pooled.close();
+            openConnections.decrementAndGet();
+        }
+    }
+
+    private PooledConnection acquire() {
+        PooledConnection pinned = pinnedConnection.get();
+        if (pinned != null) {
+            return pinned;
+        }
+
+        if (closed) {
+            throw new PersistenceException("Persistence executor is closed");
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (pooled.isUsable()) {
+                    return pooled;
+                }
+                discard(pooled);
+            }
+
+            return openPooledConnection();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        if (pooled == pinnedConnection.get()) {
+            return;
+        }
+
+        if (pooled.broken || closed) {
+            discard(pooled);
+        } else {
+            pooled.touch();
+            idleConnections.offerFirst(pooled);
+        }
+
+        permits.release();
+    }
+
+    private PooledConnection openPooledConnection() {
+        Exception lastFailure = null;
+
+        for (int attempt = 1; attempt <= MAX_CONNECT_ATTEMPTS; attempt++) {
+            try {
+                PooledConnection pooled = new PooledConnection(reconnectStrategy.openConnection());
+                openConnections.incrementAndGet();
+                connectionsCreated.increment();
+                return pooled;
+            } catch (Exception e) {
+                lastFailure = e;
+                System.err.println("Database connection failed (attempt " + attempt + "): " + e.getMessage());
+                try {
+                    Thread.sleep(CONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        throw new PersistenceException("Could not open a database connection", lastFailure);
+    }
+
+    private void discard(PooledConnection pooled) {
+        pooled.close();
+        openConnections.decrementAndGet();
+        connectionsDiscarded.increment();
+    }
+
+    /**
+     * Handles a failed statement.
+     * Inside a transaction the failure is propagated so the transaction is rolled back,
+     * otherwise it is logged like in {@link SimplePersistenceExecutor} and the connection
+     * is discarded on release if it is no longer usable.
+     */
+    private void handleStatementException(PooledConnection pooled, String message, SQLException e) {
+        if (pooled.inTransaction) {
+            throw new PersistenceException("Statement failed inside a transaction", e);
+        }
+
+        System.err.println(message + ": " + e.getMessage());
+        if (!pooled.isValid()) {
+            pooled.broken = true;
+        }
+    }
+
+    private static void rollback(PooledConnection pooled) {
+        try {
+            pooled.connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("Error rolling back transaction: " + e.getMessage());
+            pooled.broken = true;
+        }
+    }
+
+    private static void restoreAutoCommit(PooledConnection pooled) {
+        try {
+            pooled.connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("Error restoring auto-commit: " + e.getMessage());
+            pooled.broken = true;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            System.err.println("Error closing pooled resource: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A pooled connection together with its prepared statement cache.
+     * A pooled connection is only ever used by one thread at a time.
+     */
+    private final class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statementCache;
+        // the cached statements handed out to running operations, by SQL
+        private final Map<String, PreparedStatement> statementsInUse;
+
+        private long lastUsedNanos;
+        private boolean inTransaction;
+        private boolean broken;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statementCache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= settings.statementCacheSize()) {
+                        return false;
+                    }
+
+                    // a statement in use is closed when it is recycled, as it is no longer cached then
+                    if (statementsInUse.get(eldest.getKey()) != eldest.getValue()) {
+                        closeQuietly(eldest.getValue());
+                    }
+                    statementCacheEvictions.increment();
+                    return true;
+                }
+            };
+            this.statementsInUse = new HashMap<>();
+
+            touch();
+        }
+
+        /**
+         * Returns the cached statement for the SQL, preparing it on a miss.
+         * If the cached statement is already in use by an enclosing operation, a fresh one is prepared.
+         */
+        private PreparedStatement prepare(String sql) throws SQLException {
+            boolean inUse = statementsInUse.containsKey(sql);
+            if (!inUse) {
+                PreparedStatement cached = statementCache.get(sql);
+                if (cached != null) {
+                    statementCacheHits.increment();
+                    statementsInUse.put(sql, cached);
+                    return cached;
+                }
+            }
+
+            statementCacheMisses.increment();
+            PreparedStatement statement = connection.prepareStatement(sql);
+
+            if (settings.statementCacheSize() > 0 && !inUse) {
+                statementsInUse.put(sql, statement);
+                statementCache.put(sql, statement);
+            }
+
+            return statement;
+        }
+
+        /**
+         * Returns a statement to the cache after use, or closes it if it is not cached or has failed.
+         * A cached statement that was evicted while in use is closed here.
+         */
+        private void recycle(String sql, PreparedStatement statement, boolean succeeded) throws SQLException {
+            statementsInUse.remove(sql, statement);
+
+            boolean cached = statementCache.get(sql) == statement;
+
+            if (cached && succeeded) {
+                statement.clearParameters();
+                statement.clearBatch();
+            } else {
+                if (cached) {
+                    statementCache.remove(sql);
+                }
+                statement.close();
+            }
+        }
+
+        private boolean isUsable() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+
+                long idleNanos = System.nanoTime() - lastUsedNanos;
+                return idleNanos < TimeUnit.MILLISECONDS.toNanos(settings.validationIntervalMillis())
+                        || connection.isValid(settings.validationTimeoutSeconds());
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private boolean isValid() {
+            try {
+                return connection.isValid(settings.validationTimeoutSeconds());
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+
+        private void close() {
+            statementCache.values().forEach(PooledPersistenceExecutor::closeQuietly);
+            statementCache.clear();
+            closeQuietly(connection);
+        }
+    }
+}
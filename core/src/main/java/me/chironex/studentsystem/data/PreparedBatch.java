@@ -0,0 +1,56 @@
+package me.chironex.studentsystem.data;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Collects parameter sets of a PreparedStatement into JDBC batches of a fixed size.
+ * A batch is executed whenever it is full; remaining rows are executed by {@link #flush()}.
+ */
+public class PreparedBatch {
+    private final PreparedStatement statement;
+    private final int batchSize;
+
+    private int pendingRows;
+
+    /**
+     * Creates a batch for the given statement.
+     *
+     * @param statement the prepared statement whose parameters are batched
+     * @param batchSize the number of rows executed at once, must be positive
+     */
+    public PreparedBatch(PreparedStatement statement, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.statement = statement;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds the currently bound parameters to the batch and executes it once it is full.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void add() throws SQLException {
+        statement.addBatch();
+        pendingRows++;
+
+        if (pendingRows >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Executes all rows added since the last execution.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void flush() throws SQLException {
+        if (pendingRows > 0) {
+            statement.executeBatch();
+            pendingRows = 0;
+        }
+    }
+}
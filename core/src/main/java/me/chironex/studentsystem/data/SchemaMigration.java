@@ -0,0 +1,25 @@
+package me.chironex.studentsystem.data;
+
+import java.util.List;
+
+/**
+ * Record representing a single versioned change of the database schema.
+ * Migrations are applied in ascending version order and each version is applied exactly once.
+ *
+ * @param version the schema version reached after applying this migration, must be positive
+ * @param description a short human-readable description stored in the schema version table
+ * @param statements the SQL statements executed in order to apply the migration
+ */
+public record SchemaMigration(int version, String description, List<String> statements) {
+
+    public SchemaMigration {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration version must be positive: " + version);
+        }
+        statements = List.copyOf(statements);
+    }
+
+    public static SchemaMigration of(int version, String description, String... statements) {
+        return new SchemaMigration(version, description, List.of(statements));
+    }
+}
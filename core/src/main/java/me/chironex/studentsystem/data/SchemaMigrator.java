@@ -0,0 +1,107 @@
+package me.chironex.studentsystem.data;
+
+import lombok.SneakyThrows;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date by applying pending migrations in version order.
+ * Applied versions are recorded in the schema_version table; each migration runs in its own
+ * transaction together with its version record, so a failed migration leaves no partial changes.
+ * Intended to run once at application startup.
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class SchemaMigrator {
+    private static final String CREATE_SCHEMA_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+            version INTEGER PRIMARY KEY,
+            description TEXT NOT NULL,
+            applied_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP)""";
+    private static final String SELECT_CURRENT_VERSION = "SELECT COALESCE(MAX(version), 0) FROM schema_version";
+    private static final String INSERT_VERSION = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+
+    private final PersistenceExecutor persistenceExecutor;
+    private final List<SchemaMigration> migrations;
+
+    /**
+     * Creates a migrator for the given migrations.
+     *
+     * @param persistenceExecutor the executor used to access the database
+     * @param migrations the known migrations, in any order
+     * @throws IllegalArgumentException if two migrations share a version
+     */
+    public SchemaMigrator(PersistenceExecutor persistenceExecutor, List<SchemaMigration> migrations) {
+        List<SchemaMigration> sortedMigrations = new ArrayList<>(migrations);
+        sortedMigrations.sort(Comparator.comparingInt(SchemaMigration::version));
+
+        for (int i = 1; i < sortedMigrations.size(); i++) {
+            if (sortedMigrations.get(i).version() == sortedMigrations.get(i - 1).version()) {
+                throw new IllegalArgumentException("Duplicate migration version: " + sortedMigrations.get(i).version());
+            }
+        }
+
+        this.persistenceExecutor = persistenceExecutor;
+        this.migrations = List.copyOf(sortedMigrations);
+    }
+
+    /**
+     * Applies all migrations newer than the current schema version.
+     *
+     * @return the schema version after migrating
+     * @throws PersistenceException if a migration failed; earlier migrations stay applied
+     */
+    public int migrate() {
+        int currentVersion = getCurrentVersion();
+        for (SchemaMigration migration : migrations) {
+            if (migration.version() <= currentVersion) {
+                continue;
+            }
+
+            apply(migration);
+            currentVersion = migration.version();
+            System.err.println("Applied schema migration " + migration.version() + ": " + migration.description());
+        }
+
+        return currentVersion;
+    }
+
+    /**
+     * Reads the version of the newest applied migration.
+     *
+     * @return the current schema version, or 0 if no migration was applied yet
+     */
+    public int getCurrentVersion() {
+        persistenceExecutor.performSimpleOperationsChain(CREATE_SCHEMA_VERSION_TABLE);
+
+        int[] version = new int[1];
+        persistenceExecutor.performOperation(statement -> version[0] = doSelectVersion(statement));
+        return version[0];
+    }
+
+    private void apply(SchemaMigration migration) {
+        persistenceExecutor.performTransaction(() -> {
+            persistenceExecutor.performSimpleOperationsChain(migration.statements().toArray(String[]::new));
+            persistenceExecutor.performPreparedOperation(
+                    INSERT_VERSION, preparedStatement -> doInsertVersion(migration, preparedStatement));
+        });
+    }
+
+    @SneakyThrows
+    private static int doSelectVersion(Statement statement) {
+        try (ResultSet rs = statement.executeQuery(SELECT_CURRENT_VERSION)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @SneakyThrows
+    private static void doInsertVersion(SchemaMigration migration, PreparedStatement preparedStatement) {
+        preparedStatement.setInt(1, migration.version());
+        preparedStatement.setString(2, migration.description());
+        preparedStatement.executeUpdate();
+    }
+}
@@ -17,6 +17,7 @@ public class SimplePersistenceExecutor implements PersistenceExecutor {
     private final ReconnectStrategy reconnectStrategy;
 
     private Connection connection;
+    private boolean inTransaction;
 
     private static final int MAX_RECONNECT_ATTEMPTS = 5;
     private static final long RECONNECT_DELAY_MS = 1000;
@@ -24,6 +25,7 @@ public class SimplePersistenceExecutor implements PersistenceExecutor {
     /**
      * Establishes a database connection using the reconnect strategy.
      */
+    @Override
     public void connect() {
         reconnect();
     }
@@ -56,6 +58,10 @@ public class SimplePersistenceExecutor implements PersistenceExecutor {
     }
 
     private void handleStatementException(SQLException e) {
+        if (inTransaction) {
+            throw new PersistenceException("Statement failed inside a transaction", e);
+        }
+
         System.err.println("SQL Exception: " + e.getMessage());
         reconnect();
     }
@@ -91,9 +97,60 @@ public class SimplePersistenceExecutor implements PersistenceExecutor {
         }
     }
 
+    /**
+     * Performs the given operations inside a single transaction on the held connection.
+     *
+     * @param transactionAction the operations to perform within the transaction
+     * @throws PersistenceException if an operation fails and the transaction was rolled back
+     */
+    @Override
+    public void performTransaction(Runnable transactionAction) {
+        if (inTransaction) {
+            transactionAction.run();
+            return;
+        }
+
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new PersistenceException("Could not start transaction", e);
+        }
+
+        inTransaction = true;
+        try {
+            transactionAction.run();
+            connection.commit();
+        } catch (Exception e) {
+            rollback();
+            throw e instanceof PersistenceException persistenceException
+                    ? persistenceException
+                    : new PersistenceException("Transaction rolled back", e);
+        } finally {
+            inTransaction = false;
+            restoreAutoCommit();
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            System.err.println("Error rolling back transaction: " + e.getMessage());
+        }
+    }
+
+    private void restoreAutoCommit() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("Error restoring auto-commit: " + e.getMessage());
+        }
+    }
+
     /**
      * Closes the database connection if it is open.
      */
+    @Override
     @SneakyThrows(SQLException.class)
     public void close() {
         if (connection != null && !connection.isClosed()) {
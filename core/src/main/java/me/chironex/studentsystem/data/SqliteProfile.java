@@ -0,0 +1,178 @@
+package me.chironex.studentsystem.data;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record representing a named set of SQLite performance settings applied to every new connection.
+ * The journal mode is a persistent property of the database file, all other settings apply
+ * per connection and can be switched temporarily with {@link #runWith(PersistenceExecutor, Runnable)}.
+ *
+ * @param name the name of the profile, e.g. "balanced"
+ * @param journalMode the journal mode of the database
+ * @param synchronous how often SQLite waits for data to reach the disk
+ * @param cacheSizeKib the page cache size in KiB
+ * @param mmapSizeBytes the maximum number of bytes of the database file accessed through memory-mapped I/O
+ * @param tempStore where temporary tables and indices are stored
+ * @param busyTimeoutMillis how long a connection waits for a lock held by another connection
+ */
+public record SqliteProfile(String name,
+                            JournalMode journalMode,
+                            Synchronous synchronous,
+                            int cacheSizeKib,
+                            long mmapSizeBytes,
+                            TempStore tempStore,
+                            int busyTimeoutMillis) {
+
+    /**
+     * Favors durability: every commit is synced to disk, small cache, no memory-mapped I/O.
+     */
+    public static final SqliteProfile DURABLE = new SqliteProfile(
+            "durable", JournalMode.WAL, Synchronous.FULL, 8 * 1024, 0, TempStore.DEFAULT, 5_000);
+
+    /**
+     * The default profile: write-ahead logging with syncs at checkpoints, a larger cache
+     * and memory-mapped reads. Committed data survives application crashes, a power loss
+     * may roll back the most recent transactions.
+     */
+    public static final SqliteProfile BALANCED = new SqliteProfile(
+            "balanced", JournalMode.WAL, Synchronous.NORMAL, 64 * 1024, 256L * 1024 * 1024, TempStore.MEMORY, 5_000);
+
+    /**
+     * For large imports whose source can be replayed: no syncs, a large cache and in-memory temporary storage.
+     * Keeps write-ahead logging, so it can be switched to and from at runtime.
+     */
+    public static final SqliteProfile BULK_LOAD = new SqliteProfile(
+            "bulk-load", JournalMode.WAL, Synchronous.OFF, 256 * 1024, 256L * 1024 * 1024, TempStore.MEMORY, 30_000);
+
+    private static final List<SqliteProfile> PRESETS = List.of(DURABLE, BALANCED, BULK_LOAD);
+
+    public SqliteProfile {
+        if (cacheSizeKib < 0 || mmapSizeBytes < 0 || busyTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Profile sizes and timeouts cannot be negative");
+        }
+    }
+
+    /**
+     * Returns the preset with the given name.
+     *
+     * @param name the preset name, e.g. "durable", "balanced" or "bulk-load"
+     * @return the matching preset
+     * @throws IllegalArgumentException if no preset has this name
+     */
+    public static @NotNull SqliteProfile byName(@NotNull String name) {
+        for (SqliteProfile preset : PRESETS) {
+            if (preset.name().equalsIgnoreCase(name)) {
+                return preset;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown SQLite profile: " + name);
+    }
+
+    /**
+     * Returns the PRAGMA statements applied when a connection is opened.
+     *
+     * @return the database and connection level PRAGMA statements
+     */
+    public List<String> openPragmas() {
+        List<String> pragmas = new ArrayList<>();
+        pragmas.add("PRAGMA journal_mode = " + journalMode.name());
+        pragmas.addAll(connectionPragmas());
+        return pragmas;
+    }
+
+    /**
+     * Returns the PRAGMA statements that only affect the connection executing them.
+     * They may not be executed inside a transaction.
+     *
+     * @return the connection level PRAGMA statements
+     */
+    public List<String> connectionPragmas() {
+        return List.of(
+                "PRAGMA synchronous = " + synchronous.name(),
+                "PRAGMA cache_size = " + -cacheSizeKib,
+                "PRAGMA mmap_size = " + mmapSizeBytes,
+                "PRAGMA temp_store = " + tempStore.name(),
+                "PRAGMA busy_timeout = " + busyTimeoutMillis);
+    }
+
+    /**
+     * Runs the action with this profile's connection settings applied to the connection it uses.
+     * The previous settings of the connection are restored afterwards, even if the action fails;
+     * a failure to restore them is then added as suppressed to the action's exception.
+     *
+     * @param persistenceExecutor the executor the action uses
+     * @param action the operations to run with this profile
+     */
+    public void runWith(PersistenceExecutor persistenceExecutor, Runnable action) {
+        persistenceExecutor.performPinned(() -> {
+            List<String> previousPragmas = new ArrayList<>();
+            persistenceExecutor.performOperation(statement -> captureConnectionPragmas(statement, previousPragmas));
+
+            persistenceExecutor.performSimpleOperationsChain(connectionPragmas().toArray(String[]::new));
+            try {
+                action.run();
+            } catch (RuntimeException | Error e) {
+                try {
+                    restore(persistenceExecutor, previousPragmas);
+                } catch (RuntimeException restoreFailure) {
+                    e.addSuppressed(restoreFailure);
+                }
+                throw e;
+            }
+            restore(persistenceExecutor, previousPragmas);
+        });
+    }
+
+    private static void restore(PersistenceExecutor persistenceExecutor, List<String> previousPragmas) {
+        persistenceExecutor.performSimpleOperationsChain(previousPragmas.toArray(String[]::new));
+    }
+
+    @SneakyThrows
+    private static void captureConnectionPragmas(Statement statement, List<String> pragmas) {
+        for (String pragma : List.of("synchronous", "cache_size", "mmap_size", "temp_store", "busy_timeout")) {
+            try (ResultSet rs = statement.executeQuery("PRAGMA " + pragma)) {
+                if (rs.next()) {
+                    pragmas.add("PRAGMA " + pragma + " = " + rs.getString(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Enum representing the SQLite journal modes.
+     */
+    public enum JournalMode {
+        DELETE,
+        TRUNCATE,
+        PERSIST,
+        MEMORY,
+        WAL,
+        OFF
+    }
+
+    /**
+     * Enum representing the SQLite synchronous levels.
+     */
+    public enum Synchronous {
+        OFF,
+        NORMAL,
+        FULL,
+        EXTRA
+    }
+
+    /**
+     * Enum representing the SQLite temporary storage locations.
+     */
+    public enum TempStore {
+        DEFAULT,
+        FILE,
+        MEMORY
+    }
+}
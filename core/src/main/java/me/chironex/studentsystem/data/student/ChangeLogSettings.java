@@ -0,0 +1,28 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing the configuration of a {@link StudentChangeLog}.
+ *
+ * @param compactionThresholdBytes the size of the active log file after which it is sealed and compacted into a checkpoint
+ * @param maxCommitDelayMillis the maximum time an appended mutation waits for others to share its commit
+ */
+public record ChangeLogSettings(long compactionThresholdBytes, long maxCommitDelayMillis) {
+
+    public ChangeLogSettings {
+        if (compactionThresholdBytes < 1) {
+            throw new IllegalArgumentException("Compaction threshold must be positive: " + compactionThresholdBytes);
+        }
+        if (maxCommitDelayMillis < 0) {
+            throw new IllegalArgumentException("Maximum commit delay cannot be negative: " + maxCommitDelayMillis);
+        }
+    }
+
+    /**
+     * Returns the default settings: compaction after 16 MiB of log and a maximum commit delay of 10 milliseconds.
+     *
+     * @return the default change log settings
+     */
+    public static ChangeLogSettings defaults() {
+        return new ChangeLogSettings(16L << 20, 10);
+    }
+}
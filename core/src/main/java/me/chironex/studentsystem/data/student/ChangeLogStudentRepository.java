@@ -0,0 +1,176 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Student repository persisting to a {@link StudentChangeLog} instead of the SQLite tables.
+ * The students are kept in memory like in {@link InMemoryStudentRepository}; every mutation is also appended
+ * to the log and committed in the background, so changes need no explicit save to become durable.
+ * Opening the repository replays the latest checkpoint and the log written after it.
+ * Mutations are appended before they are applied in memory, so a mutation the log rejects, e.g. a name
+ * too long to encode or a closed log, leaves the students unchanged.
+ * <p>
+ * Mutations must come from one thread at a time.
+ */
+public class ChangeLogStudentRepository implements StudentRepository {
+    private final InMemoryStudentRepository students;
+    private final StudentChangeLog changeLog;
+
+    /**
+     * Opens the change log in the given directory with default settings and replays it.
+     *
+     * @param directory the directory holding the checkpoint and log files
+     * @param studentFactory the factory used to create students
+     */
+    public ChangeLogStudentRepository(Path directory, StudentFactory studentFactory) {
+        this(new StudentChangeLog(directory, studentFactory, ChangeLogSettings.defaults()));
+    }
+
+    /**
+     * Creates a repository persisting to the given change log and replays it.
+     *
+     * @param changeLog the change log, closed together with the repository
+     */
+    public ChangeLogStudentRepository(StudentChangeLog changeLog) {
+        this.students = new InMemoryStudentRepository();
+        this.changeLog = changeLog;
+
+        students.restore(changeLog.replay());
+    }
+
+    @Override
+    public int addTelecommunicationsStudent(String firstName, String lastName, int birthYear) {
+        changeLog.appendAdded(StudentType.TELEKOM, new StudentData(students.getNextId(), firstName, lastName, birthYear));
+        return students.addTelecommunicationsStudent(firstName, lastName, birthYear);
+    }
+
+    @Override
+    public int addCybersecurityStudent(String firstName, String lastName, int birthYear) {
+        changeLog.appendAdded(StudentType.CYBERSECURITY, new StudentData(students.getNextId(), firstName, lastName, birthYear));
+        return students.addCybersecurityStudent(firstName, lastName, birthYear);
+    }
+
+    @Override
+    public Student findStudentById(int id) {
+        return students.findStudentById(id);
+    }
+
+    /**
+     * Adds a grade to a specific student's record and appends it to the log.
+     * Grades outside the valid range (1-5) are ignored, like {@link Student#addGrade(int)} does.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade to add (1-5)
+     * @return true if the student exists, false if a student was not found
+     */
+    @Override
+    public boolean addGradeToStudent(int studentId, int grade) {
+        if (students.findStudentById(studentId) == null) {
+            return false;
+        }
+
+        if (PackedGrades.isValid(grade)) {
+            changeLog.appendGradeAdded(studentId, grade);
+        }
+        return students.addGradeToStudent(studentId, grade);
+    }
+
+    @Override
+    public boolean removeStudent(int studentId) {
+        if (students.findStudentById(studentId) == null) {
+            return false;
+        }
+
+        changeLog.appendRemoved(studentId);
+        return students.removeStudent(studentId);
+    }
+
+    /**
+     * Checks whether some mutations are not committed to the log yet.
+     *
+     * @return true if the committer thread has not synced all mutations to disk yet
+     */
+    @Override
+    public boolean hasUnsavedChanges() {
+        return changeLog.hasPendingWrites();
+    }
+
+    @Override
+    public List<Student> getAllStudents() {
+        return students.getAllStudents();
+    }
+
+    @Override
+    public List<Student> getStudentsByType(Class<? extends Student> type) {
+        return students.getStudentsByType(type);
+    }
+
+    @Override
+    public int countStudentsByType(Class<? extends Student> type) {
+        return students.countStudentsByType(type);
+    }
+
+    @Override
+    public List<Student> getSortedStudentsByLastName() {
+        return students.getSortedStudentsByLastName();
+    }
+
+    @Override
+    public List<Student> getSortedStudentsByLastName(int offset, int limit) {
+        return students.getSortedStudentsByLastName(offset, limit);
+    }
+
+    @Override
+    public List<Student> findStudentsByLastNamePrefix(String prefix) {
+        return students.findStudentsByLastNamePrefix(prefix);
+    }
+
+    @Override
+    public double getAverageGradeByType(Class<? extends Student> type) {
+        return students.getAverageGradeByType(type);
+    }
+
+    /**
+     * Makes all mutations durable. Mutations are committed in the background anyway, so saving is only a barrier.
+     *
+     * @param mode {@link SaveMode#INCREMENTAL} to wait for the pending commits,
+     *             {@link SaveMode#COMPACT} to also compact the whole log into a new checkpoint
+     * @throws me.chironex.studentsystem.data.PersistenceException if writing the log failed
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode) {
+        if (mode == SaveMode.COMPACT) {
+            changeLog.checkpoint();
+        } else {
+            changeLog.flush();
+        }
+    }
+
+    /**
+     * Saves like {@link #saveToDatabase(SaveMode)}, the profile does not apply to the change log.
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode, SqliteProfile profile) {
+        saveToDatabase(mode);
+    }
+
+    /**
+     * Replaces all in-memory data with the state replayed from the checkpoint and the log.
+     */
+    @Override
+    public void loadFromDatabase() {
+        changeLog.flush();
+        students.restore(changeLog.replay());
+    }
+
+    /**
+     * Commits all pending mutations and closes the change log.
+     */
+    @Override
+    public void close() {
+        changeLog.close();
+    }
+}
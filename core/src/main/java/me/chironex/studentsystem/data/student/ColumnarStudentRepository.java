@@ -0,0 +1,268 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Student repository keeping all students in memory as {@link StudentColumns}.
+ * Counts, averages and filters scan primitive columns instead of student objects, which suits
+ * analytic workloads over many students. Student objects are only created for the students a
+ * query returns; they are detached copies, so grades are added through {@link #addGradeToStudent(int, int)}.
+ * Changes are tracked and saved like in {@link InMemoryStudentRepository}.
+ * <p>
+ * Not thread-safe, all calls must come from one thread at a time.
+ */
+public class ColumnarStudentRepository implements StudentRepository {
+    private final StudentDao studentDao;
+    private final StudentFactory studentFactory;
+
+    private final StudentColumns columns;
+    private final StudentChangeTracker changeTracker;
+
+    private int nextId;
+    private boolean synchronizedWithDatabase;
+
+    public ColumnarStudentRepository(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory) {
+        this(new StudentDao(persistenceExecutor, studentFactory), studentFactory);
+    }
+
+    /**
+     * Creates a repository persisting through the given data access object.
+     *
+     * @param studentDao the data access object for the students and grades tables
+     * @param studentFactory the factory used to create the returned students
+     */
+    public ColumnarStudentRepository(StudentDao studentDao, StudentFactory studentFactory) {
+        this.studentDao = studentDao;
+        this.studentFactory = studentFactory;
+
+        this.columns = new StudentColumns();
+        this.changeTracker = new StudentChangeTracker();
+
+        this.nextId = 1;
+        this.synchronizedWithDatabase = false;
+    }
+
+    @Override
+    public int addTelecommunicationsStudent(String firstName, String lastName, int birthYear) {
+        return add(StudentType.TELEKOM, firstName, lastName, birthYear);
+    }
+
+    @Override
+    public int addCybersecurityStudent(String firstName, String lastName, int birthYear) {
+        return add(StudentType.CYBERSECURITY, firstName, lastName, birthYear);
+    }
+
+    private int add(StudentType type, String firstName, String lastName, int birthYear) {
+        int id = nextId++;
+        columns.append(type, new StudentData(id, firstName, lastName, birthYear));
+        changeTracker.markAdded(id);
+        return id;
+    }
+
+    /**
+     * Finds a student by binary search over the ID column.
+     *
+     * @param id the student ID to search for
+     * @return a copy of the student if found, null otherwise
+     */
+    @Override
+    public Student findStudentById(int id) {
+        int row = columns.rowOf(id);
+        return row < 0 ? null : columns.toStudent(row, studentFactory);
+    }
+
+    /**
+     * Adds a grade to a specific student's record.
+     * Grades outside the valid range (1-5) are ignored, like {@link Student#addGrade(int)} does.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade to add (1-5)
+     * @return true if the student exists, false if a student was not found
+     */
+    @Override
+    public boolean addGradeToStudent(int studentId, int grade) {
+        int row = columns.rowOf(studentId);
+        if (row < 0) {
+            return false;
+        }
+
+        if (PackedGrades.isValid(grade)) {
+            columns.addGrade(row, grade);
+            changeTracker.markUpdated(studentId);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeStudent(int studentId) {
+        int row = columns.rowOf(studentId);
+        if (row < 0) {
+            return false;
+        }
+
+        columns.remove(row);
+        changeTracker.markRemoved(studentId);
+        return true;
+    }
+
+    @Override
+    public boolean hasUnsavedChanges() {
+        return !changeTracker.isEmpty();
+    }
+
+    /**
+     * Returns copies of all students ordered by ID.
+     *
+     * @return an unmodifiable list containing all students
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        return toStudents(columns.rows());
+    }
+
+    /**
+     * Filters students by their class type with a scan over the type column.
+     *
+     * @param type the class type to filter by
+     * @return an unmodifiable list of copies of the matching students, ordered by ID
+     */
+    @Override
+    public List<Student> getStudentsByType(Class<? extends Student> type) {
+        return toStudents(columns.rows(StudentColumns.typeMask(type)));
+    }
+
+    /**
+     * Counts the students of a specific type with a scan over the type column.
+     *
+     * @param type the class type to count
+     * @return the number of matching students
+     */
+    @Override
+    public int countStudentsByType(Class<? extends Student> type) {
+        return columns.count(StudentColumns.typeMask(type));
+    }
+
+    @Override
+    public List<Student> getSortedStudentsByLastName() {
+        return toStudents(columns.rowsSortedByName());
+    }
+
+    /**
+     * Finds the students whose last name starts with the given prefix.
+     * The prefix is tested once per distinct last name, not once per student.
+     *
+     * @param prefix the last name prefix
+     * @return an unmodifiable list of copies of the matching students sorted by last name, then first name, then ID
+     */
+    @Override
+    public List<Student> findStudentsByLastNamePrefix(String prefix) {
+        List<Student> matching = new ArrayList<>(toStudents(columns.rowsByLastNamePrefix(prefix)));
+        matching.sort(StudentNameIndex.ORDER);
+        return Collections.unmodifiableList(matching);
+    }
+
+    /**
+     * Calculates the average grade for all students of a specific type with a scan over the
+     * type, grade sum and grade count columns.
+     * Only includes students who have at least one grade.
+     *
+     * @param type the student class type to calculate average for
+     * @return the average grade, or 0.0 if no students of this type have grades
+     */
+    @Override
+    public double getAverageGradeByType(Class<? extends Student> type) {
+        return getStatistics(type).averageGrade();
+    }
+
+    /**
+     * Aggregates the grades of all students of a specific type in one scan.
+     *
+     * @param type the student class type, e.g. {@code Student.class} for all students
+     * @return the aggregates of the matching students
+     */
+    public TypeStatistics getStatistics(Class<? extends Student> type) {
+        return columns.aggregate(StudentColumns.typeMask(type));
+    }
+
+    /**
+     * Saves the current student data to the database using the given mode.
+     * All writes run in one transaction, so a failure leaves the database
+     * exactly as it was before the save.
+     *
+     * @param mode {@link SaveMode#INCREMENTAL} to persist only pending changes,
+     *             {@link SaveMode#COMPACT} to clear the database and rewrite all data
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode) {
+        if (mode == SaveMode.COMPACT || !synchronizedWithDatabase) {
+            studentDao.replaceAll(toRecords(columns.rows()));
+        } else if (!changeTracker.isEmpty()) {
+            studentDao.applyChanges(collectChanges());
+        }
+
+        changeTracker.clear();
+        synchronizedWithDatabase = true;
+    }
+
+    @Override
+    public void saveToDatabase(SaveMode mode, SqliteProfile profile) {
+        profile.runWith(studentDao.getPersistenceExecutor(), () -> saveToDatabase(mode));
+    }
+
+    /**
+     * Loads student data from the database.
+     * Replaces all current in-memory data with data from the database.
+     */
+    @Override
+    public void loadFromDatabase() {
+        List<Student> loadedStudents = studentDao.loadAll();
+
+        columns.clear();
+        for (Student student : loadedStudents) {
+            columns.append(student);
+        }
+        changeTracker.clear();
+
+        nextId = columns.lastId() + 1;
+        synchronizedWithDatabase = true;
+    }
+
+    private List<Student> toStudents(int[] rows) {
+        List<Student> students = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            students.add(columns.toStudent(row, studentFactory));
+        }
+        return Collections.unmodifiableList(students);
+    }
+
+    private List<StudentRecord> toRecords(int[] rows) {
+        List<StudentRecord> records = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            records.add(columns.toRecord(row));
+        }
+        return records;
+    }
+
+    private List<StudentMutation> collectChanges() {
+        List<StudentMutation> mutations = new ArrayList<>();
+
+        for (Map.Entry<Integer, StudentChangeType> change : changeTracker.getChanges().entrySet()) {
+            int id = change.getKey();
+            if (change.getValue() == StudentChangeType.REMOVED) {
+                mutations.add(StudentMutation.removed(id));
+            } else {
+                int row = columns.rowOf(id);
+                mutations.add(new StudentMutation(change.getValue(), id, columns.toRecord(row)));
+            }
+        }
+
+        return mutations;
+    }
+}
@@ -0,0 +1,349 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe student repository keeping all students in memory.
+ * Students live in a lock-free skip list map ordered by ID and IDs come from an atomic counter,
+ * so adding, finding and removing students never blocks. A student's grades are guarded by one of
+ * a fixed set of striped locks chosen by student ID; threads adding grades to different students
+ * rarely contend.
+ * <p>
+ * Per-type grade statistics are immutable {@link GradeStatistics} swapped with compare-and-set on every mutation;
+ * grade additions and removals update them under the student's grade lock, so they stay exact.
+ * <p>
+ * Changes are tracked as a concurrent set of dirty student IDs. An incremental save upserts every dirty
+ * student that still exists and deletes the others, so mutations may continue while a save is running.
+ * Student objects are shared with callers; while grades are being added from other threads,
+ * read them with {@link #getGradesOfStudent(int)} instead of {@link Student#getGrades()}.
+ */
+public class ConcurrentStudentRepository implements StudentRepository {
+    /**
+     * Default number of grade lock stripes.
+     */
+    public static final int DEFAULT_LOCK_STRIPES = 64;
+
+    private final StudentDao studentDao;
+
+    private final ConcurrentNavigableMap<Integer, Student> students;
+    private final Set<Integer> dirtyIds;
+    private final ReentrantLock[] gradeLocks;
+    private final AtomicInteger nextId;
+    private final AtomicReference<GradeStatistics> statistics;
+
+    private volatile boolean synchronizedWithDatabase;
+
+    public ConcurrentStudentRepository(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory) {
+        this(new StudentDao(persistenceExecutor, studentFactory), DEFAULT_LOCK_STRIPES);
+    }
+
+    /**
+     * Creates a repository persisting through the given data access object.
+     *
+     * @param studentDao the data access object for the students and grades tables
+     * @param lockStripes the number of grade locks, rounded up to a power of two
+     */
+    public ConcurrentStudentRepository(StudentDao studentDao, int lockStripes) {
+        if (lockStripes < 1) {
+            throw new IllegalArgumentException("Lock stripe count must be positive: " + lockStripes);
+        }
+
+        this.studentDao = studentDao;
+
+        this.students = new ConcurrentSkipListMap<>();
+        this.dirtyIds = ConcurrentHashMap.newKeySet();
+        int stripes = Integer.highestOneBit(lockStripes);
+        this.gradeLocks = new ReentrantLock[stripes < lockStripes ? stripes << 1 : stripes];
+        for (int i = 0; i < gradeLocks.length; i++) {
+            gradeLocks[i] = new ReentrantLock();
+        }
+        this.nextId = new AtomicInteger(1);
+        this.statistics = new AtomicReference<>(GradeStatistics.empty());
+    }
+
+    @Override
+    public int addTelecommunicationsStudent(String firstName, String lastName, int birthYear) {
+        int id = nextId.getAndIncrement();
+        return add(new TelecommunicationsStudent(id, firstName, lastName, birthYear));
+    }
+
+    @Override
+    public int addCybersecurityStudent(String firstName, String lastName, int birthYear) {
+        int id = nextId.getAndIncrement();
+        return add(new CybersecurityStudent(id, firstName, lastName, birthYear));
+    }
+
+    private int add(Student student) {
+        // Counted before it is published, so a concurrent grade addition is not counted twice.
+        statistics.updateAndGet(current -> current.withStudentAdded(student));
+        students.put(student.getId(), student);
+        dirtyIds.add(student.getId());
+        return student.getId();
+    }
+
+    @Override
+    public Student findStudentById(int id) {
+        return students.get(id);
+    }
+
+    @Override
+    public boolean addGradeToStudent(int studentId, int grade) {
+        Student student = students.get(studentId);
+        if (student == null) {
+            return false;
+        }
+
+        ReentrantLock lock = gradeLock(studentId);
+        lock.lock();
+        try {
+            if (students.get(studentId) != student) {
+                return false;
+            }
+
+            int previousGradeCount = student.getGradeCount();
+            int previousGradeSum = student.getGradeSum();
+            student.addGrade(grade);
+            statistics.updateAndGet(current -> current.withGradesChanged(student, previousGradeCount, previousGradeSum));
+        } finally {
+            lock.unlock();
+        }
+
+        dirtyIds.add(studentId);
+        return true;
+    }
+
+    /**
+     * Returns a copy of a student's grades, read under the student's grade lock.
+     *
+     * @param studentId the ID of the student
+     * @return the student's grades, or null if a student was not found
+     */
+    public int[] getGradesOfStudent(int studentId) {
+        Student student = students.get(studentId);
+        if (student == null) {
+            return null;
+        }
+
+        ReentrantLock lock = gradeLock(studentId);
+        lock.lock();
+        try {
+            return student.getGrades();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeStudent(int studentId) {
+        ReentrantLock lock = gradeLock(studentId);
+        lock.lock();
+        try {
+            Student removed = students.remove(studentId);
+            if (removed == null) {
+                return false;
+            }
+            statistics.updateAndGet(current -> current.withStudentRemoved(removed));
+        } finally {
+            lock.unlock();
+        }
+
+        dirtyIds.add(studentId);
+        return true;
+    }
+
+    @Override
+    public boolean hasUnsavedChanges() {
+        return !dirtyIds.isEmpty();
+    }
+
+    /**
+     * Returns a copy of all students ordered by ID.
+     * Students added or removed while the copy is made may or may not be included.
+     *
+     * @return an immutable list containing all students
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        return List.copyOf(students.values());
+    }
+
+    @Override
+    public List<Student> getStudentsByType(Class<? extends Student> type) {
+        return students.values().stream()
+                .filter(type::isInstance)
+                .toList();
+    }
+
+    @Override
+    public List<Student> getSortedStudentsByLastName() {
+        return students.values().stream()
+                .sorted(StudentNameIndex.ORDER)
+                .toList();
+    }
+
+    /**
+     * Returns one page of the students sorted by last name, keeping only the first {@code offset + limit}
+     * students in a bounded heap instead of sorting all of them, so shallow pages cost O(n log(offset + limit)).
+     */
+    @Override
+    public List<Student> getSortedStudentsByLastName(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+
+        long wanted = (long) offset + limit;
+        if (wanted > students.size() / 2) {
+            return StudentRepository.super.getSortedStudentsByLastName(offset, limit);
+        }
+
+        PriorityQueue<Student> heap = new PriorityQueue<>((int) wanted + 1, StudentNameIndex.ORDER.reversed());
+        for (Student student : students.values()) {
+            if (heap.size() < wanted) {
+                heap.add(student);
+            } else if (wanted > 0 && StudentNameIndex.ORDER.compare(student, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(student);
+            }
+        }
+
+        Student[] first = heap.toArray(Student[]::new);
+        Arrays.sort(first, StudentNameIndex.ORDER);
+        return List.of(first).subList(Math.min(offset, first.length), first.length);
+    }
+
+    @Override
+    public double getAverageGradeByType(Class<? extends Student> type) {
+        return statistics.get().get(type).averageGrade();
+    }
+
+    @Override
+    public int countStudentsByType(Class<? extends Student> type) {
+        return (int) statistics.get().get(type).studentCount();
+    }
+
+    public GradeStatistics getStatistics() {
+        return statistics.get();
+    }
+
+    /**
+     * Saves the current student data to the database using the given mode.
+     * Falls back to a full rewrite if the data was never synchronized with the database.
+     * If the save fails, the affected students stay marked as changed.
+     *
+     * @param mode {@link SaveMode#INCREMENTAL} to persist only changed students,
+     *             {@link SaveMode#COMPACT} to clear the database and rewrite all data
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    @Override
+    public synchronized void saveToDatabase(SaveMode mode) {
+        if (mode == SaveMode.COMPACT || !synchronizedWithDatabase) {
+            Set<Integer> savedIds = drainDirtyIds();
+            try {
+                studentDao.replaceAll(snapshotStudents());
+            } catch (RuntimeException e) {
+                dirtyIds.addAll(savedIds);
+                throw e;
+            }
+            synchronizedWithDatabase = true;
+            return;
+        }
+
+        Set<Integer> savedIds = drainDirtyIds();
+        if (savedIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            studentDao.applyChanges(collectChanges(savedIds));
+        } catch (RuntimeException e) {
+            dirtyIds.addAll(savedIds);
+            throw e;
+        }
+    }
+
+    @Override
+    public void saveToDatabase(SaveMode mode, SqliteProfile profile) {
+        profile.runWith(studentDao.getPersistenceExecutor(), () -> saveToDatabase(mode));
+    }
+
+    /**
+     * Loads student data from the database.
+     * Replaces all current in-memory data with data from the database.
+     * Must not run concurrently with mutations of the repository.
+     */
+    @Override
+    public synchronized void loadFromDatabase() {
+        List<Student> loadedStudents = studentDao.loadAll();
+
+        students.clear();
+        for (Student student : loadedStudents) {
+            students.put(student.getId(), student);
+        }
+        dirtyIds.clear();
+        statistics.set(GradeStatistics.of(loadedStudents));
+
+        int maxId = students.isEmpty() ? 0 : students.lastKey();
+        nextId.set(maxId + 1);
+        synchronizedWithDatabase = true;
+    }
+
+    /**
+     * Removes and returns the currently dirty IDs.
+     * Mutators change the map before marking a student dirty, so state read after draining
+     * includes every drained change; later changes mark the student dirty again.
+     */
+    private Set<Integer> drainDirtyIds() {
+        Set<Integer> drained = new HashSet<>();
+        for (Iterator<Integer> iterator = dirtyIds.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    private List<StudentRecord> snapshotStudents() {
+        List<StudentRecord> records = new ArrayList<>();
+        for (Student student : students.values()) {
+            records.add(captureStudent(student));
+        }
+        return records;
+    }
+
+    private List<StudentMutation> collectChanges(Set<Integer> changedIds) {
+        List<StudentMutation> mutations = new ArrayList<>(changedIds.size());
+
+        for (int id : changedIds) {
+            Student student = students.get(id);
+            if (student == null) {
+                mutations.add(StudentMutation.removed(id));
+            } else {
+                mutations.add(StudentMutation.updated(captureStudent(student)));
+            }
+        }
+
+        return mutations;
+    }
+
+    private StudentRecord captureStudent(Student student) {
+        ReentrantLock lock = gradeLock(student.getId());
+        lock.lock();
+        try {
+            return StudentRecord.of(student);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock gradeLock(int studentId) {
+        return gradeLocks[studentId & (gradeLocks.length - 1)];
+    }
+}
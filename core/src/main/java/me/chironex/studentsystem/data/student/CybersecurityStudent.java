@@ -16,8 +16,17 @@ public class CybersecurityStudent extends Student {
         super(id, firstName, lastName, birthYear);
     }
 
+    protected CybersecurityStudent(CybersecurityStudent source) {
+        super(source);
+    }
+
+    @Override
+    protected Student copy() {
+        return new CybersecurityStudent(this);
+    }
+
     @Override
-    public String executeSkill() {
+    protected String computeSkill() {
         String fullName = getFirstName() + " " + getLastName();
         return generateHash(fullName);
     }
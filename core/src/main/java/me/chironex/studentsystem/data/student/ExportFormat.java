@@ -0,0 +1,36 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Enum representing the file formats of a {@link StudentExporter}.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header line, fields are quoted as in RFC 4180 where needed.
+     * The first four columns are the ones {@link StudentImporter} reads, so an export can be imported again
+     * with ',' as the delimiter, except for names containing line breaks.
+     */
+    CSV("csv"),
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES("jsonl"),
+    /**
+     * The human-readable block per student used by the single student export.
+     */
+    TEXT("txt");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the usual file name extension of the format, without the dot.
+     *
+     * @return the extension, e.g. "csv"
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,15 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Receives the progress of a {@link StudentExporter} run, called on the exporting thread.
+ */
+@FunctionalInterface
+public interface ExportProgressListener {
+
+    /**
+     * Called periodically while students are written.
+     *
+     * @param exportedCount the number of students written so far
+     */
+    void onProgress(long exportedCount);
+}
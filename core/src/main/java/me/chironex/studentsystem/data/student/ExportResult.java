@@ -0,0 +1,21 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing the outcome of a {@link StudentExporter} run.
+ *
+ * @param exportedCount the number of students written
+ * @param fileBytes the size of the written file, after compression if enabled
+ * @param cancelled whether the export was cancelled, the partial file is deleted then
+ * @param elapsedNanos the duration of the export
+ */
+public record ExportResult(long exportedCount, long fileBytes, boolean cancelled, long elapsedNanos) {
+
+    /**
+     * Returns the throughput of the export.
+     *
+     * @return the exported students per second
+     */
+    public double studentsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : exportedCount * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,98 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable per-type grade aggregates of a set of students.
+ * The repository derives new statistics in O(1) on every add, remove and grade mutation,
+ * so counts and averages by type are read without scanning the students.
+ * The sum of student averages is a floating point running total and is recomputed exactly on every load.
+ */
+public final class GradeStatistics {
+    private static final StudentType[] TYPES = StudentType.values();
+    private static final GradeStatistics EMPTY = new GradeStatistics(emptyTypes());
+
+    private final TypeStatistics[] byType;
+
+    private GradeStatistics(TypeStatistics[] byType) {
+        this.byType = byType;
+    }
+
+    public static GradeStatistics empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Aggregates the given students in O(n).
+     *
+     * @param students the students to aggregate
+     * @return the statistics of the students
+     */
+    public static GradeStatistics of(Collection<? extends Student> students) {
+        TypeStatistics[] byType = emptyTypes();
+        for (Student student : students) {
+            int ordinal = StudentType.of(student).ordinal();
+            byType[ordinal] = byType[ordinal].plus(contribution(student));
+        }
+        return new GradeStatistics(byType);
+    }
+
+    public GradeStatistics withStudentAdded(Student student) {
+        return with(StudentType.of(student), contribution(student), TypeStatistics.EMPTY);
+    }
+
+    public GradeStatistics withStudentRemoved(Student student) {
+        return with(StudentType.of(student), TypeStatistics.EMPTY, contribution(student));
+    }
+
+    /**
+     * Returns statistics with a student's previous grades replaced by its current ones.
+     *
+     * @param student the student after the change
+     * @param previousGradeCount the student's number of grades before the change
+     * @param previousGradeSum the sum of the student's grades before the change
+     * @return the new statistics
+     */
+    public GradeStatistics withGradesChanged(Student student, int previousGradeCount, int previousGradeSum) {
+        return with(StudentType.of(student),
+                contribution(student),
+                TypeStatistics.ofStudent(previousGradeCount, previousGradeSum));
+    }
+
+    public TypeStatistics get(StudentType type) {
+        return byType[type.ordinal()];
+    }
+
+    /**
+     * Combines the statistics of all student types whose students are instances of the given class.
+     *
+     * @param type the student class, e.g. {@code Student.class} for all students
+     * @return the combined statistics
+     */
+    public TypeStatistics get(Class<? extends Student> type) {
+        TypeStatistics combined = TypeStatistics.EMPTY;
+        for (StudentType studentType : TYPES) {
+            if (studentType.isSubtypeOf(type)) {
+                combined = combined.plus(byType[studentType.ordinal()]);
+            }
+        }
+        return combined;
+    }
+
+    private GradeStatistics with(StudentType type, TypeStatistics added, TypeStatistics removed) {
+        TypeStatistics[] updated = byType.clone();
+        updated[type.ordinal()] = updated[type.ordinal()].plus(added).minus(removed);
+        return new GradeStatistics(updated);
+    }
+
+    private static TypeStatistics contribution(Student student) {
+        return TypeStatistics.ofStudent(student.getGradeCount(), student.getGradeSum());
+    }
+
+    private static TypeStatistics[] emptyTypes() {
+        TypeStatistics[] byType = new TypeStatistics[TYPES.length];
+        Arrays.fill(byType, TypeStatistics.EMPTY);
+        return byType;
+    }
+}
@@ -0,0 +1,17 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Receives the progress of a {@link StudentImporter} run, called on the importing thread after every chunk.
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    /**
+     * Called after a chunk of the file was imported.
+     *
+     * @param processedBytes the number of bytes of the file processed so far
+     * @param totalBytes the size of the file
+     * @param importedCount the number of students imported so far
+     */
+    void onProgress(long processedBytes, long totalBytes, long importedCount);
+}
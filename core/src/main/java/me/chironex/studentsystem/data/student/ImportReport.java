@@ -0,0 +1,34 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.List;
+
+/**
+ * Record representing the outcome of a {@link StudentImporter} run.
+ *
+ * @param importedCount the number of students added to the repository
+ * @param rejectedCount the number of non-empty lines that were not imported
+ * @param rejects the first rejected lines, up to {@link ImportSettings#maxReportedRejects()}, in file order
+ * @param cancelled whether the import was cancelled before the end of the file
+ * @param elapsedNanos the duration of the import including the saves
+ */
+public record ImportReport(long importedCount, long rejectedCount, List<Reject> rejects, boolean cancelled, long elapsedNanos) {
+
+    public ImportReport {
+        rejects = List.copyOf(rejects);
+    }
+
+    /**
+     * Record representing a line that failed validation.
+     *
+     * @param lineNumber the 1-based line number in the file
+     * @param reason why the line was rejected
+     * @param line the content of the line, shortened if very long
+     */
+    public record Reject(long lineNumber, String reason, String line) {
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason + " (" + line + ")";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing the configuration of a {@link StudentImporter}.
+ *
+ * @param delimiter the ASCII character separating the fields of a line, ';' for TXT and ',' for CSV files
+ * @param chunkSizeBytes the approximate size of the file regions parsed in parallel
+ * @param batchSize the number of imported students after which the repository is saved
+ * @param parallelism the number of threads parsing chunks
+ * @param maxReportedRejects the maximum number of rejected lines kept in the report, all are counted
+ */
+public record ImportSettings(char delimiter, int chunkSizeBytes, int batchSize, int parallelism, int maxReportedRejects) {
+
+    public ImportSettings {
+        if (delimiter > 127 || delimiter == '\n' || delimiter == '\r' || delimiter == '"') {
+            throw new IllegalArgumentException("Delimiter must be a printable ASCII character other than '\"': " + (int) delimiter);
+        }
+        if (chunkSizeBytes < 1 || batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Chunk size, batch size and parallelism must be positive");
+        }
+        if (maxReportedRejects < 0) {
+            throw new IllegalArgumentException("Maximum reported rejects cannot be negative: " + maxReportedRejects);
+        }
+    }
+
+    /**
+     * Returns the default settings: ';' separated fields, 1 MiB chunks parsed by one thread per processor,
+     * a save every 100,000 students and up to 1,000 reported rejects.
+     *
+     * @return the default import settings
+     */
+    public static ImportSettings defaults() {
+        return new ImportSettings(';', 1 << 20, 100_000, Runtime.getRuntime().availableProcessors(), 1_000);
+    }
+
+    /**
+     * Returns these settings with a different field delimiter.
+     *
+     * @param delimiter the ASCII character separating the fields of a line
+     * @return the new settings
+     */
+    public ImportSettings withDelimiter(char delimiter) {
+        return new ImportSettings(delimiter, chunkSizeBytes, batchSize, parallelism, maxReportedRejects);
+    }
+}
@@ -0,0 +1,674 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Student repository keeping all students in memory.
+ * Handles in-memory storage and SQLite database persistence of student data.
+ * Supports CRUD operations and various query methods.
+ * The students are published as an immutable {@link StudentSnapshot} that is swapped on every mutation,
+ * so readers on any thread get a consistent view without copying; mutations must come from one thread at a time.
+ * Published students are never mutated, adding a grade publishes a copy of the student.
+ * A primitive {@link StudentIdIndex} kept in sync with every mutation answers ID lookups of the mutating thread
+ * in constant time, other threads look students up in a snapshot.
+ * A {@link StudentNameIndex} published alongside the snapshot keeps the students sorted by name,
+ * and {@link GradeStatistics} keep per-type counts and grade aggregates for constant-time statistics.
+ * With a {@link StudentSnapshotFile} enabled, loading decodes the memory-mapped file instead of querying the database
+ * and sorting the students by name while the file is current, and every save and {@link #close()} rewrites it.
+ * All students are decoded during the load, as the snapshot and the indexes hold student objects.
+ * 
+ * @author chmodxChironex
+ * @since 1.0
+ */
+public class InMemoryStudentRepository implements StudentRepository {
+    // a batch smaller than the repository divided by this ratio is inserted student by student, which is cheaper then
+    private static final int REBUILD_RATIO = 4;
+
+    private final StudentDao studentDao;
+
+    private volatile StudentSnapshot students;
+    private StudentIdIndex studentIndex;
+    private volatile StudentNameIndex nameIndex;
+    private volatile GradeStatistics statistics;
+    private final StudentChangeTracker changeTracker;
+
+    private WriteBehindQueue writeBehindQueue;
+
+    private Path snapshotFile;
+    private long snapshotGeneration;
+    private long databaseGeneration;
+
+    private int nextId;
+    private boolean synchronizedWithDatabase;
+
+    public InMemoryStudentRepository(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory) {
+        this(new StudentDao(persistenceExecutor, studentFactory));
+    }
+
+    /**
+     * Creates a repository that writes to the database in JDBC batches of the given size.
+     *
+     * @param persistenceExecutor the executor used for database access
+     * @param studentFactory the factory used to create loaded students
+     * @param batchSize the number of rows per JDBC batch, must be positive
+     */
+    public InMemoryStudentRepository(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory, int batchSize) {
+        this(new StudentDao(persistenceExecutor, studentFactory, batchSize));
+    }
+
+    /**
+     * Creates a repository persisting through the given data access object.
+     *
+     * @param studentDao the data access object for the students and grades tables
+     */
+    public InMemoryStudentRepository(StudentDao studentDao) {
+        this.studentDao = studentDao;
+
+        this.students = StudentSnapshot.empty();
+        this.studentIndex = new StudentIdIndex();
+        this.nameIndex = StudentNameIndex.empty();
+        this.statistics = GradeStatistics.empty();
+        this.changeTracker = new StudentChangeTracker();
+
+        this.nextId = 1;
+        this.synchronizedWithDatabase = false;
+        this.snapshotGeneration = -1;
+        this.databaseGeneration = -1;
+    }
+
+    /**
+     * Creates a repository without a database, for repositories persisting its mutations themselves.
+     * Changes are not tracked and the database methods must not be called.
+     */
+    InMemoryStudentRepository() {
+        this((StudentDao) null);
+    }
+
+    /**
+     * Adds a new telecommunications student to the database.
+     * 
+     * @param firstName the student's first name
+     * @param lastName the student's last name
+     * @param birthYear the student's birth year
+     * @return the assigned student ID
+     */
+    @Override
+    public int addTelecommunicationsStudent(String firstName, String lastName, int birthYear) {
+        int id = nextId++;
+        Student student = new TelecommunicationsStudent(id, firstName, lastName, birthYear);
+        students = students.with(student);
+        studentIndex.put(student);
+        nameIndex = nameIndex.with(student);
+        statistics = statistics.withStudentAdded(student);
+        recordChange(StudentChangeType.ADDED, student);
+        return id;
+    }
+
+    /**
+     * Adds a new cybersecurity student to the database.
+     * 
+     * @param firstName the student's first name
+     * @param lastName the student's last name
+     * @param birthYear the student's birth year
+     * @return the assigned student ID
+     */
+    @Override
+    public int addCybersecurityStudent(String firstName, String lastName, int birthYear) {
+        int id = nextId++;
+        Student student = new CybersecurityStudent(id, firstName, lastName, birthYear);
+        students = students.with(student);
+        studentIndex.put(student);
+        nameIndex = nameIndex.with(student);
+        statistics = statistics.withStudentAdded(student);
+        recordChange(StudentChangeType.ADDED, student);
+        return id;
+    }
+
+    /**
+     * Adds several new students in the given order. Large batches rebuild the snapshot and the name index
+     * in one linear pass instead of inserting every student into both trees.
+     *
+     * @param batch the students to add
+     */
+    @Override
+    public void addStudents(List<NewStudent> batch) {
+        if ((long) batch.size() * REBUILD_RATIO < students.size()) {
+            StudentRepository.super.addStudents(batch);
+            return;
+        }
+
+        Student[] added = new Student[batch.size()];
+        for (int i = 0; i < added.length; i++) {
+            NewStudent newStudent = batch.get(i);
+            int id = nextId++;
+            Student student = newStudent.type() == StudentType.TELEKOM
+                    ? new TelecommunicationsStudent(id, newStudent.firstName(), newStudent.lastName(), newStudent.birthYear())
+                    : new CybersecurityStudent(id, newStudent.firstName(), newStudent.lastName(), newStudent.birthYear());
+
+            added[i] = student;
+            studentIndex.put(student);
+            statistics = statistics.withStudentAdded(student);
+            recordChange(StudentChangeType.ADDED, student);
+        }
+
+        // the new IDs are higher than all existing ones, so appending keeps the ID order
+        List<Student> byId = new ArrayList<>(students.size() + added.length);
+        byId.addAll(students);
+        byId.addAll(Arrays.asList(added));
+        students = StudentSnapshot.of(byId, students.getVersion() + 1);
+
+        Arrays.sort(added, StudentNameIndex.ORDER);
+        nameIndex = StudentNameIndex.ofSorted(mergeByName(nameIndex, added));
+    }
+
+    /**
+     * Finds a student by their unique ID in expected constant time.
+     * Must be called from the mutating thread, other threads use {@link StudentSnapshot#findById(int)}.
+     * 
+     * @param id the student ID to search for
+     * @return the Student object if found, null otherwise
+     */
+    @Override
+    public Student findStudentById(int id) {
+        return studentIndex.get(id);
+    }
+
+    /**
+     * Adds a grade to a specific student's record.
+     * The student is replaced by a copy with the grade added, so students reachable from earlier snapshots
+     * never change and readers on other threads see consistent grades without locking.
+     * Grades outside the valid range (1-5) are ignored, like {@link Student#addGrade(int)} does.
+     * 
+     * @param studentId the ID of the student
+     * @param grade the grade to add (1-5)
+     * @return true if the student exists, false if a student was not found
+     */
+    @Override
+    public boolean addGradeToStudent(int studentId, int grade) {
+        Student student = findStudentById(studentId);
+        if (student == null) {
+            return false;
+        }
+        if (!PackedGrades.isValid(grade)) {
+            return true;
+        }
+
+        Student updated = student.withGrade(grade);
+        students = students.with(updated);
+        studentIndex.put(updated);
+        nameIndex = nameIndex.with(updated);
+        statistics = statistics.withGradesChanged(updated, student.getGradeCount(), student.getGradeSum());
+        recordChange(StudentChangeType.UPDATED, updated);
+        return true;
+    }
+
+    /**
+     * Removes a student from the database.
+     * 
+     * @param studentId the ID of the student to remove
+     * @return true if the student was removed, false if not found
+     */
+    @Override
+    public boolean removeStudent(int studentId) {
+        Student removed = studentIndex.remove(studentId);
+        if (removed == null) {
+            return false;
+        }
+
+        students = students.without(studentId);
+        nameIndex = nameIndex.without(removed);
+        statistics = statistics.withStudentRemoved(removed);
+        recordRemoval(studentId);
+        return true;
+    }
+
+    private void recordChange(StudentChangeType type, Student student) {
+        if (studentDao == null) {
+            return;
+        }
+        if (writeBehindQueue == null) {
+            if (type == StudentChangeType.ADDED) {
+                changeTracker.markAdded(student.getId());
+            } else {
+                changeTracker.markUpdated(student.getId());
+            }
+            return;
+        }
+
+        StudentRecord record = StudentRecord.of(student);
+        writeBehindQueue.submit(type == StudentChangeType.ADDED
+                ? StudentMutation.added(record)
+                : StudentMutation.updated(record));
+    }
+
+    private void recordRemoval(int studentId) {
+        if (studentDao == null) {
+            return;
+        }
+        if (writeBehindQueue == null) {
+            changeTracker.markRemoved(studentId);
+        } else {
+            writeBehindQueue.submit(StudentMutation.removed(studentId));
+        }
+    }
+
+    /**
+     * Checks whether the in-memory data contains changes that were not saved yet.
+     *
+     * @return true if a student was added, changed or removed since the last load or save,
+     *         or, in write-behind mode, if queued changes are not committed yet
+     */
+    @Override
+    public boolean hasUnsavedChanges() {
+        if (writeBehindQueue != null) {
+            return writeBehindQueue.hasPendingWrites();
+        }
+        return !changeTracker.isEmpty();
+    }
+
+    /**
+     * Switches the repository to write-behind mode.
+     * Pending changes are saved first, then every subsequent mutation is queued and persisted
+     * asynchronously by a writer thread. The persistence executor must be safe to use from
+     * several threads, e.g. a {@link me.chironex.studentsystem.data.PooledPersistenceExecutor}.
+     * While the queue cannot commit, mutations still change the in-memory data, but once the queue gave up
+     * retrying they throw a {@link PersistenceException} to report that the changes are not persisted.
+     *
+     * @param settings the queue and batching configuration
+     * @throws IllegalStateException if write-behind mode is already enabled
+     */
+    public void enableWriteBehind(WriteBehindSettings settings) {
+        if (writeBehindQueue != null) {
+            throw new IllegalStateException("Write-behind mode is already enabled");
+        }
+
+        saveToDatabase();
+        writeBehindQueue = new WriteBehindQueue(studentDao, settings);
+    }
+
+    /**
+     * Leaves write-behind mode after committing all queued changes.
+     * Changes the queue could not commit stay unsaved and are written by the next save.
+     * Does nothing if write-behind mode is not enabled.
+     *
+     * @throws PersistenceException if some queued changes could not be committed; write-behind mode is left anyway
+     */
+    public void disableWriteBehind() {
+        if (writeBehindQueue == null) {
+            return;
+        }
+
+        WriteBehindQueue queue = writeBehindQueue;
+        writeBehindQueue = null;
+        try {
+            queue.close();
+        } catch (PersistenceException e) {
+            for (StudentMutation mutation : queue.getUnsavedMutations()) {
+                switch (mutation.type()) {
+                    case ADDED -> changeTracker.markAdded(mutation.studentId());
+                    case UPDATED -> changeTracker.markUpdated(mutation.studentId());
+                    case REMOVED -> changeTracker.markRemoved(mutation.studentId());
+                }
+            }
+            throw e;
+        }
+        databaseGeneration = studentDao.loadGeneration();
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return writeBehindQueue != null;
+    }
+
+    /**
+     * Keeps a snapshot file of the students next to the database.
+     * {@link #loadFromDatabase()} reads the file instead of the database if its data generation matches
+     * the database, the file is rewritten after every save and on {@link #close()}.
+     * A missing, stale or corrupt file is ignored and replaced on the next save.
+     *
+     * @param path the snapshot path, the files are named after it with the data generation appended
+     */
+    public void enableSnapshotFile(Path path) {
+        snapshotFile = path;
+        snapshotGeneration = -1;
+    }
+
+    /**
+     * Blocks until all changes queued in write-behind mode are committed.
+     * Does nothing if write-behind mode is not enabled.
+     *
+     * @throws me.chironex.studentsystem.data.PersistenceException if the queued changes could not be committed
+     */
+    public void flush() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+        }
+    }
+
+    /**
+     * Returns the current snapshot of all students in the database, ordered by ID.
+     * Takes constant time, the snapshot is not affected by later mutations of the repository.
+     *
+     * @return an immutable list containing all students
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        return students;
+    }
+
+    /**
+     * Returns the current snapshot of all students.
+     * Its version grows with every mutation, so callers can skip refreshing views of an unchanged repository.
+     *
+     * @return the current snapshot
+     */
+    public StudentSnapshot getSnapshot() {
+        return students;
+    }
+
+    /**
+     * Filters students by their class type.
+     * 
+     * @param type the class type to filter by
+     * @return a list of students matching the specified type
+     */
+    @Override
+    public List<Student> getStudentsByType(Class<? extends Student> type) {
+        return students.stream()
+                .filter(type::isInstance)
+                .toList();
+    }
+
+    /**
+     * Returns the current name index, sorted by last name, then first name, then ID.
+     * Takes constant time, the index is maintained on every add and remove.
+     * 
+     * @return an immutable list of students sorted by last name
+     */
+    @Override
+    public StudentNameIndex getSortedStudentsByLastName() {
+        return nameIndex;
+    }
+
+    @Override
+    public List<Student> getSortedStudentsByLastName(int offset, int limit) {
+        return nameIndex.page(offset, limit);
+    }
+
+    @Override
+    public List<Student> findStudentsByLastNamePrefix(String prefix) {
+        return nameIndex.findByLastNamePrefix(prefix);
+    }
+
+    /**
+     * Calculates the average grade for all students of a specific type from the running statistics, in O(1).
+     * Only includes students who have at least one grade.
+     * 
+     * @param type the student class type to calculate average for
+     * @return the average grade, or 0.0 if no students of this type have grades
+     */
+    @Override
+    public double getAverageGradeByType(Class<? extends Student> type) {
+        return statistics.get(type).averageGrade();
+    }
+
+    /**
+     * Counts the students of a specific type from the running statistics, in O(1).
+     *
+     * @param type the class type to count
+     * @return the number of matching students
+     */
+    @Override
+    public int countStudentsByType(Class<? extends Student> type) {
+        return (int) statistics.get(type).studentCount();
+    }
+
+    /**
+     * Returns the current per-type grade statistics.
+     *
+     * @return the statistics, maintained on every mutation
+     */
+    public GradeStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Saves the changes made since the last load or save to the database.
+     * Falls back to a full rewrite if the data was never synchronized with the database.
+     */
+    @Override
+    public void saveToDatabase() {
+        saveToDatabase(SaveMode.INCREMENTAL);
+    }
+
+    /**
+     * Saves the current student data to the database using the given mode.
+     * All writes run in one transaction, so a failure leaves the database
+     * exactly as it was before the save.
+     * In write-behind mode an incremental save only waits for the queued changes to be committed.
+     *
+     * @param mode {@link SaveMode#INCREMENTAL} to persist only pending changes,
+     *             {@link SaveMode#COMPACT} to clear the database and rewrite all data
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode) {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+            databaseGeneration = mode == SaveMode.COMPACT
+                    ? studentDao.replaceAll(snapshotStudents())
+                    : studentDao.loadGeneration();
+            writeSnapshotFile();
+            return;
+        }
+
+        if (mode == SaveMode.COMPACT || !synchronizedWithDatabase) {
+            databaseGeneration = studentDao.replaceAll(snapshotStudents());
+        } else if (!changeTracker.isEmpty()) {
+            databaseGeneration = studentDao.applyChanges(collectChanges());
+        }
+
+        changeTracker.clear();
+        synchronizedWithDatabase = true;
+        writeSnapshotFile();
+    }
+
+    /**
+     * Saves the current student data with the given SQLite profile applied for the duration of the save,
+     * e.g. {@link SqliteProfile#BULK_LOAD} after a large import. The connection's previous settings
+     * are restored afterwards.
+     *
+     * @param mode the save mode
+     * @param profile the profile applied while saving
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode, SqliteProfile profile) {
+        profile.runWith(studentDao.getPersistenceExecutor(), () -> saveToDatabase(mode));
+    }
+
+    /**
+     * Loads student data from the database, or from the snapshot file if it is enabled and current.
+     * Replaces all current in-memory data with data from the database.
+     * In write-behind mode queued changes are committed before loading.
+     */
+    @Override
+    public void loadFromDatabase() {
+        flush();
+
+        // read before the data, so a concurrent write can only make the generation look older than the data
+        long generation = studentDao.loadGeneration();
+        StudentSnapshotFile file = openSnapshotFile(generation);
+
+        List<Student> loaded;
+        StudentNameIndex loadedNames = null;
+        if (file == null) {
+            loaded = studentDao.loadAll();
+        } else {
+            loaded = new ArrayList<>(file.size());
+            for (int i = 0; i < file.size(); i++) {
+                loaded.add(file.toStudent(i, studentDao.getStudentFactory()));
+            }
+
+            Student[] byName = new Student[loaded.size()];
+            for (int rank = 0; rank < byName.length; rank++) {
+                byName[rank] = loaded.get(file.nameOrderAt(rank));
+            }
+            loadedNames = StudentNameIndex.ofSorted(byName);
+            snapshotGeneration = generation;
+        }
+
+        replaceStudents(loaded, loadedNames);
+
+        databaseGeneration = generation;
+        synchronizedWithDatabase = true;
+    }
+
+    /**
+     * Returns the ID the next added student gets, for repositories persisting an addition before applying it.
+     *
+     * @return the next student ID
+     */
+    int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Replaces all data with the given students, for repositories restoring their students from their own storage.
+     *
+     * @param loaded the students in ID order
+     */
+    void restore(List<Student> loaded) {
+        replaceStudents(loaded, null);
+    }
+
+    private void replaceStudents(List<Student> loaded, StudentNameIndex loadedNames) {
+        StudentSnapshot loadedStudents = StudentSnapshot.of(loaded, students.getVersion() + 1);
+
+        StudentIdIndex loadedIndex = new StudentIdIndex(loadedStudents.size());
+        for (Student student : loadedStudents) {
+            loadedIndex.put(student);
+        }
+
+        students = loadedStudents;
+        studentIndex = loadedIndex;
+        nameIndex = loadedNames != null ? loadedNames : StudentNameIndex.of(loadedStudents);
+        statistics = GradeStatistics.of(loadedStudents);
+        changeTracker.clear();
+
+        nextId = loadedStudents.isEmpty() ? 1 : loadedStudents.get(loadedStudents.size() - 1).getId() + 1;
+    }
+
+    /**
+     * Commits all changes queued in write-behind mode and leaves write-behind mode.
+     * Writes the snapshot file if it is enabled, outdated and the data has no unsaved changes.
+     */
+    @Override
+    public void close() {
+        disableWriteBehind();
+        if (!hasUnsavedChanges()) {
+            writeSnapshotFile();
+        }
+    }
+
+    /**
+     * Maps the snapshot file if it holds the given data generation.
+     *
+     * @return the snapshot file, or null if no snapshot file is enabled or it is missing, stale or corrupt
+     */
+    private StudentSnapshotFile openSnapshotFile(long generation) {
+        if (snapshotFile == null) {
+            return null;
+        }
+
+        try {
+            if (!StudentSnapshotFile.exists(snapshotFile)) {
+                return null;
+            }
+            StudentSnapshotFile file = StudentSnapshotFile.open(snapshotFile);
+            return file.getGeneration() == generation ? file : null;
+        } catch (IOException e) {
+            System.err.println("Ignoring snapshot file: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the snapshot file unless it already holds the data generation the students were synchronized with.
+     * A failed write is only reported, the database stays the source of truth.
+     */
+    private void writeSnapshotFile() {
+        if (snapshotFile == null || databaseGeneration < 0 || databaseGeneration == snapshotGeneration) {
+            return;
+        }
+
+        StudentSnapshot snapshot = students;
+        int[] ids = new int[snapshot.size()];
+        int index = 0;
+        for (Student student : snapshot) {
+            ids[index++] = student.getId();
+        }
+
+        int[] nameOrder = new int[ids.length];
+        int rank = 0;
+        for (Student student : nameIndex) {
+            nameOrder[rank++] = Arrays.binarySearch(ids, student.getId());
+        }
+
+        try {
+            StudentSnapshotFile.write(snapshotFile, databaseGeneration, snapshotStudents(), nameOrder);
+            snapshotGeneration = databaseGeneration;
+        } catch (IOException e) {
+            System.err.println("Error writing snapshot file: " + e.getMessage());
+        }
+    }
+
+    private List<StudentRecord> snapshotStudents() {
+        StudentSnapshot snapshot = students;
+        List<StudentRecord> records = new ArrayList<>(snapshot.size());
+        for (Student student : snapshot) {
+            records.add(StudentRecord.of(student));
+        }
+        return records;
+    }
+
+    private static Student[] mergeByName(StudentNameIndex index, Student[] sortedAdded) {
+        Student[] merged = new Student[index.size() + sortedAdded.length];
+        Iterator<Student> existing = index.iterator();
+        Student next = existing.hasNext() ? existing.next() : null;
+
+        int added = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (next != null && (added == sortedAdded.length || StudentNameIndex.ORDER.compare(next, sortedAdded[added]) <= 0)) {
+                merged[i] = next;
+                next = existing.hasNext() ? existing.next() : null;
+            } else {
+                merged[i] = sortedAdded[added++];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Collects the pending changes, visiting only the changed students through the ID index.
+     */
+    private List<StudentMutation> collectChanges() {
+        List<StudentMutation> mutations = new ArrayList<>();
+
+        for (Map.Entry<Integer, StudentChangeType> change : changeTracker.getChanges().entrySet()) {
+            int id = change.getKey();
+            if (change.getValue() == StudentChangeType.REMOVED) {
+                mutations.add(StudentMutation.removed(id));
+            } else {
+                mutations.add(new StudentMutation(change.getValue(), id, StudentRecord.of(studentIndex.get(id))));
+            }
+        }
+
+        return mutations;
+    }
+}
@@ -0,0 +1,105 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding names as dense int codes, so name columns are primitive arrays and
+ * repeated names are stored once. Codes are assigned in order of first appearance. Names that are no longer
+ * used are only dropped by {@link #retain(boolean[])}, which the owner calls when it compacts its rows.
+ */
+final class NameDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Returns the code of a name, assigning a new one on first use.
+     *
+     * @param name the name to encode
+     * @return the name's code
+     */
+    int encode(String name) {
+        Integer code = codes.get(name);
+        if (code == null) {
+            code = names.size();
+            codes.put(name, code);
+            names.add(name);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return names.get(code);
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    /**
+     * Marks the codes of all names starting with the given prefix.
+     * Scans the distinct names only, callers then test each row with a single array read.
+     *
+     * @param prefix the case-sensitive name prefix
+     * @return an array indexed by code, true where the name matches
+     */
+    boolean[] matchPrefix(String prefix) {
+        boolean[] matches = new boolean[names.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = names.get(code).startsWith(prefix);
+        }
+        return matches;
+    }
+
+    /**
+     * Ranks the codes by the natural order of their names, so rows can be sorted by comparing ints.
+     *
+     * @return an array indexed by code holding the name's position in sorted order
+     */
+    int[] ranks() {
+        Integer[] sortedCodes = new Integer[names.size()];
+        Arrays.setAll(sortedCodes, code -> code);
+        Arrays.sort(sortedCodes, (a, b) -> names.get(a).compareTo(names.get(b)));
+
+        int[] ranks = new int[sortedCodes.length];
+        for (int rank = 0; rank < sortedCodes.length; rank++) {
+            ranks[sortedCodes[rank]] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Drops the names whose codes are not marked as used and gives the remaining names new dense codes,
+     * keeping their relative order.
+     *
+     * @param used an array indexed by code, true for the names to keep
+     * @return an array indexed by old code holding the new code, -1 for dropped names
+     */
+    int[] retain(boolean[] used) {
+        int[] recoded = new int[names.size()];
+        List<String> retained = new ArrayList<>();
+        codes.clear();
+        for (int code = 0; code < recoded.length; code++) {
+            if (used[code]) {
+                String name = names.get(code);
+                recoded[code] = retained.size();
+                codes.put(name, retained.size());
+                retained.add(name);
+            } else {
+                recoded[code] = -1;
+            }
+        }
+
+        names.clear();
+        names.addAll(retained);
+        return recoded;
+    }
+
+    void clear() {
+        codes.clear();
+        names.clear();
+    }
+}
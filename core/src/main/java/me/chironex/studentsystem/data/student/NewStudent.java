@@ -0,0 +1,12 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing a student that has not been added to a repository yet and has no ID.
+ *
+ * @param type the student type
+ * @param firstName the student's first name
+ * @param lastName the student's last name
+ * @param birthYear the student's birth year
+ */
+public record NewStudent(StudentType type, String firstName, String lastName, int birthYear) {
+}
@@ -0,0 +1,108 @@
+package me.chironex.studentsystem.data.student;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bump allocator over direct memory, used for the variable-length parts of off-heap students.
+ * Memory is reserved in chunks of direct byte buffers, an allocation never spans two chunks and is
+ * addressed by a long holding the chunk index in the upper and the offset in the lower 32 bits.
+ * Allocations are not reused individually: {@link #release(int)} only counts the bytes that are no longer
+ * referenced, so the owner can copy the live allocations into a new arena once {@link #wastedBytes()} grows,
+ * and {@link #clear()} releases all of them at once.
+ */
+final class OffHeapArena {
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int position;
+    private long usedBytes;
+
+    OffHeapArena(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Allocates zeroed memory.
+     *
+     * @param size the number of bytes, at most the chunk size
+     * @return the address of the allocation
+     */
+    long allocate(int size) {
+        if (size > chunkSize) {
+            throw new IllegalArgumentException("Allocation of " + size + " bytes exceeds the chunk size of " + chunkSize);
+        }
+        if (chunks.isEmpty() || position + size > chunkSize) {
+            chunks.add(ByteBuffer.allocateDirect(chunkSize));
+            position = 0;
+        }
+
+        long address = (long) (chunks.size() - 1) << 32 | position;
+        position += size;
+        usedBytes += size;
+        return address;
+    }
+
+    /**
+     * Copies an allocation of another arena into a new allocation of this one.
+     *
+     * @param source the arena holding the allocation
+     * @param address the address of the allocation in the source arena
+     * @param size the number of bytes to copy
+     * @return the address of the copy
+     */
+    long copy(OffHeapArena source, long address, int size) {
+        long copy = allocate(size);
+        chunk(copy).put(offset(copy), source.chunk(address), offset(address), size);
+        return copy;
+    }
+
+    /**
+     * Records that an allocation is no longer referenced. Its memory stays reserved until the arena is cleared.
+     *
+     * @param size the size of the allocation
+     */
+    void release(int size) {
+        usedBytes -= size;
+    }
+
+    ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Returns the direct memory reserved so far, including unused space at the end of chunks.
+     *
+     * @return the reserved bytes
+     */
+    long reservedBytes() {
+        return (long) chunks.size() * chunkSize;
+    }
+
+    /**
+     * Returns the reserved memory not taken by referenced allocations, i.e. released allocations
+     * and the unused ends of chunks.
+     *
+     * @return the wasted bytes
+     */
+    long wastedBytes() {
+        return reservedBytes() - usedBytes;
+    }
+
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Drops all chunks, their memory is released once the buffers are garbage collected.
+     */
+    void clear() {
+        chunks.clear();
+        position = 0;
+        usedBytes = 0;
+    }
+}
@@ -0,0 +1,51 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list view of rows of an {@link OffHeapStudentStore}.
+ * Every call to {@link #get(int)} creates a new student from the store, so the list itself
+ * costs at most an int per student and reflects grades added after it was created.
+ */
+final class OffHeapStudentList extends AbstractList<Student> implements RandomAccess {
+    private final OffHeapStudentStore store;
+    private final StudentFactory studentFactory;
+    private final int[] rows;
+    private final int size;
+    private final int modificationCount;
+
+    /**
+     * Creates a view of the given rows.
+     *
+     * @param rows the rows in list order, or null for all rows of a store without removed rows
+     */
+    OffHeapStudentList(OffHeapStudentStore store, StudentFactory studentFactory, int[] rows) {
+        this.store = store;
+        this.studentFactory = studentFactory;
+        this.rows = rows;
+        this.size = rows == null ? store.rowCount() : rows.length;
+        this.modificationCount = store.getModificationCount();
+    }
+
+    /**
+     * Creates the student at the given position from the store.
+     *
+     * @throws ConcurrentModificationException if students were added or removed after the list was created
+     */
+    @Override
+    public Student get(int index) {
+        Objects.checkIndex(index, size);
+        if (store.getModificationCount() != modificationCount) {
+            throw new ConcurrentModificationException("Students were added or removed after the list was created");
+        }
+        return store.toStudent(rows == null ? index : rows[index], studentFactory);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
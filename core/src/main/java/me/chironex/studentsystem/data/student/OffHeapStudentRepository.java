@@ -0,0 +1,279 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Student repository keeping all students in direct memory through an {@link OffHeapStudentStore},
+ * for archives of millions of students that would otherwise fill the heap and lengthen garbage collection pauses.
+ * Query methods return list views that create student objects only when an element is read; the students
+ * are detached copies, so grades are added through {@link #addGradeToStudent(int, int)}.
+ * Loading streams the database into the store one student at a time and saving reads records from the store
+ * on demand, so the heap stays small at any size. Changes are tracked and saved like in {@link InMemoryStudentRepository}.
+ * <p>
+ * Not thread-safe, all calls must come from one thread at a time.
+ */
+public class OffHeapStudentRepository implements StudentRepository {
+    private final StudentDao studentDao;
+    private final StudentFactory studentFactory;
+
+    private final OffHeapStudentStore store;
+    private final StudentChangeTracker changeTracker;
+
+    private int nextId;
+    private boolean synchronizedWithDatabase;
+
+    public OffHeapStudentRepository(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory) {
+        this(new StudentDao(persistenceExecutor, studentFactory), studentFactory);
+    }
+
+    /**
+     * Creates a repository persisting through the given data access object.
+     *
+     * @param studentDao the data access object for the students and grades tables
+     * @param studentFactory the factory used to create the returned students
+     */
+    public OffHeapStudentRepository(StudentDao studentDao, StudentFactory studentFactory) {
+        this.studentDao = studentDao;
+        this.studentFactory = studentFactory;
+
+        this.store = new OffHeapStudentStore();
+        this.changeTracker = new StudentChangeTracker();
+
+        this.nextId = 1;
+        this.synchronizedWithDatabase = false;
+    }
+
+    @Override
+    public int addTelecommunicationsStudent(String firstName, String lastName, int birthYear) {
+        return add(StudentType.TELEKOM, firstName, lastName, birthYear);
+    }
+
+    @Override
+    public int addCybersecurityStudent(String firstName, String lastName, int birthYear) {
+        return add(StudentType.CYBERSECURITY, firstName, lastName, birthYear);
+    }
+
+    private int add(StudentType type, String firstName, String lastName, int birthYear) {
+        int id = nextId++;
+        store.append(type, new StudentData(id, firstName, lastName, birthYear));
+        changeTracker.markAdded(id);
+        return id;
+    }
+
+    /**
+     * Finds a student by binary search over the off-heap records.
+     *
+     * @param id the student ID to search for
+     * @return a copy of the student if found, null otherwise
+     */
+    @Override
+    public Student findStudentById(int id) {
+        int row = store.rowOf(id);
+        return row < 0 ? null : store.toStudent(row, studentFactory);
+    }
+
+    /**
+     * Adds a grade to a specific student's record.
+     * Grades outside the valid range (1-5) are ignored, like {@link Student#addGrade(int)} does.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade to add (1-5)
+     * @return true if the student exists, false if a student was not found
+     */
+    @Override
+    public boolean addGradeToStudent(int studentId, int grade) {
+        int row = store.rowOf(studentId);
+        if (row < 0) {
+            return false;
+        }
+
+        if (PackedGrades.isValid(grade)) {
+            store.addGrade(row, grade);
+            changeTracker.markUpdated(studentId);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeStudent(int studentId) {
+        int row = store.rowOf(studentId);
+        if (row < 0) {
+            return false;
+        }
+
+        store.remove(row);
+        changeTracker.markRemoved(studentId);
+        return true;
+    }
+
+    @Override
+    public boolean hasUnsavedChanges() {
+        return !changeTracker.isEmpty();
+    }
+
+    /**
+     * Returns a view of all students ordered by ID.
+     *
+     * @return an unmodifiable list creating its students on access,
+     *         it throws {@link java.util.ConcurrentModificationException} once students are added or removed
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        return new OffHeapStudentList(store, studentFactory, store.size() == store.rowCount() ? null : allRows());
+    }
+
+    /**
+     * Filters students by their class type.
+     *
+     * @param type the class type to filter by
+     * @return an unmodifiable list creating its students on access, ordered by ID
+     */
+    @Override
+    public List<Student> getStudentsByType(Class<? extends Student> type) {
+        return new OffHeapStudentList(store, studentFactory, store.rows(StudentColumns.typeMask(type)));
+    }
+
+    @Override
+    public int countStudentsByType(Class<? extends Student> type) {
+        return store.count(StudentColumns.typeMask(type));
+    }
+
+    @Override
+    public List<Student> getSortedStudentsByLastName() {
+        return new OffHeapStudentList(store, studentFactory, store.rowsSortedByName());
+    }
+
+    /**
+     * Finds the students whose last name starts with the given prefix by comparing encoded names off-heap.
+     *
+     * @param prefix the last name prefix
+     * @return an unmodifiable list of copies of the matching students sorted by last name, then first name, then ID
+     */
+    @Override
+    public List<Student> findStudentsByLastNamePrefix(String prefix) {
+        List<Student> matching = new ArrayList<>(new OffHeapStudentList(store, studentFactory, store.rowsByLastNamePrefix(prefix)));
+        matching.sort(StudentNameIndex.ORDER);
+        return Collections.unmodifiableList(matching);
+    }
+
+    /**
+     * Calculates the average grade for all students of a specific type from the grade sums and counts
+     * of the off-heap records, without creating student objects.
+     * Only includes students who have at least one grade.
+     *
+     * @param type the student class type to calculate average for
+     * @return the average grade, or 0.0 if no students of this type have grades
+     */
+    @Override
+    public double getAverageGradeByType(Class<? extends Student> type) {
+        return store.aggregate(StudentColumns.typeMask(type)).averageGrade();
+    }
+
+    /**
+     * Returns the direct memory reserved by the store.
+     *
+     * @return the reserved bytes outside the heap
+     */
+    public long getOffHeapBytes() {
+        return store.offHeapBytes();
+    }
+
+    /**
+     * Saves the current student data to the database using the given mode.
+     * All writes run in one transaction, so a failure leaves the database
+     * exactly as it was before the save.
+     *
+     * @param mode {@link SaveMode#INCREMENTAL} to persist only pending changes,
+     *             {@link SaveMode#COMPACT} to clear the database and rewrite all data
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode) {
+        if (mode == SaveMode.COMPACT || !synchronizedWithDatabase) {
+            studentDao.replaceAll(recordsOf(allRows()));
+        } else if (!changeTracker.isEmpty()) {
+            studentDao.applyChanges(collectChanges());
+        }
+
+        changeTracker.clear();
+        synchronizedWithDatabase = true;
+    }
+
+    @Override
+    public void saveToDatabase(SaveMode mode, SqliteProfile profile) {
+        profile.runWith(studentDao.getPersistenceExecutor(), () -> saveToDatabase(mode));
+    }
+
+    /**
+     * Loads student data from the database, streaming it into the store one student at a time.
+     * Replaces all current data with data from the database.
+     */
+    @Override
+    public void loadFromDatabase() {
+        store.clear();
+        studentDao.forEachStudent(store::append);
+        changeTracker.clear();
+
+        nextId = store.lastId() + 1;
+        synchronizedWithDatabase = true;
+    }
+
+    /**
+     * Saves the unsaved changes, then releases the direct memory of the store once it is garbage collected.
+     * If the save fails the store is kept, so the changes can still be saved after the cause is fixed.
+     *
+     * @throws me.chironex.studentsystem.data.PersistenceException if the changes could not be saved
+     */
+    @Override
+    public void close() {
+        if (hasUnsavedChanges()) {
+            saveToDatabase();
+        }
+        store.clear();
+    }
+
+    private int[] allRows() {
+        return store.rows(OffHeapStudentStore.typeMaskOfAll());
+    }
+
+    /**
+     * Returns a list creating the records of the given rows on access, so a full rewrite does not copy
+     * every student to the heap at once.
+     */
+    private List<StudentRecord> recordsOf(int[] rows) {
+        return new AbstractList<>() {
+            @Override
+            public StudentRecord get(int index) {
+                return store.toRecord(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    private List<StudentMutation> collectChanges() {
+        List<StudentMutation> mutations = new ArrayList<>();
+
+        for (Map.Entry<Integer, StudentChangeType> change : changeTracker.getChanges().entrySet()) {
+            int id = change.getKey();
+            if (change.getValue() == StudentChangeType.REMOVED) {
+                mutations.add(StudentMutation.removed(id));
+            } else {
+                int row = store.rowOf(id);
+                mutations.add(new StudentMutation(change.getValue(), id, store.toRecord(row)));
+            }
+        }
+
+        return mutations;
+    }
+}
@@ -0,0 +1,542 @@
+package me.chironex.studentsystem.data.student;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Storage of students in direct memory outside the garbage-collected heap.
+ * Every student is a fixed-size record of {@value #RECORD_SIZE} bytes in a chunked record area,
+ * names are length-prefixed UTF-8 strings in a string arena and grades are one byte each in
+ * blocks of a grade arena that are reallocated with double the capacity when full.
+ * The heap only holds the chunk references, so its size does not grow with the number of students
+ * and the garbage collector never traces them; student objects are created on demand.
+ * <p>
+ * Rows are kept in ascending ID order, so IDs are found by binary search. A removed row is only marked
+ * as removed and the records are compacted once more than half of them are removed.
+ * Row numbers are therefore only valid until the next mutation, see {@link #getModificationCount()}.
+ * The names of removed students and outgrown grade blocks are reclaimed the same way: once an arena
+ * wastes more than it uses and more than a chunk, the live allocations are copied into a new arena.
+ * This moves no rows, only the addresses stored in the records.
+ * <p>
+ * The memory is held by direct byte buffers rather than the Foreign Function &amp; Memory API,
+ * which is final only from Java 22 while core targets Java 17, see core/build.gradle.
+ * <p>
+ * Not thread-safe.
+ */
+public final class OffHeapStudentStore {
+    private static final StudentType[] TYPES = StudentType.values();
+    private static final byte REMOVED = (byte) TYPES.length;
+
+    private static final int ID = 0;
+    private static final int BIRTH_YEAR = 4;
+    private static final int TYPE = 8;
+    private static final int GRADE_COUNT = 12;
+    private static final int GRADE_SUM = 16;
+    private static final int GRADE_CAPACITY = 20;
+    private static final int GRADES = 24;
+    private static final int FIRST_NAME = 32;
+    private static final int LAST_NAME = 40;
+    private static final int RECORD_SIZE = 48;
+
+    private static final int RECORD_CHUNK_SHIFT = 16;
+    private static final int RECORDS_PER_CHUNK = 1 << RECORD_CHUNK_SHIFT;
+    private static final int ARENA_CHUNK_SIZE = 4 << 20;
+    private static final int INITIAL_GRADE_CAPACITY = 8;
+
+    private final List<ByteBuffer> records = new ArrayList<>();
+    private OffHeapArena strings = new OffHeapArena(ARENA_CHUNK_SIZE);
+    private OffHeapArena grades = new OffHeapArena(ARENA_CHUNK_SIZE);
+
+    private int rowCount;
+    private int removedCount;
+    private int modificationCount;
+
+    /**
+     * Appends a student without grades.
+     *
+     * @param type the student type
+     * @param data the student's id, names and birth year; the ID must be greater than every stored ID
+     * @return the row of the new student
+     * @throws IllegalArgumentException if the ID is not greater than the last stored ID
+     */
+    public int append(StudentType type, StudentData data) {
+        if (rowCount > 0 && data.id() <= lastId()) {
+            throw new IllegalArgumentException("Student IDs must be appended in ascending order: " + data.id());
+        }
+        if (rowCount == records.size() * RECORDS_PER_CHUNK) {
+            records.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_SIZE));
+        }
+
+        int row = rowCount++;
+        ByteBuffer chunk = chunk(row);
+        int record = offset(row);
+        chunk.putInt(record + ID, data.id());
+        chunk.putInt(record + BIRTH_YEAR, data.birthYear());
+        chunk.put(record + TYPE, (byte) type.ordinal());
+        chunk.putInt(record + GRADE_COUNT, 0);
+        chunk.putInt(record + GRADE_SUM, 0);
+        chunk.putInt(record + GRADE_CAPACITY, 0);
+        chunk.putLong(record + GRADES, 0L);
+        chunk.putLong(record + FIRST_NAME, putString(data.firstName()));
+        chunk.putLong(record + LAST_NAME, putString(data.lastName()));
+        modificationCount++;
+        return row;
+    }
+
+    /**
+     * Appends a student with its grades.
+     *
+     * @param student the student to copy; its ID must be greater than every stored ID
+     * @return the row of the new student
+     */
+    public int append(Student student) {
+        int row = append(StudentType.of(student), new StudentData(
+                student.getId(), student.getFirstName(), student.getLastName(), student.getBirthYear()));
+        student.gradeStream().forEach(grade -> addGrade(row, grade));
+        return row;
+    }
+
+    /**
+     * Finds the row of a student by binary search over the records.
+     *
+     * @param id the student ID
+     * @return the row, or -1 if no stored student has the ID
+     */
+    public int rowOf(int id) {
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int row = (low + high) >>> 1;
+            int rowId = chunk(row).getInt(offset(row) + ID);
+            if (rowId < id) {
+                low = row + 1;
+            } else if (rowId > id) {
+                high = row - 1;
+            } else {
+                return typeOrdinal(row) != REMOVED ? row : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends a grade to a student, moving its grades to a block of twice the size if the current one is full.
+     *
+     * @param row the student's row
+     * @param grade the grade, must be between 1 and 5
+     * @throws IllegalArgumentException if the grade is outside the valid range
+     */
+    public void addGrade(int row, int grade) {
+        if (!PackedGrades.isValid(grade)) {
+            throw new IllegalArgumentException("Grade must be between 1 and 5: " + grade);
+        }
+
+        ByteBuffer chunk = chunk(checkRow(row));
+        int record = offset(row);
+        int count = chunk.getInt(record + GRADE_COUNT);
+        int capacity = chunk.getInt(record + GRADE_CAPACITY);
+        long block = chunk.getLong(record + GRADES);
+
+        if (count == capacity) {
+            int newCapacity = Math.max(INITIAL_GRADE_CAPACITY, capacity * 2);
+            long newBlock = grades.allocate(newCapacity);
+            if (count > 0) {
+                grades.chunk(newBlock).put(OffHeapArena.offset(newBlock), grades.chunk(block), OffHeapArena.offset(block), count);
+            }
+            grades.release(capacity);
+            block = newBlock;
+            chunk.putInt(record + GRADE_CAPACITY, newCapacity);
+            chunk.putLong(record + GRADES, block);
+        }
+
+        grades.chunk(block).put(OffHeapArena.offset(block) + count, (byte) grade);
+        chunk.putInt(record + GRADE_COUNT, count + 1);
+        chunk.putInt(record + GRADE_SUM, chunk.getInt(record + GRADE_SUM) + grade);
+
+        if (isWasteful(grades)) {
+            compactGrades();
+        }
+    }
+
+    /**
+     * Removes a student, compacting the records if more than half of the rows are removed.
+     *
+     * @param row the student's row
+     */
+    public void remove(int row) {
+        ByteBuffer chunk = chunk(checkRow(row));
+        int record = offset(row);
+        strings.release(stringSize(chunk.getLong(record + FIRST_NAME)));
+        strings.release(stringSize(chunk.getLong(record + LAST_NAME)));
+        grades.release(chunk.getInt(record + GRADE_CAPACITY));
+
+        chunk.put(record + TYPE, REMOVED);
+        removedCount++;
+        modificationCount++;
+
+        if (removedCount > rowCount / 2) {
+            compact();
+        }
+        if (isWasteful(strings)) {
+            compactStrings();
+        }
+        if (isWasteful(grades)) {
+            compactGrades();
+        }
+    }
+
+    /**
+     * Returns the number of stored students.
+     *
+     * @return the number of rows that are not removed
+     */
+    public int size() {
+        return rowCount - removedCount;
+    }
+
+    /**
+     * Returns the number of rows, including removed ones that were not compacted yet.
+     *
+     * @return the number of rows
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns a counter incremented whenever rows are added, removed or moved.
+     * Row numbers obtained earlier are only valid while the counter is unchanged.
+     *
+     * @return the modification count
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    public int id(int row) {
+        return chunk(checkRow(row)).getInt(offset(row) + ID);
+    }
+
+    /**
+     * Returns the highest stored ID.
+     *
+     * @return the ID of the last row, or 0 if there are no rows
+     */
+    public int lastId() {
+        return rowCount == 0 ? 0 : chunk(rowCount - 1).getInt(offset(rowCount - 1) + ID);
+    }
+
+    /**
+     * Counts the students of the given types.
+     *
+     * @param typeMask the mask of the counted types, see {@link StudentColumns#typeMask(Class)}
+     * @return the number of matching students
+     */
+    public int count(int typeMask) {
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            count += typeMask >>> typeOrdinal(row) & 1;
+        }
+        return count;
+    }
+
+    /**
+     * Aggregates the grades of the students of the given types from the grade sums and counts of their records.
+     *
+     * @param typeMask the mask of the aggregated types, see {@link StudentColumns#typeMask(Class)}
+     * @return the aggregates of the matching students
+     */
+    public TypeStatistics aggregate(int typeMask) {
+        long studentCount = 0;
+        long gradedStudentCount = 0;
+        long gradeCount = 0;
+        long gradeSum = 0;
+        double averageSum = 0.0;
+
+        for (int row = 0; row < rowCount; row++) {
+            ByteBuffer chunk = chunk(row);
+            int record = offset(row);
+            if ((typeMask >>> chunk.get(record + TYPE) & 1) == 0) {
+                continue;
+            }
+
+            studentCount++;
+            int count = chunk.getInt(record + GRADE_COUNT);
+            if (count > 0) {
+                int sum = chunk.getInt(record + GRADE_SUM);
+                gradedStudentCount++;
+                gradeCount += count;
+                gradeSum += sum;
+                averageSum += (double) sum / count;
+            }
+        }
+
+        return new TypeStatistics(studentCount, gradedStudentCount, gradeCount, gradeSum, averageSum);
+    }
+
+    /**
+     * Selects the rows of the students of the given types, in ID order.
+     *
+     * @param typeMask the mask of the selected types, see {@link StudentColumns#typeMask(Class)}
+     * @return the matching rows
+     */
+    public int[] rows(int typeMask) {
+        int[] selected = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            selected[count] = row;
+            count += typeMask >>> typeOrdinal(row) & 1;
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Selects the rows of the students whose last name starts with the given prefix, in ID order.
+     * The encoded prefix is compared with the stored bytes, no strings are decoded.
+     *
+     * @param prefix the case-sensitive last name prefix
+     * @return the matching rows
+     */
+    public int[] rowsByLastNamePrefix(String prefix) {
+        byte[] encodedPrefix = prefix.getBytes(StandardCharsets.UTF_8);
+        int[] selected = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (typeOrdinal(row) != REMOVED && startsWith(chunk(row).getLong(offset(row) + LAST_NAME), encodedPrefix)) {
+                selected[count++] = row;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Sorts the rows by last name, then first name, then ID.
+     * The names of all students are decoded for the duration of the sort.
+     *
+     * @return all rows in name order
+     */
+    public int[] rowsSortedByName() {
+        int[] rows = rows(typeMaskOfAll());
+        String[] lastNames = new String[rows.length];
+        String[] firstNames = new String[rows.length];
+        Integer[] order = new Integer[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            lastNames[i] = getString(chunk(rows[i]).getLong(offset(rows[i]) + LAST_NAME));
+            firstNames[i] = getString(chunk(rows[i]).getLong(offset(rows[i]) + FIRST_NAME));
+            order[i] = i;
+        }
+
+        // stable sort, rows with equal names stay in ID order
+        Arrays.sort(order, (a, b) -> {
+            int byLastName = lastNames[a].compareTo(lastNames[b]);
+            return byLastName != 0 ? byLastName : firstNames[a].compareTo(firstNames[b]);
+        });
+        return Arrays.stream(order).mapToInt(i -> rows[i]).toArray();
+    }
+
+    /**
+     * Creates a student object holding a copy of a row.
+     *
+     * @param row the student's row
+     * @param studentFactory the factory creating the student
+     * @return a new student on the heap, detached from the store
+     */
+    public Student toStudent(int row, StudentFactory studentFactory) {
+        Student student = studentFactory.createStudent(type(row), data(row));
+        for (int grade : grades(row)) {
+            student.addGrade(grade);
+        }
+        return student;
+    }
+
+    /**
+     * Captures a row as an immutable record for persistence.
+     *
+     * @param row the student's row
+     * @return the record of the student
+     */
+    public StudentRecord toRecord(int row) {
+        return new StudentRecord(type(row), data(row), grades(row));
+    }
+
+    /**
+     * Returns the direct memory reserved for records, names and grades.
+     *
+     * @return the reserved bytes
+     */
+    public long offHeapBytes() {
+        return (long) records.size() * RECORDS_PER_CHUNK * RECORD_SIZE + strings.reservedBytes() + grades.reservedBytes();
+    }
+
+    /**
+     * Removes all students. The direct memory is released once the dropped buffers are garbage collected.
+     */
+    public void clear() {
+        records.clear();
+        strings.clear();
+        grades.clear();
+        rowCount = 0;
+        removedCount = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Returns the mask selecting every student type.
+     *
+     * @return the type mask
+     */
+    static int typeMaskOfAll() {
+        return (1 << TYPES.length) - 1;
+    }
+
+    private StudentType type(int row) {
+        return TYPES[typeOrdinal(checkRow(row))];
+    }
+
+    private StudentData data(int row) {
+        ByteBuffer chunk = chunk(row);
+        int record = offset(row);
+        return new StudentData(
+                chunk.getInt(record + ID),
+                getString(chunk.getLong(record + FIRST_NAME)),
+                getString(chunk.getLong(record + LAST_NAME)),
+                chunk.getInt(record + BIRTH_YEAR));
+    }
+
+    private int[] grades(int row) {
+        ByteBuffer chunk = chunk(row);
+        int record = offset(row);
+        int[] values = new int[chunk.getInt(record + GRADE_COUNT)];
+        if (values.length > 0) {
+            long block = chunk.getLong(record + GRADES);
+            ByteBuffer gradeChunk = grades.chunk(block);
+            int start = OffHeapArena.offset(block);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = gradeChunk.get(start + i);
+            }
+        }
+        return values;
+    }
+
+    private long putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long address = strings.allocate(Integer.BYTES + bytes.length);
+        ByteBuffer chunk = strings.chunk(address);
+        int offset = OffHeapArena.offset(address);
+        chunk.putInt(offset, bytes.length);
+        chunk.put(offset + Integer.BYTES, bytes);
+        return address;
+    }
+
+    private String getString(long address) {
+        ByteBuffer chunk = strings.chunk(address);
+        int offset = OffHeapArena.offset(address);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int stringSize(long address) {
+        return Integer.BYTES + strings.chunk(address).getInt(OffHeapArena.offset(address));
+    }
+
+    private boolean startsWith(long address, byte[] prefix) {
+        ByteBuffer chunk = strings.chunk(address);
+        int offset = OffHeapArena.offset(address);
+        if (chunk.getInt(offset) < prefix.length) {
+            return false;
+        }
+
+        offset += Integer.BYTES;
+        for (int i = 0; i < prefix.length; i++) {
+            if (chunk.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int typeOrdinal(int row) {
+        return chunk(row).get(offset(row) + TYPE);
+    }
+
+    private ByteBuffer chunk(int row) {
+        return records.get(row >>> RECORD_CHUNK_SHIFT);
+    }
+
+    private static int offset(int row) {
+        return (row & RECORDS_PER_CHUNK - 1) * RECORD_SIZE;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount || typeOrdinal(row) == REMOVED) {
+            throw new IllegalArgumentException("No student in row " + row);
+        }
+        return row;
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (typeOrdinal(row) == REMOVED) {
+                continue;
+            }
+            if (live != row) {
+                chunk(live).put(offset(live), chunk(row), offset(row), RECORD_SIZE);
+            }
+            live++;
+        }
+
+        int usedChunks = (live + RECORDS_PER_CHUNK - 1) >>> RECORD_CHUNK_SHIFT;
+        records.subList(usedChunks, records.size()).clear();
+        rowCount = live;
+        removedCount = 0;
+        modificationCount++;
+    }
+
+    private static boolean isWasteful(OffHeapArena arena) {
+        long wasted = arena.wastedBytes();
+        return wasted > arena.usedBytes() && wasted > ARENA_CHUNK_SIZE;
+    }
+
+    /**
+     * Copies the names of the stored students into a new arena, dropping the names of removed students.
+     */
+    private void compactStrings() {
+        OffHeapArena compacted = new OffHeapArena(ARENA_CHUNK_SIZE);
+        for (int row = 0; row < rowCount; row++) {
+            if (typeOrdinal(row) == REMOVED) {
+                continue;
+            }
+            ByteBuffer chunk = chunk(row);
+            int record = offset(row);
+            for (int field : new int[]{FIRST_NAME, LAST_NAME}) {
+                long address = chunk.getLong(record + field);
+                chunk.putLong(record + field, compacted.copy(strings, address, stringSize(address)));
+            }
+        }
+        strings = compacted;
+    }
+
+    /**
+     * Copies the grades of the stored students into a new arena, trimming every block to its grade count.
+     */
+    private void compactGrades() {
+        OffHeapArena compacted = new OffHeapArena(ARENA_CHUNK_SIZE);
+        for (int row = 0; row < rowCount; row++) {
+            if (typeOrdinal(row) == REMOVED) {
+                continue;
+            }
+            ByteBuffer chunk = chunk(row);
+            int record = offset(row);
+            int count = chunk.getInt(record + GRADE_COUNT);
+            long block = count == 0 ? 0L : compacted.copy(grades, chunk.getLong(record + GRADES), count);
+            chunk.putInt(record + GRADE_CAPACITY, count);
+            chunk.putLong(record + GRADES, block);
+        }
+        grades = compacted;
+    }
+}
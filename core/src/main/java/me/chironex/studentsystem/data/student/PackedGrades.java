@@ -0,0 +1,147 @@
+package me.chironex.studentsystem.data.student;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Compact, append-only storage for grades in the range 1-5.
+ * Every grade takes 3 bits, 21 grades are packed into one {@code long}, and a running sum and count
+ * make the average available without touching the packed words. Nothing is boxed and the word array
+ * is only allocated once the first grade is added, so an ungraded student pays for two ints and a reference.
+ * <p>
+ * Not thread-safe.
+ */
+public final class PackedGrades implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The lowest valid grade.
+     */
+    public static final int MIN_GRADE = 1;
+    /**
+     * The highest valid grade.
+     */
+    public static final int MAX_GRADE = 5;
+
+    private static final int BITS_PER_GRADE = 3;
+    private static final int GRADES_PER_WORD = Long.SIZE / BITS_PER_GRADE;
+    private static final long GRADE_MASK = (1L << BITS_PER_GRADE) - 1;
+    private static final long[] NO_WORDS = new long[0];
+
+    private long[] words;
+    private int count;
+    private int sum;
+
+    public PackedGrades() {
+        this.words = NO_WORDS;
+    }
+
+    /**
+     * Checks whether a grade lies in the valid range 1-5.
+     *
+     * @param grade the grade to check
+     * @return true if the grade can be stored
+     */
+    public static boolean isValid(int grade) {
+        return grade >= MIN_GRADE && grade <= MAX_GRADE;
+    }
+
+    /**
+     * Appends a grade.
+     *
+     * @param grade the grade to append
+     * @throws IllegalArgumentException if the grade is outside the range 1-5
+     */
+    public void add(int grade) {
+        if (!isValid(grade)) {
+            throw new IllegalArgumentException("Grade must be between 1 and 5: " + grade);
+        }
+
+        int word = count / GRADES_PER_WORD;
+        if (word == words.length) {
+            words = Arrays.copyOf(words, Math.max(1, words.length * 2));
+        }
+
+        words[word] |= (long) grade << (count % GRADES_PER_WORD * BITS_PER_GRADE);
+        count++;
+        sum += grade;
+    }
+
+    /**
+     * Returns a copy of these grades that can be appended to independently.
+     *
+     * @return the copy
+     */
+    public PackedGrades copy() {
+        PackedGrades copy = new PackedGrades();
+        copy.words = count == 0 ? NO_WORDS : Arrays.copyOf(words, words.length);
+        copy.count = count;
+        copy.sum = sum;
+        return copy;
+    }
+
+    /**
+     * Returns the grade at the given position.
+     *
+     * @param index the position, in the order the grades were given
+     * @return the grade
+     */
+    public int get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+        }
+        return (int) (words[index / GRADES_PER_WORD] >>> (index % GRADES_PER_WORD * BITS_PER_GRADE) & GRADE_MASK);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int sum() {
+        return sum;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the average grade from the running sum and count, without allocating.
+     *
+     * @return the average grade, or 0.0 if no grades exist
+     */
+    public double average() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Unpacks the grades into a new array.
+     *
+     * @return the grades in the order they were given
+     */
+    public int[] toArray() {
+        int[] grades = new int[count];
+        for (int i = 0; i < count; i++) {
+            grades[i] = get(i);
+        }
+        return grades;
+    }
+
+    /**
+     * Streams the grades in the order they were given, unpacking them lazily.
+     * The stream must not be consumed while grades are being added.
+     *
+     * @return a stream of the grades
+     */
+    public IntStream stream() {
+        return IntStream.range(0, count).map(this::get);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
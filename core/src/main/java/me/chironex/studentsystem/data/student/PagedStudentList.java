@@ -0,0 +1,83 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.*;
+
+/**
+ * Read-only list view of a keyset-paged student scan.
+ * Pages are read on first access and at most {@link PagingSettings#maxResidentPages()} of them stay in memory;
+ * the least recently used page is dropped first. Only the sort key of the last student of every page read
+ * so far is kept, so walking the list in order always continues from the previous page's key.
+ * The size is counted when the list is created, later pages reflect the database at the time they are read.
+ */
+final class PagedStudentList extends AbstractList<Student> implements RandomAccess {
+    private final StudentDao studentDao;
+    private final StudentPageQuery query;
+    private final int pageSize;
+    private final int size;
+
+    private final Map<Integer, List<Student>> residentPages;
+    private final Map<Integer, StudentPageQuery.PageKey> pageEndKeys;
+
+    PagedStudentList(StudentDao studentDao, StudentPageQuery query, PagingSettings settings) {
+        this.studentDao = studentDao;
+        this.query = query;
+        this.pageSize = settings.pageSize();
+        this.size = studentDao.count(query);
+
+        int maxResidentPages = settings.maxResidentPages();
+        this.residentPages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Student>> eldest) {
+                return size() > maxResidentPages;
+            }
+        };
+        this.pageEndKeys = new HashMap<>();
+    }
+
+    /**
+     * Returns the student at the given position, reading its page from the database if it is not resident.
+     *
+     * @throws ConcurrentModificationException if students were removed from the database after the list was created
+     */
+    @Override
+    public synchronized Student get(int index) {
+        Objects.checkIndex(index, size);
+
+        int pageIndex = index / pageSize;
+        List<Student> page = residentPages.get(pageIndex);
+        if (page == null) {
+            page = loadPage(pageIndex);
+            residentPages.put(pageIndex, page);
+        }
+
+        int offset = index % pageSize;
+        if (offset >= page.size()) {
+            throw new ConcurrentModificationException("Students were removed while the list was paged");
+        }
+        return page.get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private List<Student> loadPage(int pageIndex) {
+        StudentPageQuery.PageKey after = null;
+        if (pageIndex > 0) {
+            after = pageEndKeys.get(pageIndex - 1);
+            if (after == null) {
+                after = studentDao.findKeyAt(query, pageIndex * pageSize - 1);
+            }
+            if (after == null) {
+                throw new ConcurrentModificationException("Students were removed while the list was paged");
+            }
+        }
+
+        List<Student> page = studentDao.loadPage(query, after, pageSize);
+        if (!page.isEmpty()) {
+            pageEndKeys.put(pageIndex, StudentPageQuery.PageKey.of(page.get(page.size() - 1)));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,184 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.Getter;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.util.List;
+
+/**
+ * Student repository for databases too large to hold in memory.
+ * Nothing is loaded up front: query methods return lists that read students in keyset-paged chunks
+ * and keep only a bounded window of pages resident, lookups and aggregates run in the database.
+ * Every mutation is written through immediately, so there are never unsaved changes.
+ */
+public class PagedStudentRepository implements StudentRepository {
+    private static final String VACUUM = "VACUUM";
+
+    private final StudentDao studentDao;
+    @Getter
+    private final PagingSettings settings;
+
+    private int nextId;
+
+    public PagedStudentRepository(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory) {
+        this(new StudentDao(persistenceExecutor, studentFactory), PagingSettings.defaults());
+    }
+
+    /**
+     * Creates a repository reading and writing through the given data access object.
+     *
+     * @param studentDao the data access object for the students and grades tables
+     * @param settings the page size and resident window of the returned lists
+     */
+    public PagedStudentRepository(StudentDao studentDao, PagingSettings settings) {
+        this.studentDao = studentDao;
+        this.settings = settings;
+    }
+
+    @Override
+    public int addTelecommunicationsStudent(String firstName, String lastName, int birthYear) {
+        return insert(StudentType.TELEKOM, firstName, lastName, birthYear);
+    }
+
+    @Override
+    public int addCybersecurityStudent(String firstName, String lastName, int birthYear) {
+        return insert(StudentType.CYBERSECURITY, firstName, lastName, birthYear);
+    }
+
+    private synchronized int insert(StudentType type, String firstName, String lastName, int birthYear) {
+        if (nextId == 0) {
+            nextId = studentDao.loadMaxId() + 1;
+        }
+
+        int id = nextId;
+        StudentRecord record = new StudentRecord(type, new StudentData(id, firstName, lastName, birthYear), new int[0]);
+        studentDao.applyChanges(List.of(StudentMutation.added(record)));
+        nextId++;
+        return id;
+    }
+
+    /**
+     * Reads a student by their unique ID from the database.
+     *
+     * @param id the student ID to search for
+     * @return a freshly loaded Student object if found, null otherwise
+     */
+    @Override
+    public Student findStudentById(int id) {
+        return studentDao.loadById(id);
+    }
+
+    /**
+     * Appends a grade to a specific student's record in the database.
+     * Grades outside the valid range (1-5) are ignored, like {@link Student#addGrade(int)} does.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade to add (1-5)
+     * @return true if the student exists, false if a student was not found
+     */
+    @Override
+    public boolean addGradeToStudent(int studentId, int grade) {
+        if (!PackedGrades.isValid(grade)) {
+            return studentDao.loadById(studentId) != null;
+        }
+        return studentDao.appendGrade(studentId, grade);
+    }
+
+    @Override
+    public boolean removeStudent(int studentId) {
+        return studentDao.deleteById(studentId);
+    }
+
+    /**
+     * Always returns false, mutations are written through immediately.
+     *
+     * @return false
+     */
+    @Override
+    public boolean hasUnsavedChanges() {
+        return false;
+    }
+
+    /**
+     * Returns a paged view of all students ordered by ID.
+     *
+     * @return an unmodifiable list reading its students from the database on demand
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        return new PagedStudentList(studentDao, StudentPageQuery.all(StudentPageQuery.Order.BY_ID), settings);
+    }
+
+    /**
+     * Returns a paged view of the students of the given type ordered by ID.
+     *
+     * @param type the class type to filter by
+     * @return an unmodifiable list reading its students from the database on demand
+     */
+    @Override
+    public List<Student> getStudentsByType(Class<? extends Student> type) {
+        return new PagedStudentList(studentDao, StudentPageQuery.ofType(type, StudentPageQuery.Order.BY_ID), settings);
+    }
+
+    /**
+     * Counts the students of the given type in the database.
+     *
+     * @param type the class type to count
+     * @return the number of matching students
+     */
+    @Override
+    public int countStudentsByType(Class<? extends Student> type) {
+        return studentDao.count(StudentPageQuery.ofType(type, StudentPageQuery.Order.BY_ID));
+    }
+
+    /**
+     * Returns a paged view of all students sorted by last name, then first name, then ID.
+     *
+     * @return an unmodifiable list reading its students from the database on demand
+     */
+    @Override
+    public List<Student> getSortedStudentsByLastName() {
+        return new PagedStudentList(studentDao, StudentPageQuery.all(StudentPageQuery.Order.BY_LAST_NAME), settings);
+    }
+
+    /**
+     * Calculates the average grade for all students of a specific type in the database.
+     * Only includes students who have at least one grade.
+     *
+     * @param type the student class type to calculate average for
+     * @return the average grade, or 0.0 if no students of this type have grades
+     */
+    @Override
+    public double getAverageGradeByType(Class<? extends Student> type) {
+        return studentDao.averageGrade(StudentPageQuery.ofType(type, StudentPageQuery.Order.BY_ID));
+    }
+
+    /**
+     * Mutations are already persisted, so an incremental save does nothing.
+     * A compacting save rebuilds the database file with {@code VACUUM} instead of rewriting all students,
+     * which would require loading them.
+     *
+     * @param mode the save mode
+     */
+    @Override
+    public void saveToDatabase(SaveMode mode) {
+        if (mode == SaveMode.COMPACT) {
+            studentDao.getPersistenceExecutor().performSimpleOperationsChain(VACUUM);
+        }
+    }
+
+    @Override
+    public void saveToDatabase(SaveMode mode, SqliteProfile profile) {
+        profile.runWith(studentDao.getPersistenceExecutor(), () -> saveToDatabase(mode));
+    }
+
+    /**
+     * Forgets the cached next student ID, so changes made to the database by others are picked up.
+     * Lists returned earlier keep their size; new lists read the current content of the database.
+     */
+    @Override
+    public synchronized void loadFromDatabase() {
+        nextId = 0;
+    }
+}
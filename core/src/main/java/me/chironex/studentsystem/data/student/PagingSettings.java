@@ -0,0 +1,25 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing the configuration of a {@link PagedStudentRepository}.
+ *
+ * @param pageSize the number of students read from the database in one keyset page
+ * @param maxResidentPages the maximum number of pages a paged list keeps in memory at once
+ */
+public record PagingSettings(int pageSize, int maxResidentPages) {
+
+    public PagingSettings {
+        if (pageSize < 1 || maxResidentPages < 1) {
+            throw new IllegalArgumentException("Page size and resident page count must be positive");
+        }
+    }
+
+    /**
+     * Returns the default settings: pages of 500 students with at most 8 pages resident per list.
+     *
+     * @return the default paging settings
+     */
+    public static PagingSettings defaults() {
+        return new PagingSettings(500, 8);
+    }
+}
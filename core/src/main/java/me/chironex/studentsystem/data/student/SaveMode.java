@@ -0,0 +1,17 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Enum representing the strategies for persisting the in-memory student data.
+ */
+public enum SaveMode {
+
+    /**
+     * Persists only the students added, changed or removed since the last load or save.
+     */
+    INCREMENTAL,
+
+    /**
+     * Clears the database and rewrites every student and grade.
+     */
+    COMPACT
+}
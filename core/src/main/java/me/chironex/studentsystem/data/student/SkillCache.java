@@ -0,0 +1,217 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded cache of {@link Student#executeSkill()} results, which depend only on the student's type and name.
+ * Entries are keyed by type, first name and last name, so a student with a different name never sees a stale
+ * result; results of names no longer shown simply age out.
+ * <p>
+ * Eviction is segmented LRU: a new result enters the probation segment and moves to the protected segment,
+ * limited to 80% of the capacity, on its second request. When the cache is full the least recently added
+ * probation entry is evicted, so one-time scans, e.g. an export of every student, only churn the probation
+ * segment and do not evict the results of rows the table keeps showing.
+ * Entries are spread over independently locked shards, skill results are computed outside the locks.
+ * Safe for use by multiple threads.
+ */
+public final class SkillCache {
+    /**
+     * Default maximum number of cached results of the shared cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private static final SkillCache SHARED = new SkillCache(DEFAULT_MAXIMUM_SIZE);
+
+    private static final int MAX_SHARDS = 16;
+    private static final int MIN_SHARD_SIZE = 64;
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final Shard[] shards;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * Creates a cache holding at most the given number of results.
+     *
+     * @param maximumSize the maximum number of cached results
+     */
+    public SkillCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+
+        int shardCount = Math.max(1, Math.min(MAX_SHARDS, Integer.highestOneBit(maximumSize / MIN_SHARD_SIZE)));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            int shardSize = maximumSize / shardCount + (i < maximumSize % shardCount ? 1 : 0);
+            shards[i] = new Shard(shardSize);
+        }
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Returns the cache used by {@link Student#executeSkill()}.
+     *
+     * @return the shared cache
+     */
+    public static SkillCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the student's skill result, computing and caching it on a miss.
+     *
+     * @param student the student
+     * @return the skill result
+     */
+    public String get(Student student) {
+        SkillKey key = new SkillKey(StudentType.of(student), student.getFirstName(), student.getLastName());
+        Shard shard = shards[spread(key.hashCode()) & (shards.length - 1)];
+
+        String cached = shard.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        String skill = student.computeSkill();
+        shard.put(key, skill);
+        return skill;
+    }
+
+    /**
+     * Drops all cached results, the counters are kept.
+     */
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache size and counters.
+     *
+     * @return the current cache statistics
+     */
+    public SkillCacheStatistics getStatistics() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return new SkillCacheStatistics(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Record representing the inputs a skill result depends on.
+     */
+    private record SkillKey(StudentType type, String firstName, String lastName) {
+    }
+
+    /**
+     * One lock-guarded part of the cache with its own probation and protected segments.
+     * The probation segment is in insertion order, the protected segment in access order.
+     * Probation may use the capacity the protected segment does not use yet.
+     */
+    private final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<SkillKey, String> probation = new LinkedHashMap<>();
+        private final LinkedHashMap<SkillKey, String> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+        private final int protectedCapacity;
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = Math.min(capacity - 1, (int) (capacity * PROTECTED_SHARE));
+        }
+
+        String get(SkillKey key) {
+            lock.lock();
+            try {
+                String value = protectedEntries.get(key);
+                if (value != null) {
+                    return value;
+                }
+
+                value = probation.remove(key);
+                if (value != null) {
+                    promote(key, value);
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(SkillKey key, String value) {
+            lock.lock();
+            try {
+                if (protectedEntries.containsKey(key) || probation.containsKey(key)) {
+                    return;
+                }
+                probation.put(key, value);
+                evictOverflow();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return probation.size() + protectedEntries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                probation.clear();
+                protectedEntries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves a probation entry requested again to the protected segment, demoting the least recently used
+         * protected entry back to probation if the protected segment is full.
+         */
+        private void promote(SkillKey key, String value) {
+            if (protectedCapacity == 0) {
+                probation.put(key, value);
+                return;
+            }
+
+            protectedEntries.put(key, value);
+            if (protectedEntries.size() > protectedCapacity) {
+                Iterator<Map.Entry<SkillKey, String>> eldest = protectedEntries.entrySet().iterator();
+                Map.Entry<SkillKey, String> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        private void evictOverflow() {
+            Iterator<SkillKey> eldest = probation.keySet().iterator();
+            while (probation.size() + protectedEntries.size() > capacity) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
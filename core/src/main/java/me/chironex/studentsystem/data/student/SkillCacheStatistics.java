@@ -0,0 +1,22 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing a point-in-time snapshot of the counters of a {@link SkillCache}.
+ *
+ * @param size the number of cached skill results
+ * @param hits the number of skill results served from the cache
+ * @param misses the number of skill results that had to be computed
+ * @param evictions the number of cached results dropped to make room for others
+ */
+public record SkillCacheStatistics(int size, long hits, long misses, long evictions) {
+
+    /**
+     * Calculates the ratio of cache hits to all skill requests.
+     *
+     * @return the hit ratio between 0.0 and 1.0, or 0.0 if no skill was requested yet
+     */
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
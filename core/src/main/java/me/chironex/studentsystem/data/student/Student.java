@@ -0,0 +1,150 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.stream.IntStream;
+
+/**
+ * Abstract base class representing a university student.
+ * All students have basic information (id, name, birth year) and can have grades.
+ * Each student type implements their own specific skill execution.
+ * 
+ * @author chmodxChironex
+ * @since 1.0
+ */
+@Getter
+public abstract class Student implements Serializable {
+    // 2: grades are serialized as PackedGrades instead of a List<Integer>
+    @Serial
+    private static final long serialVersionUID = 2L;
+
+    private final int id;
+    private final String firstName;
+    private final String lastName;
+    private final int birthYear;
+    private final PackedGrades grades;
+
+    public Student(int id, String firstName, String lastName, int birthYear) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthYear = birthYear;
+        this.grades = new PackedGrades();
+    }
+
+    /**
+     * Creates a copy of the given student with its own copy of the grades.
+     *
+     * @param source the student to copy
+     */
+    protected Student(Student source) {
+        this.id = source.id;
+        this.firstName = source.firstName;
+        this.lastName = source.lastName;
+        this.birthYear = source.birthYear;
+        this.grades = source.grades.copy();
+    }
+
+    /**
+     * Executes the specific skill associated with this student type.
+     * The result depends only on the type and the name, so it is served from the shared {@link SkillCache}.
+     * 
+     * @return a string representation of the executed skill
+     */
+    public String executeSkill() {
+        return SkillCache.shared().get(this);
+    }
+
+    /**
+     * Computes the skill result without the cache.
+     * Each student type implements this method to demonstrate their field expertise.
+     *
+     * @return a string representation of the executed skill
+     */
+    protected abstract String computeSkill();
+
+    /**
+     * Adds a grade to the student's record.
+     * Only accepts grades in the valid range (1-5).
+     * 
+     * @param grade the grade to add, must be between 1 and 5 inclusive
+     */
+    public void addGrade(int grade) {
+        if (PackedGrades.isValid(grade)) {
+            grades.add(grade);
+        }
+    }
+
+    /**
+     * Returns a copy of this student with the grade added, leaving this student unchanged.
+     * Used by repositories that publish a student to readers on other threads and must not mutate it afterwards.
+     *
+     * @param grade the grade to add, must be between 1 and 5 inclusive
+     * @return the copy
+     */
+    public Student withGrade(int grade) {
+        Student copy = copy();
+        copy.addGrade(grade);
+        return copy;
+    }
+
+    /**
+     * Creates a copy of this student of the same type, with its own copy of the grades.
+     *
+     * @return the copy
+     */
+    protected abstract Student copy();
+
+    /**
+     * Returns a copy of the student's grades.
+     * 
+     * @return a new array containing all grades, modifications won't affect the original
+     */
+    public int[] getGrades() {
+        return grades.toArray();
+    }
+
+    /**
+     * Streams the student's grades without copying them into an array.
+     *
+     * @return a stream of the grades in the order they were given
+     */
+    public IntStream gradeStream() {
+        return grades.stream();
+    }
+
+    /**
+     * Returns the number of grades without copying them.
+     *
+     * @return the number of grades
+     */
+    public int getGradeCount() {
+        return grades.count();
+    }
+
+    /**
+     * Returns the sum of all grades without copying them.
+     *
+     * @return the grade sum
+     */
+    public int getGradeSum() {
+        return grades.sum();
+    }
+
+    /**
+     * Calculates the average grade for this student from the running grade sum, without allocating.
+     * 
+     * @return the average grade as a double, or 0.0 if no grades exist
+     */
+    public double getAverageGrade() {
+        return grades.average();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ID: %d, %s %s, birth year: %d, average grade: %.2f",
+                id, firstName, lastName, birthYear, getAverageGrade());
+    }
+}
\ No newline at end of file
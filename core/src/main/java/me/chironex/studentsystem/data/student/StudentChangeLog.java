@@ -0,0 +1,647 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of student mutations, persisted without a database.
+ * Every mutation is encoded as a compact binary record and appended to the active log file. A committer thread
+ * writes the records appended in the meantime as one checksummed frame followed by a single {@code fsync},
+ * so mutations arriving close together share a commit. {@link #flush()} acts as a durability barrier.
+ * <p>
+ * Once the active log file grows past {@link ChangeLogSettings#compactionThresholdBytes()} it is sealed and a
+ * new one is started. A background thread then replays the previous checkpoint and the sealed files into a new
+ * checkpoint, a {@link StudentSnapshotFile} whose generation is the number of the first log file it does not
+ * cover, and deletes the sealed files. {@link #replay()} reads the latest checkpoint plus the remaining log files.
+ * A frame torn by a crash at the end of the active file is discarded when the log is opened, sealed files were
+ * complete when they were sealed, so a corrupt frame in them fails the replay instead of dropping mutations.
+ */
+public class StudentChangeLog implements AutoCloseable {
+    private static final String CHECKPOINT_FILE = "checkpoint.snapshot";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("changes-(\\d+)\\.log");
+
+    private static final byte ADDED = 1;
+    private static final byte GRADE_ADDED = 2;
+    private static final byte REMOVED = 3;
+    private static final int FRAME_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final StudentType[] TYPES = StudentType.values();
+
+    private final Path directory;
+    private final StudentFactory studentFactory;
+    private final ChangeLogSettings settings;
+
+    // Guarded by lock
+    private final Object lock = new Object();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream();
+    private final DataOutputStream scratchOutput = new DataOutputStream(scratch);
+    private long appendedCount;
+    private long committedCount;
+    private boolean flushRequested;
+    private boolean closed;
+    private PersistenceException failure;
+
+    // Guarded by writeLock
+    private final Object writeLock = new Object();
+    private FileChannel activeChannel;
+    private long activeSegment;
+
+    // Guarded by checkpointLock
+    private final Object checkpointLock = new Object();
+    private long checkpointSegment;
+
+    private final Thread committerThread;
+    private final ExecutorService compactor;
+    private final AtomicBoolean compactionRunning;
+
+    /**
+     * Opens the log in the given directory, creating it if needed, and starts the committer thread.
+     *
+     * @param directory the directory holding the checkpoint and log files
+     * @param studentFactory the factory used to create replayed students
+     * @param settings the commit and compaction configuration
+     * @throws PersistenceException if the directory cannot be read or a checkpoint or sealed log file is corrupt
+     */
+    public StudentChangeLog(Path directory, StudentFactory studentFactory, ChangeLogSettings settings) {
+        this.directory = directory;
+        this.studentFactory = studentFactory;
+        this.settings = settings;
+
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new PersistenceException("Cannot open change log in " + directory, e);
+        }
+
+        this.compactionRunning = new AtomicBoolean();
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.committerThread = new Thread(this::runCommitter, "student-log-committer");
+        this.committerThread.setDaemon(true);
+        this.committerThread.start();
+    }
+
+    /**
+     * Appends the addition of a student without grades.
+     *
+     * @param type the student type
+     * @param data the student's id, names and birth year
+     */
+    public void appendAdded(StudentType type, StudentData data) {
+        append(output -> {
+            output.writeByte(ADDED);
+            output.writeInt(data.id());
+            output.writeByte(type.ordinal());
+            output.writeUTF(data.firstName());
+            output.writeUTF(data.lastName());
+            output.writeInt(data.birthYear());
+        });
+    }
+
+    /**
+     * Appends a grade given to a student.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade
+     */
+    public void appendGradeAdded(int studentId, int grade) {
+        append(output -> {
+            output.writeByte(GRADE_ADDED);
+            output.writeInt(studentId);
+            output.writeByte(grade);
+        });
+    }
+
+    /**
+     * Appends the removal of a student.
+     *
+     * @param studentId the ID of the removed student
+     */
+    public void appendRemoved(int studentId) {
+        append(output -> {
+            output.writeByte(REMOVED);
+            output.writeInt(studentId);
+        });
+    }
+
+    /**
+     * Blocks until every mutation appended before this call is written and synced to disk.
+     *
+     * @throws PersistenceException if writing the log failed, the log accepts no further mutations then
+     */
+    public void flush() {
+        synchronized (lock) {
+            long target = appendedCount;
+            flushRequested = true;
+            lock.notifyAll();
+
+            while (committedCount < target) {
+                ensureNotFailed();
+                awaitLock();
+            }
+        }
+    }
+
+    /**
+     * Checks whether some appended mutations are not synced to disk yet.
+     *
+     * @return true if mutations wait for their commit
+     */
+    public boolean hasPendingWrites() {
+        synchronized (lock) {
+            return committedCount < appendedCount;
+        }
+    }
+
+    /**
+     * Seals the active log file and compacts all log files into a new checkpoint on the calling thread.
+     *
+     * @throws PersistenceException if the log could not be flushed or the checkpoint could not be written
+     */
+    public void checkpoint() {
+        flush();
+
+        long sealedBefore;
+        synchronized (writeLock) {
+            sealedBefore = rotate();
+        }
+        compactBefore(sealedBefore);
+    }
+
+    /**
+     * Rebuilds the students from the latest checkpoint and all log files. Mutations that are not flushed yet are not included.
+     *
+     * @return the students in ID order
+     * @throws PersistenceException if a file cannot be read or is corrupt
+     */
+    public List<Student> replay() {
+        synchronized (checkpointLock) {
+            try {
+                return new ArrayList<>(readState(Long.MAX_VALUE).values());
+            } catch (IOException e) {
+                throw new PersistenceException("Cannot replay change log in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the combined size of the checkpoint and the log files.
+     *
+     * @return the size in bytes
+     */
+    public long sizeOnDisk() {
+        synchronized (checkpointLock) {
+            try (Stream<Path> files = Files.list(directory)) {
+                long size = 0;
+                for (Path file : files.toList()) {
+                    size += Files.size(file);
+                }
+                return size;
+            } catch (IOException e) {
+                throw new PersistenceException("Cannot list change log in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Flushes all appended mutations, waits for a running compaction and stops the background threads.
+     *
+     * @throws PersistenceException if the final flush failed
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+        }
+
+        try {
+            flush();
+        } finally {
+            synchronized (lock) {
+                closed = true;
+                lock.notifyAll();
+            }
+            joinCommitter();
+            compactor.shutdown();
+            awaitCompactor();
+
+            synchronized (writeLock) {
+                closeQuietly(activeChannel);
+            }
+        }
+    }
+
+    private void append(RecordWriter writer) {
+        synchronized (lock) {
+            if (closed) {
+                throw new PersistenceException("Change log is closed");
+            }
+            ensureNotFailed();
+
+            // encode into scratch first, so a record that cannot be encoded leaves no partial bytes in the batch
+            scratch.reset();
+            try {
+                writer.write(scratchOutput);
+            } catch (IOException e) {
+                throw new PersistenceException("Cannot encode change log record", e);
+            }
+
+            pending.write(scratch.toByteArray(), 0, scratch.size());
+            appendedCount++;
+            lock.notifyAll();
+        }
+    }
+
+    private void runCommitter() {
+        while (true) {
+            byte[] batch;
+            long batchEnd;
+
+            synchronized (lock) {
+                while (pending.size() == 0 && !closed) {
+                    awaitLock();
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+
+                // keep the commit open a little longer, so mutations arriving meanwhile share its fsync
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.maxCommitDelayMillis());
+                long remaining;
+                while (!flushRequested && !closed && (remaining = deadline - System.nanoTime()) > 0) {
+                    awaitLock(remaining);
+                }
+
+                batch = pending.toByteArray();
+                batchEnd = appendedCount;
+                pending.reset();
+                flushRequested = false;
+            }
+
+            try {
+                synchronized (writeLock) {
+                    writeFrame(batch);
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = new PersistenceException("Writing the change log failed", e);
+                    lock.notifyAll();
+                }
+                System.err.println("Writing the change log failed: " + e.getMessage());
+                return;
+            }
+
+            synchronized (lock) {
+                committedCount = batchEnd;
+                lock.notifyAll();
+            }
+
+            compactIfNeeded();
+        }
+    }
+
+    private void writeFrame(byte[] batch) throws IOException {
+        CRC32 checksum = new CRC32();
+        checksum.update(batch);
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + batch.length)
+                .putInt(batch.length)
+                .putInt((int) checksum.getValue())
+                .put(batch)
+                .flip();
+        while (frame.hasRemaining()) {
+            activeChannel.write(frame);
+        }
+        activeChannel.force(false);
+    }
+
+    private void compactIfNeeded() {
+        long sealedBefore;
+        synchronized (writeLock) {
+            try {
+                if (activeChannel.size() < settings.compactionThresholdBytes() || !compactionRunning.compareAndSet(false, true)) {
+                    return;
+                }
+            } catch (IOException e) {
+                System.err.println("Cannot read the change log size: " + e.getMessage());
+                return;
+            }
+            sealedBefore = rotate();
+        }
+
+        compactor.execute(() -> {
+            try {
+                compactBefore(sealedBefore);
+            } catch (RuntimeException e) {
+                System.err.println("Change log compaction failed, will retry: " + e.getMessage());
+            } finally {
+                compactionRunning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Seals the active log file and starts the next one, must hold the write lock.
+     *
+     * @return the number of the new active file, all files before it are sealed
+     */
+    private long rotate() {
+        try {
+            activeChannel.close();
+            activeSegment++;
+            activeChannel = openSegment(activeSegment);
+            return activeSegment;
+        } catch (IOException e) {
+            throw new PersistenceException("Cannot start change log file " + activeSegment, e);
+        }
+    }
+
+    /**
+     * Writes a checkpoint covering all log files before the given one and deletes them.
+     */
+    private void compactBefore(long segment) {
+        synchronized (checkpointLock) {
+            if (segment <= checkpointSegment) {
+                return;
+            }
+
+            try {
+                List<Student> students = new ArrayList<>(readState(segment).values());
+                StudentSnapshotFile.write(directory.resolve(CHECKPOINT_FILE), segment, toRecords(students), nameOrder(students));
+                checkpointSegment = segment;
+
+                for (long sealed : listSegments()) {
+                    if (sealed < segment) {
+                        Files.deleteIfExists(segmentPath(sealed));
+                    }
+                }
+            } catch (IOException e) {
+                throw new PersistenceException("Cannot compact change log in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Reads the checkpoint and replays the log files from the checkpoint up to, excluding, the given one.
+     * Must hold the checkpoint lock.
+     */
+    private TreeMap<Integer, Student> readState(long beforeSegment) throws IOException {
+        TreeMap<Integer, Student> students = new TreeMap<>();
+
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (StudentSnapshotFile.exists(checkpoint)) {
+            StudentSnapshotFile file = StudentSnapshotFile.open(checkpoint);
+            for (int i = 0; i < file.size(); i++) {
+                Student student = file.toStudent(i, studentFactory);
+                students.put(student.getId(), student);
+            }
+        }
+
+        List<Long> segments = listSegments();
+        long lastSegment = segments.isEmpty() ? -1 : segments.get(segments.size() - 1);
+        for (long segment : segments) {
+            if (segment >= checkpointSegment && segment < beforeSegment) {
+                readSegment(segmentPath(segment), students, segment < lastSegment);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Applies the complete frames of a log file to the given students.
+     *
+     * @param students the students to update, or null to only validate the frames
+     * @param sealed whether the file is sealed, only the active file may end with a torn frame
+     * @return the length of the complete frames, a torn or corrupt frame at the end of the active file and everything
+     *         after it is ignored
+     * @throws IOException if the file cannot be read or a sealed file contains a torn or corrupt frame
+     */
+    private long readSegment(Path segment, TreeMap<Integer, Student> students, boolean sealed) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+
+        while (content.hasRemaining()) {
+            int start = content.position();
+            if (content.remaining() < FRAME_HEADER_SIZE) {
+                return invalidFrame(segment, start, sealed);
+            }
+
+            int length = content.getInt();
+            int expectedChecksum = content.getInt();
+            if (length < 0 || length > content.remaining()) {
+                return invalidFrame(segment, start, sealed);
+            }
+
+            CRC32 checksum = new CRC32();
+            checksum.update(content.array(), content.position(), length);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                return invalidFrame(segment, start, sealed);
+            }
+
+            if (students != null) {
+                applyRecords(new DataInputStream(new ByteArrayInputStream(content.array(), content.position(), length)), students);
+            }
+            content.position(content.position() + length);
+        }
+
+        return content.position();
+    }
+
+    private static long invalidFrame(Path segment, int offset, boolean sealed) throws IOException {
+        if (sealed) {
+            throw new IOException("Corrupt frame at offset " + offset + " of sealed change log file " + segment);
+        }
+        return offset;
+    }
+
+    private void applyRecords(DataInputStream input, TreeMap<Integer, Student> students) throws IOException {
+        while (input.available() > 0) {
+            byte tag = input.readByte();
+            switch (tag) {
+                case ADDED -> {
+                    int id = input.readInt();
+                    StudentType type = TYPES[input.readByte()];
+                    String firstName = input.readUTF();
+                    String lastName = input.readUTF();
+                    int birthYear = input.readInt();
+                    students.put(id, studentFactory.createStudent(type, new StudentData(id, firstName, lastName, birthYear)));
+                }
+                case GRADE_ADDED -> {
+                    Student student = students.get(input.readInt());
+                    int grade = input.readByte();
+                    if (student != null) {
+                        student.addGrade(grade);
+                    }
+                }
+                case REMOVED -> students.remove(input.readInt());
+                default -> throw new IOException("Unknown change log record type " + tag);
+            }
+        }
+    }
+
+    /**
+     * Finds the checkpoint and log files, deletes files already covered by the checkpoint, validates the sealed
+     * files, truncates a torn frame at the end of the last file and opens it for appending.
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        checkpointSegment = StudentSnapshotFile.exists(checkpoint) ? StudentSnapshotFile.open(checkpoint).getGeneration() : 0;
+
+        activeSegment = checkpointSegment;
+        List<Long> remaining = new ArrayList<>();
+        for (long segment : listSegments()) {
+            if (segment < checkpointSegment) {
+                Files.deleteIfExists(segmentPath(segment));
+            } else {
+                remaining.add(segment);
+                activeSegment = Math.max(activeSegment, segment);
+            }
+        }
+
+        for (long segment : remaining) {
+            if (segment < activeSegment) {
+                readSegment(segmentPath(segment), null, true);
+            }
+        }
+
+        Path active = segmentPath(activeSegment);
+        activeChannel = openSegment(activeSegment);
+        long validLength = readSegment(active, null, false);
+        if (validLength < activeChannel.size()) {
+            System.err.println("Discarding " + (activeChannel.size() - validLength) + " bytes of a torn change log frame in " + active);
+            activeChannel.truncate(validLength);
+            activeChannel.force(true);
+        }
+    }
+
+    private FileChannel openSegment(long segment) throws IOException {
+        return FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("changes-%010d.log", segment));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> segments = new ArrayList<>();
+            for (Path file : files.toList()) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+            segments.sort(null);
+            return segments;
+        }
+    }
+
+    private static List<StudentRecord> toRecords(List<Student> students) {
+        List<StudentRecord> records = new ArrayList<>(students.size());
+        for (Student student : students) {
+            records.add(StudentRecord.of(student));
+        }
+        return records;
+    }
+
+    private static int[] nameOrder(List<Student> studentsById) {
+        int[] ids = new int[studentsById.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = studentsById.get(i).getId();
+        }
+
+        Student[] byName = studentsById.toArray(Student[]::new);
+        Arrays.sort(byName, StudentNameIndex.ORDER);
+
+        int[] order = new int[byName.length];
+        for (int rank = 0; rank < byName.length; rank++) {
+            order[rank] = Arrays.binarySearch(ids, byName[rank].getId());
+        }
+        return order;
+    }
+
+    private void ensureNotFailed() {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void awaitLock() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for the change log", e);
+        }
+    }
+
+    private void awaitLock(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.timedWait(lock, nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for the change log", e);
+        }
+    }
+
+    private void joinCommitter() {
+        try {
+            committerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitCompactor() {
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing change log file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encodes one record.
+     */
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,69 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks which students were added, changed or removed since the last synchronization with the database.
+ * Redundant changes are merged, e.g. removing a student that was added after the last save discards both changes.
+ */
+public class StudentChangeTracker {
+    private final Map<Integer, StudentChangeType> changes = new HashMap<>();
+
+    /**
+     * Records that a new student was added.
+     *
+     * @param studentId the ID of the added student
+     */
+    public void markAdded(int studentId) {
+        changes.put(studentId, StudentChangeType.ADDED);
+    }
+
+    /**
+     * Records that an existing student was changed, e.g. received a new grade.
+     *
+     * @param studentId the ID of the changed student
+     */
+    public void markUpdated(int studentId) {
+        changes.putIfAbsent(studentId, StudentChangeType.UPDATED);
+    }
+
+    /**
+     * Records that a student was removed.
+     *
+     * @param studentId the ID of the removed student
+     */
+    public void markRemoved(int studentId) {
+        if (changes.get(studentId) == StudentChangeType.ADDED) {
+            changes.remove(studentId);
+        } else {
+            changes.put(studentId, StudentChangeType.REMOVED);
+        }
+    }
+
+    /**
+     * Returns all pending changes, so a save can visit only the changed students instead of scanning all of them.
+     *
+     * @return an unmodifiable view of the pending change type by student ID
+     */
+    public Map<Integer, StudentChangeType> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * Checks whether there are any pending changes.
+     *
+     * @return true if no changes were recorded since the last synchronization
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Discards all pending changes, typically after a load or save.
+     */
+    public void clear() {
+        changes.clear();
+    }
+}
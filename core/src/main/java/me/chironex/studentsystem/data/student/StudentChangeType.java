@@ -0,0 +1,22 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Enum representing the kind of change made to a student since it was last persisted.
+ */
+public enum StudentChangeType {
+
+    /**
+     * The student was created and does not exist in the database yet.
+     */
+    ADDED,
+
+    /**
+     * The student exists in the database but its data or grades changed.
+     */
+    UPDATED,
+
+    /**
+     * The student was removed and must be deleted from the database.
+     */
+    REMOVED
+}
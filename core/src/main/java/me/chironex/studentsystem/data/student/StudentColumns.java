@@ -0,0 +1,400 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented storage of students: one primitive array per attribute, indexed by row.
+ * Rows are kept in ascending ID order, so IDs are found by binary search, and names are
+ * dictionary-encoded into int columns. Counts, averages and filters run as sequential loops
+ * over a few primitive arrays instead of following references from student to string to grades.
+ * <p>
+ * A removed row is only marked as removed, so the other rows keep their positions and scans skip it
+ * through the type column. The arrays are compacted once more than half of the rows are removed, which also
+ * drops the names no remaining row uses from the dictionary and re-encodes the name columns.
+ * Row numbers and name codes are therefore only valid until the next mutation.
+ * <p>
+ * Not thread-safe.
+ */
+public final class StudentColumns {
+    private static final StudentType[] TYPES = StudentType.values();
+    private static final byte REMOVED = (byte) TYPES.length;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final NameDictionary names = new NameDictionary();
+
+    private int[] ids;
+    private int[] birthYears;
+    private byte[] types;
+    private int[] firstNames;
+    private int[] lastNames;
+    private int[] gradeSums;
+    private int[] gradeCounts;
+    private PackedGrades[] grades;
+
+    private int rowCount;
+    private int removedCount;
+
+    public StudentColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates columns with room for the given number of rows before they have to grow.
+     *
+     * @param expectedRows the number of rows to allocate up front
+     */
+    public StudentColumns(int expectedRows) {
+        allocate(Math.max(INITIAL_CAPACITY, expectedRows));
+    }
+
+    /**
+     * Returns the bit mask of the student types whose students are instances of the given class,
+     * e.g. both types for {@code Student.class}. Scans test a row with {@code (mask >>> type & 1) != 0}.
+     *
+     * @param type the student class
+     * @return the type mask
+     */
+    public static int typeMask(Class<? extends Student> type) {
+        int mask = 0;
+        for (StudentType studentType : TYPES) {
+            if (studentType.isSubtypeOf(type)) {
+                mask |= 1 << studentType.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Appends a student without grades.
+     *
+     * @param type the student type
+     * @param data the student's id, names and birth year; the ID must be greater than every stored ID
+     * @return the row of the new student
+     * @throws IllegalArgumentException if the ID is not greater than the last stored ID
+     */
+    public int append(StudentType type, StudentData data) {
+        if (rowCount > 0 && data.id() <= ids[rowCount - 1]) {
+            throw new IllegalArgumentException("Student IDs must be appended in ascending order: " + data.id());
+        }
+        if (rowCount == ids.length) {
+            grow();
+        }
+
+        int row = rowCount++;
+        ids[row] = data.id();
+        birthYears[row] = data.birthYear();
+        types[row] = (byte) type.ordinal();
+        firstNames[row] = names.encode(data.firstName());
+        lastNames[row] = names.encode(data.lastName());
+        gradeSums[row] = 0;
+        gradeCounts[row] = 0;
+        grades[row] = new PackedGrades();
+        return row;
+    }
+
+    /**
+     * Appends a student with its grades.
+     *
+     * @param student the student to copy; its ID must be greater than every stored ID
+     * @return the row of the new student
+     */
+    public int append(Student student) {
+        int row = append(StudentType.of(student), new StudentData(
+                student.getId(), student.getFirstName(), student.getLastName(), student.getBirthYear()));
+        student.gradeStream().forEach(grade -> addGrade(row, grade));
+        return row;
+    }
+
+    /**
+     * Finds the row of a student by binary search over the ID column.
+     *
+     * @param id the student ID
+     * @return the row, or -1 if no stored student has the ID
+     */
+    public int rowOf(int id) {
+        int row = Arrays.binarySearch(ids, 0, rowCount, id);
+        return row >= 0 && types[row] != REMOVED ? row : -1;
+    }
+
+    /**
+     * Appends a grade to a student.
+     *
+     * @param row the student's row
+     * @param grade the grade, must be between 1 and 5
+     * @throws IllegalArgumentException if the grade is outside the valid range
+     */
+    public void addGrade(int row, int grade) {
+        grades[checkRow(row)].add(grade);
+        gradeSums[row] += grade;
+        gradeCounts[row]++;
+    }
+
+    /**
+     * Removes a student, compacting the columns if more than half of the rows are removed.
+     *
+     * @param row the student's row
+     */
+    public void remove(int row) {
+        types[checkRow(row)] = REMOVED;
+        grades[row] = null;
+        removedCount++;
+
+        if (removedCount > rowCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the number of stored students.
+     *
+     * @return the number of rows that are not removed
+     */
+    public int size() {
+        return rowCount - removedCount;
+    }
+
+    public int id(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public StudentType type(int row) {
+        return TYPES[types[checkRow(row)]];
+    }
+
+    /**
+     * Returns the highest stored ID.
+     *
+     * @return the ID of the last row, or 0 if there are no rows
+     */
+    public int lastId() {
+        return rowCount == 0 ? 0 : ids[rowCount - 1];
+    }
+
+    /**
+     * Counts the students of the given types in one pass over the type column.
+     *
+     * @param typeMask the mask of the counted types, see {@link #typeMask(Class)}
+     * @return the number of matching students
+     */
+    public int count(int typeMask) {
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            count += typeMask >>> types[row] & 1;
+        }
+        return count;
+    }
+
+    /**
+     * Aggregates the grades of the students of the given types in one pass over the type, sum and count columns.
+     *
+     * @param typeMask the mask of the aggregated types, see {@link #typeMask(Class)}
+     * @return the aggregates of the matching students
+     */
+    public TypeStatistics aggregate(int typeMask) {
+        long studentCount = 0;
+        long gradedStudentCount = 0;
+        long gradeCount = 0;
+        long gradeSum = 0;
+        double averageSum = 0.0;
+
+        for (int row = 0; row < rowCount; row++) {
+            if ((typeMask >>> types[row] & 1) == 0) {
+                continue;
+            }
+
+            studentCount++;
+            int count = gradeCounts[row];
+            if (count > 0) {
+                int sum = gradeSums[row];
+                gradedStudentCount++;
+                gradeCount += count;
+                gradeSum += sum;
+                averageSum += (double) sum / count;
+            }
+        }
+
+        return new TypeStatistics(studentCount, gradedStudentCount, gradeCount, gradeSum, averageSum);
+    }
+
+    /**
+     * Selects the rows of the students of the given types, in ID order.
+     *
+     * @param typeMask the mask of the selected types, see {@link #typeMask(Class)}
+     * @return the matching rows
+     */
+    public int[] rows(int typeMask) {
+        int[] selected = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            selected[count] = row;
+            count += typeMask >>> types[row] & 1;
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Selects the rows of the students whose last name starts with the given prefix, in ID order.
+     * The prefix is tested once per distinct name, each row then costs one lookup in the result.
+     *
+     * @param prefix the case-sensitive last name prefix
+     * @return the matching rows
+     */
+    public int[] rowsByLastNamePrefix(String prefix) {
+        boolean[] matches = names.matchPrefix(prefix);
+        int[] selected = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (types[row] != REMOVED && matches[lastNames[row]]) {
+                selected[count++] = row;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Sorts the rows by last name, then first name, then ID.
+     * Names are compared through their dictionary ranks, so each distinct name is compared as a string only once.
+     *
+     * @return all rows in name order
+     */
+    public int[] rowsSortedByName() {
+        int[] ranks = names.ranks();
+        Integer[] sorted = new Integer[size()];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (types[row] != REMOVED) {
+                sorted[count++] = row;
+            }
+        }
+
+        // stable sort, rows with equal names stay in ID order
+        Arrays.sort(sorted, (a, b) -> {
+            int byLastName = Integer.compare(ranks[lastNames[a]], ranks[lastNames[b]]);
+            return byLastName != 0 ? byLastName : Integer.compare(ranks[firstNames[a]], ranks[firstNames[b]]);
+        });
+        return Arrays.stream(sorted).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Selects all rows in ID order.
+     *
+     * @return the rows that are not removed
+     */
+    public int[] rows() {
+        return rows((1 << TYPES.length) - 1);
+    }
+
+    /**
+     * Creates a student object holding a copy of a row.
+     *
+     * @param row the student's row
+     * @param studentFactory the factory creating the student
+     * @return a new student detached from the columns
+     */
+    public Student toStudent(int row, StudentFactory studentFactory) {
+        Student student = studentFactory.createStudent(type(row), data(row));
+        grades[row].stream().forEach(student::addGrade);
+        return student;
+    }
+
+    /**
+     * Captures a row as an immutable record for persistence.
+     *
+     * @param row the student's row
+     * @return the record of the student
+     */
+    public StudentRecord toRecord(int row) {
+        return new StudentRecord(type(row), data(row), grades[row].toArray());
+    }
+
+    /**
+     * Removes all rows and names.
+     */
+    public void clear() {
+        Arrays.fill(grades, 0, rowCount, null);
+        rowCount = 0;
+        removedCount = 0;
+        names.clear();
+    }
+
+    /**
+     * Returns the number of distinct names in the dictionary, including names of removed rows until the next compaction.
+     *
+     * @return the dictionary size
+     */
+    int nameCount() {
+        return names.size();
+    }
+
+    private StudentData data(int row) {
+        return new StudentData(ids[row], names.decode(firstNames[row]), names.decode(lastNames[row]), birthYears[row]);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount || types[row] == REMOVED) {
+            throw new IllegalArgumentException("No student in row " + row);
+        }
+        return row;
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (types[row] == REMOVED) {
+                continue;
+            }
+
+            ids[live] = ids[row];
+            birthYears[live] = birthYears[row];
+            types[live] = types[row];
+            firstNames[live] = firstNames[row];
+            lastNames[live] = lastNames[row];
+            gradeSums[live] = gradeSums[row];
+            gradeCounts[live] = gradeCounts[row];
+            grades[live] = grades[row];
+            live++;
+        }
+
+        Arrays.fill(grades, live, rowCount, null);
+        rowCount = live;
+        removedCount = 0;
+        recodeNames();
+    }
+
+    private void recodeNames() {
+        boolean[] used = new boolean[names.size()];
+        for (int row = 0; row < rowCount; row++) {
+            used[firstNames[row]] = true;
+            used[lastNames[row]] = true;
+        }
+
+        int[] recoded = names.retain(used);
+        for (int row = 0; row < rowCount; row++) {
+            firstNames[row] = recoded[firstNames[row]];
+            lastNames[row] = recoded[lastNames[row]];
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        birthYears = new int[capacity];
+        types = new byte[capacity];
+        firstNames = new int[capacity];
+        lastNames = new int[capacity];
+        gradeSums = new int[capacity];
+        gradeCounts = new int[capacity];
+        grades = new PackedGrades[capacity];
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        birthYears = Arrays.copyOf(birthYears, capacity);
+        types = Arrays.copyOf(types, capacity);
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        gradeSums = Arrays.copyOf(gradeSums, capacity);
+        gradeCounts = Arrays.copyOf(gradeCounts, capacity);
+        grades = Arrays.copyOf(grades, capacity);
+    }
+}
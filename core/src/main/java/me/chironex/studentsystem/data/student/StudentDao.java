@@ -0,0 +1,596 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PreparedBatch;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Data access object for the students and grades tables.
+ * Reads students through the student factory and writes immutable student records,
+ * so writes can run on a different thread than the one mutating the students.
+ * Every write method runs in a single transaction and uses JDBC batching.
+ * Triggers on both tables increment the data generation stored in the metadata table for every changed row,
+ * also when another program writes to the database, so copies of the data such as a {@link StudentSnapshotFile}
+ * can tell whether they are still current. A full rewrite and a change set of at least
+ * {@value #TRIGGER_SUSPENSION_THRESHOLD} mutations, e.g. an import batch, suspend the triggers and increment it once.
+ * Expects the schema to be migrated with {@link StudentSchema#migrations()}.
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public class StudentDao {
+    private static final String SELECT_ALL_STUDENTS = "SELECT * FROM students ORDER BY id";
+    private static final String SELECT_ALL_GRADES = "SELECT student_id, grade FROM grades ORDER BY student_id, id";
+    private static final String INSERT_STUDENT = "INSERT INTO students (id, first_name, last_name, birth_year, student_type) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_GRADE = "INSERT INTO grades (student_id, grade) VALUES (?, ?)";
+    private static final String UPSERT_STUDENT = """
+            INSERT INTO students (id, first_name, last_name, birth_year, student_type) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT(id) DO UPDATE SET
+            first_name = excluded.first_name,
+            last_name = excluded.last_name,
+            birth_year = excluded.birth_year,
+            student_type = excluded.student_type""";
+    private static final String DELETE_GRADES = "DELETE FROM grades";
+    private static final String DELETE_STUDENTS = "DELETE FROM students";
+    private static final String DELETE_GRADES_BY_STUDENT = "DELETE FROM grades WHERE student_id = ?";
+    private static final String DELETE_STUDENT_BY_ID = "DELETE FROM students WHERE id = ?";
+    private static final String SELECT_STUDENT_BY_ID = "SELECT * FROM students WHERE id = ?";
+    private static final String SELECT_GRADES_BY_STUDENT = "SELECT grade FROM grades WHERE student_id = ? ORDER BY id";
+    private static final String SELECT_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM students";
+    private static final String INSERT_GRADE_IF_STUDENT_EXISTS = "INSERT INTO grades (student_id, grade) SELECT id, ? FROM students WHERE id = ?";
+    private static final String INCREMENT_GENERATION = "UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'";
+    private static final String SELECT_GENERATION = "SELECT value FROM metadata WHERE key = 'data_generation'";
+    private static final String SELECT_TRIGGERS = "SELECT name, sql FROM sqlite_master WHERE type = 'trigger' AND tbl_name IN ('students', 'grades')";
+
+    /**
+     * Default number of rows sent to the database in one JDBC batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Number of mutations from which {@link #applyChanges(Collection)} suspends the row triggers. Suspending them
+     * changes the schema, which costs more than the triggers of a few rows and makes other connections re-prepare
+     * their statements.
+     */
+    public static final int TRIGGER_SUSPENSION_THRESHOLD = 1_000;
+
+    @Getter
+    private final PersistenceExecutor persistenceExecutor;
+    @Getter
+    private final StudentFactory studentFactory;
+    private final int batchSize;
+
+    public StudentDao(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory) {
+        this(persistenceExecutor, studentFactory, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a data access object that writes in JDBC batches of the given size.
+     *
+     * @param persistenceExecutor the executor used for database access
+     * @param studentFactory the factory used to create loaded students
+     * @param batchSize the number of rows per JDBC batch, must be positive
+     */
+    public StudentDao(PersistenceExecutor persistenceExecutor, StudentFactory studentFactory, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.persistenceExecutor = persistenceExecutor;
+        this.studentFactory = studentFactory;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Loads all students with their grades, ordered by ID.
+     * Students and grades are read in two ordered scans and merged by student ID,
+     * so the number of queries does not depend on the number of students.
+     *
+     * @return a new mutable list containing all stored students
+     */
+    public List<Student> loadAll() {
+        List<Student> students = new ArrayList<>();
+
+        persistenceExecutor.performOperation(statement -> {
+            doLoadStudents(statement, students);
+            doLoadGrades(statement, students);
+        });
+
+        return students;
+    }
+
+    /**
+     * Reads all students with their grades in ID order and hands them to the given action one at a time.
+     * The students and grades tables are scanned by two cursors side by side, so only the current student
+     * is held in memory, which lets callers load more students than the heap could hold at once.
+     *
+     * @param action the action receiving every stored student
+     */
+    public void forEachStudent(Consumer<Student> action) {
+        persistenceExecutor.performTransaction(() ->
+                persistenceExecutor.performPreparedOperation(SELECT_ALL_STUDENTS, studentsStatement ->
+                        persistenceExecutor.performPreparedOperation(SELECT_ALL_GRADES, gradesStatement ->
+                                doStreamStudents(studentsStatement, gradesStatement, action))));
+    }
+
+    /**
+     * Replaces the whole content of the database with the given students.
+     *
+     * @param records the students to store
+     * @return the data generation reached by the write
+     * @throws me.chironex.studentsystem.data.PersistenceException if the write failed and was rolled back
+     */
+    public long replaceAll(Collection<StudentRecord> records) {
+        long[] generation = new long[1];
+
+        persistenceExecutor.performTransaction(() -> {
+            performWithoutTriggers(() -> {
+                persistenceExecutor.performSimpleOperationsChain(DELETE_GRADES, DELETE_STUDENTS);
+
+                persistenceExecutor.performPreparedOperation(
+                        INSERT_STUDENT, preparedStatement -> doInsertStudents(records, preparedStatement));
+                persistenceExecutor.performPreparedOperation(
+                        INSERT_GRADE, preparedStatement -> doInsertGrades(records, preparedStatement));
+            });
+            generation[0] = loadGeneration();
+        });
+
+        return generation[0];
+    }
+
+    /**
+     * Applies a set of student mutations to the database.
+     * Removed students are deleted with their grades, added students are inserted and
+     * updated students are upserted with their grades rewritten.
+     * At most one mutation per student is expected. Change sets of at least {@value #TRIGGER_SUSPENSION_THRESHOLD}
+     * mutations run with the row triggers suspended and increment the data generation once.
+     *
+     * @param mutations the mutations to apply
+     * @return the data generation reached by the write
+     * @throws me.chironex.studentsystem.data.PersistenceException if the write failed and was rolled back
+     */
+    public long applyChanges(Collection<StudentMutation> mutations) {
+        Set<Integer> removedIds = new HashSet<>();
+        Set<Integer> updatedIds = new HashSet<>();
+        List<StudentRecord> changedRecords = new ArrayList<>();
+
+        for (StudentMutation mutation : mutations) {
+            if (mutation.type() == StudentChangeType.REMOVED) {
+                removedIds.add(mutation.studentId());
+                continue;
+            }
+
+            changedRecords.add(mutation.record());
+            if (mutation.type() == StudentChangeType.UPDATED) {
+                updatedIds.add(mutation.studentId());
+            }
+        }
+
+        long[] generation = new long[1];
+
+        persistenceExecutor.performTransaction(() -> {
+            Runnable writes = () -> writeChanges(removedIds, updatedIds, changedRecords);
+            if (mutations.size() >= TRIGGER_SUSPENSION_THRESHOLD) {
+                performWithoutTriggers(writes);
+            } else {
+                writes.run();
+            }
+            generation[0] = loadGeneration();
+        });
+
+        return generation[0];
+    }
+
+    private void writeChanges(Set<Integer> removedIds, Set<Integer> updatedIds, List<StudentRecord> changedRecords) {
+        if (!removedIds.isEmpty()) {
+            persistenceExecutor.performPreparedOperation(
+                    DELETE_GRADES_BY_STUDENT, preparedStatement -> doDeleteByIds(removedIds, preparedStatement));
+            persistenceExecutor.performPreparedOperation(
+                    DELETE_STUDENT_BY_ID, preparedStatement -> doDeleteByIds(removedIds, preparedStatement));
+        }
+
+        if (!updatedIds.isEmpty()) {
+            persistenceExecutor.performPreparedOperation(
+                    DELETE_GRADES_BY_STUDENT, preparedStatement -> doDeleteByIds(updatedIds, preparedStatement));
+        }
+
+        if (!changedRecords.isEmpty()) {
+            persistenceExecutor.performPreparedOperation(
+                    UPSERT_STUDENT, preparedStatement -> doInsertStudents(changedRecords, preparedStatement));
+            persistenceExecutor.performPreparedOperation(
+                    INSERT_GRADE, preparedStatement -> doInsertGrades(changedRecords, preparedStatement));
+        }
+    }
+
+    /**
+     * Runs bulk writes with the row triggers dropped and increments the data generation once instead,
+     * must be called inside a transaction, which also restores the triggers if the writes fail.
+     */
+    private void performWithoutTriggers(Runnable writes) {
+        // row triggers would run once per written row, they are restored in the same transaction
+        Map<String, String> triggers = new LinkedHashMap<>();
+        persistenceExecutor.performOperation(statement -> doLoadTriggers(statement, triggers));
+        persistenceExecutor.performSimpleOperationsChain(triggers.keySet().stream()
+                .map(name -> "DROP TRIGGER \"" + name + "\"")
+                .toArray(String[]::new));
+
+        writes.run();
+
+        persistenceExecutor.performSimpleOperationsChain(INCREMENT_GENERATION);
+        persistenceExecutor.performSimpleOperationsChain(triggers.values().toArray(String[]::new));
+    }
+
+    /**
+     * Loads a single student with its grades.
+     *
+     * @param id the student ID
+     * @return the student, or null if no student has the given ID
+     */
+    public Student loadById(int id) {
+        List<Student> students = new ArrayList<>(1);
+
+        persistenceExecutor.performTransaction(() -> {
+            persistenceExecutor.performPreparedOperation(SELECT_STUDENT_BY_ID, preparedStatement -> {
+                bindId(id, preparedStatement);
+                doQueryStudents(preparedStatement, students);
+            });
+
+            if (!students.isEmpty()) {
+                persistenceExecutor.performPreparedOperation(SELECT_GRADES_BY_STUDENT, preparedStatement -> {
+                    bindId(id, preparedStatement);
+                    doLoadStudentGrades(preparedStatement, students.get(0));
+                });
+            }
+        });
+
+        return students.isEmpty() ? null : students.get(0);
+    }
+
+    /**
+     * Reads the highest stored student ID.
+     *
+     * @return the highest student ID, or 0 if the table is empty
+     */
+    public int loadMaxId() {
+        int[] maxId = new int[1];
+        persistenceExecutor.performOperation(statement -> maxId[0] = doSelectInt(statement, SELECT_MAX_ID));
+        return maxId[0];
+    }
+
+    /**
+     * Reads the data generation, which every write to the students and grades tables increments.
+     *
+     * @return the current data generation
+     */
+    public long loadGeneration() {
+        long[] generation = new long[1];
+        persistenceExecutor.performOperation(statement -> generation[0] = doSelectLong(statement, SELECT_GENERATION));
+        return generation[0];
+    }
+
+    /**
+     * Appends a grade to a stored student.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade to append
+     * @return true if the grade was stored, false if no student has the given ID
+     */
+    public boolean appendGrade(int studentId, int grade) {
+        int[] inserted = new int[1];
+
+        persistenceExecutor.performTransaction(() -> {
+            persistenceExecutor.performPreparedOperation(INSERT_GRADE_IF_STUDENT_EXISTS,
+                    preparedStatement -> inserted[0] = doInsertGradeIfStudentExists(studentId, grade, preparedStatement));
+        });
+
+        return inserted[0] > 0;
+    }
+
+    /**
+     * Deletes a stored student with its grades.
+     *
+     * @param studentId the ID of the student
+     * @return true if the student was deleted, false if no student has the given ID
+     * @throws me.chironex.studentsystem.data.PersistenceException if the delete failed and was rolled back
+     */
+    public boolean deleteById(int studentId) {
+        int[] deleted = new int[1];
+
+        persistenceExecutor.performTransaction(() -> {
+            persistenceExecutor.performPreparedOperation(
+                    DELETE_GRADES_BY_STUDENT, preparedStatement -> doDeleteById(studentId, preparedStatement));
+            persistenceExecutor.performPreparedOperation(
+                    DELETE_STUDENT_BY_ID, preparedStatement -> deleted[0] = doDeleteById(studentId, preparedStatement));
+        });
+
+        return deleted[0] > 0;
+    }
+
+    /**
+     * Loads one keyset page of students with their grades.
+     * Both reads run in one transaction, so the grades always match the page.
+     *
+     * @param query the scan the page belongs to
+     * @param after the key of the last student of the previous page, or null for the first page
+     * @param limit the maximum number of students in the page
+     * @return a new list with the students of the page in scan order
+     */
+    List<Student> loadPage(StudentPageQuery query, StudentPageQuery.PageKey after, int limit) {
+        List<Student> students = new ArrayList<>(limit);
+        boolean first = after == null;
+
+        persistenceExecutor.performTransaction(() -> {
+            persistenceExecutor.performPreparedOperation(query.pageSql(first), preparedStatement -> {
+                query.bindPage(preparedStatement, after, limit);
+                doQueryStudents(preparedStatement, students);
+            });
+
+            if (!students.isEmpty()) {
+                persistenceExecutor.performPreparedOperation(query.pageGradesSql(first), preparedStatement -> {
+                    query.bindPage(preparedStatement, after, limit);
+                    doLoadPageGrades(preparedStatement, students);
+                });
+            }
+        });
+
+        return students;
+    }
+
+    /**
+     * Finds the key of the student at the given position of a scan without loading any student.
+     * Used to jump to a page whose predecessor was never read.
+     *
+     * @return the key, or null if the scan has fewer students
+     */
+    StudentPageQuery.PageKey findKeyAt(StudentPageQuery query, int offset) {
+        StudentPageQuery.PageKey[] key = new StudentPageQuery.PageKey[1];
+        persistenceExecutor.performPreparedOperation(query.keyAtOffsetSql(),
+                preparedStatement -> key[0] = doSelectKeyAt(offset, preparedStatement));
+        return key[0];
+    }
+
+    int count(StudentPageQuery query) {
+        int[] count = new int[1];
+        persistenceExecutor.performOperation(statement -> count[0] = doSelectInt(statement, query.countSql()));
+        return count[0];
+    }
+
+    /**
+     * Averages the per-student grade averages of the scanned students, skipping students without grades.
+     *
+     * @return the average, or 0.0 if no scanned student has grades
+     */
+    double averageGrade(StudentPageQuery query) {
+        double[] average = new double[1];
+        persistenceExecutor.performOperation(statement -> average[0] = doSelectDouble(statement, query.averageGradeSql()));
+        return average[0];
+    }
+
+    @SneakyThrows
+    private void doLoadStudents(Statement stmt, List<Student> students) {
+        try (ResultSet rs = stmt.executeQuery(SELECT_ALL_STUDENTS)) {
+            readStudents(rs, students);
+        }
+    }
+
+    @SneakyThrows
+    private void doQueryStudents(PreparedStatement preparedStatement, List<Student> students) {
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            readStudents(rs, students);
+        }
+    }
+
+    @SneakyThrows
+    private void readStudents(ResultSet rs, List<Student> students) {
+        while (rs.next()) {
+            StudentData data = new StudentData(
+                    rs.getInt("id"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getInt("birth_year"));
+
+            StudentType type = StudentType.fromString(rs.getString("student_type"));
+            students.add(studentFactory.createStudent(type, data));
+        }
+    }
+
+    /**
+     * Merges the ordered student and grade cursors, a grade row is read ahead until its student is reached.
+     * Grades of unknown students are skipped.
+     */
+    @SneakyThrows
+    private void doStreamStudents(PreparedStatement studentsStatement, PreparedStatement gradesStatement, Consumer<Student> action) {
+        try (ResultSet students = studentsStatement.executeQuery(); ResultSet grades = gradesStatement.executeQuery()) {
+            boolean hasGrade = grades.next();
+
+            while (students.next()) {
+                StudentData data = new StudentData(
+                        students.getInt("id"),
+                        students.getString("first_name"),
+                        students.getString("last_name"),
+                        students.getInt("birth_year"));
+                Student student = studentFactory.createStudent(StudentType.fromString(students.getString("student_type")), data);
+
+                while (hasGrade && grades.getInt("student_id") < data.id()) {
+                    hasGrade = grades.next();
+                }
+                while (hasGrade && grades.getInt("student_id") == data.id()) {
+                    student.addGrade(grades.getInt("grade"));
+                    hasGrade = grades.next();
+                }
+
+                action.accept(student);
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void doLoadStudentGrades(PreparedStatement preparedStatement, Student student) {
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                student.addGrade(rs.getInt("grade"));
+            }
+        }
+    }
+
+    /**
+     * Assigns grades to the students of a page.
+     * A page ordered by name is not ordered by ID, so students are looked up by ID instead of merged.
+     */
+    @SneakyThrows
+    private static void doLoadPageGrades(PreparedStatement preparedStatement, List<Student> students) {
+        Map<Integer, Student> studentsById = new HashMap<>();
+        for (Student student : students) {
+            studentsById.put(student.getId(), student);
+        }
+
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                Student student = studentsById.get(rs.getInt("student_id"));
+                if (student != null) {
+                    student.addGrade(rs.getInt("grade"));
+                }
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static StudentPageQuery.PageKey doSelectKeyAt(int offset, PreparedStatement preparedStatement) {
+        preparedStatement.setInt(1, offset);
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            return rs.next() ? new StudentPageQuery.PageKey(rs.getInt("id"), rs.getString("last_name"), rs.getString("first_name")) : null;
+        }
+    }
+
+    @SneakyThrows
+    private static void doLoadTriggers(Statement statement, Map<String, String> triggers) {
+        try (ResultSet rs = statement.executeQuery(SELECT_TRIGGERS)) {
+            while (rs.next()) {
+                triggers.put(rs.getString("name"), rs.getString("sql"));
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static int doSelectInt(Statement statement, String sql) {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @SneakyThrows
+    private static long doSelectLong(Statement statement, String sql) {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        }
+    }
+
+    @SneakyThrows
+    private static double doSelectDouble(Statement statement, String sql) {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getDouble(1) : 0.0;
+        }
+    }
+
+    @SneakyThrows
+    private static int doInsertGradeIfStudentExists(int studentId, int grade, PreparedStatement preparedStatement) {
+        preparedStatement.setInt(1, grade);
+        preparedStatement.setInt(2, studentId);
+        return preparedStatement.executeUpdate();
+    }
+
+    @SneakyThrows
+    private static int doDeleteById(int id, PreparedStatement preparedStatement) {
+        bindId(id, preparedStatement);
+        return preparedStatement.executeUpdate();
+    }
+
+    @SneakyThrows
+    private static void bindId(int id, PreparedStatement preparedStatement) {
+        preparedStatement.setInt(1, id);
+    }
+
+    /**
+     * Assigns grades to the loaded students.
+     * Both the students and the grades are ordered by student ID, so a single cursor
+     * walks the student list alongside the grade rows. Grades of unknown students are skipped.
+     */
+    @SneakyThrows
+    private static void doLoadGrades(Statement stmt, List<Student> students) {
+        try (ResultSet rs = stmt.executeQuery(SELECT_ALL_GRADES)) {
+            int index = 0;
+
+            while (rs.next()) {
+                int studentId = rs.getInt("student_id");
+
+                while (index < students.size() && students.get(index).getId() < studentId) {
+                    index++;
+                }
+
+                if (index < students.size() && students.get(index).getId() == studentId) {
+                    students.get(index).addGrade(rs.getInt("grade"));
+                }
+            }
+        }
+    }
+
+    @SneakyThrows
+    private void doDeleteByIds(Collection<Integer> ids, PreparedStatement preparedStatement) {
+        PreparedBatch batch = new PreparedBatch(preparedStatement, batchSize);
+
+        for (int id : ids) {
+            preparedStatement.setInt(1, id);
+            batch.add();
+        }
+
+        batch.flush();
+    }
+
+    @SneakyThrows
+    private void doInsertGrades(Collection<StudentRecord> records, PreparedStatement preparedStatement) {
+        PreparedBatch batch = new PreparedBatch(preparedStatement, batchSize);
+
+        for (StudentRecord record : records) {
+            for (int grade : record.grades()) {
+                preparedStatement.setInt(1, record.id());
+                preparedStatement.setInt(2, grade);
+                batch.add();
+            }
+        }
+
+        batch.flush();
+    }
+
+    @SneakyThrows
+    private void doInsertStudents(Collection<StudentRecord> records, PreparedStatement preparedStatement) {
+        PreparedBatch batch = new PreparedBatch(preparedStatement, batchSize);
+
+        for (StudentRecord record : records) {
+            bindStudent(record, preparedStatement);
+            batch.add();
+        }
+
+        batch.flush();
+    }
+
+    @SneakyThrows
+    private static void bindStudent(StudentRecord record, PreparedStatement preparedStatement) {
+        StudentData data = record.data();
+
+        preparedStatement.setInt(1, data.id());
+        preparedStatement.setString(2, data.firstName());
+        preparedStatement.setString(3, data.lastName());
+        preparedStatement.setInt(4, data.birthYear());
+
+        if (record.type() == StudentType.TELEKOM) {
+            preparedStatement.setString(5, "TELEKOM");
+        } else {
+            preparedStatement.setString(5, "CYBER");
+        }
+    }
+}
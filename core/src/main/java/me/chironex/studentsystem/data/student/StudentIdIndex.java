@@ -0,0 +1,162 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Open-addressing hash index from student ID to student.
+ * IDs are stored unboxed in an {@code int[]} next to a parallel array of students and probed linearly,
+ * so lookups, insertions and removals take expected O(1) time without allocating.
+ * Removals shift the following entries of the probe run back instead of leaving tombstones,
+ * so lookups stay fast after many removals. The table doubles once it is two thirds full.
+ * <p>
+ * Not thread-safe.
+ */
+public final class StudentIdIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] ids;
+    private Student[] students;
+    private int mask;
+    private int size;
+
+    public StudentIdIndex() {
+        this(0);
+    }
+
+    /**
+     * Creates an index that holds the given number of students without resizing.
+     *
+     * @param expectedSize the expected number of students
+     */
+    public StudentIdIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Finds a student by their unique ID.
+     *
+     * @param id the student ID to search for
+     * @return the Student object if found, null otherwise
+     */
+    public Student get(int id) {
+        for (int slot = slot(id); students[slot] != null; slot = (slot + 1) & mask) {
+            if (ids[slot] == id) {
+                return students[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a student, replacing the student with the same ID.
+     *
+     * @param student the student to index
+     * @return the replaced student, or null if no student had the ID
+     */
+    public Student put(Student student) {
+        int id = student.getId();
+
+        int slot = slot(id);
+        for (; students[slot] != null; slot = (slot + 1) & mask) {
+            if (ids[slot] == id) {
+                Student previous = students[slot];
+                students[slot] = student;
+                return previous;
+            }
+        }
+
+        ids[slot] = id;
+        students[slot] = student;
+        if (++size * 3 > students.length * 2) {
+            rehash(students.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the student with the given ID.
+     *
+     * @param id the ID of the student to remove
+     * @return the removed student, or null if no student had the ID
+     */
+    public Student remove(int id) {
+        int slot = slot(id);
+        while (students[slot] != null && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+
+        Student removed = students[slot];
+        if (removed == null) {
+            return null;
+        }
+
+        int gap = slot;
+        for (int next = (gap + 1) & mask; students[next] != null; next = (next + 1) & mask) {
+            int home = slot(ids[next]);
+            // The entry may fill the gap only if its home slot does not lie cyclically within (gap, next].
+            boolean homeInRun = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!homeInRun) {
+                ids[gap] = ids[next];
+                students[gap] = students[next];
+                gap = next;
+            }
+        }
+
+        students[gap] = null;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all students and shrinks the table back to its minimal capacity.
+     */
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    private int slot(int id) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldIds = ids;
+        Student[] oldStudents = students;
+        allocate(capacity);
+
+        for (int i = 0; i < oldStudents.length; i++) {
+            if (oldStudents[i] == null) {
+                continue;
+            }
+
+            int slot = slot(oldIds[i]);
+            while (students[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = oldIds[i];
+            students[slot] = oldStudents[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        students = new Student[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+
+        long required = (long) expectedSize * 3 / 2 + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
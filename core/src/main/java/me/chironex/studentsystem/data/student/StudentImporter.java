@@ -0,0 +1,522 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Imports students from text files with one student per line: first name, last name, birth year and type,
+ * separated by {@link ImportSettings#delimiter()}. Further fields are ignored, empty lines are skipped.
+ * A field may be quoted as in RFC 4180, the quotes are removed, a doubled quote inside stands for one quote and
+ * delimiters inside are part of the field. Quoted fields cannot span lines. A first line starting with the fields
+ * "first_name" and "last_name", like the header of a {@link ExportFormat#CSV} export, is skipped.
+ * A type containing "telekom" or "telecom" is a telecommunications student, one containing "cyber"
+ * a cybersecurity student, ignoring case.
+ * <p>
+ * The file is memory-mapped and split into chunks at line boundaries, which are parsed in parallel.
+ * The parser scans the mapped bytes in place and only creates the name strings of valid lines.
+ * The parsed chunks are added to the repository in file order on the calling thread, so the students
+ * get their IDs in file order, and the repository is saved with {@link SqliteProfile#BULK_LOAD}
+ * every {@link ImportSettings#batchSize()} students and at the end.
+ * Lines that fail validation are collected in the {@link ImportReport}.
+ * <p>
+ * One import runs at a time, {@link #cancel()} may be called from any thread.
+ */
+public class StudentImporter {
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+    private static final int MAX_REJECT_LENGTH = 200;
+    private static final int FIELD_COUNT = 4;
+    private static final int EXPECTED_LINE_LENGTH = 20;
+
+    private static final byte[] TELEKOM = "telekom".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TELECOM = "telecom".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CYBER = "cyber".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FIRST_NAME_HEADER = "first_name".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LAST_NAME_HEADER = "last_name".getBytes(StandardCharsets.US_ASCII);
+
+    private final StudentRepository repository;
+    private final ImportSettings settings;
+
+    private volatile boolean cancelled;
+
+    public StudentImporter(StudentRepository repository) {
+        this(repository, ImportSettings.defaults());
+    }
+
+    /**
+     * Creates an importer adding students to the given repository.
+     *
+     * @param repository the repository receiving the students, it must not be used by other threads during an import
+     * @param settings the parsing and batching configuration
+     */
+    public StudentImporter(StudentRepository repository, ImportSettings settings) {
+        this.repository = repository;
+        this.settings = settings;
+    }
+
+    /**
+     * Imports all students from the given file.
+     * If the import is cancelled or a save fails, the students added before stay in the repository.
+     *
+     * @param file the file to import
+     * @param listener receives the progress after every chunk
+     * @return the number of imported students and the rejected lines
+     * @throws IOException if the file cannot be read
+     * @throws me.chironex.studentsystem.data.PersistenceException if saving a batch failed
+     */
+    public ImportReport importFile(Path file, ImportProgressListener listener) throws IOException {
+        cancelled = false;
+        long start = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<long[]> chunks = splitIntoChunks(channel, size);
+
+            ExecutorService parsers = Executors.newFixedThreadPool(settings.parallelism(), runnable -> {
+                Thread thread = new Thread(runnable, "student-import-parser");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                return importChunks(channel, chunks, size, parsers, listener, start);
+            } finally {
+                parsers.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Cancels the running import. Parsing stops and no further batches are added,
+     * the batches added so far stay saved.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private ImportReport importChunks(FileChannel channel, List<long[]> chunks, long size, ExecutorService parsers,
+                                      ImportProgressListener listener, long start) throws IOException {
+        // keep a few chunks parsed ahead of the inserting thread, so memory stays bounded for any file size
+        int window = settings.parallelism() * 2;
+        Deque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+        int nextChunk = 0;
+
+        long importedCount = 0;
+        long rejectedCount = 0;
+        long lineOffset = 0;
+        List<NewStudent> batch = new ArrayList<>();
+        List<ImportReport.Reject> rejects = new ArrayList<>();
+
+        while (!cancelled && (nextChunk < chunks.size() || !pending.isEmpty())) {
+            while (nextChunk < chunks.size() && pending.size() < window) {
+                long[] bounds = chunks.get(nextChunk++);
+                pending.add(parsers.submit(() -> parse(channel, bounds[0], bounds[1])));
+            }
+
+            ParsedChunk chunk = await(pending.poll());
+            if (chunk == null || cancelled) {
+                break;
+            }
+
+            // hand the students over in batches of the configured size, each followed by a save
+            List<NewStudent> parsed = chunk.students;
+            int from = 0;
+            while (from < parsed.size()) {
+                int to = Math.min(parsed.size(), from + settings.batchSize() - batch.size());
+                batch.addAll(parsed.subList(from, to));
+                from = to;
+
+                if (batch.size() == settings.batchSize()) {
+                    importedCount += addAndSave(batch);
+                }
+            }
+
+            rejectedCount += chunk.rejectedCount;
+            for (ImportReport.Reject reject : chunk.rejects) {
+                if (rejects.size() < settings.maxReportedRejects()) {
+                    rejects.add(new ImportReport.Reject(lineOffset + reject.lineNumber(), reject.reason(), reject.line()));
+                }
+            }
+            lineOffset += chunk.lineCount;
+
+            listener.onProgress(chunk.end, size, importedCount + batch.size());
+        }
+
+        if (!cancelled && !batch.isEmpty()) {
+            importedCount += addAndSave(batch);
+        }
+
+        return new ImportReport(importedCount, rejectedCount, rejects, cancelled, System.nanoTime() - start);
+    }
+
+    /**
+     * Adds the batch to the repository, saves it and clears the batch.
+     *
+     * @return the number of added students
+     */
+    private int addAndSave(List<NewStudent> batch) {
+        int count = batch.size();
+        repository.addStudents(batch);
+        save();
+        batch.clear();
+        return count;
+    }
+
+    private void save() {
+        repository.saveToDatabase(SaveMode.INCREMENTAL, SqliteProfile.BULK_LOAD);
+    }
+
+    private ParsedChunk await(Future<ParsedChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Parsing the import file failed", e.getCause());
+        }
+    }
+
+    /**
+     * Splits the file into regions of about the chunk size, each ending after a line break or at the end of the file.
+     *
+     * @return the start and end position of every chunk
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + settings.chunkSizeBytes(), size);
+            while (end < size) {
+                scan.clear();
+                channel.read(scan, end);
+                int lineBreak = indexOfLineBreak(scan.flip());
+                if (lineBreak >= 0) {
+                    end += lineBreak + 1;
+                    break;
+                }
+                end += scan.limit();
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static int indexOfLineBreak(ByteBuffer buffer) {
+        for (int i = 0; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ParsedChunk parse(FileChannel channel, long start, long end) throws IOException {
+        // one bulk copy out of the mapping, scanning a byte array is much faster than per-byte buffer access
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        byte[] buffer = new byte[mapped.limit()];
+        mapped.get(0, buffer);
+
+        ParsedChunk chunk = new ParsedChunk(end, buffer.length / EXPECTED_LINE_LENGTH + 1);
+        int[] delimiters = new int[FIELD_COUNT];
+        int[] fields = new int[2 * FIELD_COUNT];
+        NameCache names = new NameCache();
+        byte delimiter = (byte) settings.delimiter();
+
+        // one pass over the bytes finds the line ends and the positions of the first delimiters of each line
+        int limit = buffer.length;
+        int lineStart = start == 0 && hasByteOrderMark(buffer) ? 3 : 0;
+        int delimiterCount = 0;
+        boolean quoted = false;
+        for (int i = lineStart; i <= limit; i++) {
+            byte value = i < limit ? buffer[i] : (byte) '\n';
+            if (value == delimiter && delimiterCount < FIELD_COUNT) {
+                delimiters[delimiterCount++] = i;
+            } else if (value == '\n') {
+                if (i > lineStart || i < limit) {
+                    chunk.lineCount++;
+                    boolean firstLine = start == 0 && chunk.lineCount == 1;
+                    // lines with quotes are split again by the slower quote-aware parser
+                    String reason = quoted
+                            ? parseQuotedLine(buffer, lineStart, i, firstLine, chunk, fields, names)
+                            : parseLine(buffer, lineStart, i, delimiters, delimiterCount, firstLine, chunk, fields, names);
+                    if (reason != null) {
+                        int from = skipBlanks(buffer, lineStart, i);
+                        chunk.reject(reason, buffer, from, trimBlanks(buffer, from, i));
+                    }
+                }
+                lineStart = i + 1;
+                delimiterCount = 0;
+                quoted = false;
+                if (cancelled) {
+                    break;
+                }
+            } else if (value == '"') {
+                quoted = true;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Removes the quotes of a line containing quoted fields and parses the unquoted line.
+     * A quote only starts a quoted field at the beginning of a field, elsewhere it is part of the field.
+     *
+     * @return the reason the line was rejected, or null if it was valid or a header
+     */
+    private String parseQuotedLine(byte[] buffer, int from, int to, boolean firstLine,
+                                   ParsedChunk chunk, int[] fields, NameCache names) {
+        byte delimiter = (byte) settings.delimiter();
+        byte[] line = new byte[to - from];
+        int[] delimiters = new int[FIELD_COUNT];
+        int delimiterCount = 0;
+        int length = 0;
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        for (int i = from; i < to; i++) {
+            byte value = buffer[i];
+            if (quoted) {
+                if (value != '"') {
+                    line[length++] = value;
+                } else if (i + 1 < to && buffer[i + 1] == '"') {
+                    line[length++] = value;
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (value == delimiter && delimiterCount < FIELD_COUNT) {
+                delimiters[delimiterCount++] = length;
+                line[length++] = value;
+                fieldStart = true;
+            } else if (value == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else {
+                line[length++] = value;
+                fieldStart &= isBlank(value);
+            }
+        }
+
+        if (quoted) {
+            return "Unterminated quoted field";
+        }
+        return parseLine(line, 0, length, delimiters, delimiterCount, firstLine, chunk, fields, names);
+    }
+
+    /**
+     * Validates one line and appends it to the chunk if it is a student.
+     *
+     * @return the reason the line was rejected, or null if it was valid, empty or a header
+     */
+    private String parseLine(byte[] buffer, int from, int to, int[] delimiters, int delimiterCount, boolean firstLine,
+                             ParsedChunk chunk, int[] fields, NameCache names) {
+        int start = skipBlanks(buffer, from, to);
+        int end = trimBlanks(buffer, start, to);
+        if (start == end) {
+            return null;
+        }
+
+        int fieldCount = Math.min(delimiterCount + 1, FIELD_COUNT);
+        int fieldStart = from;
+        for (int field = 0; field < fieldCount; field++) {
+            int fieldEnd = field < delimiterCount ? delimiters[field] : to;
+            int trimmedStart = skipBlanks(buffer, fieldStart, fieldEnd);
+            fields[2 * field] = trimmedStart;
+            fields[2 * field + 1] = trimBlanks(buffer, trimmedStart, fieldEnd);
+            fieldStart = fieldEnd + 1;
+        }
+
+        if (fieldCount < FIELD_COUNT) {
+            return "Expected " + FIELD_COUNT + " fields separated by '" + settings.delimiter() + "'";
+        }
+        if (firstLine && equalsIgnoreCase(buffer, fields[0], fields[1], FIRST_NAME_HEADER)
+                && equalsIgnoreCase(buffer, fields[2], fields[3], LAST_NAME_HEADER)) {
+            return null;
+        }
+        if (fields[0] == fields[1]) {
+            return "Missing first name";
+        }
+        if (fields[2] == fields[3]) {
+            return "Missing last name";
+        }
+
+        long birthYear = parseInt(buffer, fields[4], fields[5]);
+        if (birthYear == Long.MIN_VALUE) {
+            return "Invalid birth year";
+        }
+
+        StudentType type;
+        if (containsIgnoreCase(buffer, fields[6], fields[7], TELEKOM) || containsIgnoreCase(buffer, fields[6], fields[7], TELECOM)) {
+            type = StudentType.TELEKOM;
+        } else if (containsIgnoreCase(buffer, fields[6], fields[7], CYBER)) {
+            type = StudentType.CYBERSECURITY;
+        } else {
+            return "Unknown student type";
+        }
+
+        chunk.students.add(new NewStudent(type, names.decode(buffer, fields[0], fields[1]), names.decode(buffer, fields[2], fields[3]), (int) birthYear));
+        return null;
+    }
+
+    private static boolean hasByteOrderMark(byte[] buffer) {
+        return buffer.length >= 3
+                && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF;
+    }
+
+    private static int skipBlanks(byte[] buffer, int from, int to) {
+        while (from < to && isBlank(buffer[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimBlanks(byte[] buffer, int from, int to) {
+        while (to > from && isBlank(buffer[to - 1])) {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean isBlank(byte value) {
+        return value >= 0 && value <= ' ';
+    }
+
+    /**
+     * Parses an optionally signed decimal int.
+     *
+     * @return the value, or {@link Long#MIN_VALUE} if the field is not a valid int
+     */
+    private static long parseInt(byte[] buffer, int from, int to) {
+        boolean negative = from < to && buffer[from] == '-';
+        if (negative || (from < to && buffer[from] == '+')) {
+            from++;
+        }
+        if (from == to) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        value = negative ? -value : value;
+        return value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * Checks whether the field contains the lower-case ASCII pattern, ignoring the case of ASCII letters.
+     */
+    private static boolean containsIgnoreCase(byte[] buffer, int from, int to, byte[] pattern) {
+        for (int i = from; i <= to - pattern.length; i++) {
+            int matched = 0;
+            while (matched < pattern.length && toLowerCase(buffer[i + matched]) == pattern[matched]) {
+                matched++;
+            }
+            if (matched == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalsIgnoreCase(byte[] buffer, int from, int to, byte[] pattern) {
+        return to - from == pattern.length && containsIgnoreCase(buffer, from, to, pattern);
+    }
+
+    private static byte toLowerCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+
+    /**
+     * Direct-mapped cache of decoded names, so names repeated within a chunk are decoded once and share one string.
+     */
+    private static final class NameCache {
+        private static final int CAPACITY = 4096;
+
+        private final byte[][] keys = new byte[CAPACITY][];
+        private final String[] values = new String[CAPACITY];
+
+        String decode(byte[] buffer, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buffer[i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & (CAPACITY - 1);
+
+            byte[] key = keys[slot];
+            if (key != null && key.length == to - from && matches(buffer, from, key)) {
+                return values[slot];
+            }
+
+            key = Arrays.copyOfRange(buffer, from, to);
+            keys[slot] = key;
+            values[slot] = new String(key, StandardCharsets.UTF_8);
+            return values[slot];
+        }
+
+        private static boolean matches(byte[] buffer, int from, byte[] key) {
+            return Arrays.equals(buffer, from, from + key.length, key, 0, key.length);
+        }
+    }
+
+    /**
+     * The valid students and rejected lines of one chunk, in file order.
+     * Line numbers of rejects are relative to the start of the chunk.
+     */
+    private final class ParsedChunk {
+        private final long end;
+
+        private final List<NewStudent> students;
+
+        private long lineCount;
+        private long rejectedCount;
+        private final List<ImportReport.Reject> rejects = new ArrayList<>();
+
+        ParsedChunk(long end, int expectedCount) {
+            this.end = end;
+            this.students = new ArrayList<>(expectedCount);
+        }
+
+        void reject(String reason, byte[] buffer, int from, int to) {
+            rejectedCount++;
+            if (rejects.size() < settings.maxReportedRejects()) {
+                String line = new String(buffer, from, Math.min(to - from, MAX_REJECT_LENGTH), StandardCharsets.UTF_8);
+                rejects.add(new ImportReport.Reject(lineCount, reason, line));
+            }
+        }
+    }
+}
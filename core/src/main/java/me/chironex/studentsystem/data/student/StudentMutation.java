@@ -0,0 +1,38 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing a single change to a student that has to be persisted.
+ *
+ * @param type the kind of change
+ * @param studentId the ID of the changed student
+ * @param record the state of the student after the change, or null for removals
+ */
+public record StudentMutation(StudentChangeType type, int studentId, StudentRecord record) {
+
+    public static StudentMutation added(StudentRecord record) {
+        return new StudentMutation(StudentChangeType.ADDED, record.id(), record);
+    }
+
+    public static StudentMutation updated(StudentRecord record) {
+        return new StudentMutation(StudentChangeType.UPDATED, record.id(), record);
+    }
+
+    public static StudentMutation removed(int studentId) {
+        return new StudentMutation(StudentChangeType.REMOVED, studentId, null);
+    }
+
+    /**
+     * Merges this mutation with a later mutation of the same student into a single equivalent one.
+     * A student that is added and then removed before being persisted needs no write at all.
+     *
+     * @param next the later mutation of the same student
+     * @return the merged mutation, or null if the two mutations cancel each other out
+     */
+    public StudentMutation mergeWith(StudentMutation next) {
+        if (type == StudentChangeType.ADDED) {
+            return next.type == StudentChangeType.REMOVED ? null : added(next.record);
+        }
+
+        return next;
+    }
+}
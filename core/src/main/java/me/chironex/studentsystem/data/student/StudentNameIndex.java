@@ -0,0 +1,177 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.*;
+
+/**
+ * Immutable index of students ordered by last name, then first name, then ID.
+ * Backed by a persistent {@link StudentTree} like {@link StudentSnapshot}: the repository derives a new index
+ * in O(log n) on every add or remove and hands it out without copying or re-sorting.
+ * Positional access takes O(log n); iterating, paging and prefix search cost O(log n + k) for k returned students.
+ * Names are compared case-sensitively, like {@link String#compareTo(String)}.
+ */
+public final class StudentNameIndex extends AbstractList<Student> {
+    /**
+     * The order of the index: last name, then first name, then ID.
+     */
+    public static final Comparator<Student> ORDER = Comparator
+            .comparing(Student::getLastName)
+            .thenComparing(Student::getFirstName)
+            .thenComparingInt(Student::getId);
+
+    private static final StudentNameIndex EMPTY = new StudentNameIndex(null);
+
+    private final StudentTree.Node root;
+
+    private StudentNameIndex(StudentTree.Node root) {
+        this.root = root;
+    }
+
+    public static StudentNameIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a balanced index from the given students in O(n log n).
+     *
+     * @param students the students, IDs must be unique
+     * @return an index containing the given students
+     */
+    public static StudentNameIndex of(Collection<? extends Student> students) {
+        Student[] sorted = students.toArray(Student[]::new);
+        Arrays.sort(sorted, ORDER);
+        return new StudentNameIndex(StudentTree.build(sorted, 0, sorted.length));
+    }
+
+    /**
+     * Builds a balanced index from students that are already sorted in {@link #ORDER}, in O(n).
+     *
+     * @param sorted the students in index order, IDs must be unique; the array is used by the index
+     * @return an index containing the given students
+     */
+    public static StudentNameIndex ofSorted(Student[] sorted) {
+        return new StudentNameIndex(StudentTree.build(sorted, 0, sorted.length));
+    }
+
+    /**
+     * Returns an index with the given student added.
+     *
+     * @param student the student to add
+     * @return the new index
+     */
+    public StudentNameIndex with(Student student) {
+        return new StudentNameIndex(StudentTree.insert(root, student, ORDER));
+    }
+
+    /**
+     * Returns an index without the given student.
+     *
+     * @param student the student to remove
+     * @return the new index, or this index if it does not contain the student
+     */
+    public StudentNameIndex without(Student student) {
+        if (StudentTree.find(root, node -> ORDER.compare(student, node)) == null) {
+            return this;
+        }
+        return new StudentNameIndex(StudentTree.remove(root, node -> ORDER.compare(student, node)));
+    }
+
+    /**
+     * Returns the position of the first student whose last name is equal to or sorts after the given one,
+     * e.g. to start browsing at a letter with {@link #page(int, int)}.
+     *
+     * @param lastName the last name to look up
+     * @return the position, equal to {@link #size()} if all last names sort before the given one
+     */
+    public int indexOfLastName(String lastName) {
+        return StudentTree.countLeading(root, student -> student.getLastName().compareTo(lastName) < 0);
+    }
+
+    /**
+     * Returns the students whose last name starts with the given prefix, e.g. {@code "Nov"} for "Nov*".
+     *
+     * @param prefix the last name prefix
+     * @return a view of the matching students in index order
+     */
+    public List<Student> findByLastNamePrefix(String prefix) {
+        int from = indexOfLastName(prefix);
+        int to = StudentTree.countLeading(root, student ->
+                student.getLastName().compareTo(prefix) < 0 || student.getLastName().startsWith(prefix));
+        return subList(from, to);
+    }
+
+    /**
+     * Returns up to {@code limit} students starting at the given position.
+     *
+     * @param offset the position of the first returned student
+     * @param limit the maximum number of returned students
+     * @return a view of the page, empty if the offset lies past the end
+     */
+    public List<Student> page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+
+        int from = Math.min(offset, size());
+        int to = (int) Math.min((long) from + limit, size());
+        return subList(from, to);
+    }
+
+    @Override
+    public Student get(int index) {
+        Objects.checkIndex(index, size());
+        return StudentTree.get(root, index);
+    }
+
+    @Override
+    public int size() {
+        return StudentTree.size(root);
+    }
+
+    @Override
+    public Iterator<Student> iterator() {
+        return StudentTree.iterator(root, 0, size());
+    }
+
+    /**
+     * Returns a view of the given range in O(1); the view's iteration costs O(log n + k).
+     */
+    @Override
+    public List<Student> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size());
+        return new Range(root, fromIndex, toIndex);
+    }
+
+    private static final class Range extends AbstractList<Student> {
+        private final StudentTree.Node root;
+        private final int from;
+        private final int to;
+
+        private Range(StudentTree.Node root, int from, int to) {
+            this.root = root;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Student get(int index) {
+            Objects.checkIndex(index, size());
+            return StudentTree.get(root, from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public Iterator<Student> iterator() {
+            return StudentTree.iterator(root, from, to);
+        }
+
+        @Override
+        public List<Student> subList(int fromIndex, int toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, size());
+            return new Range(root, from + fromIndex, from + toIndex);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.SneakyThrows;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Describes a keyset-paged scan over the students table: an optional type filter and a sort order.
+ * Pages are read with {@code WHERE <key> > <last key of the previous page> ORDER BY <key> LIMIT ?},
+ * so reading a page costs the same no matter how deep into the table it lies.
+ *
+ * @param filter the SQL condition selecting the scanned students, never built from user input
+ * @param order the order of the scan
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+record StudentPageQuery(String filter, Order order) {
+    private static final String ALL = "1 = 1";
+    private static final String TELEKOM_ONLY = "UPPER(student_type) = 'TELEKOM'";
+    private static final String CYBER_ONLY = "UPPER(student_type) <> 'TELEKOM'";
+    private static final String NONE = "1 = 0";
+
+    /**
+     * Enum representing the supported scan orders.
+     * Both are backed by an index, so the keyset condition never sorts the table.
+     */
+    enum Order {
+        BY_ID("id > ?", "id"),
+        BY_LAST_NAME("(last_name, first_name, id) > (?, ?, ?)", "last_name, first_name, id");
+
+        private final String keysetCondition;
+        private final String orderBy;
+
+        Order(String keysetCondition, String orderBy) {
+            this.keysetCondition = keysetCondition;
+            this.orderBy = orderBy;
+        }
+    }
+
+    /**
+     * Record representing the sort key of the last student of a page.
+     *
+     * @param id the student ID
+     * @param lastName the student's last name
+     * @param firstName the student's first name
+     */
+    record PageKey(int id, String lastName, String firstName) {
+
+        static PageKey of(Student student) {
+            return new PageKey(student.getId(), student.getLastName(), student.getFirstName());
+        }
+    }
+
+    static StudentPageQuery all(Order order) {
+        return new StudentPageQuery(ALL, order);
+    }
+
+    /**
+     * Creates a scan over the students that the student factory maps to the given class.
+     * Rows with an unrecognized type are treated as cybersecurity students, like {@link StudentType#fromString(String)}.
+     */
+    static StudentPageQuery ofType(Class<? extends Student> type, Order order) {
+        boolean telekom = StudentType.TELEKOM.isSubtypeOf(type);
+        boolean cyber = StudentType.CYBERSECURITY.isSubtypeOf(type);
+
+        if (telekom && cyber) {
+            return all(order);
+        }
+        if (telekom) {
+            return new StudentPageQuery(TELEKOM_ONLY, order);
+        }
+        return new StudentPageQuery(cyber ? CYBER_ONLY : NONE, order);
+    }
+
+    String pageSql(boolean first) {
+        return "SELECT * FROM students WHERE " + condition(first) + " ORDER BY " + order.orderBy + " LIMIT ?";
+    }
+
+    String pageGradesSql(boolean first) {
+        return "SELECT student_id, grade FROM grades WHERE student_id IN ("
+                + "SELECT id FROM students WHERE " + condition(first) + " ORDER BY " + order.orderBy + " LIMIT ?"
+                + ") ORDER BY student_id, id";
+    }
+
+    String keyAtOffsetSql() {
+        return "SELECT id, last_name, first_name FROM students WHERE " + filter + " ORDER BY " + order.orderBy + " LIMIT 1 OFFSET ?";
+    }
+
+    String countSql() {
+        return "SELECT COUNT(*) FROM students WHERE " + filter;
+    }
+
+    String averageGradeSql() {
+        return "SELECT AVG(student_average) FROM ("
+                + "SELECT AVG(grades.grade) AS student_average FROM grades "
+                + "JOIN students ON students.id = grades.student_id "
+                + "WHERE " + filter + " GROUP BY grades.student_id)";
+    }
+
+    /**
+     * Binds the keyset position and the page size of a page statement.
+     *
+     * @param after the key of the last student of the previous page, or null for the first page
+     */
+    @SneakyThrows
+    void bindPage(PreparedStatement preparedStatement, PageKey after, int limit) {
+        int index = 1;
+        if (after != null) {
+            if (order == Order.BY_LAST_NAME) {
+                preparedStatement.setString(index++, after.lastName());
+                preparedStatement.setString(index++, after.firstName());
+            }
+            preparedStatement.setInt(index++, after.id());
+        }
+        preparedStatement.setInt(index, limit);
+    }
+
+    private String condition(boolean first) {
+        return first ? filter : filter + " AND " + order.keysetCondition;
+    }
+}
@@ -0,0 +1,52 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing an immutable snapshot of a student and its grades.
+ * Used to hand student state to persistence code that may run on another thread.
+ *
+ * @param type the student type
+ * @param data the student's id, names and birth year
+ * @param grades the student's grades in the order they were given
+ */
+public record StudentRecord(StudentType type, StudentData data, int[] grades) {
+
+    public StudentRecord {
+        grades = grades.clone();
+    }
+
+    /**
+     * Returns a copy of the captured grades.
+     *
+     * @return the grades in the order they were given
+     */
+    @Override
+    public int[] grades() {
+        return grades.clone();
+    }
+
+    /**
+     * Captures the current state of a student.
+     *
+     * @param student the student to capture
+     * @return a snapshot of the student's data and grades
+     */
+    public static StudentRecord of(Student student) {
+        StudentType type = StudentType.of(student);
+        StudentData data = new StudentData(
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getBirthYear());
+
+        return new StudentRecord(type, data, student.getGrades());
+    }
+
+    /**
+     * Returns the ID of the captured student.
+     *
+     * @return the student ID
+     */
+    public int id() {
+        return data.id();
+    }
+}
@@ -0,0 +1,194 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.SqliteProfile;
+
+import java.util.List;
+
+/**
+ * Repository of student records.
+ * Supports CRUD operations, various query methods and persistence to the database.
+ *
+ * @author chmodxChironex
+ * @since 1.0
+ */
+public interface StudentRepository extends AutoCloseable {
+
+    /**
+     * Adds a new telecommunications student to the database.
+     *
+     * @param firstName the student's first name
+     * @param lastName the student's last name
+     * @param birthYear the student's birth year
+     * @return the assigned student ID
+     */
+    int addTelecommunicationsStudent(String firstName, String lastName, int birthYear);
+
+    /**
+     * Adds a new cybersecurity student to the database.
+     *
+     * @param firstName the student's first name
+     * @param lastName the student's last name
+     * @param birthYear the student's birth year
+     * @return the assigned student ID
+     */
+    int addCybersecurityStudent(String firstName, String lastName, int birthYear);
+
+    /**
+     * Adds several new students in the given order, e.g. from an import.
+     * Repositories may add them more efficiently than one at a time.
+     *
+     * @param students the students to add
+     */
+    default void addStudents(List<NewStudent> students) {
+        for (NewStudent student : students) {
+            if (student.type() == StudentType.TELEKOM) {
+                addTelecommunicationsStudent(student.firstName(), student.lastName(), student.birthYear());
+            } else {
+                addCybersecurityStudent(student.firstName(), student.lastName(), student.birthYear());
+            }
+        }
+    }
+
+    /**
+     * Finds a student by their unique ID.
+     *
+     * @param id the student ID to search for
+     * @return the Student object if found, null otherwise
+     */
+    Student findStudentById(int id);
+
+    /**
+     * Adds a grade to a specific student's record.
+     *
+     * @param studentId the ID of the student
+     * @param grade the grade to add (1-5)
+     * @return true if the grade was added successfully, false if a student was not found
+     */
+    boolean addGradeToStudent(int studentId, int grade);
+
+    /**
+     * Removes a student from the database.
+     *
+     * @param studentId the ID of the student to remove
+     * @return true if the student was removed, false if not found
+     */
+    boolean removeStudent(int studentId);
+
+    /**
+     * Checks whether the repository contains changes that were not saved yet.
+     *
+     * @return true if there are changes not yet persisted to the database
+     */
+    boolean hasUnsavedChanges();
+
+    /**
+     * Returns all students in the database ordered by ID.
+     *
+     * @return an unmodifiable list containing all students
+     */
+    List<Student> getAllStudents();
+
+    /**
+     * Filters students by their class type.
+     *
+     * @param type the class type to filter by
+     * @return an unmodifiable list of students matching the specified type
+     */
+    List<Student> getStudentsByType(Class<? extends Student> type);
+
+    /**
+     * Counts the students of the given class type.
+     *
+     * @param type the class type to count
+     * @return the number of matching students
+     */
+    default int countStudentsByType(Class<? extends Student> type) {
+        return getStudentsByType(type).size();
+    }
+
+    /**
+     * Returns all students sorted alphabetically by last name, then first name, then ID.
+     *
+     * @return an unmodifiable list of students sorted by last name
+     */
+    List<Student> getSortedStudentsByLastName();
+
+    /**
+     * Returns one page of the students sorted by last name, then first name, then ID.
+     *
+     * @param offset the position of the first returned student
+     * @param limit the maximum number of returned students
+     * @return an unmodifiable list, empty if the offset lies past the end
+     */
+    default List<Student> getSortedStudentsByLastName(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+
+        List<Student> sorted = getSortedStudentsByLastName();
+        int from = Math.min(offset, sorted.size());
+        int to = (int) Math.min((long) from + limit, sorted.size());
+        return sorted.subList(from, to);
+    }
+
+    /**
+     * Finds the students whose last name starts with the given prefix, e.g. {@code "Nov"} for "Nov*".
+     * The comparison is case-sensitive.
+     *
+     * @param prefix the last name prefix
+     * @return an unmodifiable list of matching students sorted by last name, then first name, then ID
+     */
+    default List<Student> findStudentsByLastNamePrefix(String prefix) {
+        return getSortedStudentsByLastName().stream()
+                .filter(student -> student.getLastName().startsWith(prefix))
+                .toList();
+    }
+
+    /**
+     * Calculates the average grade for all students of a specific type.
+     * Only includes students who have at least one grade.
+     *
+     * @param type the student class type to calculate average for
+     * @return the average grade, or 0.0 if no students of this type have grades
+     */
+    double getAverageGradeByType(Class<? extends Student> type);
+
+    /**
+     * Saves the changes made since the last load or save to the database.
+     *
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    default void saveToDatabase() {
+        saveToDatabase(SaveMode.INCREMENTAL);
+    }
+
+    /**
+     * Saves the current student data to the database using the given mode.
+     *
+     * @param mode the save mode
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    void saveToDatabase(SaveMode mode);
+
+    /**
+     * Saves the current student data with the given SQLite profile applied for the duration of the save.
+     *
+     * @param mode the save mode
+     * @param profile the profile applied while saving
+     * @throws me.chironex.studentsystem.data.PersistenceException if the save failed and was rolled back
+     */
+    void saveToDatabase(SaveMode mode, SqliteProfile profile);
+
+    /**
+     * Loads student data from the database, discarding unsaved in-memory state.
+     */
+    void loadFromDatabase();
+
+    /**
+     * Persists changes that are still queued and releases resources held by the repository.
+     * Does not close the underlying persistence executor.
+     */
+    @Override
+    default void close() {
+    }
+}
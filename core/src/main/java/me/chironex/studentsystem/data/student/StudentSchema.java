@@ -0,0 +1,69 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.SchemaMigration;
+
+import java.util.List;
+
+/**
+ * Contains the ordered schema migrations of the students and grades tables.
+ * New schema changes are appended as migrations with the next version number;
+ * released migrations must never be edited.
+ */
+@SuppressWarnings("SqlNoDataSourceInspection")
+public final class StudentSchema {
+
+    private static final List<SchemaMigration> MIGRATIONS = List.of(
+            SchemaMigration.of(1, "Create students and grades tables",
+                    """
+                    CREATE TABLE IF NOT EXISTS students (
+                    id INTEGER PRIMARY KEY,
+                    first_name TEXT,
+                    last_name TEXT,
+                    birth_year INTEGER,
+                    student_type TEXT)""",
+                    """
+                    CREATE TABLE IF NOT EXISTS grades (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    student_id INTEGER,
+                    grade INTEGER,
+                    FOREIGN KEY (student_id) REFERENCES students(id))"""),
+            SchemaMigration.of(2, "Index grades by student",
+                    "CREATE INDEX IF NOT EXISTS idx_grades_student_id ON grades (student_id)"),
+            SchemaMigration.of(3, "Index students by name for sorted paging and prefix search",
+                    "CREATE INDEX IF NOT EXISTS idx_students_name ON students (last_name, first_name)"),
+            SchemaMigration.of(4, "Track the data generation for snapshot files",
+                    "CREATE TABLE IF NOT EXISTS metadata (key TEXT PRIMARY KEY, value INTEGER NOT NULL)",
+                    "INSERT OR IGNORE INTO metadata (key, value) VALUES ('data_generation', 0)"),
+            SchemaMigration.of(5, "Increment the data generation on every write, also by other programs",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS students_insert_generation AFTER INSERT ON students
+                    BEGIN UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'; END""",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS students_update_generation AFTER UPDATE ON students
+                    BEGIN UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'; END""",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS students_delete_generation AFTER DELETE ON students
+                    BEGIN UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'; END""",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS grades_insert_generation AFTER INSERT ON grades
+                    BEGIN UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'; END""",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS grades_update_generation AFTER UPDATE ON grades
+                    BEGIN UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'; END""",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS grades_delete_generation AFTER DELETE ON grades
+                    BEGIN UPDATE metadata SET value = value + 1 WHERE key = 'data_generation'; END""")
+    );
+
+    private StudentSchema() {
+    }
+
+    /**
+     * Returns all migrations of the student schema in version order.
+     *
+     * @return an immutable list of migrations
+     */
+    public static List<SchemaMigration> migrations() {
+        return MIGRATIONS;
+    }
+}
@@ -0,0 +1,114 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, versioned snapshot of the students of a repository, ordered by ID.
+ * Backed by a persistent AVL {@link StudentTree}: a snapshot with one student added, replaced or removed copies only
+ * the O(log n) nodes on the path to that student and shares all other nodes with its predecessor.
+ * Publishing a new snapshot after every mutation is therefore cheap, and readers can iterate
+ * a snapshot without copying or locking while the repository moves on.
+ * Lookups by ID and by position take O(log n).
+ * <p>
+ * The students themselves are shared between snapshots. A snapshot is only fully immutable if the repository
+ * does not mutate published students, as {@link InMemoryStudentRepository} does by replacing a student with
+ * a copy when it gets a grade.
+ */
+public final class StudentSnapshot extends AbstractList<Student> {
+    private static final Comparator<Student> BY_ID = Comparator.comparingInt(Student::getId);
+    private static final StudentSnapshot EMPTY = new StudentSnapshot(null, 0);
+
+    private final StudentTree.Node root;
+    @Getter
+    private final long version;
+
+    private StudentSnapshot(StudentTree.Node root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    public static StudentSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a balanced snapshot from the given students in O(n), or O(n log n) if they are not ordered by ID.
+     *
+     * @param students the students, IDs must be unique
+     * @param version the version of the new snapshot
+     * @return a snapshot containing the given students
+     * @throws IllegalArgumentException if two students share an ID
+     */
+    public static StudentSnapshot of(Collection<? extends Student> students, long version) {
+        Student[] sorted = students.toArray(Student[]::new);
+        Arrays.sort(sorted, BY_ID);
+
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1].getId() == sorted[i].getId()) {
+                throw new IllegalArgumentException("Duplicate student ID: " + sorted[i].getId());
+            }
+        }
+
+        return new StudentSnapshot(StudentTree.build(sorted, 0, sorted.length), version);
+    }
+
+    /**
+     * Returns a snapshot with the given student added, or replacing the student with the same ID.
+     * The new snapshot's version is one higher than this one's.
+     *
+     * @param student the student to add or replace
+     * @return the new snapshot
+     */
+    public StudentSnapshot with(Student student) {
+        return new StudentSnapshot(StudentTree.insert(root, student, BY_ID), version + 1);
+    }
+
+    /**
+     * Returns a snapshot without the student with the given ID.
+     *
+     * @param id the ID of the student to remove
+     * @return the new snapshot with a version one higher than this one's, or this snapshot if no student has the ID
+     */
+    public StudentSnapshot without(int id) {
+        if (findById(id) == null) {
+            return this;
+        }
+        return new StudentSnapshot(StudentTree.remove(root, byId(id)), version + 1);
+    }
+
+    /**
+     * Finds a student by their unique ID.
+     *
+     * @param id the student ID to search for
+     * @return the Student object if found, null otherwise
+     */
+    public Student findById(int id) {
+        return StudentTree.find(root, byId(id));
+    }
+
+    private static ToIntFunction<Student> byId(int id) {
+        return student -> Integer.compare(id, student.getId());
+    }
+
+    @Override
+    public Student get(int index) {
+        Objects.checkIndex(index, size());
+        return StudentTree.get(root, index);
+    }
+
+    @Override
+    public int size() {
+        return StudentTree.size(root);
+    }
+
+    /**
+     * Returns an in-order iterator, O(1) amortized per student.
+     */
+    @Override
+    public Iterator<Student> iterator() {
+        return StudentTree.iterator(root, 0, size());
+    }
+}
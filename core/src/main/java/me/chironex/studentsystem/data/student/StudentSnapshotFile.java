@@ -0,0 +1,387 @@
+package me.chironex.studentsystem.data.student;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+import java.util.stream.Stream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned binary copy of all students, so a repository can start without querying the database.
+ * The file is memory-mapped and its checksum verified when it is opened, entries are decoded on access.
+ * The file records the data generation of the database it was written from, see {@link StudentDao#loadGeneration()};
+ * a file whose generation differs from the database is stale.
+ * The order of the students by name is stored as well, so the name index is rebuilt without sorting.
+ * <p>
+ * Every generation is written to its own file, named after the snapshot path and the generation,
+ * e.g. {@code students.snapshot.42}, and older generations are deleted after a write. A file is never
+ * replaced while it may still be mapped, which Windows refuses until the mapping is garbage collected;
+ * such a file is deleted by a later write instead.
+ * <p>
+ * Layout, all numbers big-endian: a {@value #HEADER_SIZE}-byte header (magic, format version, data generation,
+ * student count, CRC32 of everything after the header, position of the index), the student entries in ID order,
+ * an index of the int positions of all entries and the entry numbers in {@link StudentNameIndex#ORDER}.
+ * An entry holds the ID, birth year, type ordinal, length-prefixed UTF-8 first and last name
+ * and the length-prefixed grades, one byte each.
+ */
+public final class StudentSnapshotFile extends AbstractList<StudentRecord> implements RandomAccess {
+    private static final int MAGIC = 0x53545353;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_BIRTH_YEAR = 4;
+    private static final int ENTRY_TYPE = 8;
+    private static final int ENTRY_FIRST_NAME = 9;
+    private static final StudentType[] TYPES = StudentType.values();
+
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private final int size;
+    private final int indexPosition;
+    private final int nameOrderPosition;
+
+    private StudentSnapshotFile(MappedByteBuffer buffer, long generation, int size, int indexPosition) {
+        this.buffer = buffer;
+        this.generation = generation;
+        this.size = size;
+        this.indexPosition = indexPosition;
+        this.nameOrderPosition = indexPosition + Integer.BYTES * size;
+    }
+
+    /**
+     * Writes the students to the file of the given generation and deletes the files of other generations.
+     * The file is written to a temporary file first and moved into place when complete, so readers never
+     * see a partially written file; the temporary file is deleted if the write fails.
+     *
+     * @param path the snapshot path, the file name is suffixed with the generation
+     * @param generation the data generation of the database holding the same students, must not be negative
+     * @param records the students in ID order
+     * @param nameOrder the positions in {@code records} of the students sorted by {@link StudentNameIndex#ORDER}
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Path path, long generation, List<StudentRecord> records, int[] nameOrder) throws IOException {
+        if (nameOrder.length != records.size()) {
+            throw new IllegalArgumentException("Name order has " + nameOrder.length + " entries for " + records.size() + " students");
+        }
+        if (generation < 0) {
+            throw new IllegalArgumentException("Generation cannot be negative: " + generation);
+        }
+
+        Path target = generationPath(path, generation);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            writeFile(temporary, generation, records, nameOrder);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+
+        deleteOtherGenerations(path, generation);
+    }
+
+    private static void writeFile(Path temporary, long generation, List<StudentRecord> records, int[] nameOrder) throws IOException {
+        CRC32 checksum = new CRC32();
+        int[] positions = new int[records.size()];
+
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+
+            CountingDataOutputStream output = new CountingDataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), checksum));
+            int index = 0;
+            for (StudentRecord record : records) {
+                positions[index++] = HEADER_SIZE + output.written();
+                writeEntry(output, record);
+            }
+
+            int indexPosition = HEADER_SIZE + output.written();
+            for (int position : positions) {
+                output.writeInt(position);
+            }
+            for (int entry : nameOrder) {
+                output.writeInt(entry);
+            }
+            output.flush();
+
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot exceeds 2 GB: " + channel.size());
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(generation)
+                    .putInt(positions.length)
+                    .putInt((int) checksum.getValue())
+                    .putInt(indexPosition)
+                    .putInt(0)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Checks whether a file of any generation exists for the snapshot path.
+     *
+     * @param path the snapshot path
+     * @return true if {@link #open(Path)} finds a file
+     * @throws IOException if the directory cannot be listed
+     */
+    public static boolean exists(Path path) throws IOException {
+        return latestGeneration(path) >= 0;
+    }
+
+    /**
+     * Maps the file of the latest generation and validates its header and checksum. Entries are decoded on access.
+     *
+     * @param path the snapshot path
+     * @return the mapped snapshot
+     * @throws java.nio.file.NoSuchFileException if no file exists for the path
+     * @throws IOException if the file cannot be read, has an unknown format or is corrupt
+     */
+    public static StudentSnapshotFile open(Path path) throws IOException {
+        long latest = latestGeneration(path);
+        if (latest < 0) {
+            throw new NoSuchFileException(path.toString());
+        }
+        Path file = generationPath(path, latest);
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a student snapshot: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a student snapshot: " + file);
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + buffer.getInt(4) + ": " + file);
+        }
+
+        long generation = buffer.getLong(8);
+        int size = buffer.getInt(16);
+        int indexPosition = buffer.getInt(24);
+        if (generation != latest || size < 0 || indexPosition < HEADER_SIZE
+                || (long) indexPosition + 2L * Integer.BYTES * size != buffer.capacity()) {
+            throw new IOException("Corrupt student snapshot: " + file);
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        if ((int) checksum.getValue() != buffer.getInt(20)) {
+            throw new IOException("Student snapshot checksum mismatch: " + file);
+        }
+
+        return new StudentSnapshotFile(buffer, generation, size, indexPosition);
+    }
+
+    /**
+     * Returns the data generation of the database the snapshot was written from.
+     *
+     * @return the data generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Decodes the entry at the given position.
+     *
+     * @param index the position in ID order
+     * @return the student record
+     */
+    @Override
+    public StudentRecord get(int index) {
+        int position = entryPosition(index);
+        int lastNamePosition = lastNamePosition(position);
+        int gradesPosition = lastNamePosition + Integer.BYTES + buffer.getInt(lastNamePosition);
+
+        int[] grades = new int[buffer.getInt(gradesPosition)];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = buffer.get(gradesPosition + Integer.BYTES + i);
+        }
+        return new StudentRecord(type(position), data(position, lastNamePosition), grades);
+    }
+
+    /**
+     * Decodes the entry at the given position directly into a student, without an intermediate record.
+     *
+     * @param index the position in ID order
+     * @param studentFactory the factory creating the student
+     * @return a new student
+     */
+    public Student toStudent(int index, StudentFactory studentFactory) {
+        int position = entryPosition(index);
+        int lastNamePosition = lastNamePosition(position);
+        int gradesPosition = lastNamePosition + Integer.BYTES + buffer.getInt(lastNamePosition);
+
+        Student student = studentFactory.createStudent(type(position), data(position, lastNamePosition));
+        int count = buffer.getInt(gradesPosition);
+        for (int i = 0; i < count; i++) {
+            student.addGrade(buffer.get(gradesPosition + Integer.BYTES + i));
+        }
+        return student;
+    }
+
+    /**
+     * Returns the entry of the student at the given position in {@link StudentNameIndex#ORDER}.
+     *
+     * @param rank the position in name order
+     * @return the position of the student in ID order
+     */
+    public int nameOrderAt(int rank) {
+        Objects.checkIndex(rank, size);
+        return buffer.getInt(nameOrderPosition + Integer.BYTES * rank);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static Path generationPath(Path path, long generation) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    /**
+     * Returns the generation of the latest file of the snapshot path, or -1 if there is none.
+     */
+    private static long latestGeneration(Path path) throws IOException {
+        long latest = -1;
+        for (Map.Entry<Path, Long> file : listFiles(path).entrySet()) {
+            if (file.getValue() != null) {
+                latest = Math.max(latest, file.getValue());
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Deletes the files of other generations and temporary files left by interrupted writes.
+     * A file that cannot be deleted, e.g. because it is still mapped on Windows, is left for the next write.
+     */
+    private static void deleteOtherGenerations(Path path, long generation) throws IOException {
+        for (Map.Entry<Path, Long> file : listFiles(path).entrySet()) {
+            if (file.getValue() == null || file.getValue() != generation) {
+                try {
+                    Files.deleteIfExists(file.getKey());
+                } catch (IOException e) {
+                    // still in use, deleted by a later write
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the files belonging to the snapshot path with their generation, null for temporary files.
+     */
+    private static Map<Path, Long> listFiles(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        Map<Path, Long> files = new HashMap<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            for (Path entry : entries.toList()) {
+                String name = entry.getFileName().toString();
+                if (!name.startsWith(prefix)) {
+                    continue;
+                }
+                String suffix = name.substring(prefix.length());
+                if (suffix.endsWith(".tmp")) {
+                    files.put(entry, null);
+                } else if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit) && suffix.length() <= 18) {
+                    files.put(entry, Long.parseLong(suffix));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static void writeEntry(DataOutputStream output, StudentRecord record) throws IOException {
+        StudentData data = record.data();
+        output.writeInt(data.id());
+        output.writeInt(data.birthYear());
+        output.writeByte(record.type().ordinal());
+        writeString(output, data.firstName());
+        writeString(output, data.lastName());
+
+        int[] grades = record.grades();
+        output.writeInt(grades.length);
+        for (int grade : grades) {
+            output.writeByte(grade);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private int entryPosition(int index) {
+        Objects.checkIndex(index, size);
+        return buffer.getInt(indexPosition + Integer.BYTES * index);
+    }
+
+    private int lastNamePosition(int position) {
+        int firstNamePosition = position + ENTRY_FIRST_NAME;
+        return firstNamePosition + Integer.BYTES + buffer.getInt(firstNamePosition);
+    }
+
+    private StudentType type(int position) {
+        return TYPES[buffer.get(position + ENTRY_TYPE)];
+    }
+
+    private StudentData data(int position, int lastNamePosition) {
+        return new StudentData(
+                buffer.getInt(position),
+                readString(position + ENTRY_FIRST_NAME),
+                readString(lastNamePosition),
+                buffer.getInt(position + ENTRY_BIRTH_YEAR));
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Data output stream exposing the number of bytes written so far as an int.
+     */
+    private static final class CountingDataOutputStream extends DataOutputStream {
+        CountingDataOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        int written() {
+            return written;
+        }
+    }
+}
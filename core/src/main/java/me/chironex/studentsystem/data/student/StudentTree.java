@@ -0,0 +1,214 @@
+package me.chironex.studentsystem.data.student;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Persistent AVL tree of students shared by {@link StudentSnapshot} and {@link StudentNameIndex}.
+ * Nodes are immutable; every update copies the O(log n) nodes on the path to the changed student
+ * and shares the rest of the tree. Each node stores its subtree size, so positional access takes O(log n).
+ * <p>
+ * Searches take a probe that compares the searched key with a node's student,
+ * returning a negative number if the key sorts before it, zero on a match and a positive number otherwise.
+ */
+final class StudentTree {
+
+    record Node(Student student, Node left, Node right, int height, int size) {
+    }
+
+    private StudentTree() {
+    }
+
+    /**
+     * Builds a balanced tree from students that are already sorted, in O(n).
+     */
+    static Node build(Student[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        return node(sorted[middle], build(sorted, from, middle), build(sorted, middle + 1, to));
+    }
+
+    /**
+     * Inserts a student, replacing the student the comparator considers equal.
+     */
+    static Node insert(Node node, Student student, Comparator<Student> order) {
+        if (node == null) {
+            return node(student, null, null);
+        }
+
+        int comparison = order.compare(student, node.student);
+        if (comparison < 0) {
+            return balance(node.student, insert(node.left, student, order), node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.student, node.left, insert(node.right, student, order));
+        }
+        return node(student, node.left, node.right);
+    }
+
+    /**
+     * Removes the student matched by the probe; the student must be present.
+     */
+    static Node remove(Node node, ToIntFunction<Student> probe) {
+        int comparison = probe.applyAsInt(node.student);
+        if (comparison < 0) {
+            return balance(node.student, remove(node.left, probe), node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.student, node.left, remove(node.right, probe));
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.student, node.left, removeFirst(node.right));
+    }
+
+    static Student find(Node node, ToIntFunction<Student> probe) {
+        while (node != null) {
+            int comparison = probe.applyAsInt(node.student);
+            if (comparison == 0) {
+                return node.student;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    static Student get(Node node, int index) {
+        while (true) {
+            int leftSize = size(node.left);
+            if (index == leftSize) {
+                return node.student;
+            }
+            if (index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Counts the students for which the predicate holds, in O(log n).
+     * The predicate must hold for a leading run of the tree's order and for no student after it,
+     * e.g. "sorts before the key", so the result is the position of the first student outside the run.
+     */
+    static int countLeading(Node node, Predicate<Student> leading) {
+        int count = 0;
+        while (node != null) {
+            if (leading.test(node.student)) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns an in-order iterator over the positions {@code [from, to)}.
+     * Positioning takes O(log n), every further step O(1) amortized.
+     */
+    static Iterator<Student> iterator(Node root, int from, int to) {
+        return new Iterator<>() {
+            private final Deque<Node> path = new ArrayDeque<>();
+            private int remaining = to - from;
+
+            {
+                Node node = root;
+                int index = from;
+                while (node != null) {
+                    int leftSize = size(node.left);
+                    if (index <= leftSize) {
+                        path.push(node);
+                        if (index == leftSize) {
+                            break;
+                        }
+                        node = node.left;
+                    } else {
+                        index -= leftSize + 1;
+                        node = node.right;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Student next() {
+                if (remaining <= 0) {
+                    throw new NoSuchElementException();
+                }
+
+                Node node = path.pop();
+                for (Node child = node.right; child != null; child = child.left) {
+                    path.push(child);
+                }
+                remaining--;
+                return node.student;
+            }
+        };
+    }
+
+    static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.student, removeFirst(node.left), node.right);
+    }
+
+    private static Node balance(Student student, Node left, Node right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return node(left.student, left.left, node(student, left.right, right));
+            }
+            Node pivot = left.right;
+            return node(pivot.student, node(left.student, left.left, pivot.left), node(student, pivot.right, right));
+        }
+
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return node(right.student, node(student, left, right.left), right.right);
+            }
+            Node pivot = right.left;
+            return node(pivot.student, node(student, left, pivot.left), node(right.student, pivot.right, right.right));
+        }
+
+        return node(student, left, right);
+    }
+
+    private static Node node(Student student, Node left, Node right) {
+        return new Node(student, left, right,
+                Math.max(height(left), height(right)) + 1,
+                size(left) + size(right) + 1);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,64 @@
+package me.chironex.studentsystem.data.student;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Enum representing types of students.
+ */
+public enum StudentType {
+    TELEKOM(TelecommunicationsStudent.class),
+    CYBERSECURITY(CybersecurityStudent.class);
+
+    private final Class<? extends Student> studentClass;
+
+    StudentType(Class<? extends Student> studentClass) {
+        this.studentClass = studentClass;
+    }
+
+    /**
+     * Returns the type of the given student, any student that is not a telecommunications student is CYBERSECURITY.
+     *
+     * @param student the student
+     * @return the student's type
+     */
+    public static @NotNull StudentType of(@NotNull Student student) {
+        return student instanceof TelecommunicationsStudent ? TELEKOM : CYBERSECURITY;
+    }
+
+    /**
+     * Checks whether students of this type are instances of the given class.
+     *
+     * @param type the student class, e.g. {@code Student.class} for all types
+     * @return true if this type's students are instances of the class
+     */
+    public boolean isSubtypeOf(@NotNull Class<? extends Student> type) {
+        return type.isAssignableFrom(studentClass);
+    }
+
+    /**
+     * Converts a string to a StudentType, defaults to CYBERSECURITY if not recognized.
+     *
+     * @param type the string representation of the type
+     * @return the corresponding StudentType
+     */
+    public static @NotNull StudentType fromString(@NotNull String type) {
+        Objects.requireNonNull(type, "Student type cannot be null");
+
+        try {
+            return valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return getDefaultType();
+        }
+    }
+
+    /**
+     * Returns the default student type.
+     *
+     * @return the default StudentType
+     */
+    public static @NotNull StudentType getDefaultType() {
+        return CYBERSECURITY;
+    }
+}
\ No newline at end of file
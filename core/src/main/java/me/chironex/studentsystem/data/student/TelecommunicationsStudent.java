@@ -15,8 +15,17 @@ public class TelecommunicationsStudent extends Student {
         super(id, firstName, lastName, birthYear);
     }
 
+    protected TelecommunicationsStudent(TelecommunicationsStudent source) {
+        super(source);
+    }
+
+    @Override
+    protected Student copy() {
+        return new TelecommunicationsStudent(this);
+    }
+
     @Override
-    public String executeSkill() {
+    protected String computeSkill() {
         String fullName = getFirstName() + " " + getLastName();
         return TelecomUtils.convertToMorseCode(fullName);
     }
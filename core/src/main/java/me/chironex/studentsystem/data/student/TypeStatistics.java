@@ -0,0 +1,59 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing running grade aggregates of a group of students.
+ *
+ * @param studentCount the number of students
+ * @param gradedStudentCount the number of students with at least one grade
+ * @param gradeCount the total number of grades
+ * @param gradeSum the sum of all grades
+ * @param averageSum the sum of the average grades of all graded students
+ */
+public record TypeStatistics(long studentCount, long gradedStudentCount, long gradeCount, long gradeSum, double averageSum) {
+
+    /**
+     * Aggregates of an empty group.
+     */
+    public static final TypeStatistics EMPTY = new TypeStatistics(0, 0, 0, 0, 0.0);
+
+    /**
+     * Returns the contribution of a single student with the given grades.
+     *
+     * @param gradeCount the student's number of grades
+     * @param gradeSum the sum of the student's grades
+     * @return the aggregates of a group containing only this student
+     */
+    public static TypeStatistics ofStudent(int gradeCount, int gradeSum) {
+        if (gradeCount == 0) {
+            return new TypeStatistics(1, 0, 0, 0, 0.0);
+        }
+        return new TypeStatistics(1, 1, gradeCount, gradeSum, (double) gradeSum / gradeCount);
+    }
+
+    public TypeStatistics plus(TypeStatistics other) {
+        return new TypeStatistics(
+                studentCount + other.studentCount,
+                gradedStudentCount + other.gradedStudentCount,
+                gradeCount + other.gradeCount,
+                gradeSum + other.gradeSum,
+                averageSum + other.averageSum);
+    }
+
+    public TypeStatistics minus(TypeStatistics other) {
+        return new TypeStatistics(
+                studentCount - other.studentCount,
+                gradedStudentCount - other.gradedStudentCount,
+                gradeCount - other.gradeCount,
+                gradeSum - other.gradeSum,
+                averageSum - other.averageSum);
+    }
+
+    /**
+     * Returns the mean of the graded students' average grades, the value shown as "average by type".
+     *
+     * @return the average grade, or 0.0 if no student has grades
+     */
+    public double averageGrade() {
+        return gradedStudentCount == 0 ? 0.0 : averageSum / gradedStudentCount;
+    }
+}
@@ -0,0 +1,322 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded queue of student mutations persisted asynchronously by a dedicated writer thread.
+ * The writer merges mutations of the same student and commits them in batches bounded by
+ * size and time. Submitters block while the queue is full, which throttles producers to the
+ * speed of the database. {@link #flush()} acts as a durability barrier.
+ * <p>
+ * A failed commit keeps its mutations and is retried in the background with exponential backoff.
+ * After {@link WriteBehindSettings#maxRetries()} consecutive failures the queue stops retrying on its own:
+ * mutations are still accepted, but every {@link #submit(StudentMutation)} reports the failure, and only
+ * {@link #flush()} tries to commit again. Mutations that could not be committed when the queue is closed
+ * are available from {@link #getUnsavedMutations()}, so their owner can keep them.
+ */
+public class WriteBehindQueue implements AutoCloseable {
+    private static final QueueEntry STOP = new QueueEntry(null, null);
+    private static final long MIN_RETRY_DELAY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    private final StudentDao studentDao;
+    private final WriteBehindSettings settings;
+
+    private final BlockingQueue<QueueEntry> queue;
+    private final AtomicInteger unpersistedCount;
+    private final Thread writerThread;
+
+    // Only accessed by the writer thread
+    private final Map<Integer, StudentMutation> pendingMutations;
+    private int pendingEntries;
+    private long batchDeadlineNanos;
+    private int failedCommits;
+
+    private volatile PersistenceException failure;
+    private volatile boolean closed;
+
+    /**
+     * Creates the queue and starts its writer thread.
+     *
+     * @param studentDao the data access object the batches are written with,
+     *                   its executor must be safe to use from another thread
+     * @param settings the queue and batching configuration
+     */
+    public WriteBehindQueue(StudentDao studentDao, WriteBehindSettings settings) {
+        this.studentDao = studentDao;
+        this.settings = settings;
+
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        this.unpersistedCount = new AtomicInteger();
+        this.pendingMutations = new LinkedHashMap<>();
+
+        this.writerThread = new Thread(this::runWriter, "student-write-behind");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a mutation for persistence, blocking while the queue is full.
+     *
+     * @param mutation the mutation to persist
+     * @throws PersistenceException if the queue is closed or the caller was interrupted while waiting,
+     *                              or if the queue gave up retrying a failed commit; in that case the mutation
+     *                              is queued anyway and committed by the next successful {@link #flush()}
+     */
+    public void submit(StudentMutation mutation) {
+        ensureOpen();
+
+        unpersistedCount.incrementAndGet();
+        try {
+            put(new QueueEntry(mutation, null));
+        } catch (PersistenceException e) {
+            unpersistedCount.decrementAndGet();
+            throw e;
+        }
+
+        PersistenceException currentFailure = failure;
+        if (currentFailure != null) {
+            throw new PersistenceException("Write-behind commits keep failing, changes are not persisted", currentFailure);
+        }
+    }
+
+    /**
+     * Blocks until every mutation submitted before this call has been committed.
+     * Commits immediately, even while a failed commit waits for its retry.
+     *
+     * @throws PersistenceException if committing the pending mutations failed;
+     *                              they stay queued and are retried
+     */
+    public void flush() {
+        ensureOpen();
+
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        put(new QueueEntry(null, barrier));
+
+        try {
+            barrier.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof PersistenceException persistenceException
+                    ? persistenceException
+                    : new PersistenceException("Write-behind flush failed", e.getCause());
+        }
+    }
+
+    /**
+     * Checks whether some submitted mutations are not committed yet.
+     *
+     * @return true if mutations are queued or waiting in an uncommitted batch
+     */
+    public boolean hasPendingWrites() {
+        return unpersistedCount.get() > 0;
+    }
+
+    /**
+     * Checks whether the queue gave up retrying a failed commit in the background.
+     *
+     * @return the failure of the last commit if the retries are exhausted, null otherwise
+     */
+    public PersistenceException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Flushes all pending mutations and stops the writer thread.
+     * If the mutations could not be committed, they are kept for {@link #getUnsavedMutations()}.
+     *
+     * @throws PersistenceException if some mutations could not be committed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        PersistenceException flushFailure = null;
+        try {
+            flush();
+        } catch (PersistenceException e) {
+            flushFailure = e;
+        }
+
+        closed = true;
+        putUninterruptibly(STOP);
+        joinWriter();
+
+        if (!pendingMutations.isEmpty()) {
+            throw new PersistenceException("Write-behind queue closed with " + pendingMutations.size()
+                    + " uncommitted changes", flushFailure);
+        }
+    }
+
+    /**
+     * Returns the merged mutations the writer could not commit before the queue was closed.
+     *
+     * @return the uncommitted mutations, at most one per student
+     * @throws IllegalStateException if the queue is not closed yet
+     */
+    public List<StudentMutation> getUnsavedMutations() {
+        if (!closed || writerThread.isAlive()) {
+            throw new IllegalStateException("Write-behind queue is not closed");
+        }
+        return List.copyOf(pendingMutations.values());
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new PersistenceException("Write-behind queue is closed");
+        }
+    }
+
+    private void put(QueueEntry entry) {
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for the write-behind queue", e);
+        }
+    }
+
+    private void putUninterruptibly(QueueEntry entry) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(entry);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the writer to finish its last commit, so its pending mutations can be read afterwards.
+     */
+    private void joinWriter() {
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            QueueEntry entry;
+            try {
+                entry = pendingEntries == 0 || failure != null
+                        ? queue.take()
+                        : queue.poll(Math.max(0, batchDeadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                commitPending();
+                return;
+            }
+
+            if (entry == null) {
+                commitPending();
+            } else if (entry.mutation() != null) {
+                addPending(entry.mutation());
+            } else if (entry.barrier() != null) {
+                completeBarrier(entry.barrier());
+            } else {
+                commitPending();
+                return;
+            }
+        }
+    }
+
+    private void addPending(StudentMutation mutation) {
+        if (pendingEntries == 0) {
+            batchDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.maxDelayMillis());
+        }
+
+        pendingMutations.merge(mutation.studentId(), mutation, StudentMutation::mergeWith);
+        pendingEntries++;
+
+        // after a failure the batch waits for its retry, however large it grows
+        if (pendingMutations.size() >= settings.maxBatchSize() && failedCommits == 0) {
+            commitPending();
+        }
+    }
+
+    private void completeBarrier(CompletableFuture<Void> barrier) {
+        PersistenceException failure = commitPending();
+
+        if (failure == null) {
+            barrier.complete(null);
+        } else {
+            barrier.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Commits the merged pending mutations in one transaction.
+     * On failure the mutations are kept and retried after a delay that doubles with every consecutive failure,
+     * until the retries are exhausted.
+     *
+     * @return the failure, or null if the batch was committed
+     */
+    private PersistenceException commitPending() {
+        if (pendingEntries == 0) {
+            return null;
+        }
+
+        try {
+            if (!pendingMutations.isEmpty()) {
+                studentDao.applyChanges(List.copyOf(pendingMutations.values()));
+            }
+        } catch (RuntimeException e) {
+            PersistenceException commitFailure = e instanceof PersistenceException persistenceException
+                    ? persistenceException
+                    : new PersistenceException("Write-behind batch failed", e);
+
+            failedCommits++;
+            if (failedCommits > settings.maxRetries()) {
+                System.err.println("Write-behind batch failed " + failedCommits + " times, retrying on flush only: " + e.getMessage());
+                failure = commitFailure;
+            } else {
+                long delayMillis = retryDelayMillis(failedCommits);
+                System.err.println("Write-behind batch failed, retrying in " + delayMillis + " ms: " + e.getMessage());
+                batchDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            }
+            return commitFailure;
+        }
+
+        unpersistedCount.addAndGet(-pendingEntries);
+        pendingMutations.clear();
+        pendingEntries = 0;
+        failedCommits = 0;
+        failure = null;
+        return null;
+    }
+
+    private long retryDelayMillis(int failures) {
+        long baseMillis = Math.max(MIN_RETRY_DELAY_MILLIS, settings.maxDelayMillis());
+        return Math.min(MAX_RETRY_DELAY_MILLIS, baseMillis << Math.min(failures - 1, 16));
+    }
+
+    /**
+     * A queued mutation, a flush barrier, or the stop marker if both are null.
+     */
+    private record QueueEntry(StudentMutation mutation, CompletableFuture<Void> barrier) {
+    }
+}
@@ -0,0 +1,35 @@
+package me.chironex.studentsystem.data.student;
+
+/**
+ * Record representing the configuration of a {@link WriteBehindQueue}.
+ *
+ * @param queueCapacity the maximum number of queued mutations before submitters block
+ * @param maxBatchSize the number of distinct students after which a batch is committed
+ * @param maxDelayMillis the maximum time a mutation waits before its batch is committed
+ * @param maxRetries the number of failed commits retried in the background before the queue reports the failure
+ *                   to every submitter and only retries on {@link WriteBehindQueue#flush()}
+ */
+public record WriteBehindSettings(int queueCapacity, int maxBatchSize, long maxDelayMillis, int maxRetries) {
+
+    public WriteBehindSettings {
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        }
+        if (maxDelayMillis < 0) {
+            throw new IllegalArgumentException("Maximum delay cannot be negative: " + maxDelayMillis);
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Retry count cannot be negative: " + maxRetries);
+        }
+    }
+
+    /**
+     * Returns the default settings: room for 10,000 queued mutations,
+     * batches of up to 1,000 students, a maximum delay of 200 milliseconds and 5 background retries.
+     *
+     * @return the default write-behind settings
+     */
+    public static WriteBehindSettings defaults() {
+        return new WriteBehindSettings(10_000, 1_000, 200, 5);
+    }
+}
@@ -0,0 +1,44 @@
+package me.chironex.studentsystem.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseLockTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void secondLockOnTheSameDatabaseFails() {
+        Path database = directory.resolve("students.db");
+
+        try (DatabaseLock ignored = DatabaseLock.acquire(database)) {
+            assertTrue(Files.exists(directory.resolve("students.db.lock")));
+
+            PersistenceException e = assertThrows(PersistenceException.class, () -> DatabaseLock.acquire(database));
+            assertTrue(e.getMessage().contains("used by another program"));
+        }
+    }
+
+    @Test
+    void closedLockCanBeTakenAgain() {
+        Path database = directory.resolve("students.db");
+        DatabaseLock.acquire(database).close();
+
+        try (DatabaseLock ignored = DatabaseLock.acquire(database)) {
+            assertTrue(Files.exists(directory.resolve("students.db.lock")));
+        }
+    }
+
+    @Test
+    void locksOfDifferentDatabasesAreIndependent() {
+        try (DatabaseLock ignored = DatabaseLock.acquire(directory.resolve("students.db"));
+             DatabaseLock other = DatabaseLock.acquire(directory.resolve("archive.db"))) {
+            assertNotNull(other);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package me.chironex.studentsystem.data;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledPersistenceExecutorTest {
+    private static final int STATEMENT_CACHE_SIZE = 2;
+
+    @TempDir
+    Path directory;
+
+    private PooledPersistenceExecutor executor;
+
+    @BeforeEach
+    void openExecutor() {
+        executor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + directory.resolve("pool.db")),
+                new PoolSettings(1, STATEMENT_CACHE_SIZE, 30_000, 2));
+        executor.connect();
+    }
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void repeatedStatementIsServedFromTheCache() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, selectConstant(1));
+        }
+
+        PoolStatistics statistics = executor.getStatistics();
+        assertEquals(1, statistics.statementCacheMisses());
+        assertEquals(2, statistics.statementCacheHits());
+    }
+
+    @Test
+    void statementsEvictedWhileNestedAreCachedAgainAfterwards() {
+        int nested = STATEMENT_CACHE_SIZE * 3;
+        List<Integer> results = new ArrayList<>();
+        executor.performPinned(() -> nest(1, nested, results));
+        assertEquals(nested, results.size());
+
+        PoolStatistics afterNesting = executor.getStatistics();
+        assertEquals(nested - STATEMENT_CACHE_SIZE, afterNesting.statementCacheEvictions());
+
+        // every statement was evicted while in use or is still cached; a second round must be able to cache each of them again
+        for (int round = 0; round < 2; round++) {
+            for (int value = 1; value <= nested; value++) {
+                assertEquals(value, selectConstant(value));
+                assertEquals(value, selectConstant(value));
+            }
+        }
+
+        PoolStatistics statistics = executor.getStatistics();
+        assertEquals(afterNesting.statementCacheHits() + 2L * nested, statistics.statementCacheHits());
+    }
+
+    @Test
+    void sameStatementNestedInItselfGetsAFreshStatement() {
+        int[] inner = new int[1];
+        executor.performPinned(() -> executor.performPreparedOperation(sql(1), outer -> {
+            inner[0] = selectConstant(1);
+            assertEquals(1, read(outer));
+        }));
+
+        assertEquals(1, inner[0]);
+        assertEquals(1, selectConstant(1));
+        assertEquals(1, executor.getStatistics().statementCacheHits());
+    }
+
+    @Test
+    void failedStatementIsNotReused() {
+        assertThrows(IllegalStateException.class, () -> executor.performPreparedOperation(sql(1), statement -> {
+            throw new IllegalStateException("failed");
+        }));
+
+        assertEquals(1, selectConstant(1));
+        assertEquals(0, executor.getStatistics().statementCacheHits());
+    }
+
+    private void nest(int value, int depth, List<Integer> results) {
+        executor.performPreparedOperation(sql(value), statement -> {
+            if (value < depth) {
+                nest(value + 1, depth, results);
+            }
+            results.add(read(statement));
+        });
+    }
+
+    private int selectConstant(int value) {
+        int[] result = new int[1];
+        executor.performPreparedOperation(sql(value), statement -> result[0] = read(statement));
+        return result[0];
+    }
+
+    private static String sql(int value) {
+        return "SELECT " + value;
+    }
+
+    @SneakyThrows
+    private static int read(PreparedStatement statement) {
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package me.chironex.studentsystem.data;
+
+import lombok.SneakyThrows;
+import me.chironex.studentsystem.data.student.Student;
+import me.chironex.studentsystem.data.student.StudentDao;
+import me.chironex.studentsystem.data.student.StudentFactoryImpl;
+import me.chironex.studentsystem.data.student.StudentSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+    private static final int LATEST_VERSION = StudentSchema.migrations().get(StudentSchema.migrations().size() - 1).version();
+
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private PersistenceExecutor executor;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.open(directory.resolve("students.db"));
+        executor = database.getExecutor();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void migratesAnEmptyDatabaseToTheLatestVersion() {
+        SchemaMigrator migrator = new SchemaMigrator(executor, StudentSchema.migrations());
+        assertEquals(0, migrator.getCurrentVersion());
+
+        assertEquals(LATEST_VERSION, migrator.migrate());
+
+        assertEquals(LATEST_VERSION, migrator.getCurrentVersion());
+        assertTrue(names("table").containsAll(List.of("students", "grades", "metadata", "schema_version")));
+        assertTrue(names("index").containsAll(List.of("idx_grades_student_id", "idx_students_name")));
+        assertEquals(0, new StudentDao(executor, new StudentFactoryImpl()).loadGeneration());
+    }
+
+    @Test
+    void migratingTwiceAppliesNothingTheSecondTime() {
+        new SchemaMigrator(executor, StudentSchema.migrations()).migrate();
+
+        assertEquals(LATEST_VERSION, new SchemaMigrator(executor, StudentSchema.migrations()).migrate());
+        assertEquals(StudentSchema.migrations().size(), count("SELECT COUNT(*) FROM schema_version"));
+    }
+
+    @Test
+    void migratesADatabaseCreatedBeforeVersioningAndKeepsItsData() {
+        // the tables as the application created them before schema versions were recorded
+        executor.performSimpleOperationsChain("""
+                CREATE TABLE IF NOT EXISTS students (
+                id INTEGER PRIMARY KEY,
+                first_name TEXT,
+                last_name TEXT,
+                birth_year INTEGER,
+                student_type TEXT)""", """
+                CREATE TABLE IF NOT EXISTS grades (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                student_id INTEGER,
+                grade INTEGER,
+                FOREIGN KEY (student_id) REFERENCES students(id))""",
+                "INSERT INTO students VALUES (1, 'Jan', 'Novak', 2000, 'TELEKOM'), (2, 'Eva', 'Svoboda', 2001, 'CYBERSECURITY')",
+                "INSERT INTO grades (student_id, grade) VALUES (1, 2), (2, 5), (1, 3)");
+
+        assertEquals(LATEST_VERSION, new SchemaMigrator(executor, StudentSchema.migrations()).migrate());
+
+        List<Student> students = new StudentDao(executor, new StudentFactoryImpl()).loadAll();
+        assertEquals(2, students.size());
+        assertArrayEquals(new int[]{2, 3}, students.get(0).getGrades());
+        assertArrayEquals(new int[]{5}, students.get(1).getGrades());
+        assertTrue(names("index").contains("idx_students_name"));
+    }
+
+    @Test
+    void failedMigrationIsRolledBackAndEarlierOnesStayApplied() {
+        List<SchemaMigration> migrations = List.of(
+                SchemaMigration.of(1, "Create a table", "CREATE TABLE first (id INTEGER PRIMARY KEY)"),
+                SchemaMigration.of(2, "Fail halfway", "CREATE TABLE second (id INTEGER PRIMARY KEY)", "CREATE TABLE first (id INTEGER)"));
+        SchemaMigrator migrator = new SchemaMigrator(executor, migrations);
+
+        assertThrows(RuntimeException.class, migrator::migrate);
+
+        assertEquals(1, migrator.getCurrentVersion());
+        assertTrue(names("table").contains("first"));
+        assertFalse(names("table").contains("second"));
+    }
+
+    @Test
+    void duplicateVersionsAreRejected() {
+        List<SchemaMigration> migrations = List.of(
+                SchemaMigration.of(1, "One", "SELECT 1"),
+                SchemaMigration.of(1, "Also one", "SELECT 1"));
+
+        assertThrows(IllegalArgumentException.class, () -> new SchemaMigrator(executor, migrations));
+    }
+
+    private List<String> names(String type) {
+        List<String> names = new ArrayList<>();
+        executor.performOperation(statement -> readNames(statement, type, names));
+        return names;
+    }
+
+    private int count(String sql) {
+        int[] count = new int[1];
+        executor.performOperation(statement -> count[0] = readInt(statement, sql));
+        return count[0];
+    }
+
+    @SneakyThrows
+    private static void readNames(Statement statement, String type, List<String> names) {
+        try (ResultSet rs = statement.executeQuery("SELECT name FROM sqlite_master WHERE type = '" + type + "'")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static int readInt(Statement statement, String sql) {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package me.chironex.studentsystem.data;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqliteProfileTest {
+    @TempDir
+    Path directory;
+
+    private PooledPersistenceExecutor executor;
+
+    @BeforeEach
+    void openExecutor() {
+        executor = new PooledPersistenceExecutor(new JdbcReconnectStrategy(
+                "jdbc:sqlite:" + directory.resolve("profile.db"), SqliteProfile.DURABLE), new PoolSettings(1, 8, 30_000, 2));
+        executor.connect();
+    }
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void byNameFindsPresetsIgnoringCase() {
+        assertSame(SqliteProfile.BULK_LOAD, SqliteProfile.byName("Bulk-Load"));
+        assertThrows(IllegalArgumentException.class, () -> SqliteProfile.byName("fast"));
+    }
+
+    @Test
+    void runWithAppliesTheProfileAndRestoresTheConnection() {
+        String[] during = new String[1];
+        SqliteProfile.BULK_LOAD.runWith(executor, () -> during[0] = pragma(executor, "synchronous"));
+
+        assertEquals("0", during[0]);
+        assertEquals("2", pragma(executor, "synchronous"));
+    }
+
+    @Test
+    void runWithRestoresTheConnectionWhenTheActionFails() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> SqliteProfile.BULK_LOAD.runWith(executor, () -> {
+                    throw new IllegalStateException("import failed");
+                }));
+
+        assertEquals(0, thrown.getSuppressed().length);
+        assertEquals("2", pragma(executor, "synchronous"));
+    }
+
+    @Test
+    void restoreFailureDoesNotMaskTheActionsFailure() {
+        FailingExecutor failing = new FailingExecutor(executor);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> SqliteProfile.BULK_LOAD.runWith(failing, () -> {
+                    failing.failing = true;
+                    throw new IllegalStateException("import failed");
+                }));
+
+        assertEquals("import failed", thrown.getMessage());
+        assertEquals(1, thrown.getSuppressed().length);
+        assertInstanceOf(PersistenceException.class, thrown.getSuppressed()[0]);
+    }
+
+    private static String pragma(PersistenceExecutor executor, String name) {
+        String[] value = new String[1];
+        executor.performOperation(statement -> value[0] = query(statement, "PRAGMA " + name));
+        return value[0];
+    }
+
+    @SneakyThrows
+    private static String query(Statement statement, String sql) {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    /**
+     * Executor whose statements fail once {@link #failing} is set.
+     */
+    private static final class FailingExecutor implements PersistenceExecutor {
+        private final PersistenceExecutor delegate;
+        private boolean failing;
+
+        FailingExecutor(PersistenceExecutor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void connect() {
+            delegate.connect();
+        }
+
+        @Override
+        public void performOperation(Consumer<Statement> statementAction) {
+            if (failing) {
+                throw new PersistenceException("Connection lost");
+            }
+            delegate.performOperation(statementAction);
+        }
+
+        @Override
+        public void performPreparedOperation(String sql, Consumer<PreparedStatement> statementAction) {
+            delegate.performPreparedOperation(sql, statementAction);
+        }
+
+        @Override
+        public void performTransaction(Runnable transactionAction) {
+            delegate.performTransaction(transactionAction);
+        }
+
+        @Override
+        public void performPinned(Runnable action) {
+            delegate.performPinned(action);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package me.chironex.studentsystem.data;
+
+import me.chironex.studentsystem.data.student.StudentSchema;
+
+import java.nio.file.Path;
+
+/**
+ * Migrated SQLite database file in a temporary directory, for tests that persist students.
+ */
+public final class TestDatabase implements AutoCloseable {
+    private final Path path;
+    private final PooledPersistenceExecutor executor;
+
+    private TestDatabase(Path path) {
+        this.path = path;
+        this.executor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + path));
+    }
+
+    /**
+     * Creates a database file with the current student schema.
+     *
+     * @param directory the directory of the database file, e.g. a JUnit temporary directory
+     * @return the open database
+     */
+    public static TestDatabase create(Path directory) {
+        TestDatabase database = open(directory.resolve("students.db"));
+        new SchemaMigrator(database.executor, StudentSchema.migrations()).migrate();
+        return database;
+    }
+
+    /**
+     * Opens a database file as it is, without migrating it.
+     *
+     * @param path the database file
+     * @return the open database
+     */
+    public static TestDatabase open(Path path) {
+        TestDatabase database = new TestDatabase(path);
+        database.executor.connect();
+        return database;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public PooledPersistenceExecutor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
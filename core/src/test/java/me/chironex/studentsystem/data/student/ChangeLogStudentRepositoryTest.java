@@ -0,0 +1,65 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogStudentRepositoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopeningReplaysTheMutations() {
+        try (ChangeLogStudentRepository repository = open()) {
+            int jan = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+            int eva = repository.addCybersecurityStudent("Eva", "Dvorak", 2001);
+            repository.addGradeToStudent(jan, 2);
+            repository.addGradeToStudent(jan, 9);
+            repository.removeStudent(eva);
+        }
+
+        try (ChangeLogStudentRepository repository = open()) {
+            assertEquals(1, repository.getAllStudents().size());
+            assertArrayEquals(new int[]{2}, repository.findStudentById(1).getGrades());
+            assertEquals(2, repository.addCybersecurityStudent("Petr", "Cerny", 1999));
+        }
+    }
+
+    @Test
+    void additionTheLogCannotEncodeLeavesTheStudentsUnchanged() {
+        try (ChangeLogStudentRepository repository = open()) {
+            String tooLong = "x".repeat(70_000);
+
+            assertThrows(PersistenceException.class, () -> repository.addTelecommunicationsStudent("Jan", tooLong, 2000));
+
+            assertTrue(repository.getAllStudents().isEmpty());
+            assertEquals(1, repository.addCybersecurityStudent("Eva", "Dvorak", 2001));
+        }
+
+        try (ChangeLogStudentRepository repository = open()) {
+            assertEquals("Dvorak", repository.findStudentById(1).getLastName());
+        }
+    }
+
+    @Test
+    void mutationsOfAClosedLogLeaveTheStudentsUnchanged() {
+        ChangeLogStudentRepository repository = open();
+        int id = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        repository.close();
+
+        assertThrows(PersistenceException.class, () -> repository.addGradeToStudent(id, 1));
+        assertThrows(PersistenceException.class, () -> repository.removeStudent(id));
+        assertThrows(PersistenceException.class, () -> repository.addCybersecurityStudent("Eva", "Dvorak", 2001));
+
+        assertEquals(1, repository.getAllStudents().size());
+        assertEquals(0, repository.findStudentById(id).getGradeCount());
+    }
+
+    private ChangeLogStudentRepository open() {
+        return new ChangeLogStudentRepository(directory, new StudentFactoryImpl());
+    }
+}
@@ -0,0 +1,109 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarStudentRepositoryTest {
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void savedStudentsAreLoadedAgain() {
+        ColumnarStudentRepository repository = new ColumnarStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        repository.loadFromDatabase();
+        int jan = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        int eva = repository.addCybersecurityStudent("Eva", "Dvorak", 2001);
+        int petr = repository.addCybersecurityStudent("Petr", "Novotny", 2002);
+        repository.addGradeToStudent(jan, 1);
+        repository.addGradeToStudent(jan, 4);
+        repository.saveToDatabase(SaveMode.INCREMENTAL);
+
+        // an incremental save of a grade, a removal and an addition
+        repository.addGradeToStudent(eva, 2);
+        repository.removeStudent(petr);
+        int adam = repository.addTelecommunicationsStudent("Adam", "Novak", 1999);
+        repository.saveToDatabase(SaveMode.INCREMENTAL);
+        assertFalse(repository.hasUnsavedChanges());
+
+        ColumnarStudentRepository loaded = new ColumnarStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        loaded.loadFromDatabase();
+
+        List<String> expected = List.of("1 TELEKOM Jan Novak 2000 [1, 4]", "2 CYBERSECURITY Eva Dvorak 2001 [2]",
+                "4 TELEKOM Adam Novak 1999 []");
+        assertEquals(expected, describe(repository.getAllStudents()));
+        assertEquals(expected, describe(loaded.getAllStudents()));
+        assertEquals(List.of(adam, jan), loaded.findStudentsByLastNamePrefix("Nov").stream().map(Student::getId).toList());
+        assertEquals(5, loaded.addCybersecurityStudent("Ema", "Svobodova", 2003));
+
+        // a compact save rewrites the database from the columns
+        loaded.removeStudent(jan);
+        loaded.saveToDatabase(SaveMode.COMPACT);
+        repository.loadFromDatabase();
+        assertEquals(List.of("2 CYBERSECURITY Eva Dvorak 2001 [2]", "4 TELEKOM Adam Novak 1999 []",
+                "5 CYBERSECURITY Ema Svobodova 2003 []"), describe(repository.getAllStudents()));
+    }
+
+    @Test
+    void statisticsMatchTheReturnedStudents() {
+        ColumnarStudentRepository repository = new ColumnarStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        for (int i = 0; i < 300; i++) {
+            int id = i % 3 == 0
+                    ? repository.addCybersecurityStudent("Eva", "Dvorak" + i, 2001)
+                    : repository.addTelecommunicationsStudent("Jan", "Novak" + i, 2000);
+            for (int grade = 0; grade < i % 4; grade++) {
+                repository.addGradeToStudent(id, 1 + (i + grade) % 5);
+            }
+            // removing most students compacts the columns several times
+            if (i % 5 != 0) {
+                repository.removeStudent(id);
+            }
+        }
+        assertStatisticsMatch(repository);
+
+        repository.saveToDatabase(SaveMode.INCREMENTAL);
+        repository.loadFromDatabase();
+        assertStatisticsMatch(repository);
+    }
+
+    private static void assertStatisticsMatch(ColumnarStudentRepository repository) {
+        for (Class<? extends Student> type : List.of(Student.class, TelecommunicationsStudent.class, CybersecurityStudent.class)) {
+            List<Student> students = repository.getStudentsByType(type);
+            double expected = students.stream()
+                    .filter(student -> student.getGrades().length > 0)
+                    .mapToDouble(student -> Arrays.stream(student.getGrades()).average().orElseThrow())
+                    .average().orElse(0.0);
+
+            assertEquals(students.size(), repository.countStudentsByType(type));
+            assertEquals(students.size(), repository.getStatistics(type).studentCount());
+            assertEquals(expected, repository.getAverageGradeByType(type), 1e-9);
+        }
+    }
+
+    private static List<String> describe(List<Student> students) {
+        return students.stream()
+                .map(student -> student.getId() + " " + StudentType.of(student) + " " + student.getFirstName() + " "
+                        + student.getLastName() + " " + student.getBirthYear() + " " + Arrays.toString(student.getGrades()))
+                .toList();
+    }
+}
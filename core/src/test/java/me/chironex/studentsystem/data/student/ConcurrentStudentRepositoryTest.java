@@ -0,0 +1,188 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStudentRepositoryTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+    private static final int SHARED_STUDENTS = 64;
+
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private ConcurrentStudentRepository repository;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+        repository = new ConcurrentStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        repository.loadFromDatabase();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void concurrentAddsGradesAndRemovalsKeepStatisticsAndChangesExact() throws Exception {
+        // shared students are graded by every thread and never removed, so their grade counts are known exactly
+        int[] sharedIds = new int[SHARED_STUDENTS];
+        for (int i = 0; i < sharedIds.length; i++) {
+            sharedIds[i] = repository.addTelecommunicationsStudent("Shared", "Student" + i, 2000);
+        }
+        AtomicIntegerArray sharedGradeCounts = new AtomicIntegerArray(SHARED_STUDENTS);
+        AtomicIntegerArray sharedGradeSums = new AtomicIntegerArray(SHARED_STUDENTS);
+        Map<Integer, Integer> ownGradeCounts = new ConcurrentHashMap<>();
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Integer> own = new ArrayList<>();
+                await(start);
+                for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+                    int choice = random.nextInt(10);
+                    if (choice < 3 || own.isEmpty()) {
+                        int id = random.nextBoolean()
+                                ? repository.addTelecommunicationsStudent("Own", "Student" + operation, 2001)
+                                : repository.addCybersecurityStudent("Own", "Student" + operation, 2002);
+                        own.add(id);
+                        ownGradeCounts.put(id, 0);
+                    } else if (choice < 7) {
+                        int shared = random.nextInt(SHARED_STUDENTS);
+                        int grade = 1 + random.nextInt(5);
+                        assertTrue(repository.addGradeToStudent(sharedIds[shared], grade));
+                        sharedGradeCounts.incrementAndGet(shared);
+                        sharedGradeSums.addAndGet(shared, grade);
+                    } else if (choice < 9) {
+                        int id = own.get(random.nextInt(own.size()));
+                        assertTrue(repository.addGradeToStudent(id, 1 + random.nextInt(5)));
+                        ownGradeCounts.merge(id, 1, Integer::sum);
+                    } else {
+                        int id = own.remove(random.nextInt(own.size()));
+                        assertTrue(repository.removeStudent(id));
+                        assertFalse(repository.removeStudent(id));
+                        ownGradeCounts.remove(id);
+                    }
+                }
+            }));
+        }
+        Thread saver = new Thread(() -> {
+            await(start);
+            while (running.get()) {
+                repository.saveToDatabase();
+            }
+        });
+
+        for (Thread thread : workers) {
+            thread.setUncaughtExceptionHandler((failed, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            thread.start();
+        }
+        saver.setUncaughtExceptionHandler(workers.get(0).getUncaughtExceptionHandler());
+        saver.start();
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        running.set(false);
+        saver.join();
+        assertEquals(List.of(), failures);
+
+        List<Student> all = repository.getAllStudents();
+        assertEquals(SHARED_STUDENTS + ownGradeCounts.size(), all.size());
+        for (int i = 0; i < SHARED_STUDENTS; i++) {
+            Student shared = repository.findStudentById(sharedIds[i]);
+            assertEquals(sharedGradeCounts.get(i), shared.getGradeCount());
+            assertEquals(sharedGradeSums.get(i), shared.getGradeSum());
+        }
+        for (Map.Entry<Integer, Integer> own : ownGradeCounts.entrySet()) {
+            assertEquals(own.getValue(), repository.findStudentById(own.getKey()).getGradeCount());
+        }
+        assertStatisticsMatch(GradeStatistics.of(all), repository.getStatistics());
+
+        repository.saveToDatabase();
+        assertFalse(repository.hasUnsavedChanges());
+
+        ConcurrentStudentRepository reloaded = new ConcurrentStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        reloaded.loadFromDatabase();
+        assertEquals(describe(all), describe(reloaded.getAllStudents()));
+        assertStatisticsMatch(repository.getStatistics(), reloaded.getStatistics());
+    }
+
+    @Test
+    void idsAreUniqueUnderConcurrentAdds() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    repository.addCybersecurityStudent("Eva", "Svoboda", 2001);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int[] ids = repository.getAllStudents().stream().mapToInt(Student::getId).toArray();
+        assertEquals(THREADS * 500, ids.length);
+        assertEquals(THREADS * 500, Arrays.stream(ids).distinct().count());
+        assertEquals(THREADS * 500, repository.countStudentsByType(Student.class));
+    }
+
+    private static void assertStatisticsMatch(GradeStatistics expected, GradeStatistics actual) {
+        for (StudentType type : StudentType.values()) {
+            TypeStatistics expectedType = expected.get(type);
+            TypeStatistics actualType = actual.get(type);
+            assertEquals(expectedType.studentCount(), actualType.studentCount(), type.name());
+            assertEquals(expectedType.gradedStudentCount(), actualType.gradedStudentCount(), type.name());
+            assertEquals(expectedType.gradeCount(), actualType.gradeCount(), type.name());
+            assertEquals(expectedType.gradeSum(), actualType.gradeSum(), type.name());
+            assertEquals(expectedType.averageSum(), actualType.averageSum(), 1e-6, type.name());
+        }
+    }
+
+    private static Map<Integer, String> describe(List<Student> students) {
+        Map<Integer, String> described = new TreeMap<>();
+        for (Student student : students) {
+            described.put(student.getId(), StudentType.of(student) + " " + student.getLastName() + " " + Arrays.toString(student.getGrades()));
+        }
+        return described;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
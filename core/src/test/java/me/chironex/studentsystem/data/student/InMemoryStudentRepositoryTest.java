@@ -0,0 +1,275 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.SneakyThrows;
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStudentRepositoryTest {
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private Path snapshot;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+        snapshot = directory.resolve("students.snapshot");
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void loadsFromACurrentSnapshotFile() throws IOException {
+        InMemoryStudentRepository saved = repository();
+        int id = saved.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        saved.addGradeToStudent(id, 3);
+        saved.addCybersecurityStudent("Eva", "Dvorak", 2001);
+        saved.saveToDatabase();
+        saved.close();
+        assertTrue(StudentSnapshotFile.exists(snapshot));
+
+        // delete the rows without touching the generation, a load that still finds the students read the snapshot
+        database.getExecutor().performSimpleOperationsChain(
+                "DROP TRIGGER grades_delete_generation", "DROP TRIGGER students_delete_generation",
+                "DELETE FROM grades", "DELETE FROM students");
+        InMemoryStudentRepository loaded = repository();
+
+        assertEquals(List.of("Dvorak", "Novak"), loaded.getSortedStudentsByLastName().stream().map(Student::getLastName).toList());
+        assertArrayEquals(new int[]{3}, loaded.findStudentById(id).getGrades());
+    }
+
+    @Test
+    void writesOfOtherProgramsMakeTheSnapshotFileStale() {
+        InMemoryStudentRepository saved = repository();
+        saved.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        saved.saveToDatabase();
+        saved.close();
+
+        database.getExecutor().performSimpleOperationsChain(
+                "INSERT INTO students (id, first_name, last_name, birth_year, student_type) VALUES (2, 'Eva', 'Dvorak', 2001, 'telekom')");
+        InMemoryStudentRepository loaded = repository();
+
+        assertEquals(2, loaded.getAllStudents().size());
+    }
+
+    @Test
+    void addingAndRemovingBeforeASaveWritesNothing() {
+        RecordingDao dao = new RecordingDao();
+        InMemoryStudentRepository repository = loaded(dao);
+        long generation = dao.loadGeneration();
+
+        int id = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        repository.addGradeToStudent(id, 2);
+        repository.removeStudent(id);
+        repository.saveToDatabase();
+
+        assertTrue(dao.applied.stream().allMatch(List::isEmpty), "applied " + dao.applied);
+        assertEquals(generation, dao.loadGeneration());
+        assertEquals(0, count("SELECT COUNT(*) FROM students"));
+    }
+
+    @Test
+    void gradesOfAStudentAddedSinceTheLastSaveAreInsertedWithIt() {
+        RecordingDao dao = new RecordingDao();
+        InMemoryStudentRepository repository = loaded(dao);
+
+        int id = repository.addCybersecurityStudent("Eva", "Dvorak", 2001);
+        repository.addGradeToStudent(id, 4);
+        repository.addGradeToStudent(id, 5);
+        repository.saveToDatabase();
+
+        StudentMutation mutation = dao.applied.get(0).get(0);
+        assertEquals(StudentChangeType.ADDED, mutation.type());
+        assertArrayEquals(new int[]{4, 5}, mutation.record().grades());
+        assertArrayEquals(new int[]{4, 5}, dao.loadById(id).getGrades());
+    }
+
+    @Test
+    void removingASavedStudentDeletesItsGrades() {
+        RecordingDao dao = new RecordingDao();
+        InMemoryStudentRepository repository = loaded(dao);
+        int removed = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        int kept = repository.addTelecommunicationsStudent("Petr", "Cerny", 1999);
+        repository.addGradeToStudent(removed, 1);
+        repository.addGradeToStudent(kept, 3);
+        repository.saveToDatabase();
+
+        repository.removeStudent(removed);
+        repository.saveToDatabase();
+
+        assertEquals(List.of(StudentMutation.removed(removed)), dao.applied.get(1));
+        assertNull(dao.loadById(removed));
+        assertEquals(0, count("SELECT COUNT(*) FROM grades WHERE student_id = " + removed));
+        assertArrayEquals(new int[]{3}, dao.loadById(kept).getGrades());
+    }
+
+    @Test
+    void compactSaveRewritesTheWholeDatabase() {
+        RecordingDao dao = new RecordingDao();
+        InMemoryStudentRepository repository = loaded(dao);
+        int id = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        repository.addGradeToStudent(id, 2);
+        repository.saveToDatabase();
+        database.getExecutor().performSimpleOperationsChain(
+                "INSERT INTO students (id, first_name, last_name, birth_year, student_type) VALUES (99, 'Eva', 'Dvorak', 2001, 'telekom')",
+                "INSERT INTO grades (student_id, grade) VALUES (" + id + ", 5)");
+
+        repository.saveToDatabase(SaveMode.COMPACT);
+
+        assertEquals(1, dao.replacedCount);
+        assertEquals(1, count("SELECT COUNT(*) FROM students"));
+        assertArrayEquals(new int[]{2}, dao.loadById(id).getGrades());
+    }
+
+    @Test
+    void runningStatisticsMatchARecomputation() {
+        InMemoryStudentRepository repository = loaded(new StudentDao(database.getExecutor(), new StudentFactoryImpl()));
+        Random random = new Random(42);
+        List<Integer> ids = new ArrayList<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 3 || ids.isEmpty()) {
+                ids.add(random.nextBoolean()
+                        ? repository.addTelecommunicationsStudent("Jan", "Novak" + step, 2000)
+                        : repository.addCybersecurityStudent("Eva", "Dvorak" + step, 2001));
+            } else if (operation < 8) {
+                // includes invalid grades, which must not change the statistics
+                repository.addGradeToStudent(ids.get(random.nextInt(ids.size())), random.nextInt(7));
+            } else {
+                repository.removeStudent(ids.remove(random.nextInt(ids.size())));
+            }
+
+            if (step % 500 == 499) {
+                assertStatisticsMatch(repository);
+                // loading rebuilds the statistics from the database
+                repository.saveToDatabase();
+                repository.loadFromDatabase();
+            }
+            assertStatisticsMatch(repository);
+        }
+        assertTrue(repository.getAllStudents().stream().anyMatch(student -> student.getGradeCount() == 0));
+    }
+
+    @Test
+    void returnedListsDoNotChangeWithLaterMutations() {
+        InMemoryStudentRepository repository = loaded(new StudentDao(database.getExecutor(), new StudentFactoryImpl()));
+        int jan = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        int eva = repository.addCybersecurityStudent("Eva", "Dvorak", 2001);
+        repository.addGradeToStudent(jan, 1);
+
+        List<Student> byId = repository.getAllStudents();
+        List<Student> byName = repository.getSortedStudentsByLastName();
+        List<String> byIdBefore = describe(byId);
+        List<String> byNameBefore = describe(byName);
+
+        repository.addGradeToStudent(jan, 5);
+        repository.removeStudent(eva);
+        repository.addTelecommunicationsStudent("Petr", "Adamek", 1999);
+        repository.saveToDatabase();
+        repository.loadFromDatabase();
+
+        assertEquals(List.of("1 Novak [1]", "2 Dvorak []"), byIdBefore);
+        assertEquals(byIdBefore, describe(byId));
+        assertEquals(byNameBefore, describe(byName));
+        assertArrayEquals(new int[]{1}, byId.get(0).getGrades());
+        assertEquals(List.of("1 Novak [1, 5]", "3 Adamek []"), describe(repository.getAllStudents()));
+    }
+
+    private InMemoryStudentRepository repository() {
+        InMemoryStudentRepository repository = new InMemoryStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        repository.enableSnapshotFile(snapshot);
+        repository.loadFromDatabase();
+        return repository;
+    }
+
+    private static void assertStatisticsMatch(InMemoryStudentRepository repository) {
+        List<Student> students = repository.getAllStudents();
+        GradeStatistics recomputed = GradeStatistics.of(students);
+
+        for (Class<? extends Student> type : List.of(Student.class, TelecommunicationsStudent.class, CybersecurityStudent.class)) {
+            List<Student> ofType = students.stream().filter(type::isInstance).toList();
+            // the mean of the graded students' averages, students without grades do not count
+            double expectedAverage = ofType.stream()
+                    .filter(student -> student.getGradeCount() > 0)
+                    .mapToDouble(Student::getAverageGrade)
+                    .average()
+                    .orElse(0.0);
+
+            assertEquals(ofType.size(), repository.countStudentsByType(type));
+            assertEquals(recomputed.get(type).studentCount(), repository.countStudentsByType(type));
+            assertEquals(expectedAverage, repository.getAverageGradeByType(type), 1e-9);
+            assertEquals(recomputed.get(type).averageGrade(), repository.getAverageGradeByType(type), 1e-9);
+        }
+    }
+
+    private static List<String> describe(List<Student> students) {
+        List<String> described = new ArrayList<>();
+        for (Student student : students) {
+            described.add(student.getId() + " " + student.getLastName() + " " + Arrays.toString(student.getGrades()));
+        }
+        return described;
+    }
+
+    private InMemoryStudentRepository loaded(StudentDao dao) {
+        InMemoryStudentRepository repository = new InMemoryStudentRepository(dao);
+        repository.loadFromDatabase();
+        return repository;
+    }
+
+    private int count(String sql) {
+        int[] count = new int[1];
+        database.getExecutor().performOperation(statement -> count[0] = doCount(statement, sql));
+        return count[0];
+    }
+
+    @SneakyThrows
+    private static int doCount(Statement statement, String sql) {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Data access object remembering the writes of the repository.
+     */
+    private final class RecordingDao extends StudentDao {
+        private final List<List<StudentMutation>> applied = new ArrayList<>();
+        private int replacedCount;
+
+        RecordingDao() {
+            super(database.getExecutor(), new StudentFactoryImpl());
+        }
+
+        @Override
+        public long replaceAll(Collection<StudentRecord> records) {
+            replacedCount++;
+            return super.replaceAll(records);
+        }
+
+        @Override
+        public long applyChanges(Collection<StudentMutation> mutations) {
+            applied.add(List.copyOf(mutations));
+            return super.applyChanges(mutations);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameDictionaryTest {
+
+    @Test
+    void encodesRepeatedNamesOnce() {
+        NameDictionary dictionary = new NameDictionary();
+
+        int novak = dictionary.encode("Novak");
+        int dvorak = dictionary.encode("Dvorak");
+
+        assertEquals(novak, dictionary.encode(new String("Novak")));
+        assertNotEquals(novak, dictionary.encode("novak"));
+        assertEquals(3, dictionary.size());
+        assertEquals("Dvorak", dictionary.decode(dvorak));
+    }
+
+    @Test
+    void matchesPrefixesAndRanksByName() {
+        NameDictionary dictionary = new NameDictionary();
+        for (String name : new String[]{"Novak", "Dvorak", "Novotny", "novak", ""}) {
+            dictionary.encode(name);
+        }
+
+        assertArrayEquals(new boolean[]{true, false, true, false, false}, dictionary.matchPrefix("Nov"));
+        assertArrayEquals(new boolean[]{true, true, true, true, true}, dictionary.matchPrefix(""));
+        assertArrayEquals(new int[]{2, 1, 3, 4, 0}, dictionary.ranks());
+    }
+
+    @Test
+    void retainRecodesTheUsedNamesInOrder() {
+        NameDictionary dictionary = new NameDictionary();
+        for (String name : new String[]{"Novak", "Dvorak", "Novotny", "Svoboda"}) {
+            dictionary.encode(name);
+        }
+
+        int[] recoded = dictionary.retain(new boolean[]{false, true, false, true});
+
+        assertArrayEquals(new int[]{-1, 0, -1, 1}, recoded);
+        assertEquals(2, dictionary.size());
+        assertEquals("Svoboda", dictionary.decode(1));
+        assertEquals(1, dictionary.encode("Svoboda"));
+        assertEquals(2, dictionary.encode("Novak"));
+    }
+}
@@ -0,0 +1,62 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStudentRepositoryTest {
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void closeSavesUnsavedChanges() {
+        OffHeapStudentRepository repository = new OffHeapStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        repository.loadFromDatabase();
+        int id = repository.addCybersecurityStudent("Eva", "Novak", 2001);
+        repository.addGradeToStudent(id, 2);
+
+        repository.close();
+
+        List<Student> saved = new StudentDao(database.getExecutor(), new StudentFactoryImpl()).loadAll();
+        assertEquals(1, saved.size());
+        assertArrayEquals(new int[]{2}, saved.get(0).getGrades());
+    }
+
+    @Test
+    void failedSaveOnCloseKeepsTheStudents() {
+        StudentDao failing = new StudentDao(database.getExecutor(), new StudentFactoryImpl()) {
+            @Override
+            public long replaceAll(Collection<StudentRecord> records) {
+                throw new PersistenceException("Database is unavailable");
+            }
+        };
+        OffHeapStudentRepository repository = new OffHeapStudentRepository(failing, new StudentFactoryImpl());
+        int id = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+
+        assertThrows(PersistenceException.class, repository::close);
+
+        assertTrue(repository.hasUnsavedChanges());
+        assertEquals("Novak", repository.findStudentById(id).getLastName());
+    }
+}
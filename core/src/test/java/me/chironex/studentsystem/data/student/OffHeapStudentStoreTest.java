@@ -0,0 +1,99 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStudentStoreTest {
+    private static final StudentFactory FACTORY = new StudentFactoryImpl();
+
+    @Test
+    void storesStudentsWithTheirGrades() {
+        OffHeapStudentStore store = new OffHeapStudentStore();
+        store.append(StudentType.TELEKOM, new StudentData(1, "Jan", "Nov\u00e1k", 2000));
+        int row = store.append(StudentType.CYBERSECURITY, new StudentData(5, "Eva", "Dvo\u0159\u00e1k", 2001));
+        for (int grade : new int[]{1, 2, 3, 4, 5, 1, 2, 3, 4}) {
+            store.addGrade(row, grade);
+        }
+
+        Student student = store.toStudent(store.rowOf(5), FACTORY);
+
+        assertInstanceOf(CybersecurityStudent.class, student);
+        assertEquals("Dvo\u0159\u00e1k", student.getLastName());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 1, 2, 3, 4}, student.getGrades());
+        assertEquals(-1, store.rowOf(3));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.append(StudentType.TELEKOM, new StudentData(4, "Jan", "Novak", 2000)));
+    }
+
+    @Test
+    void removedNamesAndGradeBlocksAreReclaimed() {
+        OffHeapStudentStore store = new OffHeapStudentStore();
+        String longName = "N".repeat(200);
+        int id = 0;
+
+        // without reclaiming, every round would leave ~20 MB of names and grades behind
+        for (int round = 0; round < 10; round++) {
+            List<Integer> added = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                int row = store.append(StudentType.TELEKOM, new StudentData(++id, "Jan", longName + id, 2000));
+                for (int grade = 0; grade < 20; grade++) {
+                    store.addGrade(row, 1 + grade % 5);
+                }
+                added.add(id);
+            }
+            for (int removed : added) {
+                store.remove(store.rowOf(removed));
+            }
+        }
+
+        assertEquals(0, store.size());
+        assertTrue(store.offHeapBytes() < 32 << 20, "reserved " + store.offHeapBytes() + " bytes");
+    }
+
+    @Test
+    void reclaimingKeepsTheStoredStudentsIntact() {
+        Random random = new Random(42);
+        OffHeapStudentStore store = new OffHeapStudentStore();
+        TreeMap<Integer, Student> expected = new TreeMap<>();
+        int nextId = 1;
+
+        for (int step = 0; step < 200_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 3 || expected.isEmpty()) {
+                Student student = new TelecommunicationsStudent(nextId++, "First" + step, "Last".repeat(1 + step % 50), 2000);
+                store.append(student);
+                expected.put(student.getId(), student);
+            } else if (operation < 8) {
+                int studentId = pick(expected, random.nextInt(nextId));
+                int grade = 1 + random.nextInt(5);
+                store.addGrade(store.rowOf(studentId), grade);
+                expected.put(studentId, expected.get(studentId).withGrade(grade));
+            } else {
+                int studentId = pick(expected, random.nextInt(nextId));
+                store.remove(store.rowOf(studentId));
+                expected.remove(studentId);
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (Student student : expected.values()) {
+            Student stored = store.toStudent(store.rowOf(student.getId()), FACTORY);
+            assertEquals(student.getLastName(), stored.getLastName());
+            assertEquals(student.getFirstName(), stored.getFirstName());
+            assertArrayEquals(student.getGrades(), stored.getGrades());
+        }
+        assertEquals(expected.values().stream().mapToLong(Student::getGradeSum).sum(),
+                store.aggregate(OffHeapStudentStore.typeMaskOfAll()).gradeSum());
+    }
+
+    private static int pick(TreeMap<Integer, Student> students, int id) {
+        Integer picked = students.ceilingKey(id);
+        return picked != null ? picked : students.firstKey();
+    }
+}
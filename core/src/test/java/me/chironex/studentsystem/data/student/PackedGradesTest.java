@@ -0,0 +1,104 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedGradesTest {
+    @Test
+    void storesGradesAcrossWordBoundaries() {
+        Random random = new Random(42);
+        int[] expected = new int[100];
+        PackedGrades grades = new PackedGrades();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = 1 + random.nextInt(5);
+            grades.add(expected[i]);
+        }
+
+        assertArrayEquals(expected, grades.toArray());
+        assertArrayEquals(expected, grades.stream().toArray());
+        // grades 20 and 21 are the last of the first word and the first of the second
+        assertEquals(expected[20], grades.get(20));
+        assertEquals(expected[21], grades.get(21));
+        assertEquals(100, grades.count());
+        assertEquals(Arrays.stream(expected).sum(), grades.sum());
+    }
+
+    @Test
+    void averageUsesTheRunningSum() {
+        PackedGrades grades = new PackedGrades();
+        assertEquals(0.0, grades.average());
+        assertTrue(grades.isEmpty());
+
+        grades.add(1);
+        grades.add(2);
+        grades.add(5);
+
+        assertEquals(8.0 / 3, grades.average(), 1e-9);
+    }
+
+    @Test
+    void rejectsGradesOutsideTheRange() {
+        PackedGrades grades = new PackedGrades();
+
+        assertThrows(IllegalArgumentException.class, () -> grades.add(0));
+        assertThrows(IllegalArgumentException.class, () -> grades.add(6));
+        assertEquals(0, grades.count());
+        assertThrows(IndexOutOfBoundsException.class, () -> grades.get(0));
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        PackedGrades grades = new PackedGrades();
+        for (int i = 0; i < 21; i++) {
+            grades.add(3);
+        }
+
+        PackedGrades copy = grades.copy();
+        copy.add(5);
+        grades.add(1);
+
+        assertEquals(22, copy.count());
+        assertEquals(5, copy.get(21));
+        assertEquals(1, grades.get(21));
+        assertEquals(64, grades.sum());
+        assertEquals(68, copy.sum());
+    }
+
+    @Test
+    void studentsSurviveSerialization() throws IOException, ClassNotFoundException {
+        Student student = new CybersecurityStudent(7, "Eva", "Novak", 2001);
+        for (int grade : new int[]{1, 5, 3, 2, 4}) {
+            student.addGrade(grade);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(student);
+        }
+        Student copy;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Student) input.readObject();
+        }
+
+        assertInstanceOf(CybersecurityStudent.class, copy);
+        assertEquals("Eva", copy.getFirstName());
+        assertArrayEquals(new int[]{1, 5, 3, 2, 4}, copy.getGrades());
+        assertEquals(3.0, copy.getAverageGrade());
+    }
+
+    @Test
+    void serialVersionChangedWithThePackedGrades() {
+        // version 1 serialized the grades as a List<Integer> and cannot be read into PackedGrades
+        assertEquals(2L, ObjectStreamClass.lookup(Student.class).getSerialVersionUID());
+    }
+}
@@ -0,0 +1,208 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedStudentRepositoryTest {
+    private static final PagingSettings SMALL_PAGES = new PagingSettings(4, 2);
+
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private CountingDao dao;
+    private PagedStudentRepository repository;
+
+    @BeforeEach
+    void openRepository() {
+        database = TestDatabase.create(directory);
+        dao = new CountingDao(database);
+        repository = new PagedStudentRepository(dao, SMALL_PAGES);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void pagesFollowTheIdAndNameOrderAcrossEqualNames() {
+        String[] lastNames = {"Novak", "Dvorak", "Svoboda"};
+        String[] firstNames = {"Jan", "Eva"};
+        List<Student> added = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            int id = i % 4 == 0
+                    ? repository.addCybersecurityStudent(firstNames[i % 2], lastNames[i % 3], 2000 + i)
+                    : repository.addTelecommunicationsStudent(firstNames[i % 2], lastNames[i % 3], 2000 + i);
+            repository.addGradeToStudent(id, 1 + i % 5);
+            added.add(repository.findStudentById(id));
+        }
+
+        // pages of four split the runs of equal names, so the keyset has to continue by ID within a name
+        List<Student> sorted = new ArrayList<>(added);
+        sorted.sort(StudentNameIndex.ORDER);
+        assertEquals(describe(added), describe(repository.getAllStudents()));
+        assertEquals(describe(sorted), describe(repository.getSortedStudentsByLastName()));
+    }
+
+    @Test
+    void jumpingToAPageFindsTheKeyOfItsPredecessor() {
+        addStudents(30);
+        List<Student> students = repository.getAllStudents();
+
+        assertEquals(18, students.get(17).getId());
+        assertEquals(List.of(15), dao.keyOffsets);
+
+        // the following page continues from the end key of the page read before
+        assertEquals(21, students.get(20).getId());
+        assertEquals(List.of(15), dao.keyOffsets);
+        assertEquals(Arrays.asList(null, 4, 8), pageStartsAfter(repository.getAllStudents(), 0, 4, 8, dao));
+        assertEquals(List.of(15), dao.keyOffsets);
+    }
+
+    @Test
+    void typeFilteredPagesOnlyHoldThatType() {
+        for (int i = 1; i <= 20; i++) {
+            int id = i % 3 == 0
+                    ? repository.addCybersecurityStudent("Eva", "Dvorak", 2001)
+                    : repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+            repository.addGradeToStudent(id, i % 3 == 0 ? 1 : 4);
+        }
+
+        List<Student> cyber = repository.getStudentsByType(CybersecurityStudent.class);
+
+        assertEquals(List.of(3, 6, 9, 12, 15, 18), cyber.stream().map(Student::getId).toList());
+        assertTrue(cyber.stream().allMatch(CybersecurityStudent.class::isInstance));
+        assertEquals(14, repository.getStudentsByType(TelecommunicationsStudent.class).size());
+        assertEquals(20, repository.getStudentsByType(Student.class).size());
+        assertEquals(6, repository.countStudentsByType(CybersecurityStudent.class));
+        assertEquals(1.0, repository.getAverageGradeByType(CybersecurityStudent.class));
+        assertEquals(4.0, repository.getAverageGradeByType(TelecommunicationsStudent.class));
+    }
+
+    @Test
+    void onlyTheMostRecentlyUsedPagesStayResident() {
+        addStudents(12);
+        List<Student> students = repository.getAllStudents();
+
+        Student first = students.get(0);
+        students.get(4);
+        assertSame(first, students.get(0));
+        students.get(8);
+        assertEquals(3, dao.loadedPages);
+
+        // page 1 was least recently used and was dropped, page 0 stayed
+        assertSame(first, students.get(0));
+        assertEquals(3, dao.loadedPages);
+        students.get(5);
+        assertEquals(4, dao.loadedPages);
+
+        // reading page 1 again dropped page 2, page 0 was used more recently
+        assertSame(first, students.get(0));
+        students.get(8);
+        assertEquals(5, dao.loadedPages);
+    }
+
+    @Test
+    void mutationsAreWrittenThrough() {
+        int jan = repository.addTelecommunicationsStudent("Jan", "Novak", 2000);
+        int eva = repository.addCybersecurityStudent("Eva", "Dvorak", 2001);
+
+        assertTrue(repository.addGradeToStudent(jan, 2));
+        assertTrue(repository.addGradeToStudent(jan, 9));
+        assertFalse(repository.addGradeToStudent(99, 2));
+        assertFalse(repository.addGradeToStudent(99, 9));
+        assertTrue(repository.removeStudent(eva));
+        assertFalse(repository.removeStudent(eva));
+        assertFalse(repository.hasUnsavedChanges());
+
+        assertEquals(List.of("1 TELEKOM Jan Novak 2000 [2]"), describe(new StudentDao(database.getExecutor(), new StudentFactoryImpl()).loadAll()));
+
+        // a student added by another repository is seen after a reload, so IDs are not handed out twice
+        new PagedStudentRepository(database.getExecutor(), new StudentFactoryImpl()).addTelecommunicationsStudent("Petr", "Svoboda", 2002);
+        repository.loadFromDatabase();
+        assertEquals(3, repository.addCybersecurityStudent("Ema", "Novotna", 2003));
+        assertEquals(List.of(1, 2, 3), repository.getAllStudents().stream().map(Student::getId).toList());
+    }
+
+    @Test
+    void removedStudentsFailPagingInsteadOfShiftingIt() {
+        addStudents(10);
+        List<Student> walked = repository.getAllStudents();
+        List<Student> jumpedShort = repository.getAllStudents();
+        List<Student> jumpedMissing = repository.getAllStudents();
+        for (int i = 0; i < 8; i++) {
+            walked.get(i);
+        }
+
+        repository.removeStudent(9);
+        repository.removeStudent(10);
+
+        // the next page after a known key is empty
+        assertThrows(ConcurrentModificationException.class, () -> walked.get(8));
+        // the jump finds the key of student 8, but the page after it is empty
+        assertThrows(ConcurrentModificationException.class, () -> jumpedShort.get(9));
+        repository.removeStudent(8);
+        // the jump finds no student at the offset
+        assertThrows(ConcurrentModificationException.class, () -> jumpedMissing.get(9));
+        assertEquals(10, jumpedMissing.size());
+    }
+
+    private void addStudents(int count) {
+        for (int i = 1; i <= count; i++) {
+            repository.addTelecommunicationsStudent("Jan", "Novak" + i, 2000);
+        }
+    }
+
+    private static List<Integer> pageStartsAfter(List<Student> students, int index1, int index2, int index3, CountingDao dao) {
+        dao.pagesAfter.clear();
+        students.get(index1);
+        students.get(index2);
+        students.get(index3);
+        return new ArrayList<>(dao.pagesAfter);
+    }
+
+    private static List<String> describe(List<Student> students) {
+        return students.stream()
+                .map(student -> student.getId() + " " + StudentType.of(student) + " " + student.getFirstName() + " "
+                        + student.getLastName() + " " + student.getBirthYear() + " " + Arrays.toString(student.getGrades()))
+                .toList();
+    }
+
+    /**
+     * Data access object recording the page reads of the paged lists.
+     */
+    private static final class CountingDao extends StudentDao {
+        private final List<Integer> keyOffsets = new ArrayList<>();
+        private final List<Integer> pagesAfter = new ArrayList<>();
+        private int loadedPages;
+
+        CountingDao(TestDatabase database) {
+            super(database.getExecutor(), new StudentFactoryImpl());
+        }
+
+        @Override
+        List<Student> loadPage(StudentPageQuery query, StudentPageQuery.PageKey after, int limit) {
+            loadedPages++;
+            pagesAfter.add(after == null ? null : after.id());
+            return super.loadPage(query, after, limit);
+        }
+
+        @Override
+        StudentPageQuery.PageKey findKeyAt(StudentPageQuery query, int offset) {
+            keyOffsets.add(offset);
+            return super.findKeyAt(query, offset);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillCacheTest {
+
+    @Test
+    void servesRepeatedRequestsFromTheCache() {
+        SkillCache cache = new SkillCache(100);
+        Student student = telekom(1, "Jan");
+
+        String first = cache.get(student);
+        String second = cache.get(student);
+
+        assertEquals(student.computeSkill(), first);
+        assertSame(first, second);
+        assertEquals(new SkillCacheStatistics(1, 1, 1, 0), cache.getStatistics());
+    }
+
+    @Test
+    void keysResultsByTypeAndName() {
+        SkillCache cache = new SkillCache(100);
+        cache.get(telekom(1, "Jan"));
+
+        // same ID with a new name, or another type with the same name, must not see the cached result
+        assertEquals(telekom(1, "Eva").computeSkill(), cache.get(telekom(1, "Eva")));
+        assertEquals(new CybersecurityStudent(2, "Jan", "Novak", 2000).computeSkill(),
+                cache.get(new CybersecurityStudent(2, "Jan", "Novak", 2000)));
+        // another student with the same type and name shares the result
+        cache.get(telekom(3, "Jan"));
+
+        assertEquals(new SkillCacheStatistics(3, 1, 3, 0), cache.getStatistics());
+    }
+
+    @Test
+    void staysWithinItsMaximumSize() {
+        SkillCache cache = new SkillCache(100);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.get(telekom(i, "Name" + i));
+        }
+
+        SkillCacheStatistics statistics = cache.getStatistics();
+        assertEquals(100, statistics.size());
+        assertEquals(900, statistics.evictions());
+    }
+
+    @Test
+    void staysWithinItsMaximumSizeAcrossShards() {
+        SkillCache cache = new SkillCache(5_000);
+
+        for (int i = 0; i < 20_000; i++) {
+            Student student = telekom(i, "Name" + i);
+            cache.get(student);
+            if (i % 3 == 0) {
+                cache.get(student);
+            }
+        }
+
+        SkillCacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.size() <= 5_000, "size " + statistics.size());
+        assertEquals(20_000 - statistics.size(), statistics.evictions());
+    }
+
+    @Test
+    void scanDoesNotEvictRepeatedlyRequestedResults() {
+        SkillCache cache = new SkillCache(100);
+        List<Student> shown = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Student student = telekom(i, "Shown" + i);
+            shown.add(student);
+            cache.get(student);
+            cache.get(student);
+        }
+
+        // e.g. an export touching every student once
+        for (int i = 0; i < 1_000; i++) {
+            cache.get(telekom(1_000 + i, "Exported" + i));
+        }
+        SkillCacheStatistics afterScan = cache.getStatistics();
+        for (Student student : shown) {
+            cache.get(student);
+        }
+
+        SkillCacheStatistics statistics = cache.getStatistics();
+        assertEquals(afterScan.hits() + shown.size(), statistics.hits());
+        assertEquals(afterScan.misses(), statistics.misses());
+    }
+
+    @Test
+    void clearDropsTheResultsButKeepsTheCounters() {
+        SkillCache cache = new SkillCache(100);
+        Student student = telekom(1, "Jan");
+        cache.get(student);
+        cache.get(student);
+
+        cache.clear();
+        cache.get(student);
+
+        assertEquals(new SkillCacheStatistics(1, 1, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    void rejectsANonPositiveMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SkillCache(0));
+    }
+
+    private static Student telekom(int id, String firstName) {
+        return new TelecommunicationsStudent(id, firstName, "Novak", 2000);
+    }
+}
@@ -0,0 +1,153 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentChangeLogTest {
+    private static final ChangeLogSettings NO_COMPACTION = new ChangeLogSettings(Long.MAX_VALUE, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysTheMutationsAfterReopening() {
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            log.appendAdded(StudentType.TELEKOM, new StudentData(1, "Jan", "Novak", 2000));
+            log.appendAdded(StudentType.CYBERSECURITY, new StudentData(2, "Eva", "Dvorak", 2001));
+            log.appendGradeAdded(1, 3);
+            log.appendGradeAdded(1, 5);
+            log.appendAdded(StudentType.TELEKOM, new StudentData(3, "Petr", "Cerny", 1999));
+            log.appendRemoved(2);
+        }
+
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            assertEquals(List.of("1 Jan Novak [3, 5]", "3 Petr Cerny []"), describe(log.replay()));
+        }
+    }
+
+    @Test
+    void discardsATornFrameAtTheEndOfTheActiveFile() throws IOException {
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            log.appendAdded(StudentType.TELEKOM, new StudentData(1, "Jan", "Novak", 2000));
+        }
+        Path active = directory.resolve("changes-0000000000.log");
+        long validLength = Files.size(active);
+        // a frame header announcing more bytes than were written before the crash
+        Files.write(active, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            assertEquals(validLength, Files.size(active));
+            assertEquals(List.of("1 Jan Novak []"), describe(log.replay()));
+
+            log.appendGradeAdded(1, 2);
+        }
+
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            assertEquals(List.of("1 Jan Novak [2]"), describe(log.replay()));
+        }
+    }
+
+    @Test
+    void corruptFrameInASealedFileFailsTheOpen() throws IOException {
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            log.appendAdded(StudentType.TELEKOM, new StudentData(1, "Jan", "Novak", 2000));
+            log.appendGradeAdded(1, 4);
+        }
+        Path sealed = directory.resolve("changes-0000000000.log");
+        byte[] content = Files.readAllBytes(sealed);
+        content[content.length - 1] ^= 1;
+        Files.write(sealed, content);
+        // a newer file seals the corrupt one, like a crash between rotating and compacting does
+        Files.createFile(directory.resolve("changes-0000000001.log"));
+
+        assertThrows(PersistenceException.class, () -> open(NO_COMPACTION));
+    }
+
+    @Test
+    void tornFrameInASealedFileFailsTheOpen() throws IOException {
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            log.appendAdded(StudentType.TELEKOM, new StudentData(1, "Jan", "Novak", 2000));
+        }
+        Path sealed = directory.resolve("changes-0000000000.log");
+        Files.write(sealed, new byte[]{0, 0}, StandardOpenOption.APPEND);
+        Files.createFile(directory.resolve("changes-0000000001.log"));
+
+        assertThrows(PersistenceException.class, () -> open(NO_COMPACTION));
+    }
+
+    @Test
+    void checkpointReplacesTheSealedFiles() throws IOException {
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            log.appendAdded(StudentType.TELEKOM, new StudentData(1, "Jan", "Novak", 2000));
+            log.appendGradeAdded(1, 1);
+            log.checkpoint();
+
+            assertEquals(List.of("changes-0000000001.log", "checkpoint.snapshot.1"), fileNames());
+
+            log.appendAdded(StudentType.CYBERSECURITY, new StudentData(2, "Eva", "Dvorak", 2001));
+            log.appendGradeAdded(1, 2);
+        }
+
+        try (StudentChangeLog log = open(NO_COMPACTION)) {
+            assertEquals(List.of("1 Jan Novak [1, 2]", "2 Eva Dvorak []"), describe(log.replay()));
+        }
+    }
+
+    @Test
+    void compactsInTheBackgroundOnceTheActiveFileIsFull() throws IOException {
+        ChangeLogSettings settings = new ChangeLogSettings(64, 0);
+        try (StudentChangeLog log = open(settings)) {
+            for (int id = 1; id <= 20; id++) {
+                log.appendAdded(StudentType.TELEKOM, new StudentData(id, "Jan", "Novak", 2000));
+                log.appendGradeAdded(id, id % 5 + 1);
+                log.flush();
+            }
+            log.appendRemoved(7);
+        }
+
+        assertTrue(fileNames().stream().anyMatch(name -> name.startsWith("checkpoint.snapshot.")));
+        try (StudentChangeLog log = open(settings)) {
+            List<Student> students = log.replay();
+            assertEquals(19, students.size());
+            assertTrue(students.stream().noneMatch(student -> student.getId() == 7));
+            assertEquals(20, students.get(18).getId());
+            assertArrayEquals(new int[]{1}, students.get(18).getGrades());
+        }
+    }
+
+    @Test
+    void rejectsAppendsAfterClose() {
+        StudentChangeLog log = open(NO_COMPACTION);
+        log.close();
+
+        assertThrows(PersistenceException.class, () -> log.appendRemoved(1));
+    }
+
+    private StudentChangeLog open(ChangeLogSettings settings) {
+        return new StudentChangeLog(directory, new StudentFactoryImpl(), settings);
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static List<String> describe(List<Student> students) {
+        return students.stream()
+                .map(student -> student.getId() + " " + student.getFirstName() + " " + student.getLastName() + " "
+                        + Arrays.toString(student.getGrades()))
+                .toList();
+    }
+}
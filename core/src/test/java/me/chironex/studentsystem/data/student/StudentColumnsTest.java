@@ -0,0 +1,158 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentColumnsTest {
+    private static final StudentFactory FACTORY = new StudentFactoryImpl();
+
+    @Test
+    void compactionKeepsTheRemainingRowsFindable() {
+        StudentColumns columns = new StudentColumns();
+        for (int id = 2; id <= 20; id += 2) {
+            int row = columns.append(id % 4 == 0 ? StudentType.CYBERSECURITY : StudentType.TELEKOM,
+                    new StudentData(id, "First" + id, "Last" + id, 2000 + id));
+            columns.addGrade(row, 1 + id % 5);
+        }
+
+        // the sixth removal of ten rows compacts the columns
+        for (int id : new int[]{2, 6, 8, 12, 14, 18}) {
+            columns.remove(columns.rowOf(id));
+        }
+
+        assertEquals(4, columns.size());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, columns.rows());
+        for (int id : new int[]{4, 10, 16, 20}) {
+            int row = columns.rowOf(id);
+            assertEquals(id, columns.id(row));
+            Student student = columns.toStudent(row, FACTORY);
+            assertEquals("Last" + id, student.getLastName());
+            assertEquals(2000 + id, student.getBirthYear());
+            assertArrayEquals(new int[]{1 + id % 5}, student.getGrades());
+        }
+        for (int id : new int[]{2, 6, 8, 12, 14, 18, 3}) {
+            assertEquals(-1, columns.rowOf(id));
+        }
+        assertEquals(20, columns.lastId());
+        assertThrows(IllegalArgumentException.class,
+                () -> columns.append(StudentType.TELEKOM, new StudentData(20, "Jan", "Novak", 2000)));
+    }
+
+    @Test
+    void compactionDropsTheNamesOfRemovedRows() {
+        StudentColumns columns = new StudentColumns();
+        for (int id = 1; id <= 20; id++) {
+            columns.append(StudentType.TELEKOM, new StudentData(id, id < 10 ? "Jan" : "Petr" + id, "Novak" + id, 2000));
+        }
+        assertEquals(32, columns.nameCount());
+
+        // the eleventh removal of twenty rows compacts the columns
+        for (int id = 10; id <= 20; id++) {
+            columns.remove(columns.rowOf(id));
+        }
+
+        // "Jan" and the nine remaining last names
+        assertEquals(10, columns.nameCount());
+        assertEquals(List.of("Jan Novak1"), describe(columns, columns.rowsByLastNamePrefix("Novak1")));
+        assertEquals(9, columns.rowsByLastNamePrefix("Novak").length);
+        int row = columns.append(StudentType.CYBERSECURITY, new StudentData(21, "Petr15", "Novak1", 2001));
+        assertEquals(List.of("Petr15 Novak1"), describe(columns, new int[]{row}));
+        assertEquals(11, columns.nameCount());
+        assertEquals(List.of("Jan Novak1", "Petr15 Novak1", "Jan Novak2"), describe(columns, Arrays.copyOf(columns.rowsSortedByName(), 3)));
+    }
+
+    @Test
+    void aggregatesMatchAPerStudentRecomputation() {
+        Random random = new Random(42);
+        StudentColumns columns = new StudentColumns();
+        TreeMap<Integer, Student> expected = new TreeMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 4 || expected.isEmpty()) {
+                StudentType type = random.nextBoolean() ? StudentType.TELEKOM : StudentType.CYBERSECURITY;
+                StudentData data = new StudentData(columns.lastId() + 1, "Jan", "Novak", 2000);
+                columns.append(type, data);
+                expected.put(data.id(), FACTORY.createStudent(type, data));
+            } else if (action < 8) {
+                int id = expected.ceilingKey(random.nextInt(expected.lastKey()) + 1);
+                int grade = 1 + random.nextInt(5);
+                columns.addGrade(columns.rowOf(id), grade);
+                expected.get(id).addGrade(grade);
+            } else {
+                int id = expected.ceilingKey(random.nextInt(expected.lastKey()) + 1);
+                columns.remove(columns.rowOf(id));
+                expected.remove(id);
+            }
+
+            if (step % 500 == 0 || step == 4_999) {
+                for (Class<? extends Student> type : List.of(Student.class, TelecommunicationsStudent.class, CybersecurityStudent.class)) {
+                    assertStatisticsMatch(expected.values(), type, columns.aggregate(StudentColumns.typeMask(type)));
+                    assertEquals(expected.values().stream().filter(type::isInstance).count(), columns.count(StudentColumns.typeMask(type)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void rowsSortedByNameOrderEqualNamesById() {
+        StudentColumns columns = new StudentColumns();
+        String[][] names = {{"Jan", "Novak"}, {"Eva", "Dvorak"}, {"Jan", "Novak"}, {"Adam", "Novak"},
+                {"Jan", "Dvorak"}, {"Eva", "Dvorak"}, {"Jan", "Novak"}};
+        for (int i = 0; i < names.length; i++) {
+            columns.append(StudentType.TELEKOM, new StudentData(i + 1, names[i][0], names[i][1], 2000));
+        }
+        columns.remove(columns.rowOf(3));
+
+        int[] sorted = columns.rowsSortedByName();
+
+        assertEquals(List.of("2 Eva Dvorak", "6 Eva Dvorak", "5 Jan Dvorak", "4 Adam Novak", "1 Jan Novak", "7 Jan Novak"),
+                Arrays.stream(sorted).mapToObj(row -> columns.id(row) + " " + describe(columns, new int[]{row}).get(0)).toList());
+    }
+
+    @Test
+    void lastNamePrefixesAreMatchedThroughTheDictionary() {
+        StudentColumns columns = new StudentColumns();
+        columns.append(StudentType.TELEKOM, new StudentData(1, "Jan", "Novak", 2000));
+        columns.append(StudentType.TELEKOM, new StudentData(2, "Novak", "Dvorak", 2000));
+        columns.append(StudentType.CYBERSECURITY, new StudentData(3, "Eva", "Novotny", 2001));
+        columns.append(StudentType.CYBERSECURITY, new StudentData(4, "Petr", "novak", 2002));
+        columns.append(StudentType.TELEKOM, new StudentData(5, "Adam", "Novak", 2003));
+        columns.remove(columns.rowOf(5));
+
+        assertEquals(List.of("Jan Novak", "Eva Novotny"), describe(columns, columns.rowsByLastNamePrefix("Nov")));
+        assertEquals(List.of("Jan Novak"), describe(columns, columns.rowsByLastNamePrefix("Novak")));
+        assertEquals(List.of(), describe(columns, columns.rowsByLastNamePrefix("Novakova")));
+        assertEquals(4, columns.rowsByLastNamePrefix("").length);
+    }
+
+    private static void assertStatisticsMatch(Iterable<Student> students, Class<? extends Student> type, TypeStatistics actual) {
+        TypeStatistics expected = TypeStatistics.EMPTY;
+        for (Student student : students) {
+            if (type.isInstance(student)) {
+                expected = expected.plus(TypeStatistics.ofStudent(student.getGrades().length, Arrays.stream(student.getGrades()).sum()));
+            }
+        }
+        assertEquals(expected.studentCount(), actual.studentCount());
+        assertEquals(expected.gradedStudentCount(), actual.gradedStudentCount());
+        assertEquals(expected.gradeCount(), actual.gradeCount());
+        assertEquals(expected.gradeSum(), actual.gradeSum());
+        assertEquals(expected.averageSum(), actual.averageSum(), 1e-9);
+    }
+
+    private static List<String> describe(StudentColumns columns, int[] rows) {
+        List<String> names = new ArrayList<>();
+        for (int row : rows) {
+            Student student = columns.toStudent(row, FACTORY);
+            names.add(student.getFirstName() + " " + student.getLastName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,204 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.SneakyThrows;
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDaoTest {
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private StudentDao dao;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+        dao = new StudentDao(database.getExecutor(), new StudentFactoryImpl());
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void loadAllMergesGradesIntoTheirStudents() {
+        dao.replaceAll(List.of(
+                record(StudentType.TELEKOM, 1, "Jan", "Novak", 4, 5, 1),
+                record(StudentType.CYBERSECURITY, 2, "Eva", "Svoboda"),
+                record(StudentType.CYBERSECURITY, 7, "Petr", "Dvorak", 2),
+                record(StudentType.TELEKOM, 9, "Jana", "Cerna", 3, 3)));
+
+        List<Student> loaded = dao.loadAll();
+
+        assertEquals(List.of(1, 2, 7, 9), loaded.stream().map(Student::getId).toList());
+        assertArrayEquals(new int[]{4, 5, 1}, loaded.get(0).getGrades());
+        assertArrayEquals(new int[0], loaded.get(1).getGrades());
+        assertArrayEquals(new int[]{2}, loaded.get(2).getGrades());
+        assertArrayEquals(new int[]{3, 3}, loaded.get(3).getGrades());
+        assertInstanceOf(TelecommunicationsStudent.class, loaded.get(0));
+        assertInstanceOf(CybersecurityStudent.class, loaded.get(1));
+        assertEquals("Svoboda", loaded.get(1).getLastName());
+    }
+
+    @Test
+    void loadAllSkipsGradesOfMissingStudents() {
+        dao.replaceAll(List.of(record(StudentType.TELEKOM, 2, "Jan", "Novak", 1)));
+        database.getExecutor().performSimpleOperationsChain(
+                "INSERT INTO grades (student_id, grade) VALUES (1, 5)",
+                "INSERT INTO grades (student_id, grade) VALUES (3, 4)");
+
+        List<Student> loaded = dao.loadAll();
+
+        assertEquals(1, loaded.size());
+        assertArrayEquals(new int[]{1}, loaded.get(0).getGrades());
+    }
+
+    @Test
+    void forEachStudentStreamsTheSameStudentsAsLoadAll() {
+        List<StudentRecord> records = new ArrayList<>();
+        for (int id = 1; id <= 50; id++) {
+            records.add(record(id % 2 == 0 ? StudentType.TELEKOM : StudentType.CYBERSECURITY, id, "First" + id, "Last" + id,
+                    1 + id % 5, 1 + id % 3));
+        }
+        dao.replaceAll(records);
+
+        List<StudentRecord> streamed = new ArrayList<>();
+        dao.forEachStudent(student -> streamed.add(StudentRecord.of(student)));
+
+        assertEquals(dao.loadAll().stream().map(StudentRecord::of).map(StudentDaoTest::describe).toList(),
+                streamed.stream().map(StudentDaoTest::describe).toList());
+    }
+
+    @Test
+    void applyChangesRewritesOnlyTheChangedStudents() {
+        dao.replaceAll(List.of(
+                record(StudentType.TELEKOM, 1, "Jan", "Novak", 1),
+                record(StudentType.CYBERSECURITY, 2, "Eva", "Svoboda", 2)));
+
+        dao.applyChanges(List.of(
+                StudentMutation.updated(record(StudentType.TELEKOM, 1, "Jan", "Novak", 1, 5)),
+                StudentMutation.removed(2),
+                StudentMutation.added(record(StudentType.CYBERSECURITY, 3, "Petr", "Dvorak"))));
+
+        List<Student> loaded = dao.loadAll();
+        assertEquals(List.of(1, 3), loaded.stream().map(Student::getId).toList());
+        assertArrayEquals(new int[]{1, 5}, loaded.get(0).getGrades());
+    }
+
+    @Test
+    void writesOfOtherProgramsIncrementTheGeneration() {
+        dao.replaceAll(List.of(record(StudentType.TELEKOM, 1, "Jan", "Novak", 1)));
+        long generation = dao.loadGeneration();
+
+        for (String sql : List.of(
+                "INSERT INTO students (id, first_name, last_name, birth_year, student_type) VALUES (2, 'Eva', 'Svoboda', 2001, 'telekom')",
+                "UPDATE students SET last_name = 'Novotny' WHERE id = 1",
+                "INSERT INTO grades (student_id, grade) VALUES (1, 4)",
+                "UPDATE grades SET grade = 5 WHERE student_id = 1",
+                "DELETE FROM grades WHERE student_id = 1",
+                "DELETE FROM students WHERE id = 2")) {
+            database.getExecutor().performSimpleOperationsChain(sql);
+
+            long changed = dao.loadGeneration();
+            assertTrue(changed > generation, sql);
+            generation = changed;
+        }
+    }
+
+    @Test
+    void writesReturnTheGenerationTheyReached() {
+        long replaced = dao.replaceAll(List.of(
+                record(StudentType.TELEKOM, 1, "Jan", "Novak", 1, 2, 3),
+                record(StudentType.CYBERSECURITY, 2, "Eva", "Svoboda", 4)));
+        assertEquals(replaced, dao.loadGeneration());
+
+        long changed = dao.applyChanges(List.of(StudentMutation.updated(record(StudentType.TELEKOM, 1, "Jan", "Novak", 5))));
+        assertTrue(changed > replaced);
+        assertEquals(changed, dao.loadGeneration());
+
+        assertTrue(dao.appendGrade(2, 1));
+        assertTrue(dao.loadGeneration() > changed);
+        long appended = dao.loadGeneration();
+        assertFalse(dao.deleteById(99));
+        assertEquals(appended, dao.loadGeneration());
+    }
+
+    @Test
+    void replaceAllIncrementsTheGenerationOnceAndRestoresTheTriggers() {
+        long before = dao.loadGeneration();
+        List<StudentRecord> records = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            records.add(record(StudentType.TELEKOM, id, "Jan", "Novak", 1, 2, 3));
+        }
+
+        assertEquals(before + 1, dao.replaceAll(records));
+        assertEquals(6, triggerCount());
+
+        database.getExecutor().performSimpleOperationsChain("DELETE FROM grades WHERE student_id = 1");
+        assertEquals(before + 4, dao.loadGeneration());
+    }
+
+    @Test
+    void largeChangeSetsIncrementTheGenerationOnceAndRestoreTheTriggers() {
+        dao.replaceAll(List.of(record(StudentType.TELEKOM, 1, "Jan", "Novak", 1)));
+        long before = dao.loadGeneration();
+        List<StudentMutation> mutations = new ArrayList<>();
+        mutations.add(StudentMutation.removed(1));
+        for (int id = 2; id <= StudentDao.TRIGGER_SUSPENSION_THRESHOLD; id++) {
+            mutations.add(StudentMutation.added(record(StudentType.CYBERSECURITY, id, "Eva", "Dvorak", 2, 3)));
+        }
+
+        assertEquals(before + 1, dao.applyChanges(mutations));
+        assertEquals(6, triggerCount());
+        assertNull(dao.loadById(1));
+        assertEquals(StudentDao.TRIGGER_SUSPENSION_THRESHOLD - 1, dao.loadAll().size());
+
+        database.getExecutor().performSimpleOperationsChain("DELETE FROM grades WHERE student_id = 2");
+        assertEquals(before + 3, dao.loadGeneration());
+    }
+
+    @Test
+    void smallChangeSetsKeepTheRowTriggers() {
+        long before = dao.loadGeneration();
+
+        long generation = dao.applyChanges(List.of(StudentMutation.added(record(StudentType.TELEKOM, 1, "Jan", "Novak", 1, 2))));
+
+        // one student row and two grade rows
+        assertEquals(before + 3, generation);
+        assertEquals(6, triggerCount());
+    }
+
+    private int triggerCount() {
+        int[] count = new int[1];
+        database.getExecutor().performOperation(statement -> count[0] = doCountTriggers(statement));
+        return count[0];
+    }
+
+    @SneakyThrows
+    private static int doCountTriggers(Statement statement) {
+        try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger'")) {
+            return rs.getInt(1);
+        }
+    }
+
+    static StudentRecord record(StudentType type, int id, String firstName, String lastName, int... grades) {
+        return new StudentRecord(type, new StudentData(id, firstName, lastName, 2000), grades);
+    }
+
+    static String describe(StudentRecord record) {
+        return record.type() + " " + record.data() + " " + java.util.Arrays.toString(record.grades());
+    }
+}
@@ -0,0 +1,132 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentExporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesCsvWithQuotedFields() throws IOException {
+        Student jan = new TelecommunicationsStudent(1, "Jan", "Novak, Jr.", 2000).withGrade(1).withGrade(2);
+        Student eva = new CybersecurityStudent(2, "Eva \"Evi\"", "Dvorak", 2001);
+        Path file = directory.resolve("students.csv");
+
+        ExportResult result = new StudentExporter(ExportFormat.CSV, false).export(List.of(jan, eva), student -> true, file, count -> {
+        });
+
+        assertEquals(2, result.exportedCount());
+        assertEquals(Files.size(file), result.fileBytes());
+        assertEquals(List.of(
+                "first_name,last_name,birth_year,type,id,grades,average",
+                "Jan,\"Novak, Jr.\",2000,TELEKOM,1,1 2,1.50",
+                "\"Eva \"\"Evi\"\"\",Dvorak,2001,CYBERSECURITY,2,,0.00"), Files.readAllLines(file));
+    }
+
+    @Test
+    void writesJsonLinesWithEscapedStrings() throws IOException {
+        Student student = new CybersecurityStudent(7, "Eva\\", "Dvo\u0159\u00e1k\n\u0001", 2001).withGrade(5);
+        Path file = directory.resolve("students.jsonl");
+
+        new StudentExporter(ExportFormat.JSON_LINES, false).export(List.of(student), s -> true, file, count -> {
+        });
+
+        assertEquals("{\"id\":7,\"firstName\":\"Eva\\\\\",\"lastName\":\"Dvo\u0159\u00e1k\\n\\u0001\",\"birthYear\":2001,"
+                + "\"type\":\"CYBERSECURITY\",\"grades\":[5],\"average\":5.00}\n", Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundsTheAverageLikeFormat() throws IOException {
+        List<Student> students = new ArrayList<>();
+        int[][] gradeSets = {{1, 2, 2}, {1, 1, 2}, {1, 2, 2, 2, 2, 2}, {5, 4, 4, 4, 4, 4, 4, 4}, {3}};
+        for (int i = 0; i < gradeSets.length; i++) {
+            Student student = new TelecommunicationsStudent(i, "Jan", "Novak", 2000);
+            for (int grade : gradeSets[i]) {
+                student = student.withGrade(grade);
+            }
+            students.add(student);
+        }
+        Path file = directory.resolve("students.csv");
+
+        new StudentExporter(ExportFormat.CSV, false).export(students, student -> true, file, count -> {
+        });
+
+        List<String> lines = Files.readAllLines(file);
+        for (int i = 0; i < students.size(); i++) {
+            String expected = String.format(Locale.ROOT, "%.2f", students.get(i).getAverageGrade());
+            assertTrue(lines.get(i + 1).endsWith("," + expected), lines.get(i + 1) + " should end with " + expected);
+        }
+    }
+
+    @Test
+    void writesOnlyTheFilteredStudentsGzipCompressed() throws IOException {
+        List<Student> students = List.of(
+                new TelecommunicationsStudent(1, "Jan", "Novak", 2000),
+                new CybersecurityStudent(2, "Eva", "Dvorak", 2001),
+                new TelecommunicationsStudent(3, "Petr", "Cerny", 1999));
+        Path file = directory.resolve("students.txt.gz");
+
+        ExportResult result = new StudentExporter(ExportFormat.TEXT, true)
+                .export(students, student -> student instanceof TelecommunicationsStudent, file, count -> {
+                });
+
+        assertEquals(2, result.exportedCount());
+        String text;
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            text = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(text.startsWith("ID: 1" + System.lineSeparator() + "Name: Jan Novak" + System.lineSeparator()));
+        assertTrue(text.contains("ID: 3"));
+        assertFalse(text.contains("Dvorak"));
+    }
+
+    @Test
+    void csvCanBeImportedAgain() throws IOException {
+        Student jan = new TelecommunicationsStudent(1, "Jan", "Novak, Jr.", 2000).withGrade(3);
+        Student eva = new CybersecurityStudent(2, "Eva \"Evi\"", "Dvorak", 2001);
+        Path file = directory.resolve("students.csv");
+        new StudentExporter(ExportFormat.CSV, false).export(List.of(jan, eva), student -> true, file, count -> {
+        });
+        ChangeLogStudentRepository repository = new ChangeLogStudentRepository(directory.resolve("log"), new StudentFactoryImpl());
+
+        ImportReport report = new StudentImporter(repository, ImportSettings.defaults().withDelimiter(','))
+                .importFile(file, (processed, total, imported) -> {
+                });
+        repository.close();
+
+        assertEquals(2, report.importedCount());
+        assertEquals(0, report.rejectedCount());
+        assertEquals(List.of("Jan Novak, Jr. 2000 TELEKOM", "Eva \"Evi\" Dvorak 2001 CYBERSECURITY"), repository.getAllStudents().stream()
+                .map(student -> student.getFirstName() + " " + student.getLastName() + " " + student.getBirthYear() + " " + StudentType.of(student))
+                .toList());
+    }
+
+    @Test
+    void cancelledExportDeletesThePartialFile() throws IOException {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            students.add(new TelecommunicationsStudent(i, "Jan", "Novak" + i, 2000));
+        }
+        Path file = directory.resolve("students.csv");
+        StudentExporter exporter = new StudentExporter(ExportFormat.CSV, false);
+
+        ExportResult result = exporter.export(students, student -> true, file, count -> exporter.cancel());
+
+        assertTrue(result.cancelled());
+        assertEquals(10_000, result.exportedCount());
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,137 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentIdIndexTest {
+    // the table of a new index has 16 slots and grows when the 11th student is added
+    private static final int MIN_MASK = 15;
+
+    @Test
+    void putGetReplaceAndRemove() {
+        StudentIdIndex index = new StudentIdIndex();
+        Student first = student(7);
+        Student replacement = student(7);
+
+        assertNull(index.put(first));
+        assertSame(first, index.get(7));
+        assertSame(first, index.put(replacement));
+        assertSame(replacement, index.get(7));
+        assertEquals(1, index.size());
+
+        assertSame(replacement, index.remove(7));
+        assertNull(index.remove(7));
+        assertNull(index.get(7));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void removingTheHeadOfAProbeRunShiftsTheRestBack() {
+        List<Integer> colliding = idsWithHomeSlot(3, 5);
+        StudentIdIndex index = new StudentIdIndex();
+        colliding.forEach(id -> index.put(student(id)));
+
+        index.remove(colliding.get(0));
+        index.remove(colliding.get(2));
+
+        assertNull(index.get(colliding.get(0)));
+        assertNull(index.get(colliding.get(2)));
+        for (int id : List.of(colliding.get(1), colliding.get(3), colliding.get(4))) {
+            assertEquals(id, index.get(id).getId());
+        }
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void backwardShiftKeepsEntriesWhoseHomeLiesAfterTheGap() {
+        // two entries at home slot 4 and one at home slot 5: removing the first of slot 4 must move the
+        // second into its place, while the slot 5 entry moves to slot 5 only if that slot became free
+        List<Integer> homeFour = idsWithHomeSlot(4, 2);
+        int homeFive = idsWithHomeSlot(5, 1).get(0);
+        StudentIdIndex index = new StudentIdIndex();
+        index.put(student(homeFour.get(0)));
+        index.put(student(homeFour.get(1)));
+        index.put(student(homeFive));
+
+        index.remove(homeFour.get(0));
+
+        assertEquals(homeFour.get(1), index.get(homeFour.get(1)).getId());
+        assertEquals(homeFive, index.get(homeFive).getId());
+        index.remove(homeFour.get(1));
+        assertEquals(homeFive, index.get(homeFive).getId());
+    }
+
+    @Test
+    void probeRunsWrapAroundTheEndOfTheTable() {
+        List<Integer> wrapping = idsWithHomeSlot(MIN_MASK, 4);
+        int homeZero = idsWithHomeSlot(0, 1).get(0);
+        StudentIdIndex index = new StudentIdIndex();
+        wrapping.forEach(id -> index.put(student(id)));
+        index.put(student(homeZero));
+
+        index.remove(wrapping.get(0));
+        index.remove(wrapping.get(1));
+
+        assertEquals(wrapping.get(2), index.get(wrapping.get(2)).getId());
+        assertEquals(wrapping.get(3), index.get(wrapping.get(3)).getId());
+        assertEquals(homeZero, index.get(homeZero).getId());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomOperations() {
+        Random random = new Random(11);
+        StudentIdIndex index = new StudentIdIndex();
+        Map<Integer, Student> expected = new HashMap<>();
+
+        for (int operation = 0; operation < 200_000; operation++) {
+            int id = random.nextInt(5_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Student student = student(id);
+                    assertSame(expected.put(id, student), index.put(student));
+                }
+                case 1 -> assertSame(expected.remove(id), index.remove(id));
+                default -> assertSame(expected.get(id), index.get(id));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        for (Map.Entry<Integer, Student> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), index.get(entry.getKey()));
+        }
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.get(expected.keySet().iterator().next()));
+    }
+
+    @Test
+    void negativeExpectedSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new StudentIdIndex(-1));
+    }
+
+    /**
+     * Returns the first IDs hashing to the given slot of a 16-slot table, computed like the index does.
+     */
+    private static List<Integer> idsWithHomeSlot(int slot, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; ids.size() < count; id++) {
+            int hash = id * 0x9E3779B9;
+            if (((hash ^ hash >>> 16) & MIN_MASK) == slot) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Student student(int id) {
+        return new TelecommunicationsStudent(id, "Jan", "Novak", 2000);
+    }
+}
@@ -0,0 +1,203 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentImporterTest {
+    private static final ImportSettings SMALL_CHUNKS = new ImportSettings(';', 16, 3, 2, 1_000);
+
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private InMemoryStudentRepository repository;
+
+    @BeforeEach
+    void openRepository() {
+        database = TestDatabase.create(directory);
+        repository = new InMemoryStudentRepository(database.getExecutor(), new StudentFactoryImpl());
+        repository.loadFromDatabase();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void importsTheValidLinesInFileOrderAndSavesThem() throws IOException {
+        Path file = write("\uFEFFJan;Novak;2000;Telekom\r\n"
+                + "\n"
+                + "  Eva ; Dvo\u0159\u00e1k ; 2001 ; CYBERSECURITY ; ignored\r\n"
+                + "Petr;Cerny;+1999;telecommunications");
+
+        ImportReport report = new StudentImporter(repository).importFile(file, (processed, total, imported) -> {
+        });
+
+        assertEquals(3, report.importedCount());
+        assertEquals(0, report.rejectedCount());
+        assertFalse(report.cancelled());
+        assertEquals(List.of("1 TELEKOM Jan Novak 2000", "2 CYBERSECURITY Eva Dvo\u0159\u00e1k 2001", "3 TELEKOM Petr Cerny 1999"),
+                describe(repository.getAllStudents()));
+        assertEquals(3, new StudentDao(database.getExecutor(), new StudentFactoryImpl()).loadAll().size());
+    }
+
+    @Test
+    void reportsTheRejectedLinesWithTheirReasons() throws IOException {
+        Path file = write("Jan;Novak;2000\n"
+                + ";Novak;2000;telekom\n"
+                + "Jan; ;2000;telekom\n"
+                + "Jan;Novak;20x0;telekom\n"
+                + "Jan;Novak;99999999999;telekom\n"
+                + "Jan;Novak;2000;medicine\n"
+                + "Eva;Dvorak;2001;cyber\n");
+
+        ImportReport report = new StudentImporter(repository).importFile(file, (processed, total, imported) -> {
+        });
+
+        assertEquals(1, report.importedCount());
+        assertEquals(6, report.rejectedCount());
+        assertEquals(List.of(
+                "Line 1: Expected 4 fields separated by ';' (Jan;Novak;2000)",
+                "Line 2: Missing first name (;Novak;2000;telekom)",
+                "Line 3: Missing last name (Jan; ;2000;telekom)",
+                "Line 4: Invalid birth year (Jan;Novak;20x0;telekom)",
+                "Line 5: Invalid birth year (Jan;Novak;99999999999;telekom)",
+                "Line 6: Unknown student type (Jan;Novak;2000;medicine)"),
+                report.rejects().stream().map(ImportReport.Reject::toString).toList());
+        assertEquals(List.of("1 CYBERSECURITY Eva Dvorak 2001"), describe(repository.getAllStudents()));
+    }
+
+    @Test
+    void keepsTheFileOrderAcrossChunksAndBatches() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        List<Long> rejectedLines = new ArrayList<>();
+        for (int line = 1; line <= 60; line++) {
+            if (line % 7 == 0) {
+                content.append("Broken line ").append(line).append('\n');
+                rejectedLines.add((long) line);
+            } else {
+                content.append("Name").append(line).append(";Last").append(line).append(";2000;cyber\n");
+                expected.add((expected.size() + 1) + " CYBERSECURITY Name" + line + " Last" + line + " 2000");
+            }
+        }
+        Path file = write(content.toString());
+        List<long[]> progress = new ArrayList<>();
+
+        ImportReport report = new StudentImporter(repository, SMALL_CHUNKS)
+                .importFile(file, (processed, total, imported) -> progress.add(new long[]{processed, total, imported}));
+
+        assertEquals(expected, describe(repository.getAllStudents()));
+        assertEquals(rejectedLines, report.rejects().stream().map(ImportReport.Reject::lineNumber).toList());
+        assertTrue(progress.size() > 1);
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(Files.size(file), last[0]);
+        assertEquals(Files.size(file), last[1]);
+        assertEquals(expected.size(), last[2]);
+    }
+
+    @Test
+    void countsAllRejectsButReportsOnlyTheFirst() throws IOException {
+        Path file = write("a\nb\nJan;Novak;2000;telekom\nc\nd\n");
+        ImportSettings settings = new ImportSettings(';', 1 << 20, 100, 1, 2);
+
+        ImportReport report = new StudentImporter(repository, settings).importFile(file, (processed, total, imported) -> {
+        });
+
+        assertEquals(4, report.rejectedCount());
+        assertEquals(List.of(1L, 2L), report.rejects().stream().map(ImportReport.Reject::lineNumber).toList());
+    }
+
+    @Test
+    void importsCsvFilesWithTheCommaDelimiter() throws IOException {
+        Path file = write("Jan,Novak,2000,telekom\nEva,Dvorak,2001,cyber\n");
+
+        ImportReport report = new StudentImporter(repository, ImportSettings.defaults().withDelimiter(','))
+                .importFile(file, (processed, total, imported) -> {
+                });
+
+        assertEquals(2, report.importedCount());
+        assertEquals(List.of("1 TELEKOM Jan Novak 2000", "2 CYBERSECURITY Eva Dvorak 2001"), describe(repository.getAllStudents()));
+    }
+
+    @Test
+    void removesTheQuotesOfQuotedFields() throws IOException {
+        Path file = write("\"Eva \"\"Evi\"\"\",\"Novak, Jr.\",\"2001\",cyber\n"
+                + " \"Jan\" ,O\"Brien,2000,telekom\n"
+                + "\"Petr,Svoboda,2002,cyber\n"
+                + "Ada,\"\",1999,cyber\n");
+
+        ImportReport report = new StudentImporter(repository, ImportSettings.defaults().withDelimiter(','))
+                .importFile(file, (processed, total, imported) -> {
+                });
+
+        assertEquals(List.of("1 CYBERSECURITY Eva \"Evi\" Novak, Jr. 2001", "2 TELEKOM Jan O\"Brien 2000"),
+                describe(repository.getAllStudents()));
+        assertEquals(List.of(
+                "Line 3: Unterminated quoted field (\"Petr,Svoboda,2002,cyber)",
+                "Line 4: Missing last name (Ada,\"\",1999,cyber)"),
+                report.rejects().stream().map(ImportReport.Reject::toString).toList());
+    }
+
+    @Test
+    void skipsOnlyAHeaderOnTheFirstLine() throws IOException {
+        Path file = write("first_name,LAST_NAME,birth_year,type,id\n"
+                + "Jan,Novak,2000,telekom\n"
+                + "first_name,last_name,birth_year,type\n");
+        ImportSettings settings = new ImportSettings(',', 16, 100, 2, 1_000);
+
+        ImportReport report = new StudentImporter(repository, settings).importFile(file, (processed, total, imported) -> {
+        });
+
+        assertEquals(List.of("1 TELEKOM Jan Novak 2000"), describe(repository.getAllStudents()));
+        assertEquals(List.of("Line 3: Invalid birth year (first_name,last_name,birth_year,type)"),
+                report.rejects().stream().map(ImportReport.Reject::toString).toList());
+    }
+
+    @Test
+    void cancelledImportKeepsTheSavedBatches() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int line = 1; line <= 40; line++) {
+            content.append("Jan;Novak;2000;telekom\n");
+        }
+        Path file = write(content.toString());
+        StudentImporter importer = new StudentImporter(repository, SMALL_CHUNKS);
+
+        ImportReport report = importer.importFile(file, (processed, total, imported) -> {
+            if (imported >= 3) {
+                importer.cancel();
+            }
+        });
+
+        assertTrue(report.cancelled());
+        assertTrue(report.importedCount() >= 3 && report.importedCount() < 40);
+        assertEquals(report.importedCount(), repository.getAllStudents().size());
+        assertEquals(report.importedCount(), new StudentDao(database.getExecutor(), new StudentFactoryImpl()).loadAll().size());
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = directory.resolve("students.txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<String> describe(List<Student> students) {
+        return students.stream()
+                .map(student -> student.getId() + " " + StudentType.of(student) + " " + student.getFirstName() + " "
+                        + student.getLastName() + " " + student.getBirthYear())
+                .toList();
+    }
+}
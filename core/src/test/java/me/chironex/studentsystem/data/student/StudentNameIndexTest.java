@@ -0,0 +1,116 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentNameIndexTest {
+    private static final String[] LAST_NAMES = {"Novak", "Novotny", "Dvorak", "Cerny", "Nov", "novak", "Svoboda"};
+    private static final String[] FIRST_NAMES = {"Jan", "Eva", "Petr"};
+
+    @Test
+    void keepsTheOrderOfASortedListUnderAddsAndRemoves() {
+        Random random = new Random(42);
+        List<Student> expected = new ArrayList<>();
+        StudentNameIndex index = StudentNameIndex.empty();
+
+        for (int id = 1; id <= 2_000; id++) {
+            Student student = student(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            index = index.with(student);
+            expected.add(student);
+
+            if (random.nextInt(4) == 0) {
+                Student removed = expected.remove(random.nextInt(expected.size()));
+                index = index.without(removed);
+            }
+        }
+
+        expected.sort(StudentNameIndex.ORDER);
+        assertEquals(expected, index);
+        assertEquals(expected, StudentNameIndex.of(expected));
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertSame(expected.get(i), index.get(i));
+        }
+    }
+
+    @Test
+    void sortsByLastNameThenFirstNameThenId() {
+        Student b = student(3, "Eva", "Novak");
+        Student a = student(4, "Jan", "Dvorak");
+        Student c = student(1, "Jan", "Novak");
+        Student d = student(2, "Jan", "Novak");
+
+        StudentNameIndex index = StudentNameIndex.of(List.of(d, c, b, a));
+
+        assertEquals(List.of(a, b, c, d), index);
+    }
+
+    @Test
+    void removingAnAbsentStudentReturnsTheSameIndex() {
+        StudentNameIndex index = StudentNameIndex.of(List.of(student(1, "Jan", "Novak")));
+
+        assertSame(index, index.without(student(2, "Jan", "Novak")));
+    }
+
+    @Test
+    void findsLastNamePrefixesCaseSensitively() {
+        StudentNameIndex index = StudentNameIndex.of(List.of(
+                student(1, "Jan", "Dvorak"),
+                student(2, "Jan", "Nov"),
+                student(3, "Jan", "Novak"),
+                student(4, "Eva", "Novotny"),
+                student(5, "Jan", "Nowak"),
+                student(6, "Jan", "novak")));
+
+        assertEquals(List.of(2, 3, 4), ids(index.findByLastNamePrefix("Nov")));
+        assertEquals(List.of(3), ids(index.findByLastNamePrefix("Novak")));
+        assertEquals(List.of(6), ids(index.findByLastNamePrefix("nov")));
+        assertEquals(List.of(), ids(index.findByLastNamePrefix("Svoboda")));
+        assertEquals(6, index.findByLastNamePrefix("").size());
+    }
+
+    @Test
+    void indexOfLastNameFindsTheFirstMatchingPosition() {
+        StudentNameIndex index = StudentNameIndex.of(List.of(
+                student(1, "Jan", "Cerny"),
+                student(2, "Jan", "Novak"),
+                student(3, "Eva", "Novak")));
+
+        assertEquals(0, index.indexOfLastName("A"));
+        assertEquals(1, index.indexOfLastName("Novak"));
+        assertEquals(3, index.indexOfLastName("Z"));
+    }
+
+    @Test
+    void pagesAreClampedToTheEnd() {
+        List<Student> students = new ArrayList<>();
+        for (int id = 1; id <= 25; id++) {
+            students.add(student(id, "Jan", String.format("Name%02d", id)));
+        }
+        StudentNameIndex index = StudentNameIndex.of(students);
+
+        assertEquals(List.of(11, 12, 13, 14, 15), ids(index.page(10, 5)));
+        assertEquals(List.of(24, 25), ids(index.page(23, 10)));
+        assertEquals(List.of(), ids(index.page(30, 10)));
+        assertEquals(List.of(13, 14), ids(index.page(10, 5).subList(2, 4)));
+        assertEquals(25, index.page(0, Integer.MAX_VALUE).size());
+        assertThrows(IllegalArgumentException.class, () -> index.page(-1, 5));
+    }
+
+    private static List<Integer> ids(List<Student> students) {
+        List<Integer> ids = new ArrayList<>();
+        for (Student student : students) {
+            ids.add(student.getId());
+        }
+        return ids;
+    }
+
+    private static Student student(int id, String firstName, String lastName) {
+        return new TelecommunicationsStudent(id, firstName, lastName, 2000);
+    }
+}
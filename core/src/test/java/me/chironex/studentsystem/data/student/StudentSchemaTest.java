@@ -0,0 +1,75 @@
+package me.chironex.studentsystem.data.student;
+
+import lombok.SneakyThrows;
+import me.chironex.studentsystem.data.SchemaMigration;
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentSchemaTest {
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void versionsAreConsecutive() {
+        List<Integer> versions = StudentSchema.migrations().stream().map(SchemaMigration::version).toList();
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(i + 1, versions.get(i));
+        }
+    }
+
+    @Test
+    void pagesByNameAreReadThroughTheNameIndexWithoutSorting() {
+        for (boolean first : new boolean[]{true, false}) {
+            String plan = queryPlan(StudentPageQuery.all(StudentPageQuery.Order.BY_LAST_NAME).pageSql(first));
+
+            assertTrue(plan.contains("idx_students_name"), plan);
+            assertFalse(plan.contains("TEMP B-TREE"), plan);
+        }
+    }
+
+    @Test
+    void gradesAreReadThroughTheStudentIndex() {
+        String plan = queryPlan("SELECT grade FROM grades WHERE student_id = ? ORDER BY id");
+
+        assertTrue(plan.contains("idx_grades_student_id"), plan);
+    }
+
+    private String queryPlan(String sql) {
+        List<String> details = new ArrayList<>();
+        database.getExecutor().performPreparedOperation("EXPLAIN QUERY PLAN " + sql,
+                preparedStatement -> readPlan(preparedStatement, details));
+        return String.join("\n", details);
+    }
+
+    @SneakyThrows
+    private static void readPlan(PreparedStatement preparedStatement, List<String> details) {
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                details.add(rs.getString("detail"));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static me.chironex.studentsystem.data.student.StudentDaoTest.describe;
+import static me.chironex.studentsystem.data.student.StudentDaoTest.record;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentSnapshotFileTest {
+    private static final List<StudentRecord> RECORDS = List.of(
+            record(StudentType.TELEKOM, 1, "Jan", "Novak", 1, 2, 3),
+            record(StudentType.CYBERSECURITY, 4, "Eva", "Dvorak"),
+            record(StudentType.TELEKOM, 9, "Petr", "Cerny", 5));
+    private static final int[] NAME_ORDER = {2, 1, 0};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        Path path = directory.resolve("students.snapshot");
+        StudentSnapshotFile.write(path, 7, RECORDS, NAME_ORDER);
+
+        StudentSnapshotFile file = StudentSnapshotFile.open(path);
+
+        assertEquals(7, file.getGeneration());
+        assertEquals(RECORDS.stream().map(StudentDaoTest::describe).toList(), file.stream().map(StudentDaoTest::describe).toList());
+        for (int rank = 0; rank < NAME_ORDER.length; rank++) {
+            assertEquals(NAME_ORDER[rank], file.nameOrderAt(rank));
+        }
+        Student student = file.toStudent(0, new StudentFactoryImpl());
+        assertInstanceOf(TelecommunicationsStudent.class, student);
+        assertArrayEquals(new int[]{1, 2, 3}, student.getGrades());
+    }
+
+    @Test
+    void newGenerationsGoToNewFilesAndReplaceTheOldOnes() throws IOException {
+        Path path = directory.resolve("students.snapshot");
+        StudentSnapshotFile.write(path, 1, RECORDS, NAME_ORDER);
+        StudentSnapshotFile first = StudentSnapshotFile.open(path);
+
+        StudentSnapshotFile.write(path, 2, RECORDS.subList(0, 1), new int[]{0});
+
+        assertEquals(List.of("students.snapshot.2"), fileNames());
+        assertEquals(2, StudentSnapshotFile.open(path).getGeneration());
+        assertEquals(1, StudentSnapshotFile.open(path).size());
+        // the mapping of the replaced generation stays readable
+        assertEquals(describe(RECORDS.get(2)), describe(first.get(2)));
+    }
+
+    @Test
+    void failedWriteLeavesNoTemporaryFileAndKeepsThePreviousGeneration() throws IOException {
+        Path path = directory.resolve("students.snapshot");
+        StudentSnapshotFile.write(path, 1, RECORDS, NAME_ORDER);
+        List<StudentRecord> failing = new AbstractList<>() {
+            @Override
+            public StudentRecord get(int index) {
+                if (index == 2) {
+                    throw new IllegalStateException("Record cannot be read");
+                }
+                return RECORDS.get(index);
+            }
+
+            @Override
+            public int size() {
+                return RECORDS.size();
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> StudentSnapshotFile.write(path, 2, failing, NAME_ORDER));
+
+        assertEquals(List.of("students.snapshot.1"), fileNames());
+        assertEquals(1, StudentSnapshotFile.open(path).getGeneration());
+    }
+
+    @Test
+    void temporaryFilesOfInterruptedWritesAreDeletedByTheNextWrite() throws IOException {
+        Path path = directory.resolve("students.snapshot");
+        Files.write(directory.resolve("students.snapshot.3.tmp"), new byte[100]);
+        Files.write(directory.resolve("other.snapshot.3"), new byte[100]);
+
+        StudentSnapshotFile.write(path, 4, RECORDS, NAME_ORDER);
+
+        assertEquals(List.of("other.snapshot.3", "students.snapshot.4"), fileNames());
+    }
+
+    @Test
+    void missingFileIsReported() throws IOException {
+        Path path = directory.resolve("students.snapshot");
+
+        assertFalse(StudentSnapshotFile.exists(path));
+        assertThrows(NoSuchFileException.class, () -> StudentSnapshotFile.open(path));
+    }
+
+    @Test
+    void corruptFilesAreRejected() throws IOException {
+        Path path = directory.resolve("students.snapshot");
+        StudentSnapshotFile.write(path, 5, RECORDS, NAME_ORDER);
+        Path file = directory.resolve("students.snapshot.5");
+        byte[] original = Files.readAllBytes(file);
+
+        byte[] flipped = original.clone();
+        flipped[40] ^= 1;
+        Files.write(file, flipped);
+        IOException checksum = assertThrows(IOException.class, () -> StudentSnapshotFile.open(path));
+        assertTrue(checksum.getMessage().contains("checksum"), checksum.getMessage());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(original));
+            channel.truncate(original.length - 1);
+        }
+        assertThrows(IOException.class, () -> StudentSnapshotFile.open(path));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> StudentSnapshotFile.open(path));
+
+        // a file renamed to another generation does not pass as that generation
+        Files.write(file, original);
+        Files.move(file, directory.resolve("students.snapshot.6"));
+        assertThrows(IOException.class, () -> StudentSnapshotFile.open(path));
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
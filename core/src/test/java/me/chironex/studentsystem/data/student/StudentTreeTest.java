@@ -0,0 +1,172 @@
+package me.chironex.studentsystem.data.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentTreeTest {
+    private static final Comparator<Student> BY_ID = Comparator.comparingInt(Student::getId);
+
+    @Test
+    void ascendingInsertionsStayBalanced() {
+        StudentTree.Node root = null;
+        for (int id = 1; id <= 4096; id++) {
+            root = StudentTree.insert(root, student(id), BY_ID);
+        }
+
+        assertInvariants(root);
+        // an AVL tree of n nodes is at most 1.44 log2(n) high, a sorted insertion order would otherwise make a list
+        assertTrue(root.height() <= 18, "height " + root.height());
+        assertEquals(4096, StudentTree.size(root));
+    }
+
+    @Test
+    void buildCreatesAPerfectlyBalancedTree() {
+        Student[] sorted = new Student[1023];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = student(i + 1);
+        }
+
+        StudentTree.Node root = StudentTree.build(sorted, 0, sorted.length);
+
+        assertInvariants(root);
+        assertEquals(10, root.height());
+        for (int i = 0; i < sorted.length; i++) {
+            assertSame(sorted[i], StudentTree.get(root, i));
+        }
+    }
+
+    @Test
+    void matchesATreeMapUnderRandomInsertionsAndRemovals() {
+        Random random = new Random(42);
+        TreeMap<Integer, Student> expected = new TreeMap<>();
+        StudentTree.Node root = null;
+
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(2_000);
+            if (random.nextInt(3) == 0 && expected.containsKey(id)) {
+                root = StudentTree.remove(root, byId(id));
+                expected.remove(id);
+            } else {
+                Student student = student(id);
+                root = StudentTree.insert(root, student, BY_ID);
+                expected.put(id, student);
+            }
+
+            if (step % 1_000 == 0) {
+                assertInvariants(root);
+            }
+        }
+
+        assertInvariants(root);
+        assertEquals(new ArrayList<>(expected.values()), toList(root, 0, StudentTree.size(root)));
+        for (int id = 0; id < 2_000; id++) {
+            assertSame(expected.get(id), StudentTree.find(root, byId(id)));
+        }
+    }
+
+    @Test
+    void insertingAnEqualStudentReplacesIt() {
+        Student first = student(5);
+        Student replacement = student(5);
+
+        StudentTree.Node root = StudentTree.insert(StudentTree.insert(null, first, BY_ID), replacement, BY_ID);
+
+        assertEquals(1, StudentTree.size(root));
+        assertSame(replacement, StudentTree.find(root, byId(5)));
+    }
+
+    @Test
+    void updatesLeaveTheOriginalTreeUnchanged() {
+        StudentTree.Node original = null;
+        for (int id = 1; id <= 100; id++) {
+            original = StudentTree.insert(original, student(id), BY_ID);
+        }
+        List<Student> before = toList(original, 0, 100);
+
+        StudentTree.Node removed = StudentTree.remove(original, byId(50));
+        StudentTree.Node added = StudentTree.insert(original, student(101), BY_ID);
+
+        assertEquals(before, toList(original, 0, 100));
+        assertNull(StudentTree.find(removed, byId(50)));
+        assertEquals(101, StudentTree.size(added));
+    }
+
+    @Test
+    void iteratorStartsAtAnyPosition() {
+        StudentTree.Node root = null;
+        for (int id = 1; id <= 37; id++) {
+            root = StudentTree.insert(root, student(id), BY_ID);
+        }
+
+        for (int from = 0; from <= 37; from++) {
+            List<Student> range = toList(root, from, 37);
+            assertEquals(37 - from, range.size());
+            for (int i = 0; i < range.size(); i++) {
+                assertEquals(from + i + 1, range.get(i).getId());
+            }
+        }
+        assertEquals(List.of(), toList(null, 0, 0));
+    }
+
+    @Test
+    void countLeadingReturnsThePositionOfTheFirstStudentOutsideTheRun() {
+        StudentTree.Node root = null;
+        for (int id = 2; id <= 200; id += 2) {
+            root = StudentTree.insert(root, student(id), BY_ID);
+        }
+
+        assertEquals(0, StudentTree.countLeading(root, student -> student.getId() < 1));
+        assertEquals(5, StudentTree.countLeading(root, student -> student.getId() < 11));
+        assertEquals(100, StudentTree.countLeading(root, student -> true));
+    }
+
+    /**
+     * Checks the stored heights and sizes, the AVL balance and the order of every node.
+     */
+    private static void assertInvariants(StudentTree.Node node) {
+        if (node == null) {
+            return;
+        }
+
+        assertInvariants(node.left());
+        assertInvariants(node.right());
+
+        int leftHeight = node.left() == null ? 0 : node.left().height();
+        int rightHeight = node.right() == null ? 0 : node.right().height();
+        assertTrue(Math.abs(leftHeight - rightHeight) <= 1, "unbalanced node " + node.student().getId());
+        assertEquals(Math.max(leftHeight, rightHeight) + 1, node.height());
+        assertEquals(StudentTree.size(node.left()) + StudentTree.size(node.right()) + 1, node.size());
+        if (node.left() != null) {
+            assertTrue(node.left().student().getId() < node.student().getId());
+        }
+        if (node.right() != null) {
+            assertTrue(node.right().student().getId() > node.student().getId());
+        }
+    }
+
+    private static List<Student> toList(StudentTree.Node root, int from, int to) {
+        List<Student> students = new ArrayList<>();
+        Iterator<Student> iterator = StudentTree.iterator(root, from, to);
+        while (iterator.hasNext()) {
+            students.add(iterator.next());
+        }
+        return students;
+    }
+
+    private static ToIntFunction<Student> byId(int id) {
+        return student -> Integer.compare(id, student.getId());
+    }
+
+    private static Student student(int id) {
+        return new TelecommunicationsStudent(id, "Jan", "Novak", 2000);
+    }
+}
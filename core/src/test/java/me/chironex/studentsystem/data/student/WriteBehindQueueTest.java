@@ -0,0 +1,163 @@
+package me.chironex.studentsystem.data.student;
+
+import me.chironex.studentsystem.data.PersistenceException;
+import me.chironex.studentsystem.data.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static me.chironex.studentsystem.data.student.StudentDaoTest.record;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+    @TempDir
+    Path directory;
+
+    private TestDatabase database;
+    private FailingStudentDao dao;
+
+    @BeforeEach
+    void openDatabase() {
+        database = TestDatabase.create(directory);
+        dao = new FailingStudentDao(database);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void flushCommitsSubmittedMutations() {
+        try (WriteBehindQueue queue = new WriteBehindQueue(dao, new WriteBehindSettings(100, 10, 1_000, 3))) {
+            queue.submit(StudentMutation.added(record(StudentType.TELEKOM, 1, "Jan", "Novak", 1)));
+            queue.submit(StudentMutation.updated(record(StudentType.TELEKOM, 1, "Jan", "Novak", 1, 2)));
+            assertTrue(queue.hasPendingWrites());
+
+            queue.flush();
+
+            assertFalse(queue.hasPendingWrites());
+            assertArrayEquals(new int[]{1, 2}, dao.loadAll().get(0).getGrades());
+            assertEquals(1, dao.attempts.get());
+        }
+    }
+
+    @Test
+    void failedCommitsAreRetriedWithBackoffInsteadOfOnEverySubmit() throws InterruptedException {
+        dao.failing = true;
+        WriteBehindQueue queue = new WriteBehindQueue(dao, new WriteBehindSettings(1_000, 1, 0, 3));
+        for (int id = 1; id <= 200; id++) {
+            queue.submit(StudentMutation.added(record(StudentType.TELEKOM, id, "Jan", "Novak")));
+        }
+        Thread.sleep(250);
+
+        // a full batch after a failure waits for the retry delay: 100 ms, then 200 ms
+        assertTrue(dao.attempts.get() <= 3, "commit attempts: " + dao.attempts.get());
+
+        dao.failing = false;
+        queue.flush();
+        assertEquals(200, dao.loadAll().size());
+        queue.close();
+    }
+
+    @Test
+    void submitReportsTheFailureOnceRetriesAreExhausted() {
+        dao.failing = true;
+        WriteBehindQueue queue = new WriteBehindQueue(dao, new WriteBehindSettings(100, 1, 0, 1));
+        queue.submit(StudentMutation.added(record(StudentType.TELEKOM, 1, "Jan", "Novak")));
+
+        awaitTrue(() -> queue.getFailure() != null);
+        int attempts = dao.attempts.get();
+        assertEquals(2, attempts);
+        assertThrows(PersistenceException.class,
+                () -> queue.submit(StudentMutation.added(record(StudentType.CYBERSECURITY, 2, "Eva", "Svoboda"))));
+        assertEquals(attempts, dao.attempts.get());
+
+        dao.failing = false;
+        queue.flush();
+        assertNull(queue.getFailure());
+        assertEquals(List.of(1, 2), dao.loadAll().stream().map(Student::getId).toList());
+        queue.close();
+    }
+
+    @Test
+    void closeHandsBackMutationsThatCouldNotBeCommitted() {
+        dao.failing = true;
+        WriteBehindQueue queue = new WriteBehindQueue(dao, new WriteBehindSettings(100, 10, 1_000, 3));
+        queue.submit(StudentMutation.added(record(StudentType.TELEKOM, 1, "Jan", "Novak")));
+        queue.submit(StudentMutation.removed(7));
+
+        assertThrows(PersistenceException.class, queue::close);
+
+        List<StudentMutation> unsaved = queue.getUnsavedMutations();
+        assertEquals(List.of(1, 7), unsaved.stream().map(StudentMutation::studentId).toList());
+        assertEquals(StudentChangeType.REMOVED, unsaved.get(1).type());
+    }
+
+    @Test
+    void repositoryKeepsUncommittedChangesWhenLeavingWriteBehindMode() {
+        InMemoryStudentRepository repository = new InMemoryStudentRepository(dao);
+        repository.loadFromDatabase();
+        repository.enableWriteBehind(new WriteBehindSettings(100, 10, 1_000, 3));
+
+        dao.failing = true;
+        int id = repository.addCybersecurityStudent("Eva", "Svoboda", 2001);
+        repository.addGradeToStudent(id, 4);
+
+        assertThrows(PersistenceException.class, repository::disableWriteBehind);
+        assertFalse(repository.isWriteBehindEnabled());
+        assertTrue(repository.hasUnsavedChanges());
+
+        dao.failing = false;
+        repository.saveToDatabase();
+        assertFalse(repository.hasUnsavedChanges());
+
+        List<Student> stored = dao.loadAll();
+        assertEquals(1, stored.size());
+        assertArrayEquals(new int[]{4}, stored.get(0).getGrades());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached within 5 s");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Data access object whose writes fail while {@link #failing} is set.
+     */
+    private static final class FailingStudentDao extends StudentDao {
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile boolean failing;
+
+        FailingStudentDao(TestDatabase database) {
+            super(database.getExecutor(), new StudentFactoryImpl());
+        }
+
+        @Override
+        public long applyChanges(Collection<StudentMutation> mutations) {
+            attempts.incrementAndGet();
+            if (failing) {
+                throw new PersistenceException("Database is unavailable");
+            }
+            return super.applyChanges(mutations);
+        }
+
+        @Override
+        public long replaceAll(Collection<StudentRecord> records) {
+            if (failing) {
+                throw new PersistenceException("Database is unavailable");
+            }
+            return super.replaceAll(records);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package me.chironex.studentsystem.server;
+
+import me.chironex.studentsystem.data.JdbcReconnectStrategy;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
+import me.chironex.studentsystem.data.student.ConcurrentStudentRepository;
+import me.chironex.studentsystem.data.student.StudentFactoryImpl;
+import me.chironex.studentsystem.data.student.StudentSchema;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the HTTP API: concurrent clients send a fixed mix of requests for a given duration,
+ * then the throughput and the p50/p99 latency of every operation are printed.
+ * <p>
+ * Without {@code --url} the test starts a server in this JVM on a temporary database seeded with
+ * {@code --students} students, so client and server share the machine.
+ * Run with {@code gradle :server:loadTest --args="--clients 64 --duration 10"}.
+ *
+ * @author chmodxChironex
+ * @since 1.0
+ */
+public final class StudentLoadTest {
+    private static final String[] FIRST_NAMES = {"Jan", "Eva", "Petr", "Jana", "Tomas", "Lucie", "Martin", "Tereza"};
+    private static final String[] LAST_NAMES = {"Novak", "Svoboda", "Dvorak", "Cerny", "Prochazka", "Kucera", "Vesely"};
+
+    /**
+     * Enum representing the request mix, each operation chosen with its weight in percent.
+     */
+    private enum Operation {
+        FIND_BY_ID(60),
+        LIST_PAGE(15),
+        STATISTICS(10),
+        ADD_GRADE(10),
+        ADD_STUDENT(5);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int percent) {
+            for (Operation operation : values()) {
+                percent -= operation.weight;
+                if (percent < 0) {
+                    return operation;
+                }
+            }
+            return FIND_BY_ID;
+        }
+    }
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final int studentCount;
+
+    private StudentLoadTest(URI baseUri, int studentCount) {
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.baseUri = baseUri;
+        this.studentCount = studentCount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int clients = 64;
+        int durationSeconds = 10;
+        int warmupSeconds = 2;
+        int students = 10_000;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                case "--students" -> students = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        if (url != null) {
+            new StudentLoadTest(URI.create(url), students).run(clients, warmupSeconds, durationSeconds);
+            return;
+        }
+
+        Path database = Files.createTempFile("studentsystem-load", ".db");
+        PersistenceExecutor persistenceExecutor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + database));
+        try {
+            persistenceExecutor.connect();
+            new SchemaMigrator(persistenceExecutor, StudentSchema.migrations()).migrate();
+            ConcurrentStudentRepository repository = new ConcurrentStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+            seed(repository, students);
+
+            try (StudentServer server = new StudentServer(repository, 0, StudentServer.DEFAULT_SAVE_INTERVAL_SECONDS)) {
+                URI baseUri = URI.create("http://localhost:" + server.getPort());
+                new StudentLoadTest(baseUri, students).run(clients, warmupSeconds, durationSeconds);
+            }
+        } finally {
+            persistenceExecutor.close();
+            Files.deleteIfExists(database);
+            Files.deleteIfExists(Path.of(database + "-wal"));
+            Files.deleteIfExists(Path.of(database + "-shm"));
+        }
+    }
+
+    private static void seed(ConcurrentStudentRepository repository, int students) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < students; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i;
+            int id = i % 2 == 0
+                    ? repository.addTelecommunicationsStudent(firstName, lastName, 1990 + random.nextInt(15))
+                    : repository.addCybersecurityStudent(firstName, lastName, 1990 + random.nextInt(15));
+            for (int grade = 0; grade < 5; grade++) {
+                repository.addGradeToStudent(id, 1 + random.nextInt(5));
+            }
+        }
+        repository.saveToDatabase();
+    }
+
+    /**
+     * Runs the clients for the warmup, discards its measurements, then measures for the given duration.
+     */
+    private void run(int clients, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        System.out.printf("%d clients against %s, %d s warmup, %d s measured%n", clients, baseUri, warmupSeconds, durationSeconds);
+        if (warmupSeconds > 0) {
+            measure(clients, warmupSeconds);
+        }
+        Result result = measure(clients, durationSeconds);
+
+        System.out.printf("%-12s %10s %10s %10s %10s%n", "operation", "requests", "errors", "p50 ms", "p99 ms");
+        long[] all = new long[0];
+        for (Operation operation : Operation.values()) {
+            long[] latencies = result.latencies(operation);
+            all = concat(all, latencies);
+            printLine(operation.name().toLowerCase(), latencies, result.errors[operation.ordinal()].get());
+        }
+        long errors = Arrays.stream(result.errors).mapToLong(AtomicLong::get).sum();
+        printLine("all", all, errors);
+        System.out.printf("Throughput: %.0f requests/s%n", all.length / result.elapsedSeconds);
+    }
+
+    private Result measure(int clients, int durationSeconds) throws InterruptedException {
+        Result result = new Result(clients);
+        long deadline = System.nanoTime() + durationSeconds * 1_000_000_000L;
+        long start = System.nanoTime();
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            LatencyRecorder[] recorders = result.recorders[client];
+            threads.add(Thread.ofVirtual().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = Operation.pick(random.nextInt(100));
+                    long requestStart = System.nanoTime();
+                    boolean ok = send(operation, random);
+                    long latency = System.nanoTime() - requestStart;
+                    if (ok) {
+                        recorders[operation.ordinal()].record(latency);
+                    } else {
+                        result.errors[operation.ordinal()].incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        result.elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return result;
+    }
+
+    private boolean send(Operation operation, ThreadLocalRandom random) {
+        int id = 1 + random.nextInt(studentCount);
+        HttpRequest request = switch (operation) {
+            case FIND_BY_ID -> get("/students/" + id);
+            case LIST_PAGE -> get("/students?offset=" + random.nextInt(200) + "&limit=" + StudentApi.DEFAULT_PAGE_SIZE);
+            case STATISTICS -> get("/statistics");
+            case ADD_GRADE -> post("/students/" + id + "/grades", "{\"grade\":" + (1 + random.nextInt(5)) + "}");
+            case ADD_STUDENT -> post("/students", "{\"type\":\"" + (random.nextBoolean() ? "telekom" : "cybersecurity")
+                    + "\",\"firstName\":\"Load\",\"lastName\":\"Test\",\"birthYear\":2000}");
+        };
+
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void printLine(String name, long[] latencies, long errors) {
+        Arrays.sort(latencies);
+        System.out.printf("%-12s %10d %10d %10.2f %10.2f%n",
+                name, latencies.length, errors, percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted latencies in milliseconds.
+     */
+    private static double percentile(long[] sortedLatencies, double fraction) {
+        if (sortedLatencies.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(rank, 0)] / 1e6;
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    /**
+     * Measurements of one run, one recorder per client and operation so clients never share a recorder.
+     */
+    private static final class Result {
+        private final LatencyRecorder[][] recorders;
+        private final AtomicLong[] errors;
+        private double elapsedSeconds;
+
+        Result(int clients) {
+            this.recorders = new LatencyRecorder[clients][Operation.values().length];
+            for (LatencyRecorder[] clientRecorders : recorders) {
+                Arrays.setAll(clientRecorders, operation -> new LatencyRecorder());
+            }
+            this.errors = new AtomicLong[Operation.values().length];
+            Arrays.setAll(errors, operation -> new AtomicLong());
+        }
+
+        long[] latencies(Operation operation) {
+            long[] latencies = new long[0];
+            for (LatencyRecorder[] clientRecorders : recorders) {
+                latencies = concat(latencies, clientRecorders[operation.ordinal()].toArray());
+            }
+            return latencies;
+        }
+    }
+
+    private static final class LatencyRecorder {
+        private long[] latencies = new long[1024];
+        private int size;
+
+        void record(long latencyNanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(latencies, size);
+        }
+    }
+}
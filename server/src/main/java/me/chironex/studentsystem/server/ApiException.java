@@ -0,0 +1,16 @@
+package me.chironex.studentsystem.server;
+
+import lombok.Getter;
+
+/**
+ * Exception representing a request the API rejects, answered with its HTTP status and message.
+ */
+@Getter
+class ApiException extends RuntimeException {
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -0,0 +1,202 @@
+package me.chironex.studentsystem.server;
+
+import me.chironex.studentsystem.data.student.Student;
+import me.chironex.studentsystem.data.student.StudentType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal JSON encoding of students and decoding of the flat request objects the API accepts.
+ * Request objects may only contain string, number, boolean and null values, which covers every request body.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Appends a student as an object with the same fields as the JSON Lines export.
+     *
+     * @param json the target builder
+     * @param student the student
+     * @param grades the student's grades, read safely for the repository in use
+     * @return the builder
+     */
+    static StringBuilder appendStudent(StringBuilder json, Student student, int[] grades) {
+        json.append("{\"id\":").append(student.getId()).append(",\"firstName\":");
+        appendString(json, student.getFirstName()).append(",\"lastName\":");
+        appendString(json, student.getLastName())
+                .append(",\"birthYear\":").append(student.getBirthYear())
+                .append(",\"type\":\"").append(StudentType.of(student).name())
+                .append("\",\"grades\":[");
+        int sum = 0;
+        for (int i = 0; i < grades.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(grades[i]);
+            sum += grades[i];
+        }
+        json.append("],\"average\":").append(grades.length == 0 ? 0.0 : (double) sum / grades.length);
+        return json.append('}');
+    }
+
+    static StringBuilder appendStudents(StringBuilder json, List<Student> students, Function<Student, int[]> gradesOf) {
+        json.append('[');
+        for (int i = 0; i < students.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Student student = students.get(i);
+            appendStudent(json, student, gradesOf.apply(student));
+        }
+        return json.append(']');
+    }
+
+    static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+
+    /**
+     * Parses a flat JSON object. Strings are returned unescaped, other values as their literal text.
+     *
+     * @param text the JSON text
+     * @return the members of the object by name
+     * @throws ApiException with status 400 if the text is not a flat JSON object
+     */
+    static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> members = new HashMap<>();
+
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.string();
+                parser.expect(':');
+                members.put(name, parser.value());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.end();
+
+        return members;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw invalid("expected '" + c + "'");
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void end() {
+            skipWhitespace();
+            if (position != text.length()) {
+                throw invalid("unexpected content");
+            }
+        }
+
+        String value() {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '"') {
+                return string();
+            }
+
+            int start = position;
+            while (position < text.length() && isLiteralChar(text.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw invalid("expected a value");
+            }
+            return text.substring(start, position);
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                } else if (position < text.length()) {
+                    char escaped = text.charAt(position++);
+                    switch (escaped) {
+                        case 'n' -> value.append('\n');
+                        case 'r' -> value.append('\r');
+                        case 't' -> value.append('\t');
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'u' -> {
+                            if (position + 4 > text.length()) {
+                                throw invalid("truncated escape");
+                            }
+                            try {
+                                value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                            } catch (NumberFormatException e) {
+                                throw invalid("invalid escape");
+                            }
+                            position += 4;
+                        }
+                        default -> value.append(escaped);
+                    }
+                }
+            }
+            throw invalid("unterminated string");
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isLiteralChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.';
+        }
+
+        private ApiException invalid(String reason) {
+            return new ApiException(400, "Invalid JSON at position " + position + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package me.chironex.studentsystem.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import me.chironex.studentsystem.data.PersistenceException;
+import me.chironex.studentsystem.data.student.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP handler exposing a {@link ConcurrentStudentRepository} as a JSON API.
+ * Requests run concurrently on their own threads, the repository is thread-safe without locking around it.
+ * <ul>
+ *     <li>{@code GET /students?offset=0&limit=50} - one page of students sorted by last name, first name and ID</li>
+ *     <li>{@code POST /students} - adds a student, body {@code {"type":"telekom","firstName":..,"lastName":..,"birthYear":..}}</li>
+ *     <li>{@code GET /students/{id}} - finds a student by ID</li>
+ *     <li>{@code DELETE /students/{id}} - removes a student</li>
+ *     <li>{@code POST /students/{id}/grades} - adds a grade, body {@code {"grade":1}}</li>
+ *     <li>{@code GET /statistics} - student counts and average grades per type</li>
+ * </ul>
+ * Errors are answered with their status and {@code {"error":"..."}}.
+ */
+class StudentApi implements HttpHandler {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 1_000;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final ConcurrentStudentRepository repository;
+
+    StudentApi(ConcurrentStudentRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int status;
+            String body;
+            try {
+                Response response = route(exchange);
+                status = response.status();
+                body = response.body();
+            } catch (ApiException e) {
+                status = e.getStatus();
+                body = error(e.getMessage());
+            } catch (PersistenceException e) {
+                status = 500;
+                body = error("Database error: " + e.getMessage());
+            }
+            send(exchange, status, body);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+
+        if (path.length == 2 && path[1].equals("statistics")) {
+            requireMethod(method, "GET");
+            return Response.ok(statistics());
+        }
+        if (path.length < 2 || !path[1].equals("students")) {
+            throw new ApiException(404, "Not found");
+        }
+
+        if (path.length == 2) {
+            if (method.equals("POST")) {
+                return new Response(201, addStudent(readBody(exchange)));
+            }
+            requireMethod(method, "GET");
+            return Response.ok(listStudents(exchange.getRequestURI().getRawQuery()));
+        }
+
+        int id = parseInt(path[2], "student ID");
+        if (path.length == 3) {
+            if (method.equals("DELETE")) {
+                if (!repository.removeStudent(id)) {
+                    throw notFound(id);
+                }
+                return new Response(204, null);
+            }
+            requireMethod(method, "GET");
+            return Response.ok(findStudent(id));
+        }
+        if (path.length == 4 && path[3].equals("grades")) {
+            requireMethod(method, "POST");
+            addGrade(id, readBody(exchange));
+            return new Response(204, null);
+        }
+
+        throw new ApiException(404, "Not found");
+    }
+
+    private String listStudents(String query) {
+        Map<String, String> parameters = parseQuery(query);
+        int offset = parseInt(parameters.getOrDefault("offset", "0"), "offset");
+        int limit = parseInt(parameters.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE)), "limit");
+        if (offset < 0 || limit < 0 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "Offset must not be negative and limit must be between 0 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Student> page = repository.getSortedStudentsByLastName(offset, limit);
+        StringBuilder json = new StringBuilder(128 + page.size() * 128);
+        json.append("{\"offset\":").append(offset)
+                .append(",\"total\":").append(repository.countStudentsByType(Student.class))
+                .append(",\"students\":");
+        return Json.appendStudents(json, page, this::gradesOf).append('}').toString();
+    }
+
+    private String addStudent(String body) {
+        Map<String, String> request = Json.parseObject(body);
+        String firstName = requireMember(request, "firstName");
+        String lastName = requireMember(request, "lastName");
+        int birthYear = parseInt(requireMember(request, "birthYear"), "birthYear");
+        if (firstName.isBlank() || lastName.isBlank()) {
+            throw new ApiException(400, "Names cannot be blank");
+        }
+
+        StudentType type;
+        try {
+            type = StudentType.valueOf(requireMember(request, "type").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Unknown student type: " + request.get("type"));
+        }
+
+        int id = type == StudentType.TELEKOM
+                ? repository.addTelecommunicationsStudent(firstName, lastName, birthYear)
+                : repository.addCybersecurityStudent(firstName, lastName, birthYear);
+        return "{\"id\":" + id + "}";
+    }
+
+    private String findStudent(int id) {
+        Student student = repository.findStudentById(id);
+        if (student == null) {
+            throw notFound(id);
+        }
+        return Json.appendStudent(new StringBuilder(256), student, gradesOf(student)).toString();
+    }
+
+    private void addGrade(int id, String body) {
+        int grade = parseInt(requireMember(Json.parseObject(body), "grade"), "grade");
+        if (grade < 1 || grade > 5) {
+            throw new ApiException(400, "Grade must be between 1 and 5: " + grade);
+        }
+        if (!repository.addGradeToStudent(id, grade)) {
+            throw notFound(id);
+        }
+    }
+
+    private String statistics() {
+        GradeStatistics statistics = repository.getStatistics();
+        StringBuilder json = new StringBuilder("{");
+        for (StudentType type : StudentType.values()) {
+            TypeStatistics typeStatistics = statistics.get(type);
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(type.name()).append("\":{\"count\":").append(typeStatistics.studentCount())
+                    .append(",\"gradeCount\":").append(typeStatistics.gradeCount())
+                    .append(",\"averageGrade\":").append(typeStatistics.averageGrade()).append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Reads the grades under the student's grade lock, falling back to the object itself if it was removed meanwhile.
+     */
+    private int[] gradesOf(Student student) {
+        int[] grades = repository.getGradesOfStudent(student.getId());
+        return grades != null ? grades : student.getGrades();
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] body = input.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                parameters.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+            }
+        }
+        return parameters;
+    }
+
+    private static String requireMember(Map<String, String> request, String name) {
+        String value = request.get(name);
+        if (value == null || value.equals("null")) {
+            throw new ApiException(400, "Missing member: " + name);
+        }
+        return value;
+    }
+
+    private static void requireMethod(String method, String allowed) {
+        if (!method.equals(allowed)) {
+            throw new ApiException(405, "Method " + method + " not allowed, expected " + allowed);
+        }
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid " + name + ": " + value);
+        }
+    }
+
+    private static ApiException notFound(int id) {
+        return new ApiException(404, "Student not found: " + id);
+    }
+
+    private static String error(String message) {
+        return Json.appendString(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    private record Response(int status, String body) {
+
+        static Response ok(String body) {
+            return new Response(200, body);
+        }
+    }
+}
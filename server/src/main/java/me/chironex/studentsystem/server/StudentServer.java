@@ -0,0 +1,176 @@
+package me.chironex.studentsystem.server;
+
+import com.sun.net.httpserver.HttpServer;
+import me.chironex.studentsystem.data.DatabaseLock;
+import me.chironex.studentsystem.data.JdbcReconnectStrategy;
+import me.chironex.studentsystem.data.PersistenceException;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
+import me.chironex.studentsystem.data.student.ConcurrentStudentRepository;
+import me.chironex.studentsystem.data.student.StudentFactoryImpl;
+import me.chironex.studentsystem.data.student.StudentSchema;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP server exposing the students as a JSON API, see {@link StudentApi} for the endpoints.
+ * Built on the JDK's {@code com.sun.net.httpserver} with one virtual thread per request, so requests
+ * waiting on slow clients or on lock contention do not hold a platform thread.
+ * <p>
+ * The students are kept in a {@link ConcurrentStudentRepository} loaded at startup. Changes are saved
+ * incrementally in the background every save interval and once more when the server stops.
+ * The repository assigns IDs from a counter loaded at startup, so the server holds the {@link DatabaseLock}
+ * of its database while it runs and refuses to start while the GUI or the CLI has the database open.
+ *
+ * @author chmodxChironex
+ * @since 1.0
+ */
+public class StudentServer implements AutoCloseable {
+    /**
+     * Default port the server listens on.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Default interval between background saves, in seconds.
+     */
+    public static final int DEFAULT_SAVE_INTERVAL_SECONDS = 5;
+
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    static {
+        // headers and body go out in separate writes, with Nagle's algorithm every response waited ~40 ms for a delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ConcurrentStudentRepository repository;
+    private final HttpServer httpServer;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService saveScheduler;
+
+    /**
+     * Starts a server for the given repository.
+     *
+     * @param repository the repository, already loaded
+     * @param port the port to listen on, 0 for any free port
+     * @param saveIntervalSeconds the interval between background saves, 0 to never save in the background
+     * @throws IOException if the server socket could not be bound
+     */
+    public StudentServer(ConcurrentStudentRepository repository, int port, int saveIntervalSeconds) throws IOException {
+        this.repository = repository;
+        this.requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+
+        StudentApi api = new StudentApi(repository);
+        httpServer.createContext("/students", api);
+        httpServer.createContext("/statistics", api);
+        httpServer.setExecutor(requestExecutor);
+
+        this.saveScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-server-save");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (saveIntervalSeconds > 0) {
+            saveScheduler.scheduleWithFixedDelay(this::saveChanges, saveIntervalSeconds, saveIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        httpServer.start();
+    }
+
+    public static void main(String[] args) {
+        String database = "students.db";
+        int port = DEFAULT_PORT;
+        int saveIntervalSeconds = DEFAULT_SAVE_INTERVAL_SECONDS;
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                switch (args[i]) {
+                    case "--database" -> database = args[i + 1];
+                    case "--port" -> port = Integer.parseInt(args[i + 1]);
+                    case "--save-interval" -> saveIntervalSeconds = Integer.parseInt(args[i + 1]);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: studentsystem-server [--database <file>] [--port <port>] [--save-interval <seconds>]");
+            System.exit(2);
+        }
+
+        DatabaseLock databaseLock;
+        try {
+            databaseLock = DatabaseLock.acquire(Path.of(database));
+        } catch (PersistenceException e) {
+            System.err.println("Cannot start the server: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        PersistenceExecutor persistenceExecutor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + database));
+        StudentServer server;
+        try {
+            persistenceExecutor.connect();
+            new SchemaMigrator(persistenceExecutor, StudentSchema.migrations()).migrate();
+
+            ConcurrentStudentRepository repository = new ConcurrentStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+            repository.loadFromDatabase();
+            server = new StudentServer(repository, port, saveIntervalSeconds);
+        } catch (PersistenceException | IOException e) {
+            System.err.println("Cannot start the server: " + e.getMessage());
+            persistenceExecutor.close();
+            databaseLock.close();
+            System.exit(1);
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            persistenceExecutor.close();
+            databaseLock.close();
+        }, "student-server-shutdown"));
+        System.err.println("Listening on port " + server.getPort());
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running requests and saves the remaining changes.
+     */
+    @Override
+    public void close() {
+        httpServer.stop(STOP_DELAY_SECONDS);
+        requestExecutor.shutdown();
+        saveScheduler.shutdown();
+        try {
+            saveScheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveChanges();
+    }
+
+    private void saveChanges() {
+        try {
+            if (repository.hasUnsavedChanges()) {
+                repository.saveToDatabase();
+            }
+        } catch (PersistenceException e) {
+            System.err.println("Error saving changes, retrying with the next save: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package me.chironex.studentsystem.server;
+
+import me.chironex.studentsystem.data.student.Student;
+import me.chironex.studentsystem.data.student.StudentData;
+import me.chironex.studentsystem.data.student.StudentFactoryImpl;
+import me.chironex.studentsystem.data.student.StudentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void parsesStringsWithEscapes() {
+        Map<String, String> members = Json.parseObject(
+                " { \"firstName\" : \"Eva \\\"Evi\\\"\", \"lastName\":\"Dvo\\u0159\\u00e1k\\\\\\/\\n\\t\" } ");
+
+        assertEquals("Eva \"Evi\"", members.get("firstName"));
+        assertEquals("Dvo\u0159\u00e1k\\/\n\t", members.get("lastName"));
+    }
+
+    @Test
+    void keepsOtherValuesAsTheirLiteralText() {
+        Map<String, String> members = Json.parseObject("{\"birthYear\":2001,\"grade\":-1.5,\"active\":true,\"type\":null}");
+
+        assertEquals(Map.of("birthYear", "2001", "grade", "-1.5", "active", "true", "type", "null"), members);
+        assertEquals(Map.of(), Json.parseObject("{}"));
+    }
+
+    @Test
+    void rejectsInvalidObjects() {
+        for (String text : List.of("", "[]", "{\"grade\":1} {}", "{\"grade\":1,}", "{\"grade\" 1}", "{\"grade\":}",
+                "{grade:1}", "{\"grade\":\"1}", "{\"name\":\"\\u00e\"}", "{\"name\":\"\\u12G4\"}", "{\"grade\":1")) {
+            ApiException e = assertThrows(ApiException.class, () -> Json.parseObject(text), text);
+            assertEquals(400, e.getStatus());
+            assertTrue(e.getMessage().startsWith("Invalid JSON at position "), e.getMessage());
+        }
+    }
+
+    @Test
+    void escapedStringsAreParsedBackUnchanged() {
+        String value = "Eva \"Evi\" \\ \n\r\t\u0001 \u0159";
+
+        String json = Json.appendString(new StringBuilder("{\"name\":"), value).append('}').toString();
+
+        assertEquals("{\"name\":\"Eva \\\"Evi\\\" \\\\ \\n\\r\\t\\u0001 \u0159\"}", json);
+        assertEquals(value, Json.parseObject(json).get("name"));
+    }
+
+    @Test
+    void appendsStudentsWithGradesAndAverage() {
+        Student student = new StudentFactoryImpl().createStudent(StudentType.CYBERSECURITY, new StudentData(7, "Eva", "Dvorak", 2001));
+
+        assertEquals("[{\"id\":7,\"firstName\":\"Eva\",\"lastName\":\"Dvorak\",\"birthYear\":2001,\"type\":\"CYBERSECURITY\","
+                        + "\"grades\":[1,2],\"average\":1.5}]",
+                Json.appendStudents(new StringBuilder(), List.of(student), s -> new int[]{1, 2}).toString());
+        assertTrue(Json.appendStudent(new StringBuilder(), student, new int[0]).toString().endsWith("\"grades\":[],\"average\":0.0}"));
+    }
+}
@@ -0,0 +1,136 @@
+package me.chironex.studentsystem.server;
+
+import me.chironex.studentsystem.data.JdbcReconnectStrategy;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
+import me.chironex.studentsystem.data.student.ConcurrentStudentRepository;
+import me.chironex.studentsystem.data.student.StudentDao;
+import me.chironex.studentsystem.data.student.StudentFactoryImpl;
+import me.chironex.studentsystem.data.student.StudentSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentApiTest {
+    @TempDir
+    Path directory;
+
+    private PersistenceExecutor persistenceExecutor;
+    private StudentServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        persistenceExecutor = new PooledPersistenceExecutor(new JdbcReconnectStrategy("jdbc:sqlite:" + directory.resolve("students.db")));
+        persistenceExecutor.connect();
+        new SchemaMigrator(persistenceExecutor, StudentSchema.migrations()).migrate();
+
+        ConcurrentStudentRepository repository = new ConcurrentStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+        repository.loadFromDatabase();
+        server = new StudentServer(repository, 0, 0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+        persistenceExecutor.close();
+    }
+
+    @Test
+    void addsFindsGradesAndRemovesStudents() throws Exception {
+        assertResponse(201, "{\"id\":1}", send("POST", "/students",
+                "{\"type\":\"telekom\",\"firstName\":\"Jan\",\"lastName\":\"Novak\",\"birthYear\":2000}"));
+        assertResponse(201, "{\"id\":2}", send("POST", "/students",
+                "{\"type\":\"CYBERSECURITY\",\"firstName\":\"Eva \\\"Evi\\\"\",\"lastName\":\"Dvorak\",\"birthYear\":2001}"));
+        assertResponse(204, "", send("POST", "/students/1/grades", "{\"grade\":2}"));
+        assertResponse(204, "", send("POST", "/students/1/grades", "{\"grade\":\"4\"}"));
+
+        assertResponse(200, "{\"id\":1,\"firstName\":\"Jan\",\"lastName\":\"Novak\",\"birthYear\":2000,\"type\":\"TELEKOM\","
+                + "\"grades\":[2,4],\"average\":3.0}", send("GET", "/students/1", null));
+        assertResponse(200, "{\"offset\":1,\"total\":2,\"students\":[{\"id\":1,\"firstName\":\"Jan\",\"lastName\":\"Novak\","
+                + "\"birthYear\":2000,\"type\":\"TELEKOM\",\"grades\":[2,4],\"average\":3.0}]}", send("GET", "/students?offset=1&limit=1", null));
+        assertTrue(send("GET", "/students", null).body().contains("\"firstName\":\"Eva \\\"Evi\\\"\""));
+        assertResponse(200, "{\"TELEKOM\":{\"count\":1,\"gradeCount\":2,\"averageGrade\":3.0},"
+                + "\"CYBERSECURITY\":{\"count\":1,\"gradeCount\":0,\"averageGrade\":0.0}}", send("GET", "/statistics", null));
+
+        assertResponse(204, "", send("DELETE", "/students/2", null));
+        assertResponse(404, "{\"error\":\"Student not found: 2\"}", send("GET", "/students/2", null));
+        assertResponse(404, "{\"error\":\"Student not found: 2\"}", send("DELETE", "/students/2", null));
+        assertResponse(404, "{\"error\":\"Student not found: 2\"}", send("POST", "/students/2/grades", "{\"grade\":1}"));
+    }
+
+    @Test
+    void closeSavesTheChanges() throws Exception {
+        send("POST", "/students", "{\"type\":\"telekom\",\"firstName\":\"Jan\",\"lastName\":\"Novak\",\"birthYear\":2000}");
+
+        server.close();
+
+        assertEquals(1, new StudentDao(persistenceExecutor, new StudentFactoryImpl()).loadAll().size());
+    }
+
+    @Test
+    void answersUnknownPathsWithNotFound() throws Exception {
+        for (String path : new String[]{"/studentsX", "/students/1/notes", "/students/1/grades/2", "/statistics/TELEKOM"}) {
+            assertResponse(404, "{\"error\":\"Not found\"}", send("GET", path, null));
+        }
+        assertEquals(404, send("GET", "/teachers", null).statusCode());
+    }
+
+    @Test
+    void answersUnsupportedMethodsWithMethodNotAllowed() throws Exception {
+        assertResponse(405, "{\"error\":\"Method PUT not allowed, expected GET\"}", send("PUT", "/students", "{}"));
+        assertResponse(405, "{\"error\":\"Method PATCH not allowed, expected GET\"}", send("PATCH", "/students/1", "{}"));
+        assertResponse(405, "{\"error\":\"Method GET not allowed, expected POST\"}", send("GET", "/students/1/grades", null));
+        assertResponse(405, "{\"error\":\"Method POST not allowed, expected GET\"}", send("POST", "/statistics", "{}"));
+    }
+
+    @Test
+    void answersInvalidRequestsWithBadRequest() throws Exception {
+        send("POST", "/students", "{\"type\":\"telekom\",\"firstName\":\"Jan\",\"lastName\":\"Novak\",\"birthYear\":2000}");
+
+        assertResponse(400, "{\"error\":\"Invalid student ID: abc\"}", send("GET", "/students/abc", null));
+        assertResponse(400, "{\"error\":\"Invalid limit: x\"}", send("GET", "/students?limit=x", null));
+        assertResponse(400, "{\"error\":\"Offset must not be negative and limit must be between 0 and 1000\"}",
+                send("GET", "/students?limit=1001", null));
+        assertResponse(400, "{\"error\":\"Missing member: lastName\"}", send("POST", "/students",
+                "{\"type\":\"telekom\",\"firstName\":\"Jan\",\"lastName\":null,\"birthYear\":2000}"));
+        assertResponse(400, "{\"error\":\"Names cannot be blank\"}", send("POST", "/students",
+                "{\"type\":\"telekom\",\"firstName\":\" \",\"lastName\":\"Novak\",\"birthYear\":2000}"));
+        assertResponse(400, "{\"error\":\"Unknown student type: medicine\"}", send("POST", "/students",
+                "{\"type\":\"medicine\",\"firstName\":\"Jan\",\"lastName\":\"Novak\",\"birthYear\":2000}"));
+        assertResponse(400, "{\"error\":\"Grade must be between 1 and 5: 6\"}", send("POST", "/students/1/grades", "{\"grade\":6}"));
+        assertResponse(400, "{\"error\":\"Invalid JSON at position 12: unexpected content\"}",
+                send("POST", "/students/1/grades", "{\"grade\":1} x"));
+        assertResponse(200, "{\"offset\":0,\"total\":1,\"students\":[]}", send("GET", "/students?limit=0", null));
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimit() throws Exception {
+        String body = "{\"grade\":1,\"padding\":\"" + "x".repeat(64 * 1024) + "\"}";
+
+        assertResponse(413, "{\"error\":\"Request body larger than 65536 bytes\"}", send("POST", "/students/1/grades", body));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void assertResponse(int status, String body, HttpResponse<String> response) {
+        assertEquals(status + " " + body, response.statusCode() + " " + response.body());
+    }
+}
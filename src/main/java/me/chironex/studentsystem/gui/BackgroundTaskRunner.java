@@ -0,0 +1,203 @@
+package me.chironex.studentsystem.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Runs the database and file work of the GUI on a dedicated background thread, one task at a time,
+ * so the Event Dispatch Thread keeps painting and handling input.
+ * <p>
+ * While a task runs, the guarded components are disabled, so no other action can use the repository
+ * concurrently; repositories only allow one mutating thread at a time. The task's progress messages go
+ * to the status bar and its fraction done to the progress bar. Tasks that can stop early register a
+ * cancel handler, which enables the cancel button. Results and failures are delivered on the EDT.
+ * All methods must be called on the EDT.
+ */
+class BackgroundTaskRunner {
+    private static final int PROGRESS_MAXIMUM = 1_000;
+
+    private final ExecutorService executor;
+    private final BiConsumer<String, Color> status;
+    private final JProgressBar progressBar;
+    private final JButton cancelButton;
+    private final List<Component> guardedComponents;
+
+    private TaskProgress running;
+
+    /**
+     * Creates a runner reporting to the status bar through the given callback.
+     *
+     * @param status shows a status message in the given color
+     */
+    BackgroundTaskRunner(BiConsumer<String, Color> status) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-gui-background");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.status = status;
+        this.guardedComponents = new ArrayList<>();
+
+        this.progressBar = new JProgressBar(0, PROGRESS_MAXIMUM);
+        progressBar.setVisible(false);
+        this.cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancel());
+    }
+
+    /**
+     * Task run on the background thread.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    interface BackgroundTask<T> {
+        T run(TaskProgress progress) throws Exception;
+    }
+
+    /**
+     * Progress reporting and cancellation of a running task, used from the background thread.
+     */
+    final class TaskProgress {
+        private volatile boolean cancelled;
+        private volatile Runnable cancelHandler;
+
+        /**
+         * Shows a progress message in the status bar.
+         */
+        void message(String message) {
+            SwingUtilities.invokeLater(() -> {
+                if (running == this) {
+                    status.accept(message, Color.BLUE);
+                }
+            });
+        }
+
+        /**
+         * Shows the fraction of the work done, between 0 and 1, in the progress bar.
+         */
+        void fraction(double done) {
+            int value = (int) (Math.max(0.0, Math.min(1.0, done)) * PROGRESS_MAXIMUM);
+            SwingUtilities.invokeLater(() -> {
+                if (running == this) {
+                    progressBar.setIndeterminate(false);
+                    progressBar.setValue(value);
+                }
+            });
+        }
+
+        /**
+         * Makes the task cancellable, the handler is called on the EDT when the user cancels the task.
+         * The task is expected to stop soon after and return its partial result.
+         */
+        void onCancel(Runnable handler) {
+            cancelHandler = handler;
+            SwingUtilities.invokeLater(() -> cancelButton.setEnabled(running == this && !cancelled));
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    JProgressBar getProgressBar() {
+        return progressBar;
+    }
+
+    JButton getCancelButton() {
+        return cancelButton;
+    }
+
+    /**
+     * Disables the component while a task is running.
+     */
+    void guard(Component component) {
+        guardedComponents.add(component);
+        component.setEnabled(running == null);
+    }
+
+    boolean isBusy() {
+        return running != null;
+    }
+
+    /**
+     * Starts a task unless another one is running.
+     *
+     * @param title the status message shown when the task starts
+     * @param task the work run on the background thread
+     * @param onSuccess receives the result on the EDT
+     * @param onFailure receives the exception thrown by the task on the EDT
+     * @param <T> the type of the result
+     * @return true if the task was started
+     */
+    <T> boolean submit(String title, BackgroundTask<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onFailure) {
+        if (running != null) {
+            status.accept("Please wait, another operation is running", Color.ORANGE);
+            return false;
+        }
+
+        TaskProgress progress = new TaskProgress();
+        running = progress;
+        setGuardedEnabled(false);
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(true);
+        status.accept(title, Color.BLUE);
+
+        executor.execute(new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.run(progress);
+            }
+
+            @Override
+            protected void done() {
+                running = null;
+                setGuardedEnabled(true);
+                progressBar.setVisible(false);
+                cancelButton.setEnabled(false);
+
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception exception) {
+                        onFailure.accept(exception);
+                    } else {
+                        throw new IllegalStateException("Background task failed", cause);
+                    }
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Asks the running task to stop, if it registered a cancel handler.
+     */
+    void cancel() {
+        TaskProgress progress = running;
+        if (progress == null || progress.cancelled || progress.cancelHandler == null) {
+            return;
+        }
+
+        progress.cancelled = true;
+        cancelButton.setEnabled(false);
+        status.accept("Cancelling...", Color.ORANGE);
+        progress.cancelHandler.run();
+    }
+
+    private void setGuardedEnabled(boolean enabled) {
+        for (Component component : guardedComponents) {
+            component.setEnabled(enabled);
+        }
+    }
+}
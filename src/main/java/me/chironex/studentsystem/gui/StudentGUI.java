@@ -1,17 +1,20 @@
 package me.chironex.studentsystem.gui;
 
+import me.chironex.studentsystem.data.DatabaseLock;
 import me.chironex.studentsystem.data.JdbcReconnectStrategy;
-import me.chironex.studentsystem.data.ReconnectStrategy;
-import me.chironex.studentsystem.data.SimplePersistenceExecutor;
+import me.chironex.studentsystem.data.PersistenceExecutor;
+import me.chironex.studentsystem.data.PooledPersistenceExecutor;
+import me.chironex.studentsystem.data.SchemaMigrator;
 import me.chironex.studentsystem.data.lang.LangEntry;
 import me.chironex.studentsystem.data.lang.LangSource;
 import me.chironex.studentsystem.data.student.*;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableModel;
 import java.awt.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,29 +23,35 @@ import java.util.List;
  */
 
 public class StudentGUI extends JFrame {
-    private static final String[] TABLE_COLUMNS = {
-            "ID", "First Name", "Last Name", "Birth Year", "Type", "Average", "Skill"};
-    private static final String JDBC_URL = "jdbc:sqlite:students.db";
+    private static final String DATABASE_FILE = "students.db";
+    private static final String JDBC_URL = "jdbc:sqlite:" + DATABASE_FILE;
+    private static final String SNAPSHOT_FILE = "students.snapshot";
+    private static final String PAGED_MODE_PROPERTY = "studentsystem.paged";
+    private static final String COLUMNAR_MODE_PROPERTY = "studentsystem.columnar";
+    private static final String OFF_HEAP_MODE_PROPERTY = "studentsystem.offheap";
+    private static final String CHANGE_LOG_DIRECTORY_PROPERTY = "studentsystem.changelog";
 
-    private final StudentRepository database;
+    private StudentRepository database;
 
-    private final DefaultTableModel tableModel;
+    private final StudentTableModel tableModel;
     private final JTable table;
     private final JLabel statusLabel;
+    private final BackgroundTaskRunner tasks;
 
-    private final SimplePersistenceExecutor persistenceExecutor;
-
-    private boolean changesMade = false;
+    private final PersistenceExecutor persistenceExecutor;
+    private volatile DatabaseLock databaseLock;
 
     /**
      * Constructs the main GUI window for the student administration system.
+     * The window is shown right away, connecting to the database and loading the students run in the background.
      *
      * @param langSource the language source for translations
      */
 
     public StudentGUI(LangSource langSource) {
-        this.persistenceExecutor = initPersistenceExecutor();
-        this.database = new StudentRepository(persistenceExecutor, new StudentFactoryImpl());
+        this.persistenceExecutor = new PooledPersistenceExecutor(new JdbcReconnectStrategy(JDBC_URL));
+        this.statusLabel = new JLabel("Ready");
+        this.tasks = new BackgroundTaskRunner(this::updateStatus);
         
         setTitle(langSource.getTranslation(LangEntry.GUI_TITLE));
 
@@ -53,22 +62,78 @@ public class StudentGUI extends JFrame {
 
         this.tableModel = createTableModel();
         this.table = createTable(tableModel);
-        this.statusLabel = createStatusBar();
+        createStatusBar();
         // ---
 
         showWindow();
 
-        loadTableData();
-        updateStatus("Application started", Color.GREEN);
+        connect();
     }
 
-    private SimplePersistenceExecutor initPersistenceExecutor() {
-        ReconnectStrategy reconnectStrategy = new JdbcReconnectStrategy(JDBC_URL);
+    /**
+     * Creates the in-memory repository, or the paged repository if the {@value #PAGED_MODE_PROPERTY}
+     * system property is set to true, for databases too large to load.
+     * The {@value #COLUMNAR_MODE_PROPERTY} and {@value #OFF_HEAP_MODE_PROPERTY} system properties
+     * select the columnar and the off-heap repository instead, the {@value #CHANGE_LOG_DIRECTORY_PROPERTY}
+     * system property names a directory for a repository persisting to a change log instead of the database.
+     */
+    private static StudentRepository createRepository(PersistenceExecutor persistenceExecutor) {
+        if (Boolean.getBoolean(PAGED_MODE_PROPERTY)) {
+            return new PagedStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+        }
+        if (Boolean.getBoolean(COLUMNAR_MODE_PROPERTY)) {
+            return new ColumnarStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+        }
+        if (Boolean.getBoolean(OFF_HEAP_MODE_PROPERTY)) {
+            return new OffHeapStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+        }
+        String changeLogDirectory = System.getProperty(CHANGE_LOG_DIRECTORY_PROPERTY);
+        if (changeLogDirectory != null) {
+            return new ChangeLogStudentRepository(Path.of(changeLogDirectory), new StudentFactoryImpl());
+        }
 
-        SimplePersistenceExecutor persistenceExecutor = new SimplePersistenceExecutor(reconnectStrategy);
-        persistenceExecutor.connect();
+        InMemoryStudentRepository repository = new InMemoryStudentRepository(persistenceExecutor, new StudentFactoryImpl());
+        repository.enableSnapshotFile(Path.of(SNAPSHOT_FILE));
+        return repository;
+    }
 
-        return persistenceExecutor;
+    /**
+     * Locks the database, connects to it, which may wait for reconnect attempts, migrates the schema and creates
+     * the repository in the background, then loads the stored students. Exits if the database cannot be opened,
+     * e.g. because the server or the CLI uses it.
+     */
+    private void connect() {
+        tasks.submit("Connecting to the database...", progress -> {
+            databaseLock = DatabaseLock.acquire(Path.of(DATABASE_FILE));
+            persistenceExecutor.connect();
+            progress.message("Migrating the database schema...");
+            new SchemaMigrator(persistenceExecutor, StudentSchema.migrations()).migrate();
+            return createRepository(persistenceExecutor);
+        }, repository -> {
+            database = repository;
+            loadInitialData();
+        }, e -> {
+            System.err.println(e.getMessage() + ". Exiting.");
+            showMessage("Cannot open the database: " + e.getMessage());
+            System.exit(1);
+        });
+    }
+
+    /**
+     * Loads the stored students at startup, from the {@value #SNAPSHOT_FILE} snapshot file if it is current.
+     */
+    private void loadInitialData() {
+        long start = System.nanoTime();
+        tasks.submit("Loading students...", progress -> {
+            database.loadFromDatabase();
+            return database.getAllStudents();
+        }, students -> {
+            showAllStudents(students);
+            updateStatus(String.format("Application started, data loaded in %d ms", (System.nanoTime() - start) / 1_000_000), Color.GREEN);
+        }, e -> {
+            showMessage("Error loading from database: " + causeMessage(e));
+            updateStatus("Application started without data", Color.RED);
+        });
     }
 
     private void initAttributes() {
@@ -87,18 +152,20 @@ public class StudentGUI extends JFrame {
         JMenu fileMenu = new JMenu("File");
         JMenuItem importItem = new JMenuItem("Import from TXT");
         JMenuItem exportItem = new JMenuItem("Export to TXT");
+        JMenuItem exportAllItem = new JMenuItem("Export All Students");
         JMenuItem exitItem = new JMenuItem("Exit");
         
         importItem.addActionListener(e -> importFromTxt());
         exportItem.addActionListener(e -> exportSelectedToTxt());
-        exitItem.addActionListener(e -> {
-            if (confirmExit()) {
-                System.exit(0);
-            }
-        });
+        exportAllItem.addActionListener(e -> exportAll());
+        exitItem.addActionListener(e -> exit());
+        tasks.guard(importItem);
+        tasks.guard(exportItem);
+        tasks.guard(exportAllItem);
         
         fileMenu.add(importItem);
         fileMenu.add(exportItem);
+        fileMenu.add(exportAllItem);
         fileMenu.addSeparator();
         fileMenu.add(exitItem);
         
@@ -106,15 +173,10 @@ public class StudentGUI extends JFrame {
         setJMenuBar(menuBar);
     }
 
-    private DefaultTableModel createTableModel() {
+    private StudentTableModel createTableModel() {
         setLayout(new BorderLayout());
 
-        return new DefaultTableModel(TABLE_COLUMNS, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        return new StudentTableModel();
     }
 
     private JTable createTable(TableModel model) {
@@ -138,16 +200,16 @@ public class StudentGUI extends JFrame {
         Runnable[] group1Actions = {this::addStudent, this::addGrade, this::deleteStudent};
         buttonPanel.add(createButtonGroup("Student Management", group1Texts, group1Actions));
         
-        String[] group2Texts = {"Show Skill", "Find Student", "Sort by Last Name"};
-        Runnable[] group2Actions = {this::showSkill, this::showStudentById, this::sortByLastName};
+        String[] group2Texts = {"Show Skill", "Find Student", "Sort by Last Name", "Search Last Name"};
+        Runnable[] group2Actions = {this::showSkill, this::showStudentById, this::sortByLastName, this::searchByLastName};
         buttonPanel.add(createButtonGroup("Display", group2Texts, group2Actions));
         
         String[] group3Texts = {"Averages by Type", "Student Counts"};
         Runnable[] group3Actions = {this::showAverages, this::showCounts};
         buttonPanel.add(createButtonGroup("Statistics", group3Texts, group3Actions));
         
-        String[] group4Texts = {"Save to DB", "Load from DB"};
-        Runnable[] group4Actions = {this::saveDatabase, this::reloadFromDatabase};
+        String[] group4Texts = {"Save to DB", "Compact DB", "Load from DB"};
+        Runnable[] group4Actions = {this::saveDatabase, this::compactDatabase, this::reloadFromDatabase};
         buttonPanel.add(createButtonGroup("Database", group4Texts, group4Actions));
         
         add(buttonPanel, BorderLayout.SOUTH);
@@ -163,6 +225,7 @@ public class StudentGUI extends JFrame {
             JButton button = new JButton(buttonTexts[i]);
             final int index = i;
             button.addActionListener(e -> actions[index].run());
+            tasks.guard(button);
             buttonsPanel.add(button);
         }
         
@@ -170,13 +233,17 @@ public class StudentGUI extends JFrame {
         return panel;
     }
 
-    private JLabel createStatusBar() {
-        JLabel statusLabel = new JLabel("Ready");
-        statusLabel.setBorder(BorderFactory.createLoweredBevelBorder());
+    private void createStatusBar() {
+        JPanel statusPanel = new JPanel(new BorderLayout(5, 0));
+        statusPanel.setBorder(BorderFactory.createLoweredBevelBorder());
 
-        add(statusLabel, BorderLayout.NORTH);
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        progressPanel.add(tasks.getProgressBar());
+        progressPanel.add(tasks.getCancelButton());
 
-        return statusLabel;
+        statusPanel.add(statusLabel, BorderLayout.CENTER);
+        statusPanel.add(progressPanel, BorderLayout.EAST);
+        add(statusPanel, BorderLayout.NORTH);
     }
 
     private void updateStatus(String message, Color color) {
@@ -184,16 +251,8 @@ public class StudentGUI extends JFrame {
         statusLabel.setForeground(color);
     }
 
-    private void markChangesMade() {
-        changesMade = true;
-    }
-
-    private void resetChangesMade() {
-        changesMade = false;
-    }
-
     private boolean confirmExit() {
-        if (changesMade) {
+        if (database != null && database.hasUnsavedChanges()) {
             int result = JOptionPane.showConfirmDialog(
                 this,
                 "You have unsaved changes. Do you want to exit?",
@@ -205,28 +264,23 @@ public class StudentGUI extends JFrame {
         return true;
     }
 
-    private void loadTableData() {
-        tableModel.setRowCount(0);
-        
-        for (Student student : database.getAllStudents()) {
-            addStudentToTable(student);
-        }
+    /**
+     * Shows all students ordered by ID, the rows are rendered lazily as they become visible.
+     *
+     * @param students the list returned by the repository, read on the background thread
+     */
+    private void showAllStudents(List<Student> students) {
+        tableModel.show(database::getAllStudents, StudentTableModel.BY_ID, student -> true, students);
     }
 
-    private void addStudentToTable(Student student) {
-        String type = student instanceof TelecommunicationsStudent ? "Telecommunications" : "Cybersecurity";
-        String skill = student.executeSkill();
-        
-        Object[] row = {
-            student.getId(),
-            student.getFirstName(),
-            student.getLastName(),
-            student.getBirthYear(),
-            type,
-            String.format("%.2f", student.getAverageGrade()),
-            skill.length() > 50 ? skill.substring(0, 50) + "..." : skill
-        };
-        tableModel.addRow(row);
+    /**
+     * Reads all students in the background and shows them, then shows the given status.
+     */
+    private void loadTableData(String status, Color color) {
+        tasks.submit("Reading students...", progress -> database.getAllStudents(), students -> {
+            showAllStudents(students);
+            updateStatus(status, color);
+        }, e -> showFailure("reading students", e));
     }
 
     private void addStudent() {
@@ -259,16 +313,17 @@ public class StudentGUI extends JFrame {
                     return;
                 }
                 
-                int id;
-                if (typeCombo.getSelectedIndex() == 0) {
-                    id = database.addTelecommunicationsStudent(firstName, lastName, birthYear);
-                } else {
-                    id = database.addCybersecurityStudent(firstName, lastName, birthYear);
-                }
-                
-                loadTableData();
-                markChangesMade();
-                updateStatus("Student added with ID: " + id, Color.GREEN);
+                boolean telecommunications = typeCombo.getSelectedIndex() == 0;
+                StudentTableModel.Reader reader = tableModel.reader();
+                tasks.submit("Adding student...", progress -> {
+                    int id = telecommunications
+                            ? database.addTelecommunicationsStudent(firstName, lastName, birthYear)
+                            : database.addCybersecurityStudent(firstName, lastName, birthYear);
+                    return reader.added(database.findStudentById(id));
+                }, update -> {
+                    tableModel.studentAdded(update);
+                    updateStatus("Student added with ID: " + update.studentId(), Color.GREEN);
+                }, e -> showFailure("adding student", e));
                 
             } catch (NumberFormatException e) {
                 showMessage("Birth year must be a number!");
@@ -283,7 +338,7 @@ public class StudentGUI extends JFrame {
             return;
         }
         
-        int studentId = (Integer) tableModel.getValueAt(selectedRow, 0);
+        int studentId = tableModel.getStudentAt(selectedRow).getId();
         
         String gradeStr = JOptionPane.showInputDialog(this, "Enter grade (1-5):", "Add Grade", JOptionPane.QUESTION_MESSAGE);
         
@@ -296,13 +351,17 @@ public class StudentGUI extends JFrame {
                     return;
                 }
                 
-                if (database.addGradeToStudent(studentId, grade)) {
-                    loadTableData();
-                    markChangesMade();
+                StudentTableModel.Reader reader = tableModel.reader();
+                tasks.submit("Adding grade...", progress -> database.addGradeToStudent(studentId, grade)
+                        ? reader.updated(database.findStudentById(studentId))
+                        : null, update -> {
+                    if (update == null) {
+                        showMessage("Error adding grade!");
+                        return;
+                    }
+                    tableModel.studentUpdated(update);
                     updateStatus("Grade added", Color.GREEN);
-                } else {
-                    showMessage("Error adding grade!");
-                }
+                }, e -> showFailure("adding grade", e));
                 
             } catch (NumberFormatException e) {
                 showMessage("Grade must be a number!");
@@ -317,8 +376,8 @@ public class StudentGUI extends JFrame {
             return;
         }
         
-        int studentId = (Integer) tableModel.getValueAt(selectedRow, 0);
-        String studentName = tableModel.getValueAt(selectedRow, 1) + " " + tableModel.getValueAt(selectedRow, 2);
+        Student selected = tableModel.getStudentAt(selectedRow);
+        String studentName = selected.getFirstName() + " " + selected.getLastName();
         
         int result = JOptionPane.showConfirmDialog(
             this,
@@ -328,13 +387,17 @@ public class StudentGUI extends JFrame {
         );
         
         if (result == JOptionPane.YES_OPTION) {
-            if (database.removeStudent(studentId)) {
-                loadTableData();
-                markChangesMade();
+            StudentTableModel.Reader reader = tableModel.reader();
+            tasks.submit("Deleting student...", progress -> database.removeStudent(selected.getId())
+                    ? reader.removed(selected)
+                    : null, update -> {
+                if (update == null) {
+                    showMessage("Error deleting student!");
+                    return;
+                }
+                tableModel.studentRemoved(update);
                 updateStatus("Student deleted", Color.GREEN);
-            } else {
-                showMessage("Error deleting student!");
-            }
+            }, e -> showFailure("deleting student", e));
         }
     }
 
@@ -345,10 +408,13 @@ public class StudentGUI extends JFrame {
             return;
         }
         
-        int studentId = (Integer) tableModel.getValueAt(selectedRow, 0);
-        Student student = database.findStudentById(studentId);
-        
-        if (student != null) {
+        int studentId = tableModel.getStudentAt(selectedRow).getId();
+        tasks.submit("Finding student...", progress -> database.findStudentById(studentId), student -> {
+            updateStatus("Ready", Color.BLACK);
+            if (student == null) {
+                return;
+            }
+
             String skill = student.executeSkill();
             String title = student instanceof TelecommunicationsStudent ? "Morse Code" : "SHA-256 Hash";
             
@@ -360,7 +426,7 @@ public class StudentGUI extends JFrame {
             scrollPane.setPreferredSize(new Dimension(500, 200));
             
             JOptionPane.showMessageDialog(this, scrollPane, title, JOptionPane.INFORMATION_MESSAGE);
-        }
+        }, e -> showFailure("finding student", e));
     }
 
     private void showStudentById() {
@@ -369,9 +435,13 @@ public class StudentGUI extends JFrame {
         if (idStr != null) {
             try {
                 int id = Integer.parseInt(idStr.trim());
-                Student student = database.findStudentById(id);
-                
-                if (student != null) {
+                tasks.submit("Finding student...", progress -> database.findStudentById(id), student -> {
+                    updateStatus("Ready", Color.BLACK);
+                    if (student == null) {
+                        showMessage("Student with ID " + id + " not found!");
+                        return;
+                    }
+
                     String info = String.format("""
                             ID: %d
                             Name: %s %s
@@ -384,14 +454,12 @@ public class StudentGUI extends JFrame {
                         student.getLastName(),
                         student.getBirthYear(),
                         student instanceof TelecommunicationsStudent ? "Telecommunications" : "Cybersecurity",
-                        student.getGrades().toString(),
+                        Arrays.toString(student.getGrades()),
                         student.getAverageGrade()
                     );
                     
                     JOptionPane.showMessageDialog(this, info, "Student Information", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    showMessage("Student with ID " + id + " not found!");
-                }
+                }, e -> showFailure("finding student", e));
                 
             } catch (NumberFormatException e) {
                 showMessage("ID must be a number!");
@@ -400,66 +468,96 @@ public class StudentGUI extends JFrame {
     }
 
     private void sortByLastName() {
-        List<Student> sortedStudents = database.getSortedStudentsByLastName();
-        
-        tableModel.setRowCount(0);
-        for (Student student : sortedStudents) {
-            addStudentToTable(student);
+        tasks.submit("Sorting students...", progress -> database.getSortedStudentsByLastName(), students -> {
+            tableModel.show(database::getSortedStudentsByLastName, StudentTableModel.BY_NAME, student -> true, students);
+            updateStatus("Students sorted by last name", Color.BLUE);
+        }, e -> showFailure("sorting students", e));
+    }
+
+    private void searchByLastName() {
+        String prefix = JOptionPane.showInputDialog(this, "Enter the beginning of the last name:", "Search Last Name", JOptionPane.QUESTION_MESSAGE);
+
+        if (prefix != null) {
+            String trimmed = prefix.trim();
+            tasks.submit("Searching students...", progress -> database.findStudentsByLastNamePrefix(trimmed), students -> {
+                tableModel.show(() -> database.findStudentsByLastNamePrefix(trimmed), StudentTableModel.BY_NAME,
+                        student -> student.getLastName().startsWith(trimmed), students);
+                updateStatus(students.size() + " students with last name starting with \"" + trimmed + "\"", Color.BLUE);
+            }, e -> showFailure("searching students", e));
         }
-        
-        updateStatus("Students sorted by last name", Color.BLUE);
     }
 
     private void showAverages() {
-        double telecomAvg = database.getAverageGradeByType(TelecommunicationsStudent.class);
-        double cyberAvg = database.getAverageGradeByType(CybersecurityStudent.class);
-        
-        String message = String.format("""
+        tasks.submit("Calculating averages...", progress -> String.format("""
                 Average grades by type:
                 
                 Telecommunications: %.2f
                 Cybersecurity: %.2f""",
-            telecomAvg, cyberAvg
-        );
-        
-        JOptionPane.showMessageDialog(this, message, "Averages by Type", JOptionPane.INFORMATION_MESSAGE);
+            database.getAverageGradeByType(TelecommunicationsStudent.class),
+            database.getAverageGradeByType(CybersecurityStudent.class)
+        ), message -> {
+            updateStatus("Ready", Color.BLACK);
+            JOptionPane.showMessageDialog(this, message, "Averages by Type", JOptionPane.INFORMATION_MESSAGE);
+        }, e -> showFailure("calculating averages", e));
     }
 
     private void showCounts() {
-        int telecomCount = database.getStudentsByType(TelecommunicationsStudent.class).size();
-        int cyberCount = database.getStudentsByType(CybersecurityStudent.class).size();
-        int totalCount = database.getAllStudents().size();
-        
-        String message = String.format("""
+        tasks.submit("Counting students...", progress -> String.format("""
                 Student counts:
                 
                 Telecommunications: %d
                 Cybersecurity: %d
                 Total: %d""",
-            telecomCount, cyberCount, totalCount
-        );
-        
-        JOptionPane.showMessageDialog(this, message, "Student Counts", JOptionPane.INFORMATION_MESSAGE);
+            database.countStudentsByType(TelecommunicationsStudent.class),
+            database.countStudentsByType(CybersecurityStudent.class),
+            database.countStudentsByType(Student.class)
+        ), message -> {
+            updateStatus("Ready", Color.BLACK);
+            JOptionPane.showMessageDialog(this, message, "Student Counts", JOptionPane.INFORMATION_MESSAGE);
+        }, e -> showFailure("counting students", e));
     }
 
     private void saveDatabase() {
-        database.saveToDatabase();
-        resetChangesMade();
+        tasks.submit("Saving to database...", progress -> {
+            database.saveToDatabase();
+            return null;
+        }, result -> updateStatus("Data saved to database", Color.GREEN), e -> {
+            showMessage("Error saving to database: " + causeMessage(e));
+            updateStatus("Save failed, database left unchanged", Color.RED);
+        });
+    }
 
-        updateStatus("Data saved to database", Color.GREEN);
+    private void compactDatabase() {
+        tasks.submit("Rewriting and compacting the database...", progress -> {
+            database.saveToDatabase(SaveMode.COMPACT);
+            return null;
+        }, result -> updateStatus("Database rewritten and compacted", Color.GREEN), e -> {
+            showMessage("Error compacting database: " + causeMessage(e));
+            updateStatus("Compaction failed, database left unchanged", Color.RED);
+        });
     }
 
+    /**
+     * Reloads all students in the background. The table is emptied first, as the repository's lists
+     * must not be read while the repository is replacing its data.
+     */
     private void reloadFromDatabase() {
-        database.loadFromDatabase();
-        loadTableData();
-        resetChangesMade();
-
-        updateStatus("Data loaded from database", Color.GREEN);
+        tableModel.clear();
+        tasks.submit("Loading from database...", progress -> {
+            database.loadFromDatabase();
+            return database.getAllStudents();
+        }, students -> {
+            showAllStudents(students);
+            updateStatus("Data loaded from database", Color.GREEN);
+        }, e -> {
+            showMessage("Error loading from database: " + causeMessage(e));
+            loadTableData("Load failed", Color.RED);
+        });
     }
 
     private void importFromTxt() {
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Text files", "txt"));
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Text and CSV files", "txt", "csv"));
         
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
             importFromTxtFile(fileChooser.getSelectedFile().getAbsolutePath());
@@ -467,47 +565,43 @@ public class StudentGUI extends JFrame {
     }
 
     /**
-     * Imports student data from a specified text file.
+     * Imports student data from a specified text file, ';' separated or ',' separated for CSV files.
+     * The imported students are saved to the database in batches.
      *
      * @param fileName the path to the text file to import from
      */
 
     private void importFromTxtFile(String fileName) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            int importedCount = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-                
-                String[] parts = line.split(";");
-                if (parts.length >= 4) {
-                    try {
-                        String firstName = parts[0].trim();
-                        String lastName = parts[1].trim();
-                        int birthYear = Integer.parseInt(parts[2].trim());
-                        String type = parts[3].trim().toLowerCase();
-                        
-                        if (type.contains("telekom") || type.contains("telecom")) {
-                            database.addTelecommunicationsStudent(firstName, lastName, birthYear);
-                        } else {
-                            database.addCybersecurityStudent(firstName, lastName, birthYear);
-                        }
-                        importedCount++;
-                    } catch (NumberFormatException e) {
-                        System.err.println("Invalid line format: " + line);
-                    }
-                }
-            }
-            
-            loadTableData();
-            markChangesMade();
-            updateStatus("Imported " + importedCount + " students", Color.GREEN);
-            
-        } catch (IOException e) {
-            showMessage("Error importing from file: " + e.getMessage());
+        ImportSettings settings = ImportSettings.defaults();
+        if (fileName.toLowerCase().endsWith(".csv")) {
+            settings = settings.withDelimiter(',');
         }
+        StudentImporter importer = new StudentImporter(database, settings);
+
+        tableModel.clear();
+        tasks.submit("Importing students...", progress -> {
+            progress.onCancel(importer::cancel);
+            return importer.importFile(Path.of(fileName), (processed, total, imported) -> {
+                progress.fraction(total == 0 ? 1.0 : (double) processed / total);
+                progress.message("Importing students... " + imported);
+            });
+        }, report -> {
+            for (ImportReport.Reject reject : report.rejects()) {
+                System.err.println("Invalid line format: " + reject);
+            }
+            loadTableData(String.format("%s %d students in %d ms, %d lines rejected",
+                    report.cancelled() ? "Import cancelled, kept" : "Imported",
+                    report.importedCount(), report.elapsedNanos() / 1_000_000, report.rejectedCount()),
+                    report.rejectedCount() == 0 && !report.cancelled() ? Color.GREEN : Color.ORANGE);
+        }, e -> {
+            if (e instanceof IOException) {
+                showMessage("Error importing from file: " + e.getMessage());
+                loadTableData("Import failed", Color.RED);
+            } else {
+                showMessage("Error saving imported students: " + e.getMessage());
+                loadTableData("Import stopped, saving failed", Color.RED);
+            }
+        });
     }
 
     private void exportSelectedToTxt() {
@@ -521,40 +615,128 @@ public class StudentGUI extends JFrame {
         fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Text files", "txt"));
         
         if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try (FileWriter writer = new FileWriter(fileChooser.getSelectedFile())) {
-                int studentId = (Integer) tableModel.getValueAt(selectedRow, 0);
+            int studentId = tableModel.getStudentAt(selectedRow).getId();
+            Path file = fileChooser.getSelectedFile().toPath();
+
+            tasks.submit("Exporting student...", progress -> {
                 Student student = database.findStudentById(studentId);
-                
-                if (student != null) {
-                    writeStudentToFile(writer, student);
-                    updateStatus("Student exported to file", Color.GREEN);
+                return student == null ? null
+                        : new StudentExporter(ExportFormat.TEXT, false).export(List.of(student), s -> true, file, count -> { });
+            }, result -> {
+                if (result == null) {
+                    showMessage("Student with ID " + studentId + " not found!");
+                    updateStatus("Export failed", Color.RED);
+                    return;
                 }
-                
-            } catch (IOException e) {
-                showMessage("Error exporting to file: " + e.getMessage());
+                updateStatus("Student exported to file", Color.GREEN);
+            }, e -> showMessage("Error exporting to file: " + causeMessage(e)));
+        }
+    }
+
+    /**
+     * Exports all students, or the students of one type, to a CSV, JSON Lines or text file.
+     * The students are written on the background thread from the list returned by the repository,
+     * the status bar shows the progress and the throughput.
+     */
+    private void exportAll() {
+        JPanel panel = new JPanel(new GridLayout(3, 2, 5, 5));
+
+        JComboBox<ExportFormat> formatCombo = new JComboBox<>(ExportFormat.values());
+        JComboBox<String> typeCombo = new JComboBox<>(new String[]{"All", "Telecommunications", "Cybersecurity"});
+        JCheckBox gzipBox = new JCheckBox("Compress (gzip)");
+
+        panel.add(new JLabel("Format:"));
+        panel.add(formatCombo);
+        panel.add(new JLabel("Students:"));
+        panel.add(typeCombo);
+        panel.add(new JLabel());
+        panel.add(gzipBox);
+
+        if (JOptionPane.showConfirmDialog(this, panel, "Export Students", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        ExportFormat format = (ExportFormat) formatCombo.getSelectedItem();
+        boolean gzip = gzipBox.isSelected();
+        String extension = format.getExtension() + (gzip ? ".gz" : "");
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setSelectedFile(new File("students." + extension));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        int type = typeCombo.getSelectedIndex();
+        Path file = fileChooser.getSelectedFile().toPath();
+        StudentExporter exporter = new StudentExporter(format, gzip);
+
+        tasks.submit("Exporting students...", progress -> {
+            List<Student> students = switch (type) {
+                case 1 -> database.getStudentsByType(TelecommunicationsStudent.class);
+                case 2 -> database.getStudentsByType(CybersecurityStudent.class);
+                default -> database.getAllStudents();
+            };
+            int total = students.size();
+            progress.onCancel(exporter::cancel);
+            return exporter.export(students, student -> true, file, count -> {
+                progress.fraction(total == 0 ? 1.0 : (double) count / total);
+                progress.message("Exporting students... " + count);
+            });
+        }, result -> {
+            if (result.cancelled()) {
+                updateStatus("Export cancelled", Color.ORANGE);
+                return;
             }
+            updateStatus(String.format("Exported %d students (%d KiB) in %d ms, %.0f students/s",
+                    result.exportedCount(), result.fileBytes() / 1024, result.elapsedNanos() / 1_000_000,
+                    result.studentsPerSecond()), Color.GREEN);
+        }, e -> {
+            showMessage("Error exporting to file: " + causeMessage(e));
+            updateStatus("Export failed", Color.RED);
+        });
+    }
+
+    /**
+     * Exits after confirmation, letting the repository write pending data and its snapshot file first
+     * in the background. Waits for a running operation to finish or be cancelled.
+     */
+    private void exit() {
+        if (tasks.isBusy()) {
+            showMessage("Please wait for the running operation to finish or cancel it first.");
+            return;
+        }
+        if (confirmExit()) {
+            tasks.submit("Closing...", progress -> {
+                if (database != null) {
+                    database.close();
+                }
+                persistenceExecutor.close();
+                if (databaseLock != null) {
+                    databaseLock.close();
+                }
+                return null;
+            }, result -> System.exit(0), e -> {
+                System.err.println("Error closing the repository: " + e.getMessage());
+                System.exit(1);
+            });
         }
     }
 
     /**
-     * Writes a student's data to a file.
-     *
-     * @param writer the FileWriter to write to
-     * @param s the student whose data will be written
-     * @throws IOException if an I/O error occurs
+     * Returns the message of the underlying cause of a persistence failure, e.g. the SQL error.
      */
+    private static String causeMessage(Exception e) {
+        return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+    }
 
-    private void writeStudentToFile(FileWriter writer, Student s) throws IOException {
-        String type = s instanceof TelecommunicationsStudent ? "Telecommunications" : "Cybersecurity";
-        
-        writer.write(String.format("ID: %d%n", s.getId()));
-        writer.write(String.format("Name: %s %s%n", s.getFirstName(), s.getLastName()));
-        writer.write(String.format("Birth Year: %d%n", s.getBirthYear()));
-        writer.write(String.format("Study Type: %s%n", type));
-        writer.write(String.format("Grades: %s%n", s.getGrades().toString()));
-        writer.write(String.format("Average: %.2f%n", s.getAverageGrade()));
-        writer.write(String.format("Skill: %s%n", s.executeSkill()));
-        writer.write("-----------------------------------\n");
+    /**
+     * Reports a failed background operation, e.g. a persistence error of a repository reading from the database.
+     *
+     * @param action what failed, e.g. "adding student"
+     */
+    private void showFailure(String action, Exception e) {
+        showMessage("Error " + action + ": " + causeMessage(e));
+        updateStatus("Error " + action, Color.RED);
     }
 
     private void showMessage(String msg) {
@@ -564,10 +746,7 @@ public class StudentGUI extends JFrame {
     @Override
     protected void processWindowEvent(java.awt.event.WindowEvent e) {
         if (e.getID() == java.awt.event.WindowEvent.WINDOW_CLOSING) {
-            if (confirmExit()) {
-                persistenceExecutor.close();
-                System.exit(0);
-            }
+            exit();
         } else {
             super.processWindowEvent(e);
         }
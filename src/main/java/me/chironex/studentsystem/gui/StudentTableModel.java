@@ -0,0 +1,239 @@
+package me.chironex.studentsystem.gui;
+
+import me.chironex.studentsystem.data.student.Student;
+import me.chironex.studentsystem.data.student.StudentNameIndex;
+import me.chironex.studentsystem.data.student.TelecommunicationsStudent;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Table model showing a list of students read directly from the repository, e.g. all students by ID
+ * or the students sorted by last name.
+ * <p>
+ * The lists are read on the background thread, since a repository may read them from the database.
+ * After a mutation, an {@link Update} prepared with {@link #reader()} re-reads the list and finds the
+ * affected row in the background; {@link #studentAdded(Update)}, {@link #studentUpdated(Update)} and
+ * {@link #studentRemoved(Update)} then fire a single row event on the EDT, so the table keeps its
+ * selection and scroll position and repaints only the affected row.
+ * Cells are computed when the table asks for them, i.e. for the visible rows only; the rendered cells of
+ * recently shown rows are cached, since the skill column runs the student's skill.
+ */
+class StudentTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {
+            "ID", "First Name", "Last Name", "Birth Year", "Type", "Average", "Skill"};
+    private static final int SKILL_PREVIEW_LENGTH = 50;
+    private static final int CACHED_ROWS = 512;
+
+    /**
+     * Order of the lists returned by {@code getAllStudents()}.
+     */
+    static final Comparator<Student> BY_ID = Comparator.comparingInt(Student::getId);
+
+    /**
+     * Order of the lists returned by {@code getSortedStudentsByLastName()} and the last name search.
+     */
+    static final Comparator<Student> BY_NAME = StudentNameIndex.ORDER;
+
+    private final Map<Integer, Object[]> renderedRows = new LinkedHashMap<>(CACHED_ROWS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+            return size() > CACHED_ROWS;
+        }
+    };
+
+    private Supplier<List<Student>> source = List::of;
+    private Comparator<Student> order = BY_ID;
+    private Predicate<Student> filter = student -> true;
+    private List<Student> students = List.of();
+
+    /**
+     * Shows a new list of students.
+     *
+     * @param source reads the current list from the repository, called again on the background thread after every mutation
+     * @param order the order of the list
+     * @param filter decides whether a student belongs to the list, e.g. for search results
+     * @param students the list, already read from the source on the background thread
+     */
+    void show(Supplier<List<Student>> source, Comparator<Student> order, Predicate<Student> filter, List<Student> students) {
+        this.source = source;
+        this.order = order;
+        this.filter = filter;
+        this.students = students;
+        renderedRows.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows no students, e.g. while the repository replaces its data in the background.
+     */
+    void clear() {
+        show(List::of, BY_ID, student -> false, List.of());
+    }
+
+    /**
+     * Captures the shown list before a mutation, so the rows can be re-read on the background thread afterwards.
+     *
+     * @return the reader of the shown list
+     */
+    Reader reader() {
+        return new Reader(source, order, filter, students);
+    }
+
+    /**
+     * Inserts the row of a student that was added to the repository.
+     */
+    void studentAdded(Update update) {
+        if (!apply(update) || update.row() == Update.NOT_LISTED) {
+            return;
+        }
+
+        if (update.row() >= 0) {
+            fireTableRowsInserted(update.row(), update.row());
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Repaints the row of a student whose grades changed.
+     */
+    void studentUpdated(Update update) {
+        if (apply(update) && update.row() >= 0) {
+            fireTableRowsUpdated(update.row(), update.row());
+        }
+    }
+
+    /**
+     * Deletes the row of a student that was removed from the repository.
+     */
+    void studentRemoved(Update update) {
+        if (apply(update) && update.row() >= 0) {
+            fireTableRowsDeleted(update.row(), update.row());
+        }
+    }
+
+    /**
+     * Takes over the re-read list, unless another list was shown meanwhile.
+     *
+     * @return true if the update belongs to the shown list
+     */
+    private boolean apply(Update update) {
+        if (update.source() != source) {
+            return false;
+        }
+        students = update.students();
+        renderedRows.remove(update.studentId());
+        return true;
+    }
+
+    Student getStudentAt(int row) {
+        return students.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return students.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Student student = students.get(row);
+        return renderedRows.computeIfAbsent(student.getId(), id -> render(student))[column];
+    }
+
+    private static int rowOf(List<Student> students, Student student, Comparator<Student> order) {
+        int row = Collections.binarySearch(students, student, order);
+        return row >= 0 ? row : -1;
+    }
+
+    private static Object[] render(Student student) {
+        String skill = student.executeSkill();
+        return new Object[]{
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getBirthYear(),
+                student instanceof TelecommunicationsStudent ? "Telecommunications" : "Cybersecurity",
+                String.format("%.2f", student.getAverageGrade()),
+                skill.length() > SKILL_PREVIEW_LENGTH ? skill.substring(0, SKILL_PREVIEW_LENGTH) + "..." : skill
+        };
+    }
+
+    /**
+     * Reads the shown list after a mutation, used on the background thread.
+     * Re-reading the list and searching it may query the database, e.g. for paged lists.
+     */
+    static final class Reader {
+        private final Supplier<List<Student>> source;
+        private final Comparator<Student> order;
+        private final Predicate<Student> filter;
+        private final List<Student> before;
+
+        private Reader(Supplier<List<Student>> source, Comparator<Student> order, Predicate<Student> filter, List<Student> before) {
+            this.source = source;
+            this.order = order;
+            this.filter = filter;
+            this.before = before;
+        }
+
+        /**
+         * Re-reads the list after a student was added.
+         *
+         * @param student the added student
+         */
+        Update added(Student student) {
+            List<Student> students = source.get();
+            int row = filter.test(student) ? rowOf(students, student, order) : Update.NOT_LISTED;
+            return new Update(source, student.getId(), students, row);
+        }
+
+        /**
+         * Re-reads the list after a student's grades changed.
+         *
+         * @param student the student as found after the change
+         */
+        Update updated(Student student) {
+            List<Student> students = source.get();
+            return new Update(source, student.getId(), students, rowOf(students, student, order));
+        }
+
+        /**
+         * Re-reads the list after a student was removed.
+         *
+         * @param student the removed student, as found before the removal
+         */
+        Update removed(Student student) {
+            int row = rowOf(before, student, order);
+            return new Update(source, student.getId(), source.get(), row);
+        }
+    }
+
+    /**
+     * Record representing the shown list re-read after a mutation.
+     *
+     * @param source the source the list was read from
+     * @param studentId the ID of the mutated student
+     * @param students the re-read list
+     * @param row the row of the student, -1 if it was not found, {@link #NOT_LISTED} if it does not belong to the list
+     */
+    record Update(Supplier<List<Student>> source, int studentId, List<Student> students, int row) {
+        static final int NOT_LISTED = -2;
+    }
+}